@@ -1,9 +1,3 @@
-description = "Generates code from Smithy models"
-extra["displayName"] = "Smithy :: Codegen"
-extra["moduleName"] = "mx.sugus.codegen"
-
-val smithyVersion: String by project
-
 buildscript {
     val smithyVersion: String by project
 
@@ -16,6 +10,17 @@ buildscript {
     }
 }
 
+plugins {
+    // Microbenchmarks in src/jmh/java, run with `./gradlew :braid-core:jmh`
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+description = "Generates code from Smithy models"
+extra["displayName"] = "Smithy :: Codegen"
+extra["moduleName"] = "mx.sugus.codegen"
+
+val smithyVersion: String by project
+
 dependencies {
     implementation(project(":braid-traits"))
     implementation(project(":braid-rt-util"))
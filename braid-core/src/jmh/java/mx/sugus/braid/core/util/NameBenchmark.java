@@ -0,0 +1,93 @@
+package mx.sugus.braid.core.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link Name#splitOnWordBoundaries(String)} against the regular expression based algorithm it replaced, and the
+ * cached {@link Name#of(String, Name.Convention)} plus the conversions done for each member during codegen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameBenchmark {
+    private static final String[] IDENTIFIERS = {
+        "DescribeDBInstances",
+        "DBClusterSnapshotIdentifier",
+        "EC2InstanceId",
+        "KMSKeyArn",
+        "SSEKMSKeyId",
+        "ApiGatewayV2",
+        "IPv6CidrBlockAssociationSet",
+        "x-amz-request-id",
+        "maxResults",
+        "nextToken",
+        "S3BucketName",
+        "TLSv1_2",
+        "ListTagsForResourceOutput",
+        "VpcSecurityGroupIds",
+        "CreateDBClusterParameterGroupMessage",
+        "HTTPEndpointConfiguration",
+    };
+
+    @Benchmark
+    public void regexSplit(Blackhole blackhole) {
+        for (var identifier : IDENTIFIERS) {
+            blackhole.consume(RegexSplitter.splitOnWordBoundaries(identifier));
+        }
+    }
+
+    @Benchmark
+    public void scannerSplit(Blackhole blackhole) {
+        for (var identifier : IDENTIFIERS) {
+            blackhole.consume(Name.splitOnWordBoundaries(identifier));
+        }
+    }
+
+    @Benchmark
+    public void memberNames(Blackhole blackhole) {
+        for (var identifier : IDENTIFIERS) {
+            var name = Name.of(identifier, Name.Convention.CAMEL_CASE);
+            blackhole.consume(name.toString());
+            blackhole.consume(name.toPascalCase().toString());
+            blackhole.consume(name.toScreamCase().toString());
+            blackhole.consume(name.toSingularSpelling().toString());
+        }
+    }
+
+    /**
+     * The regular expression based algorithm, kept as the baseline.
+     */
+    static final class RegexSplitter {
+        private static final Pattern SPLIT_ALPHANUM = Pattern.compile("[^A-Za-z\\d]+");
+        private static final Pattern SPLIT_NUMERIC_VERSION = Pattern.compile("([^a-z]{2,})([vV])([0-9]+)");
+        private static final Pattern SPLIT_CAMEL_CASE = Pattern.compile("(?<=[a-z])(?=[A-Z]([a-zA-Z]|[0-9]))");
+        private static final Pattern SPLIT_ACRONYMS = Pattern.compile("([A-Z]+)([A-Z][a-z])");
+        private static final Pattern SPLIT_IN_NUMBERS = Pattern.compile("([0-9])([a-zA-Z])");
+        private static final Pattern COLLAPSE_WHITESPACE = Pattern.compile(" +");
+
+        static String[] splitOnWordBoundaries(String toSplit) {
+            var result = toSplit;
+            result = SPLIT_ALPHANUM.matcher(result).replaceAll(" ");
+            result = SPLIT_NUMERIC_VERSION.matcher(result).replaceAll("$1 $2$3 ");
+            result = String.join(" ", SPLIT_CAMEL_CASE.split(result));
+            result = SPLIT_ACRONYMS.matcher(result).replaceAll("$1 $2");
+            result = SPLIT_IN_NUMBERS.matcher(result).replaceAll("$1 $2");
+            result = COLLAPSE_WHITESPACE.matcher(result).replaceAll(" ").trim();
+            return result.split(" ");
+        }
+    }
+}
@@ -1,24 +1,42 @@
 package mx.sugus.braid.core;
 
+import java.io.ByteArrayInputStream;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiFunction;
 import java.util.logging.Logger;
+import mx.sugus.braid.core.cache.CachedFile;
+import mx.sugus.braid.core.cache.CodeSourceDigest;
+import mx.sugus.braid.core.cache.RecordingFileManifest;
+import mx.sugus.braid.core.cache.ShapeCodegenCache;
+import mx.sugus.braid.core.cache.ShapeFingerprinter;
 import mx.sugus.braid.core.plugin.CodegenModule;
+import mx.sugus.braid.core.plugin.Dependencies;
 import mx.sugus.braid.core.plugin.NonShapeCodegenState;
+import mx.sugus.braid.core.plugin.ShapeCodegenResult;
 import mx.sugus.braid.core.plugin.ShapeCodegenState;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.codegen.core.SymbolProvider;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.Shape;
 
 public final class BraidCodegenDirector {
     private static final Logger LOG = Logger.getLogger(BraidCodegenDirector.class.getName());
+    // Max number of shapes, per worker thread, that can be produced but still waiting to be consumed.
+    private static final int PENDING_SHAPES_PER_WORKER = 4;
     private final FileManifest fileManifest;
     private final BrideCodegenSettings settings;
     private final CodegenModule module;
     private final SymbolProvider symbolProvider;
     private final Model model;
+    private final Collection<Shape> selectedShapes;
 
     BraidCodegenDirector(Builder builder) {
         this.model = Objects.requireNonNull(builder.model, "model");
@@ -26,47 +44,199 @@ public final class BraidCodegenDirector {
         this.settings = Objects.requireNonNull(builder.settings, "settings");
         this.symbolProvider = Objects.requireNonNull(builder.symbolProvider, "symbolProvider");
         this.module = Objects.requireNonNull(builder.module, "module");
+        this.selectedShapes = Objects.requireNonNull(builder.selectedShapes, "selectedShapes");
     }
 
     public void execute() {
-        var sortedShapes = selectedShapes();
+        var dependencies = reduceShapes(selectedShapes);
+        var incremental = incrementalCodegen(selectedShapes);
         LOG.fine("Beginning shape codegen");
-        for (var shape : sortedShapes) {
-            var javaShapeState = stateForShape(shape);
-            module.generateShape(javaShapeState);
+        var parallelism = settings.parallelism();
+        if (parallelism > 1) {
+            generateShapesInParallel(selectedShapes, parallelism, dependencies, incremental);
+        } else {
+            generateShapes(selectedShapes, dependencies, incremental);
+        }
+        if (incremental != null) {
+            incremental.cache().prune();
         }
         LOG.fine("Beginning non-shape codegen");
-        var nonShapeState = stateFor();
+        var nonShapeState = stateFor(dependencies);
         module.generateNonShape(nonShapeState);
     }
 
-    private Collection<Shape> selectedShapes() {
-        return module.select(model);
+    /**
+     * Runs the configured shape reducers over all the selected shapes and returns the dependencies, including the reducers
+     * results, to be used for the rest of the codegen.
+     */
+    private Dependencies reduceShapes(Collection<Shape> shapes) {
+        if (module.shapeReducers().isEmpty()) {
+            return module.dependencies();
+        }
+        LOG.fine("Beginning shape reduction");
+        var states = new ArrayList<ShapeCodegenState>(shapes.size());
+        for (var shape : shapes) {
+            states.add(stateForShape(shape, fileManifest, module.dependencies()));
+        }
+        return module.reduceShapes(states, settings.parallelism());
+    }
+
+    private void generateShapes(Collection<Shape> shapes, Dependencies dependencies, IncrementalCodegen incremental) {
+        for (var shape : shapes) {
+            var job = newShapeJob(shape, dependencies, incremental);
+            if (job.cached == null) {
+                completeShapeJob(job, module.produceShape(job.state), incremental);
+            } else {
+                completeShapeJob(job, null, incremental);
+            }
+        }
+    }
+
+    /**
+     * Produces and transforms the shapes using a pool with the given parallelism. The results are consumed in the calling thread
+     * in the same order in which the shapes were selected, such that the output is the same as the one of the sequential codegen.
+     */
+    private void generateShapesInParallel(
+        Collection<Shape> shapes,
+        int parallelism,
+        Dependencies dependencies,
+        IncrementalCodegen incremental
+    ) {
+        LOG.fine(() -> String.format("Using parallel shape codegen with parallelism: %d", parallelism));
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            var maxPending = parallelism * PENDING_SHAPES_PER_WORKER;
+            var pending = new ArrayDeque<ShapeJob>(maxPending);
+            var iterator = shapes.iterator();
+            while (iterator.hasNext() || !pending.isEmpty()) {
+                while (iterator.hasNext() && pending.size() < maxPending) {
+                    var job = newShapeJob(iterator.next(), dependencies, incremental);
+                    if (job.cached == null) {
+                        var javaShapeState = job.state;
+                        job.task = pool.submit(() -> module.produceShape(javaShapeState));
+                    }
+                    pending.add(job);
+                }
+                var job = pending.remove();
+                // join re-throws any exception thrown by the task.
+                completeShapeJob(job, job.task == null ? null : job.task.join(), incremental);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ShapeJob newShapeJob(Shape shape, Dependencies dependencies, IncrementalCodegen incremental) {
+        if (incremental == null) {
+            return new ShapeJob(stateForShape(shape, fileManifest, dependencies), null, null, null);
+        }
+        var fingerprint = incremental.fingerprinter().fingerprint(shape, reducerSignatures(shape, dependencies, incremental));
+        var cached = incremental.cache().lookup(shape.getId(), fingerprint);
+        if (cached != null) {
+            LOG.fine(() -> String.format("Shape `%s` unchanged, using cached result", shape.getId()));
+            return new ShapeJob(null, null, fingerprint, cached);
+        }
+        var recorder = new RecordingFileManifest(fileManifest);
+        return new ShapeJob(stateForShape(shape, recorder, dependencies), recorder, fingerprint, null);
+    }
+
+    /**
+     * Returns the signatures of the reducers results used by the shape. The reducers that do not know which part of their
+     * result is used by the shape are taken as using all of it, thus any change in the selection invalidates the shape.
+     */
+    private List<String> reducerSignatures(Shape shape, Dependencies dependencies, IncrementalCodegen incremental) {
+        if (module.shapeReducers().isEmpty()) {
+            return List.of();
+        }
+        var signatures = module.reducerSignatures(stateForShape(shape, fileManifest, dependencies));
+        signatures.replaceAll(signature -> signature == null ? incremental.selectionSignature() : signature);
+        return signatures;
+    }
+
+    private void completeShapeJob(ShapeJob job, ShapeCodegenResult result, IncrementalCodegen incremental) {
+        if (job.cached != null) {
+            for (var file : job.cached) {
+                fileManifest.writeFile(Paths.get(file.path()), new ByteArrayInputStream(file.contents()));
+            }
+            return;
+        }
+        module.consumeShape(result);
+        if (incremental != null) {
+            incremental.cache().store(job.state.shape().getId(), job.fingerprint, job.recorder.written());
+        }
+    }
+
+    private IncrementalCodegen incrementalCodegen(Collection<Shape> shapes) {
+        var cacheDirectory = settings.cacheDirectory();
+        if (cacheDirectory == null) {
+            return null;
+        }
+        if (!module.consumersOnlyWriteFiles()) {
+            LOG.warning("Not using incremental codegen, some of the configured consumers do more than writing files");
+            return null;
+        }
+        LOG.fine(() -> String.format("Using incremental codegen with cache directory: %s", cacheDirectory));
+        var configSignature = new ArrayList<String>();
+        configSignature.add(Node.printJson(settings.settingsNode()));
+        configSignature.add(CodeSourceDigest.of(BraidCodegenDirector.class));
+        configSignature.addAll(module.taskSignatures());
+        var configFingerprint = ShapeFingerprinter.digest(configSignature);
+        var selection = new ArrayList<String>(shapes.size());
+        for (var shape : shapes) {
+            selection.add(shape.getId().toString());
+        }
+        return new IncrementalCodegen(ShapeCodegenCache.open(Paths.get(cacheDirectory)),
+                                      new ShapeFingerprinter(model, configFingerprint),
+                                      ShapeFingerprinter.digest(selection));
     }
 
-    private ShapeCodegenState stateForShape(Shape shape) {
+    private ShapeCodegenState stateForShape(Shape shape, FileManifest shapeFileManifest, Dependencies dependencies) {
         return ShapeCodegenState
             .builder()
             .model(model)
             .shape(shape)
             .symbolProvider(symbolProvider)
-            .fileManifest(fileManifest)
+            .fileManifest(shapeFileManifest)
             .settings(settings)
-            .dependencies(module.dependencies())
+            .dependencies(dependencies)
             .build();
     }
 
-    private NonShapeCodegenState stateFor() {
+    private NonShapeCodegenState stateFor(Dependencies dependencies) {
         return NonShapeCodegenState
             .builder()
             .model(model)
             .symbolProvider(symbolProvider)
             .fileManifest(fileManifest)
             .settings(settings)
-            .dependencies(module.dependencies())
+            .dependencies(dependencies)
             .build();
     }
 
+    /**
+     * The cache and fingerprinter used for incremental codegen, along with the signature of all the selected shapes.
+     */
+    private record IncrementalCodegen(ShapeCodegenCache cache, ShapeFingerprinter fingerprinter, String selectionSignature) {
+    }
+
+    /**
+     * Tracks a single shape through the codegen, either produced in this run or taken from the cache.
+     */
+    private static final class ShapeJob {
+        private final ShapeCodegenState state;
+        private final RecordingFileManifest recorder;
+        private final String fingerprint;
+        private final List<CachedFile> cached;
+        private ForkJoinTask<ShapeCodegenResult> task;
+
+        ShapeJob(ShapeCodegenState state, RecordingFileManifest recorder, String fingerprint, List<CachedFile> cached) {
+            this.state = state;
+            this.recorder = recorder;
+            this.fingerprint = fingerprint;
+            this.cached = cached;
+        }
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -78,6 +248,7 @@ public final class BraidCodegenDirector {
         private SymbolProvider symbolProvider;
         private BiFunction<Model, BrideCodegenSettings, SymbolProvider> symbolProviderFactory;
         private CodegenModule module;
+        private Collection<Shape> selectedShapes;
 
         public Builder model(Model model) {
             this.model = model;
@@ -127,11 +298,14 @@ public final class BraidCodegenDirector {
             LOG.fine("Running module configured model processors");
             newModel = module.preprocessModel(newModel);
             this.model = newModel;
-            //this.module.
+            this.selectedShapes = module.select(model);
             LOG.fine("Running symbol provider decorators");
             var sourceSymbolProvider = symbolProviderFactory.apply(model, settings);
-            // For small models using the cache does not seem to add any measurable value.
-            this.symbolProvider = SymbolProvider.cache(module.decorateSymbolProvider(this.model, sourceSymbolProvider));
+            var decoratedSymbolProvider = module.decorateSymbolProvider(this.model, sourceSymbolProvider);
+            LOG.fine("Computing symbol table");
+            // The symbols for the selected shapes are computed upfront, the resulting table is immutable and can be shared
+            // by the producers when using parallel codegen.
+            this.symbolProvider = SymbolTable.from(decoratedSymbolProvider, selectedShapes, settings.parallelism());
         }
     }
 }
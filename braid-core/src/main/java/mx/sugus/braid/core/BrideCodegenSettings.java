@@ -1,16 +1,37 @@
 package mx.sugus.braid.core;
 
+import software.amazon.smithy.model.node.NumberNode;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.shapes.ShapeId;
 
+/**
+ * The codegen settings taken from the {@code smithy-build.json} plugin configuration.
+ *
+ * @param settingsNode   The raw settings node.
+ * @param service        The service shape id.
+ * @param shortName      The short name for the service, or null to use the service name.
+ * @param packageName    The base package name.
+ * @param packageVersion The package version.
+ * @param parallelism    The number of threads used to produce and transform shapes, a value of one (the default) runs the
+ *                       codegen sequentially in the calling thread.
+ * @param cacheDirectory The directory used to keep the incremental codegen cache, or null to disable incremental codegen.
+ */
 public record BrideCodegenSettings(
     ObjectNode settingsNode,
     ShapeId service,
     String shortName,
     String packageName,
-    String packageVersion
+    String packageVersion,
+    int parallelism,
+    String cacheDirectory
 ) {
+    public BrideCodegenSettings {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be greater than zero, got: " + parallelism);
+        }
+    }
+
     public String serviceName() {
         if (shortName != null) {
             return shortName;
@@ -28,7 +49,9 @@ public record BrideCodegenSettings(
             node.expectStringMember("service").expectShapeId(),
             node.expectStringMember("shortName").asStringNode().map(StringNode::getValue).orElse(null),
             node.expectStringMember("package").getValue(),
-            node.expectStringMember("packageVersion").getValue()
+            node.expectStringMember("packageVersion").getValue(),
+            node.getNumberMember("parallelism").map(NumberNode::getValue).map(Number::intValue).orElse(1),
+            node.getStringMember("cacheDirectory").map(StringNode::getValue).orElse(null)
         );
     }
 }
@@ -3,15 +3,19 @@ package mx.sugus.braid.core;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import mx.sugus.braid.traits.ConstTrait;
@@ -23,55 +27,128 @@ import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 
+/**
+ * Knowledge index for the relations defined using the {@link ImplementsTrait}.
+ *
+ * <p>The transitive closures are computed once, when the index is created, as bitsets over a table of the structures in the
+ * model sorted by shape id. The dispatch members and tables are computed on first use. All the returned collections are
+ * immutable and shared, and the index is safe to use from concurrent threads.
+ */
 public final class ImplementsKnowledgeIndex implements KnowledgeIndex {
     private final Map<StructureShape, Set<StructureShape>> shapeToSuperInterfaces;
     private final Map<StructureShape, Set<StructureShape>> shapeToImplementers;
     private final Model model;
+    private final StructureShape[] structures;
+    private final Map<ShapeId, Integer> structureIndex;
+    private final Map<ShapeId, Set<StructureShape>> recursiveImplementers;
+    private final Map<ShapeId, Set<StructureShape>> recursiveSuperInterfaces;
+    private final Map<ShapeId, PolymorphicDispatch> polymorphicDispatch = new ConcurrentHashMap<>();
 
     ImplementsKnowledgeIndex(Model model) {
         this.shapeToSuperInterfaces = structureToSuperInterfaces(model);
         this.shapeToImplementers = structureToImplementers(shapeToSuperInterfaces);
         this.model = model;
+        this.structures = model.getStructureShapes().stream().sorted().toArray(StructureShape[]::new);
+        var index = new HashMap<ShapeId, Integer>(structures.length * 2);
+        for (var idx = 0; idx < structures.length; idx++) {
+            index.put(structures[idx].getId(), idx);
+        }
+        this.structureIndex = index;
+        this.recursiveImplementers = recursiveImplementers();
+        this.recursiveSuperInterfaces = recursiveSuperInterfaces();
     }
 
+    /**
+     * Returns the interfaces directly implemented by the given shape in the order in which they are declared.
+     *
+     * @param shape The implementer shape
+     * @return the interfaces directly implemented by the given shape.
+     */
     public Set<StructureShape> superInterfaces(StructureShape shape) {
         return shapeToSuperInterfaces.getOrDefault(shape, Collections.emptySet());
     }
 
+    /**
+     * Returns the interfaces implemented by the given shape either directly or by any of its super interfaces, sorted by shape
+     * id.
+     *
+     * @param shape The implementer shape
+     * @return the interfaces implemented by the given shape.
+     */
+    public Set<StructureShape> recursiveSuperInterfaces(StructureShape shape) {
+        return recursiveSuperInterfaces.getOrDefault(shape.getId(), Collections.emptySet());
+    }
+
+    /**
+     * Returns the shapes that directly implement the given interface.
+     *
+     * @param shape The interface shape
+     * @return the shapes that directly implement the given interface.
+     */
     public Set<StructureShape> implementers(StructureShape shape) {
         return shapeToImplementers.getOrDefault(shape, Collections.emptySet());
     }
 
+    /**
+     * Returns the given shape along with the shapes that implement it either directly or by implementing an interface that
+     * implements it, sorted by shape id.
+     *
+     * @param shape The interface shape
+     * @return the given shape and its direct and indirect implementers.
+     */
     public Set<StructureShape> recursiveImplementers(StructureShape shape) {
-        var inheritors = shapeToImplementers.getOrDefault(shape, Collections.emptySet());
-        var recursiveImplementers = new TreeSet<>(inheritors);
-        for (var structure : inheritors) {
-            if (structure.hasTrait(InterfaceTrait.class)) {
-                recursiveImplementers.addAll(recursiveImplementers(structure));
-            }
+        var result = recursiveImplementers.get(shape.getId());
+        if (result == null) {
+            return Set.of(shape);
         }
-        recursiveImplementers.add(shape);
-        return recursiveImplementers;
+        return result;
     }
 
+    /**
+     * Returns a map from the dispatch member of each implementer of the given parent to the implementer. Returns an empty map
+     * if the parent does not have a dispatch member, see {@link #polymorphicDispatchMember(StructureShape)}.
+     *
+     * @param parent The interface shape
+     * @return the dispatch table for the given parent.
+     */
     public Map<MemberShape, StructureShape> polymorphicDispatchTable(StructureShape parent) {
-        var dispatchMember = polymorphicDispatchMember(parent);
-        var inheritors = implementers(parent);
-
-        return inheritors.stream()
-                         .collect(toMap(x -> x.getMember(dispatchMember.getMemberName()).orElseThrow(),
-                                        Function.identity()));
+        return polymorphicDispatch(parent).table();
     }
 
+    /**
+     * Returns the member of the parent, targeting an enum, that is constant for all of its implementers, or null if there is
+     * not such member.
+     *
+     * @param parent The interface shape
+     * @return the dispatch member for the given parent.
+     */
     public MemberShape polymorphicDispatchMember(StructureShape parent) {
-        var candidates = polymorphicDispatchCandidates(parent);
+        return polymorphicDispatch(parent).member();
+    }
+
+    private PolymorphicDispatch polymorphicDispatch(StructureShape parent) {
+        var result = polymorphicDispatch.get(parent.getId());
+        if (result == null) {
+            result = computePolymorphicDispatch(parent);
+            var existing = polymorphicDispatch.putIfAbsent(parent.getId(), result);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return result;
+    }
+
+    private PolymorphicDispatch computePolymorphicDispatch(StructureShape parent) {
         var inheritors = implementers(parent);
-        for (var candidate : candidates) {
+        for (var candidate : polymorphicDispatchCandidates(parent)) {
             if (inheritors.stream().allMatch(inheritor -> isMemberConstant(inheritor, candidate.getMemberName()))) {
-                return candidate;
+                var table = inheritors.stream()
+                                      .collect(toMap(x -> x.getMember(candidate.getMemberName()).orElseThrow(),
+                                                     Function.identity()));
+                return new PolymorphicDispatch(candidate, Collections.unmodifiableMap(table));
             }
         }
-        return null;
+        return new PolymorphicDispatch(null, Collections.emptyMap());
     }
 
     private List<MemberShape> polymorphicDispatchCandidates(StructureShape parent) {
@@ -85,6 +162,95 @@ public final class ImplementsKnowledgeIndex implements KnowledgeIndex {
         return shape.getMember(name).map(x -> x.hasTrait(ConstTrait.class)).orElse(false);
     }
 
+    private Map<ShapeId, Set<StructureShape>> recursiveImplementers() {
+        var edges = edges(shapeToImplementers);
+        // Like the recursive definition, the implementers of an implementer are only included if it is an interface.
+        var expands = new BitSet(structures.length);
+        for (var idx = 0; idx < structures.length; idx++) {
+            if (structures[idx].hasTrait(InterfaceTrait.class)) {
+                expands.set(idx);
+            }
+        }
+        return closures(edges, expands);
+    }
+
+    private Map<ShapeId, Set<StructureShape>> recursiveSuperInterfaces() {
+        var edges = edges(shapeToSuperInterfaces);
+        var expands = new BitSet(structures.length);
+        expands.set(0, structures.length);
+        var result = new HashMap<ShapeId, Set<StructureShape>>();
+        closures(edges, expands).forEach((id, closure) -> {
+            // Unlike the implementers, the shape itself is not part of its super interfaces.
+            var withoutSelf = (BitSet) ((StructureSet) closure).bits.clone();
+            withoutSelf.clear(structureIndex.get(id));
+            if (!withoutSelf.isEmpty()) {
+                result.put(id, new StructureSet(structures, structureIndex, withoutSelf));
+            }
+        });
+        return result;
+    }
+
+    private BitSet[] edges(Map<StructureShape, Set<StructureShape>> relation) {
+        var result = new BitSet[structures.length];
+        for (var kvp : relation.entrySet()) {
+            var bits = new BitSet(structures.length);
+            for (var target : kvp.getValue()) {
+                bits.set(structureIndex.get(target.getId()));
+            }
+            result[structureIndex.get(kvp.getKey().getId())] = bits;
+        }
+        return result;
+    }
+
+    /**
+     * Computes, for each shape with outgoing edges, the set of the shape itself and the shapes reachable from it. The edges of
+     * the reached shapes are only followed for the shapes in the {@code expands} set. The closures already computed are
+     * reused, and cycles are handled since a shape is never visited twice for the same root.
+     */
+    private Map<ShapeId, Set<StructureShape>> closures(BitSet[] edges, BitSet expands) {
+        var closures = new BitSet[structures.length];
+        var pending = new int[structures.length];
+        for (var root = 0; root < structures.length; root++) {
+            if (edges[root] == null) {
+                continue;
+            }
+            var reached = new BitSet(structures.length);
+            reached.set(root);
+            var size = 0;
+            pending[size++] = root;
+            while (size > 0) {
+                var current = pending[--size];
+                if (current != root) {
+                    if (!expands.get(current)) {
+                        continue;
+                    }
+                    if (closures[current] != null) {
+                        reached.or(closures[current]);
+                        continue;
+                    }
+                }
+                var next = edges[current];
+                if (next == null) {
+                    continue;
+                }
+                for (var idx = next.nextSetBit(0); idx >= 0; idx = next.nextSetBit(idx + 1)) {
+                    if (!reached.get(idx)) {
+                        reached.set(idx);
+                        pending[size++] = idx;
+                    }
+                }
+            }
+            closures[root] = reached;
+        }
+        var result = new HashMap<ShapeId, Set<StructureShape>>();
+        for (var idx = 0; idx < structures.length; idx++) {
+            if (closures[idx] != null) {
+                result.put(structures[idx].getId(), new StructureSet(structures, structureIndex, closures[idx]));
+            }
+        }
+        return result;
+    }
+
     public static ImplementsKnowledgeIndex of(Model model) {
         return model.getKnowledge(ImplementsKnowledgeIndex.class, ImplementsKnowledgeIndex::new);
     }
@@ -98,6 +264,7 @@ public final class ImplementsKnowledgeIndex implements KnowledgeIndex {
                 result.computeIfAbsent(structure, x -> new HashSet<>()).add(kvp.getKey());
             }
         }
+        result.replaceAll((k, v) -> Collections.unmodifiableSet(v));
         return result;
     }
 
@@ -112,7 +279,8 @@ public final class ImplementsKnowledgeIndex implements KnowledgeIndex {
         return shapeIds.stream()
                        .map(model::expectShape)
                        .map(s -> s.asStructureShape().orElseThrow())
-                       .collect(Collectors.toCollection(LinkedHashSet::new));
+                       .collect(Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new),
+                                                             Collections::unmodifiableSet));
     }
 
     private static Set<StructureShape> superInterfaces(StructureShape shape, Model model) {
@@ -128,4 +296,63 @@ public final class ImplementsKnowledgeIndex implements KnowledgeIndex {
         }
         return superTypes;
     }
+
+    /**
+     * The dispatch member for a parent and its dispatch table.
+     */
+    private record PolymorphicDispatch(MemberShape member, Map<MemberShape, StructureShape> table) {
+    }
+
+    /**
+     * An immutable set of structures backed by a bitset over the index table, iterates in shape id order.
+     */
+    private static final class StructureSet extends AbstractSet<StructureShape> {
+        private final StructureShape[] structures;
+        private final Map<ShapeId, Integer> structureIndex;
+        private final BitSet bits;
+        private final int size;
+
+        StructureSet(StructureShape[] structures, Map<ShapeId, Integer> structureIndex, BitSet bits) {
+            this.structures = structures;
+            this.structureIndex = structureIndex;
+            this.bits = bits;
+            this.size = bits.cardinality();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof StructureShape shape)) {
+                return false;
+            }
+            var idx = structureIndex.get(shape.getId());
+            return idx != null && bits.get(idx) && structures[idx].equals(shape);
+        }
+
+        @Override
+        public Iterator<StructureShape> iterator() {
+            return new Iterator<>() {
+                private int next = bits.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public StructureShape next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    var result = structures[next];
+                    next = bits.nextSetBit(next + 1);
+                    return result;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
@@ -1,6 +1,12 @@
 package mx.sugus.braid.core;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
@@ -12,24 +18,24 @@ import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
-import software.amazon.smithy.model.shapes.ShapeVisitor;
-import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.ToShapeId;
-import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.traits.SensitiveTrait;
 
+/**
+ * Knowledge index to find out whether a shape is sensitive. A shape is sensitive if it has the {@link SensitiveTrait}, or,
+ * for members, lists, and maps, if their target, member, or key or value, respectively, is sensitive. Structures and unions
+ * are only sensitive if they have the trait, that is, it stops at the member level.
+ *
+ * <p>The sensitive shapes are computed once, when the index is created, by propagating the shapes with the trait to the
+ * members, lists, and maps that depend on them using a worklist, therefore each shape is visited at most once, and recursive
+ * shapes are handled.
+ */
 public class SensitiveKnowledgeIndex implements KnowledgeIndex {
 
-    private final Set<ShapeId> sensitiveShapes = new HashSet<>();
+    private final Set<ShapeId> sensitiveShapes;
 
     SensitiveKnowledgeIndex(Model model) {
-        var visitor = new ComputeSensitive(model);
-        for (var shapeId : model.getShapeIds()) {
-            var result = model.expectShape(shapeId).accept(visitor);
-            if (result) {
-                sensitiveShapes.add(shapeId);
-            }
-        }
+        this.sensitiveShapes = Collections.unmodifiableSet(computeSensitive(model));
     }
 
     public boolean isSensitive(ToShapeId toShapeId) {
@@ -40,63 +46,43 @@ public class SensitiveKnowledgeIndex implements KnowledgeIndex {
         return model.getKnowledge(SensitiveKnowledgeIndex.class, SensitiveKnowledgeIndex::new);
     }
 
-    static class ComputeSensitive extends ShapeVisitor.Default<Boolean> {
-        private final Model model;
-
-        ComputeSensitive(Model model) {
-            this.model = model;
-        }
-
-        @Override
-        protected Boolean getDefault(Shape shape) {
-            return shape.hasTrait(SensitiveTrait.class);
-        }
-
-        @Override
-        public Boolean listShape(ListShape shape) {
-            return hasSensitiveTrait(shape) || shape.getMember().accept(this);
-        }
-
-        @Override
-        public Boolean mapShape(MapShape shape) {
-            return hasSensitiveTrait(shape)
-                   || shape.getKey().accept(this)
-                   || shape.getValue().accept(this);
-        }
-
-        @Override
-        public Boolean operationShape(OperationShape shape) {
-            return false;
+    private static Set<ShapeId> computeSensitive(Model model) {
+        var result = new HashSet<ShapeId>();
+        var pending = new ArrayDeque<ShapeId>();
+        // For each shape, the members, lists, and maps whose sensitivity depends on it.
+        var dependents = new HashMap<ShapeId, List<ShapeId>>();
+        model.shapes().forEach(shape -> {
+            if (hasSensitiveTrait(shape) && result.add(shape.getId())) {
+                pending.add(shape.getId());
+            }
+            if (shape instanceof MemberShape member) {
+                addDependent(dependents, member.getTarget(), member.getId());
+            } else if (shape instanceof ListShape list) {
+                addDependent(dependents, list.getMember().getId(), list.getId());
+            } else if (shape instanceof MapShape map) {
+                addDependent(dependents, map.getKey().getId(), map.getId());
+                addDependent(dependents, map.getValue().getId(), map.getId());
+            }
+        });
+        while (!pending.isEmpty()) {
+            var shapeId = pending.remove();
+            for (var dependent : dependents.getOrDefault(shapeId, List.of())) {
+                if (result.add(dependent)) {
+                    pending.add(dependent);
+                }
+            }
         }
+        return result;
+    }
 
-        @Override
-        public Boolean resourceShape(ResourceShape shape) {
-            return false;
-        }
+    private static void addDependent(Map<ShapeId, List<ShapeId>> dependents, ShapeId dependency, ShapeId dependent) {
+        dependents.computeIfAbsent(dependency, k -> new ArrayList<>(2)).add(dependent);
+    }
 
-        @Override
-        public Boolean serviceShape(ServiceShape shape) {
+    private static boolean hasSensitiveTrait(Shape shape) {
+        if (shape instanceof OperationShape || shape instanceof ResourceShape || shape instanceof ServiceShape) {
             return false;
         }
-
-        @Override
-        public Boolean structureShape(StructureShape shape) {
-            return hasSensitiveTrait(shape);
-        }
-
-        @Override
-        public Boolean unionShape(UnionShape shape) {
-            // We stop at the member level.
-            return hasSensitiveTrait(shape);
-        }
-
-        @Override
-        public Boolean memberShape(MemberShape shape) {
-            return hasSensitiveTrait(shape) || model.expectShape(shape.getTarget()).accept(this);
-        }
-
-        private static boolean hasSensitiveTrait(Shape shape) {
-            return shape.hasTrait(SensitiveTrait.class);
-        }
+        return shape.hasTrait(SensitiveTrait.class);
     }
 }
@@ -0,0 +1,136 @@
+package mx.sugus.braid.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Logger;
+import mx.sugus.braid.traits.CodegenIgnoreTrait;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * A symbol provider that serves the symbols, and member names, of a set of shapes from a table computed upfront. Shapes
+ * outside the table are resolved using the delegate provider and cached.
+ *
+ * <p>The table is immutable once built, therefore lookups are safe to use concurrently and do not need any synchronization.
+ */
+final class SymbolTable implements SymbolProvider {
+    private static final Logger LOG = Logger.getLogger(SymbolTable.class.getName());
+    private final Map<ShapeId, Symbol> symbols;
+    private final Map<ShapeId, String> memberNames;
+    private final SymbolProvider fallback;
+
+    private SymbolTable(Map<ShapeId, Symbol> symbols, Map<ShapeId, String> memberNames, SymbolProvider delegate) {
+        this.symbols = Map.copyOf(symbols);
+        this.memberNames = Map.copyOf(memberNames);
+        this.fallback = SymbolProvider.cache(delegate);
+    }
+
+    @Override
+    public Symbol toSymbol(Shape shape) {
+        var result = symbols.get(shape.getId());
+        if (result == null) {
+            return fallback.toSymbol(shape);
+        }
+        return result;
+    }
+
+    @Override
+    public String toMemberName(MemberShape shape) {
+        var result = memberNames.get(shape.getId());
+        if (result == null) {
+            return fallback.toMemberName(shape);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the symbols for the given shapes and their members using the given provider, splitting the work in up to
+     * {@code parallelism} threads.
+     *
+     * <p>Shapes marked with {@link CodegenIgnoreTrait} are never produced and are left out of the table. Shapes for which the
+     * provider fails are left out as well, such that the error is raised, as before, only if the codegen ever asks for their
+     * symbol.
+     *
+     * @param delegate    The provider used to compute the symbols
+     * @param shapes      The shapes to include in the table
+     * @param parallelism The number of threads to use
+     * @return The symbol table for the given shapes
+     */
+    static SymbolTable from(SymbolProvider delegate, Collection<Shape> shapes, int parallelism) {
+        Objects.requireNonNull(delegate, "delegate");
+        var allShapes = new LinkedHashSet<Shape>(shapes.size() * 2);
+        for (var shape : shapes) {
+            if (shape.hasTrait(CodegenIgnoreTrait.class)) {
+                continue;
+            }
+            allShapes.add(shape);
+            allShapes.addAll(shape.members());
+        }
+        var shapeList = List.copyOf(allShapes);
+        var size = shapeList.size();
+        var chunks = Math.max(1, Math.min(parallelism, size));
+        var result = new TableChunk();
+        if (chunks == 1) {
+            result.compute(delegate, shapeList);
+        } else {
+            var pool = new ForkJoinPool(chunks);
+            try {
+                var forked = new ArrayList<ForkJoinTask<TableChunk>>(chunks);
+                for (var chunk = 0; chunk < chunks; chunk++) {
+                    var range = shapeList.subList(chunk * size / chunks, (chunk + 1) * size / chunks);
+                    forked.add(pool.submit(() -> new TableChunk().compute(delegate, range)));
+                }
+                for (var task : forked) {
+                    result.merge(task.join());
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        LOG.fine(() -> String.format("Computed symbol table with %d symbols for %d shapes", result.symbols.size(), size));
+        return new SymbolTable(result.symbols, result.memberNames, delegate);
+    }
+
+    /**
+     * The symbols computed by a single worker.
+     */
+    private static final class TableChunk {
+        private final Map<ShapeId, Symbol> symbols = new HashMap<>();
+        private final Map<ShapeId, String> memberNames = new HashMap<>();
+
+        TableChunk compute(SymbolProvider delegate, List<Shape> shapes) {
+            for (var shape : shapes) {
+                try {
+                    var symbol = delegate.toSymbol(shape);
+                    if (symbol != null) {
+                        symbols.put(shape.getId(), symbol);
+                    }
+                    if (shape instanceof MemberShape member) {
+                        var memberName = delegate.toMemberName(member);
+                        if (memberName != null) {
+                            memberNames.put(shape.getId(), memberName);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    LOG.fine(() -> String.format("Cannot resolve shape `%s`, deferring: %s", shape.getId(), e));
+                }
+            }
+            return this;
+        }
+
+        void merge(TableChunk other) {
+            symbols.putAll(other.symbols);
+            memberNames.putAll(other.memberNames);
+        }
+    }
+}
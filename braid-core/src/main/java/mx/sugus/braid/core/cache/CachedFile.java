@@ -0,0 +1,16 @@
+package mx.sugus.braid.core.cache;
+
+import java.util.Objects;
+
+/**
+ * A file written to the file manifest while generating a shape.
+ *
+ * @param path     The path of the file, relative to the file manifest base directory and using {@code /} as separator.
+ * @param contents The contents of the file.
+ */
+public record CachedFile(String path, byte[] contents) {
+    public CachedFile {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(contents, "contents");
+    }
+}
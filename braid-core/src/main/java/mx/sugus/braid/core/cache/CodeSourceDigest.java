@@ -0,0 +1,112 @@
+package mx.sugus.braid.core.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes a digest of the code that defines a class, i.e., of the jar, or of the classes directory, it was loaded from. Used
+ * to invalidate the {@link ShapeCodegenCache} when a plugin or generator is upgraded without changing its class names.
+ *
+ * <p>The digest of each jar or directory is computed once and kept for the lifetime of the JVM. If the code source of a class
+ * cannot be read, a digest unique to this JVM is returned instead, such that the cached results are never used for it.
+ */
+public final class CodeSourceDigest {
+    private static final Logger LOG = Logger.getLogger(CodeSourceDigest.class.getName());
+    private static final Map<Path, String> LOCATION_DIGESTS = new ConcurrentHashMap<>();
+    private static final ClassValue<String> CLASS_DIGESTS = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> kclass) {
+            return compute(kclass);
+        }
+    };
+
+    private CodeSourceDigest() {
+    }
+
+    /**
+     * Returns the hex encoded digest of the jar or directory from which the given class was loaded.
+     *
+     * @param kclass The class
+     * @return the digest of the code source of the class
+     */
+    public static String of(Class<?> kclass) {
+        return CLASS_DIGESTS.get(kclass);
+    }
+
+    private static String compute(Class<?> kclass) {
+        var source = kclass.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            return unknown(kclass, "no code source");
+        }
+        try {
+            var location = Paths.get(source.getLocation().toURI());
+            return LOCATION_DIGESTS.computeIfAbsent(location, CodeSourceDigest::digestLocation);
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException | SecurityException
+                 | UncheckedIOException e) {
+            return unknown(kclass, e.toString());
+        }
+    }
+
+    private static String digestLocation(Path location) {
+        var digest = newDigest();
+        try {
+            if (Files.isDirectory(location)) {
+                List<Path> files;
+                try (Stream<Path> stream = Files.walk(location)) {
+                    files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                }
+                for (var file : files) {
+                    digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    update(digest, file);
+                }
+            } else {
+                update(digest, location);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        var buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String unknown(Class<?> kclass, String reason) {
+        LOG.warning(() -> String.format("Cannot read the code source of `%s`, its cached results will not be used: %s",
+                                        kclass.getName(), reason));
+        return UUID.randomUUID().toString();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
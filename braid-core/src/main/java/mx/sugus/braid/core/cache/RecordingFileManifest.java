@@ -0,0 +1,97 @@
+package mx.sugus.braid.core.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import software.amazon.smithy.build.FileManifest;
+
+/**
+ * A file manifest that writes through to the given one while keeping a copy of every written file such that it can be stored
+ * in the {@link ShapeCodegenCache}.
+ */
+public final class RecordingFileManifest implements FileManifest {
+    private final FileManifest delegate;
+    private final List<CachedFile> written = new ArrayList<>();
+
+    public RecordingFileManifest(FileManifest delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    /**
+     * Returns the files written through this manifest in the order they were written.
+     *
+     * @return the files written through this manifest.
+     */
+    public List<CachedFile> written() {
+        return Collections.unmodifiableList(written);
+    }
+
+    @Override
+    public Path getBaseDir() {
+        return delegate.getBaseDir();
+    }
+
+    @Override
+    public Set<Path> getFiles() {
+        return delegate.getFiles();
+    }
+
+    @Override
+    public Path addFile(Path path) {
+        return delegate.addFile(path);
+    }
+
+    @Override
+    public Path writeFile(Path path, Reader fileContentsReader) {
+        var contents = readFully(fileContentsReader);
+        record(path, contents.getBytes(StandardCharsets.UTF_8));
+        return delegate.writeFile(path, contents);
+    }
+
+    @Override
+    public Path writeFile(Path path, InputStream fileContentsInputStream) {
+        byte[] contents;
+        try {
+            contents = fileContentsInputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        record(path, contents);
+        return delegate.writeFile(path, new ByteArrayInputStream(contents));
+    }
+
+    @Override
+    public Path writeFile(Path path, String fileContentsText) {
+        record(path, fileContentsText.getBytes(StandardCharsets.UTF_8));
+        return delegate.writeFile(path, fileContentsText);
+    }
+
+    private void record(Path path, byte[] contents) {
+        var relative = path.isAbsolute() ? delegate.getBaseDir().relativize(path) : path;
+        var parts = new ArrayList<String>(relative.getNameCount());
+        for (var part : relative) {
+            parts.add(part.toString());
+        }
+        written.add(new CachedFile(String.join("/", parts), contents));
+    }
+
+    private static String readFully(Reader reader) {
+        var writer = new StringWriter();
+        try {
+            reader.transferTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
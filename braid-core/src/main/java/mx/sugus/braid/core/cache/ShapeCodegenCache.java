@@ -0,0 +1,143 @@
+package mx.sugus.braid.core.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * An on-disk cache that keeps, for each generated shape, its fingerprint along with the files written for it in the last run.
+ * Each shape is kept in its own entry within the cache directory such that entries can be read and updated independently.
+ *
+ * <p>Instances of this class are not thread-safe.
+ */
+public final class ShapeCodegenCache {
+    private static final Logger LOG = Logger.getLogger(ShapeCodegenCache.class.getName());
+    private static final int MAGIC = 0x42524944;
+    private static final int VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".entry";
+
+    private final Path directory;
+    private final Set<String> used = new HashSet<>();
+
+    ShapeCodegenCache(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+    }
+
+    /**
+     * Returns the cached files for the given shape if the cache contains an entry for it with the same fingerprint, otherwise
+     * returns null.
+     *
+     * @param shapeId     The id of the shape.
+     * @param fingerprint The current fingerprint of the shape.
+     * @return the cached files for the shape, or null if not found or if the fingerprint changed.
+     */
+    public List<CachedFile> lookup(ShapeId shapeId, String fingerprint) {
+        var name = entryName(shapeId);
+        var entry = directory.resolve(name);
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            if (!in.readUTF().equals(fingerprint)) {
+                return null;
+            }
+            var count = in.readInt();
+            var files = new ArrayList<CachedFile>(count);
+            for (var idx = 0; idx < count; idx++) {
+                var path = in.readUTF();
+                var contents = new byte[in.readInt()];
+                in.readFully(contents);
+                files.add(new CachedFile(path, contents));
+            }
+            used.add(name);
+            return files;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            // A corrupted entry is handled as a cache miss, the entry will be overwritten.
+            LOG.warning(() -> String.format("Cannot read cache entry for `%s`: %s", shapeId, e));
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given files for the shape along with its fingerprint, replacing any previous entry.
+     *
+     * @param shapeId     The id of the shape.
+     * @param fingerprint The current fingerprint of the shape.
+     * @param files       The files written for the shape.
+     */
+    public void store(ShapeId shapeId, String fingerprint, List<CachedFile> files) {
+        var name = entryName(shapeId);
+        used.add(name);
+        try {
+            var tmp = Files.createTempFile(directory, "tmp", ENTRY_SUFFIX + ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(fingerprint);
+                out.writeInt(files.size());
+                for (var file : files) {
+                    out.writeUTF(file.path());
+                    out.writeInt(file.contents().length);
+                    out.write(file.contents());
+                }
+            }
+            Files.move(tmp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes all the entries that were neither looked up successfully nor stored using this instance, that is, entries for
+     * shapes that are no longer generated.
+     */
+    public void prune() {
+        try (var entries = Files.list(directory)) {
+            for (var entry : entries.collect(Collectors.toList())) {
+                var name = entry.getFileName().toString();
+                if (name.endsWith(ENTRY_SUFFIX) && !used.contains(name)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens the cache in the given directory, creating the directory if needed.
+     *
+     * @param directory The cache directory.
+     * @return The cache.
+     */
+    public static ShapeCodegenCache open(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ShapeCodegenCache(directory);
+    }
+
+    private static String entryName(ShapeId shapeId) {
+        var digest = ShapeFingerprinter.digest(List.of(shapeId.toString()));
+        return digest + ENTRY_SUFFIX;
+    }
+}
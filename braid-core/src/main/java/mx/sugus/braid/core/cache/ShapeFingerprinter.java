@@ -0,0 +1,152 @@
+package mx.sugus.braid.core.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import mx.sugus.braid.core.ImplementsKnowledgeIndex;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.Walker;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * Computes a stable fingerprint for a shape. The fingerprint covers the shape and every shape in its transitive closure,
+ * including its members and their targets, and the given configuration fingerprint. Two runs using the same model and
+ * configuration yield the same fingerprint for the shape.
+ *
+ * <p>The relations defined using the implements trait are not reachable by walking the model, yet the code generated for
+ * an interface depends on the shapes that implement it, e.g., the dispatch in {@code fromNode} or the visitors, and the code
+ * generated for an implementer depends on the members of its interfaces. Thus, for every structure in the closure, the
+ * fingerprint also covers its direct and indirect implementers and super interfaces, along with their members, as returned by
+ * the {@link ImplementsKnowledgeIndex}.
+ *
+ * <p>Instances of this class are not thread-safe.
+ */
+public final class ShapeFingerprinter {
+    private final Model model;
+    private final String configFingerprint;
+    private final Walker walker;
+    private final ImplementsKnowledgeIndex implementsIndex;
+    private final Map<ShapeId, byte[]> shapeDigests = new HashMap<>();
+
+    /**
+     * Creates a new fingerprinter.
+     *
+     * @param model             The model containing the shapes.
+     * @param configFingerprint The fingerprint of the codegen configuration, see {@link #digest(List)}.
+     */
+    public ShapeFingerprinter(Model model, String configFingerprint) {
+        this.model = Objects.requireNonNull(model, "model");
+        this.configFingerprint = Objects.requireNonNull(configFingerprint, "configFingerprint");
+        this.walker = new Walker(model);
+        this.implementsIndex = ImplementsKnowledgeIndex.of(model);
+    }
+
+    /**
+     * Returns the fingerprint for the given shape.
+     *
+     * @param shape The shape.
+     * @return the fingerprint for the given shape.
+     */
+    public String fingerprint(Shape shape) {
+        return fingerprint(shape, List.of());
+    }
+
+    /**
+     * Returns the fingerprint for the given shape that also covers the given signatures, e.g., of the shape reducers results
+     * used by the shape.
+     *
+     * @param shape      The shape.
+     * @param signatures The additional signatures to cover.
+     * @return the fingerprint for the given shape.
+     */
+    public String fingerprint(Shape shape, List<String> signatures) {
+        var closure = new TreeMap<ShapeId, Shape>();
+        for (var neighbor : walker.walkShapes(shape)) {
+            closure.put(neighbor.getId(), neighbor);
+        }
+        for (var neighbor : new ArrayList<>(closure.values())) {
+            if (neighbor instanceof StructureShape structure) {
+                addRelated(closure, implementsIndex.recursiveImplementers(structure));
+                addRelated(closure, implementsIndex.recursiveSuperInterfaces(structure));
+            }
+        }
+        var digest = newDigest();
+        update(digest, configFingerprint);
+        update(digest, shape.getId().toString());
+        for (var signature : signatures) {
+            update(digest, signature);
+        }
+        for (var neighbor : closure.values()) {
+            digest.update(shapeDigests.computeIfAbsent(neighbor.getId(), id -> shapeDigest(neighbor)));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void addRelated(Map<ShapeId, Shape> closure, Set<StructureShape> related) {
+        for (var structure : related) {
+            closure.put(structure.getId(), structure);
+            for (var member : structure.members()) {
+                closure.put(member.getId(), member);
+            }
+        }
+    }
+
+    /**
+     * Returns a hex encoded digest of the given list of values. Used to compute the fingerprint for the codegen configuration.
+     *
+     * @param values The values to digest.
+     * @return A hex encoded digest of the given values.
+     */
+    public static String digest(List<String> values) {
+        var digest = newDigest();
+        for (var value : values) {
+            update(digest, value);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private byte[] shapeDigest(Shape shape) {
+        var digest = newDigest();
+        update(digest, shape.getId().toString());
+        update(digest, shape.getType().toString());
+        var traits = new ArrayList<>(shape.getAllTraits().values());
+        traits.sort(Comparator.comparing(Trait::toShapeId));
+        for (var trait : traits) {
+            update(digest, trait.toShapeId().toString());
+            update(digest, Node.printJson(trait.toNode()));
+        }
+        // Members are walked on their own, here we only need to keep their order and targets.
+        for (var member : shape.members()) {
+            update(digest, member.getMemberName());
+        }
+        shape.asMemberShape().ifPresent(member -> update(digest, member.getTarget().toString()));
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Separator to avoid ambiguities between adjacent values.
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package mx.sugus.braid.core.plugin;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import mx.sugus.braid.traits.CodegenIgnoreTrait;
 import software.amazon.smithy.codegen.core.SymbolProvider;
@@ -10,10 +15,17 @@ import software.amazon.smithy.model.shapes.Shape;
 /**
  * The codegen module implements the codegen pipeline by using configuration to produce elements, transforms them, and, finally
  * consuming them.
+ *
+ * <p>Thread-safety: the shape pipeline is split in two phases, {@link #produceShape(ShapeCodegenState)} runs the producers and
+ * transformers and might be called concurrently for different shapes, {@link #consumeShape(ShapeCodegenResult)} runs the
+ * consumers and is always called from a single thread in the order in which the shapes were selected. Therefore, producers and
+ * transformers must be thread-safe and must not write to the {@link software.amazon.smithy.build.FileManifest}, while
+ * consumers are free to keep state and write to it.
  */
 public final class CodegenModule {
     private static final Logger LOG = Logger.getLogger(CodegenModule.class.getName());
     private final CodegenModuleConfig config;
+    private final ShapeCodegenPlan plan;
 
     /**
      * Creates a new module with the given configuration.
@@ -22,6 +34,7 @@ public final class CodegenModule {
      */
     public CodegenModule(CodegenModuleConfig config) {
         this.config = config;
+        this.plan = ShapeCodegenPlan.from(config);
     }
 
     /**
@@ -86,6 +99,60 @@ public final class CodegenModule {
         return config.shapeReducers();
     }
 
+    /**
+     * Runs the configured shape reducers over the given states and returns the configured dependencies along with the result of
+     * each reducer keyed by its {@link ShapeReducer#resultKey()}. With a parallelism greater than one, the states are split in
+     * contiguous ranges that are consumed concurrently and then combined in order.
+     *
+     * @param states      The states for each of the selected shapes, in selection order
+     * @param parallelism The number of threads to use
+     * @return The configured dependencies along with the results of the reducers
+     */
+    public Dependencies reduceShapes(List<ShapeCodegenState> states, int parallelism) {
+        var reducers = config.shapeReducers();
+        if (reducers.isEmpty()) {
+            return config.dependencies();
+        }
+        var builder = config.dependencies().toBuilder();
+        var chunks = Math.min(parallelism, states.size());
+        if (chunks <= 1) {
+            for (var reducer : reducers) {
+                putReducerResult(builder, reducer, reduce(reducer, states, 1));
+            }
+            return builder.build();
+        }
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            var tasks = new ArrayList<ForkJoinTask<?>>(reducers.size());
+            for (var reducer : reducers) {
+                tasks.add(pool.submit(() -> reduce(reducer, states, chunks)));
+            }
+            var idx = 0;
+            for (var reducer : reducers) {
+                putReducerResult(builder, reducer, tasks.get(idx++).join());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the signatures of the reducers results used by the shape in the given state, see
+     * {@link ShapeReducer#signature(Object, ShapeCodegenState)}, in the same order as the reducers. The list contains null
+     * for the reducers that do not know which part of their result is used.
+     *
+     * @param state The state for the shape, with the dependencies returned by {@link #reduceShapes(List, int)}
+     * @return The signatures of the reducers results used by the shape
+     */
+    public List<String> reducerSignatures(ShapeCodegenState state) {
+        var result = new ArrayList<String>(config.shapeReducers().size());
+        for (var reducer : config.shapeReducers()) {
+            result.add(reducerSignature(reducer, state));
+        }
+        return result;
+    }
+
     /**
      * Runs the generation pipeline for the given shape in the state by,
      *
@@ -98,16 +165,42 @@ public final class CodegenModule {
      * @param state The state that contains the shape and adjacent types used for code generation
      */
     public void generateShape(ShapeCodegenState state) {
+        consumeShape(produceShape(state));
+    }
+
+    /**
+     * Runs the producers for the shape type and the configured transformers for each produced object. The returned result must
+     * be passed to {@link #consumeShape(ShapeCodegenResult)} to complete the pipeline.
+     *
+     * <p>This method can be called concurrently for different shapes.
+     *
+     * @param state The state that contains the shape and adjacent types used for code generation
+     * @return The produced and transformed results for the shape
+     */
+    public ShapeCodegenResult produceShape(ShapeCodegenState state) {
         var shape = state.shape();
         if (shape.hasTrait(CodegenIgnoreTrait.class)) {
             LOG.fine(() -> String.format("Skipping shape `%s` marked with `CodegenIgnoreTrait`", shape.getId()));
-            return;
+            return new ShapeCodegenResult(state);
         }
-        for (var task : config.shapeProducers(shape)) {
-            var result = runShapeTask(state, task);
-            if (result != null) {
-                consumeResult(state, task, result);
-            }
+        var taskPlans = plan.tasksArrayFor(shape.getType());
+        var result = new ShapeCodegenResult(state, taskPlans.length);
+        for (var taskPlan : taskPlans) {
+            addShapeTaskResult(result, taskPlan);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the configured consumers for each of the produced and transformed objects in the given result.
+     *
+     * <p>This method is not meant to be called concurrently.
+     *
+     * @param result The result previously returned by {@link #produceShape(ShapeCodegenState)}
+     */
+    public void consumeShape(ShapeCodegenResult result) {
+        for (var idx = 0; idx < result.size(); idx++) {
+            consumeResult(result.state(), result.plan(idx), result.result(idx));
         }
     }
 
@@ -131,6 +224,38 @@ public final class CodegenModule {
         }
     }
 
+    /**
+     * Returns a description of each of the configured tasks, see {@link CodegenModuleConfig#taskSignatures()}.
+     *
+     * @return a description of each of the configured tasks.
+     */
+    public List<String> taskSignatures() {
+        return config.taskSignatures();
+    }
+
+    /**
+     * Returns true if all the configured consumers only write files, see {@link ConsumerTask#onlyWritesFiles()}.
+     *
+     * @return true if all the configured consumers only write files.
+     */
+    public boolean consumersOnlyWriteFiles() {
+        for (var consumer : config.consumers()) {
+            if (!consumer.onlyWritesFiles()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the execution plan compiled from the module configuration for the shape producers.
+     *
+     * @return the execution plan for the shape producers.
+     */
+    public ShapeCodegenPlan shapeCodegenPlan() {
+        return plan;
+    }
+
     /**
      * Returns the configured dependencies.
      *
@@ -140,14 +265,66 @@ public final class CodegenModule {
         return config.dependencies();
     }
 
-    private <T> T runShapeTask(ShapeCodegenState state, ShapeProducerTask<T> task) {
-        LOG.fine(() -> String.format("Running producer `%s` on shape `%s",
-                                     task.taskId(), state.shape().getId()));
+    private <T> void addShapeTaskResult(ShapeCodegenResult result, ShapeTaskPlan<T> taskPlan) {
+        var produced = runShapeTask(result.state(), taskPlan);
+        if (produced != null) {
+            result.add(taskPlan, produced);
+        }
+    }
+
+    private static <T> T reduce(ShapeReducer<T> reducer, List<ShapeCodegenState> states, int chunks) {
+        LOG.fine(() -> String.format("Running shape reducer `%s`", reducer.taskId()));
+        var size = states.size();
+        // The first range is consumed in the current thread, the rest are forked.
+        var forked = new ArrayList<ForkJoinTask<ShapeReducer.ReducerState<T>>>(chunks - 1);
+        for (var chunk = 1; chunk < chunks; chunk++) {
+            var range = states.subList(chunk * size / chunks, (chunk + 1) * size / chunks);
+            forked.add(ForkJoinTask.adapt(() -> consumeRange(reducer, range)).fork());
+        }
+        var result = consumeRange(reducer, states.subList(0, size / chunks));
+        for (var task : forked) {
+            result.combine(task.join());
+        }
+        return result.finalizeJob();
+    }
+
+    private static <T> ShapeReducer.ReducerState<T> consumeRange(ShapeReducer<T> reducer, List<ShapeCodegenState> range) {
+        var state = reducer.init();
+        for (var shapeState : range) {
+            state.consume(shapeState);
+        }
+        return state;
+    }
+
+    private static <T> String reducerSignature(ShapeReducer<T> reducer, ShapeCodegenState state) {
+        var result = state.dependencies().get(reducer.resultKey());
+        if (result == null) {
+            return "";
+        }
+        return reducer.signature(result, state);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void putReducerResult(Dependencies.Builder builder, ShapeReducer<T> reducer, Object result) {
+        if (result != null) {
+            builder.put(reducer.resultKey(), (T) result);
+        }
+    }
+
+    private <T> T runShapeTask(ShapeCodegenState state, ShapeTaskPlan<T> taskPlan) {
+        // The shape pipeline runs for every shape and task, checking the level upfront avoids allocating the lambdas.
+        var fine = LOG.isLoggable(Level.FINE);
+        var task = taskPlan.producer();
+        if (fine) {
+            LOG.fine(String.format("Running producer `%s` on shape `%s", task.taskId(), state.shape().getId()));
+        }
         var result = task.produce(state);
         if (result != null) {
-            for (var transformer : config.shapeTaskTransformers(task)) {
-                LOG.fine(() -> String.format("Running transformer `%s` for producer `%s` on shape `%s",
-                                             transformer.taskId(), task.taskId(), state.shape().getId()));
+            for (var transformer : taskPlan.transformersArray()) {
+                if (fine) {
+                    LOG.fine(String.format("Running transformer `%s` for producer `%s` on shape `%s",
+                                           transformer.taskId(), task.taskId(), state.shape().getId()));
+                }
                 result = transformer.transform(result, state);
                 // Transformers return null to break the pipeline.
                 if (result == null) {
@@ -176,12 +353,15 @@ public final class CodegenModule {
         return result;
     }
 
-    private <T> void consumeResult(ShapeCodegenState state, ShapeProducerTask<?> task, T result) {
+    private <T> void consumeResult(ShapeCodegenState state, ShapeTaskPlan<?> plan, T result) {
         @SuppressWarnings("unchecked")
-        var producerTask = (ShapeProducerTask<T>) task;
-        for (var consumer : config.consumers(producerTask)) {
-            LOG.fine(() -> String.format("Running consumer `%s` for producer `%s` on shape `%s",
-                                         consumer.taskId(), task.taskId(), state.shape().getId()));
+        var taskPlan = (ShapeTaskPlan<T>) plan;
+        var fine = LOG.isLoggable(Level.FINE);
+        for (var consumer : taskPlan.consumersArray()) {
+            if (fine) {
+                LOG.fine(String.format("Running consumer `%s` for producer `%s` on shape `%s",
+                                       consumer.taskId(), taskPlan.producer().taskId(), state.shape().getId()));
+            }
             consumer.consume(result, state);
         }
     }
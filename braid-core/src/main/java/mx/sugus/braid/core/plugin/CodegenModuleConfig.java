@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import mx.sugus.braid.core.cache.CodeSourceDigest;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeType;
 
@@ -129,7 +130,17 @@ public final class CodegenModuleConfig {
      * @return The collection of the configured producers for the given shape type.
      */
     public Collection<ShapeProducerTask<?>> shapeProducers(Shape shape) {
-        return shapeProducers.getOrDefault(shape.getType(), Set.of());
+        return shapeProducers(shape.getType());
+    }
+
+    /**
+     * Returns the collection of the configured producers for the given shape type.
+     *
+     * @param type The shape type for which the producers are returned.
+     * @return The collection of the configured producers for the given shape type.
+     */
+    public Collection<ShapeProducerTask<?>> shapeProducers(ShapeType type) {
+        return shapeProducers.getOrDefault(type, Set.of());
     }
 
     /**
@@ -180,7 +191,7 @@ public final class CodegenModuleConfig {
         return consumers.getOrDefault(task.output(), Set.of())
                         .stream()
                         .map(x -> (ConsumerTask<T>) x)
-                        .collect(Collectors.toSet());
+                        .collect(Collectors.toList());
     }
 
     /**
@@ -194,7 +205,18 @@ public final class CodegenModuleConfig {
         return consumers.getOrDefault(task.output(), Set.of())
                         .stream()
                         .map(x -> (ConsumerTask<T>) x)
-                        .collect(Collectors.toSet());
+                        .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the collection of all the configured consumers.
+     *
+     * @return The collection of all the configured consumers.
+     */
+    public Collection<ConsumerTask<?>> consumers() {
+        var result = new ArrayList<ConsumerTask<?>>();
+        consumers.values().forEach(result::addAll);
+        return result;
     }
 
     /**
@@ -224,6 +246,35 @@ public final class CodegenModuleConfig {
         return shapeReducers;
     }
 
+    /**
+     * Returns a description of each of the configured tasks, including its identifier, its implementing class and a digest of
+     * the jar that defines the class, see {@link CodeSourceDigest}. Used to detect changes in the configuration, or in the
+     * version of the plugins, between codegen runs.
+     *
+     * @return a description of each of the configured tasks.
+     */
+    public List<String> taskSignatures() {
+        var result = new ArrayList<String>();
+        shapeSelectors.forEach(t -> result.add(taskSignature("shape-selector", t.taskId(), t)));
+        earlyModelTransformers.forEach(t -> result.add(taskSignature("model-early-transformer", t.taskId(), t)));
+        modelTransformers.forEach(t -> result.add(taskSignature("model-transformer", t.taskId(), t)));
+        shapeProducers.forEach((k, v) -> v.forEach(t -> result.add(taskSignature("shape-producer:" + k, t.taskId(), t))));
+        shapeTaskTransformers.forEach((k, v) -> v.forEach(t -> result.add(taskSignature("shape-transformer:" + k,
+                                                                                           t.taskId(), t))));
+        nonShapeProducers.forEach(t -> result.add(taskSignature("non-shape-producer", t.taskId(), t)));
+        nonShapeTaskTransformers.forEach((k, v) -> v.forEach(t -> result.add(taskSignature("non-shape-transformer:" + k,
+                                                                                              t.taskId(), t))));
+        consumers.forEach((k, v) -> v.forEach(t -> result.add(taskSignature("consumer:" + k.getName(), t.taskId(), t))));
+        shapeReducers.forEach(t -> result.add(taskSignature("shape-reducer", t.taskId(), t)));
+        symbolProviderDecorators.forEach(t -> result.add("symbol-provider-decorator:" + t.getClass().getName() + ":"
+                                                         + CodeSourceDigest.of(t.getClass())));
+        return result;
+    }
+
+    private static String taskSignature(String kind, Identifier taskId, Object task) {
+        return kind + ":" + taskId + ":" + task.getClass().getName() + ":" + CodeSourceDigest.of(task.getClass());
+    }
+
     /**
      * Returns the configured set of keyed dependencies.
      *
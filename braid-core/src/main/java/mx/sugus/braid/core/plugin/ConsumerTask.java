@@ -4,6 +4,10 @@ package mx.sugus.braid.core.plugin;
  * Represents a codegen task to consume instances of type T previously produced and potentially transformed by other configured
  * producers and transformers.
  *
+ * <p>Consumers are always called from a single thread and in the order in which the shapes were selected, regardless of the
+ * configured parallelism. This keeps the output deterministic and allows consumers to write to the file manifest without
+ * further synchronization.
+ *
  * @param <T> The type that this consumer consumes.
  */
 public interface ConsumerTask<T> {
@@ -29,4 +33,15 @@ public interface ConsumerTask<T> {
      * @param directive The directive containing all the data needed for the transformer.
      */
     void consume(T type, CodegenState directive);
+
+    /**
+     * Returns true if the only effect of this consumer is writing files using the file manifest of the given state. Incremental
+     * codegen replays the files written for the shapes that did not change instead of calling the consumers for them, thus it
+     * is only used when all the configured consumers only write files. By default, false.
+     *
+     * @return true if the only effect of this consumer is writing files.
+     */
+    default boolean onlyWritesFiles() {
+        return false;
+    }
 }
@@ -1,18 +1,28 @@
 package mx.sugus.braid.core.plugin;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import mx.sugus.braid.rt.util.AbstractBuilderReference;
 import mx.sugus.braid.rt.util.CollectionBuilderReference;
 
 /**
  * A keyed set of dependencies.
+ *
+ * <p>Default values for keys that are not explicitly set are computed at most once per instance, the first time they are
+ * requested, and reused afterward. Instances are safe to use concurrently.
  */
 public final class Dependencies {
-
+    private static final Object NULL_DEFAULT = new Object();
     private final Map<DependencyKey<?>, Object> map;
+    private final Map<DependencyKey<?>, Object> defaults = new ConcurrentHashMap<>();
+    // Guarded by `defaults`, keys whose defaults are being computed, used to detect cycles between them.
+    private final List<DependencyKey<?>> resolving = new ArrayList<>();
 
     Dependencies(Builder builder) {
         this.map = builder.map.asPersistent();
@@ -30,7 +40,7 @@ public final class Dependencies {
     public <T> T get(DependencyKey<T> key) {
         T result = (T) map.get(key);
         if (result == null) {
-            return key.computeDefault(this);
+            return resolveDefault(key);
         }
         return result;
     }
@@ -47,7 +57,7 @@ public final class Dependencies {
     public <T> T expect(DependencyKey<T> key) {
         T result = (T) map.get(key);
         if (result == null) {
-            result = key.computeDefault(this);
+            result = resolveDefault(key);
         }
         if (result == null) {
             throw new NoSuchElementException(key.toString());
@@ -66,11 +76,50 @@ public final class Dependencies {
     public <T> Optional<T> getOptional(DependencyKey<T> key) {
         T result = (T) map.get(key);
         if (result == null) {
-            result = key.computeDefault(this);
+            result = resolveDefault(key);
         }
         return Optional.ofNullable(result);
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> T resolveDefault(DependencyKey<T> key) {
+        var value = defaults.get(key);
+        if (value == null) {
+            // Defaults can request other defaults, the monitor is reentrant and being a single one there's no chance of
+            // threads waiting on each other.
+            synchronized (defaults) {
+                value = defaults.get(key);
+                if (value == null) {
+                    value = computeDefault(key);
+                    defaults.put(key, value);
+                }
+            }
+        }
+        if (value == NULL_DEFAULT) {
+            return null;
+        }
+        return (T) value;
+    }
+
+    private Object computeDefault(DependencyKey<?> key) {
+        if (resolving.contains(key)) {
+            var cycle = new ArrayList<>(resolving.subList(resolving.indexOf(key), resolving.size()));
+            cycle.add(key);
+            throw new IllegalStateException("Cycle detected while computing the default for dependency `" + key + "`: "
+                                            + cycle.stream().map(Object::toString).collect(Collectors.joining(" -> ")));
+        }
+        resolving.add(key);
+        try {
+            var value = key.computeDefault(this);
+            if (value == null) {
+                return NULL_DEFAULT;
+            }
+            return value;
+        } finally {
+            resolving.remove(resolving.size() - 1);
+        }
+    }
+
     /**
      * Convert this instance to builder.
      *
@@ -163,5 +212,10 @@ public final class Dependencies {
         protected Builder clearTransient(Builder source) {
             return builder();
         }
+
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
     }
 }
@@ -24,7 +24,11 @@ public final class DependencyKey<T> {
     }
 
     /**
-     * Returns the default value for this key
+     * Returns a newly computed default value for this key. {@link Dependencies} memoizes the value, and callers should prefer
+     * it over calling this method directly.
+     *
+     * @param dependencies The dependencies used to compute the default value
+     * @return the default value for this key.
      */
     public T computeDefault(Dependencies dependencies) {
         return computeDependency.apply(dependencies);
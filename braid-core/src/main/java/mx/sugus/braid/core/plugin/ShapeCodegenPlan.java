@@ -0,0 +1,69 @@
+package mx.sugus.braid.core.plugin;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.shapes.ShapeType;
+
+/**
+ * An immutable execution plan compiled from a {@link CodegenModuleConfig}. For each shape type it keeps the pipelines, producer,
+ * transformers, and consumers, to run for the shapes of that type, such that the codegen can walk them without any further
+ * lookups or allocations.
+ *
+ * <p>Transformers are resolved using the identifier of the producer they transform, and consumers using the type the producer
+ * outputs. Transformers whose identifier does not match a configured shape producer, e.g., the ones for a producer of a plugin
+ * that is not loaded or for another transformer, are not part of the plan and never run.
+ */
+public final class ShapeCodegenPlan {
+    private static final ShapeTaskPlan<?>[] EMPTY = new ShapeTaskPlan<?>[0];
+    private final Map<ShapeType, ShapeTaskPlan<?>[]> plans;
+
+    ShapeCodegenPlan(Map<ShapeType, ShapeTaskPlan<?>[]> plans) {
+        this.plans = plans;
+    }
+
+    /**
+     * Returns the pipelines for the shapes of the given type in configuration order.
+     *
+     * @param type The shape type
+     * @return the pipelines for the shapes of the given type.
+     */
+    public List<ShapeTaskPlan<?>> tasksFor(ShapeType type) {
+        return List.of(tasksArrayFor(type));
+    }
+
+    ShapeTaskPlan<?>[] tasksArrayFor(ShapeType type) {
+        var result = plans.get(type);
+        if (result == null) {
+            return EMPTY;
+        }
+        return result;
+    }
+
+    /**
+     * Compiles the plan for the given configuration.
+     *
+     * @param config The configuration to compile.
+     * @return The compiled plan.
+     */
+    public static ShapeCodegenPlan from(CodegenModuleConfig config) {
+        var plans = new EnumMap<ShapeType, ShapeTaskPlan<?>[]>(ShapeType.class);
+        for (var type : ShapeType.values()) {
+            var producers = config.shapeProducers(type);
+            if (producers.isEmpty()) {
+                continue;
+            }
+            var typePlans = new ShapeTaskPlan<?>[producers.size()];
+            var idx = 0;
+            for (var producer : producers) {
+                typePlans[idx++] = taskPlan(config, producer);
+            }
+            plans.put(type, typePlans);
+        }
+        return new ShapeCodegenPlan(plans);
+    }
+
+    private static <T> ShapeTaskPlan<T> taskPlan(CodegenModuleConfig config, ShapeProducerTask<T> producer) {
+        return new ShapeTaskPlan<>(producer, config.shapeTaskTransformers(producer), config.consumers(producer));
+    }
+}
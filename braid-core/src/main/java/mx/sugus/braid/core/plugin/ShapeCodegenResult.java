@@ -0,0 +1,62 @@
+package mx.sugus.braid.core.plugin;
+
+import java.util.Objects;
+
+/**
+ * Holds the produced and transformed results for a single shape that are waiting to be consumed. The results are kept in the
+ * order in which the producers were configured.
+ */
+public final class ShapeCodegenResult {
+    private static final ShapeTaskPlan<?>[] EMPTY_PLANS = new ShapeTaskPlan<?>[0];
+    private static final Object[] EMPTY_RESULTS = new Object[0];
+    private final ShapeCodegenState state;
+    private final ShapeTaskPlan<?>[] plans;
+    private final Object[] results;
+    private int size;
+
+    ShapeCodegenResult(ShapeCodegenState state) {
+        this(state, 0);
+    }
+
+    ShapeCodegenResult(ShapeCodegenState state, int capacity) {
+        this.state = Objects.requireNonNull(state, "state");
+        this.plans = capacity == 0 ? EMPTY_PLANS : new ShapeTaskPlan<?>[capacity];
+        this.results = capacity == 0 ? EMPTY_RESULTS : new Object[capacity];
+    }
+
+    /**
+     * Returns the state used to produce the results.
+     *
+     * @return the state used to produce the results.
+     */
+    public ShapeCodegenState state() {
+        return state;
+    }
+
+    /**
+     * Returns true if no producer returned a result for the shape.
+     *
+     * @return true if no producer returned a result for the shape.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    ShapeTaskPlan<?> plan(int idx) {
+        return plans[idx];
+    }
+
+    Object result(int idx) {
+        return results[idx];
+    }
+
+    <T> void add(ShapeTaskPlan<T> plan, T result) {
+        plans[size] = plan;
+        results[size] = result;
+        size++;
+    }
+}
@@ -5,6 +5,9 @@ import software.amazon.smithy.model.shapes.ShapeType;
 /**
  * Represents a codegen task to produce instances of type T for a shape of the configured type.
  *
+ * <p>When the codegen is configured with a parallelism greater than one the producers are called concurrently for different
+ * shapes, implementations must be stateless or otherwise thread-safe and must not write to the file manifest.
+ *
  * @param <T> The produced type
  */
 public interface ShapeProducerTask<T> {
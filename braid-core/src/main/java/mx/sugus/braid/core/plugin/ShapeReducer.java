@@ -3,6 +3,11 @@ package mx.sugus.braid.core.plugin;
 /**
  * A shape reducer task is run before all the producers a single result that can be retrieved.
  *
+ * <p>The reducer consumes all the selected shapes before any producer runs, and its result is added to the dependencies, using
+ * the key returned by {@link #resultKey()}, that are given to the producers, transformers and consumers. When the codegen is
+ * configured with a parallelism greater than one, the selected shapes are split in contiguous ranges, each range is consumed by
+ * its own state, created using {@link #init()}, and then the states are combined in order.
+ *
  * @param <T> The result for the reducer.
  */
 public interface ShapeReducer<T> {
@@ -14,14 +19,35 @@ public interface ShapeReducer<T> {
     Identifier taskId();
 
     /**
-     * Returns the initial state for this reducer.
+     * Returns the key used to add the result of this reducer to the dependencies.
+     *
+     * @return The key used to add the result of this reducer to the dependencies.
+     */
+    DependencyKey<T> resultKey();
+
+    /**
+     * Returns the initial state for this reducer. This method might be called concurrently.
      *
      * @return The initial state for this reducer.
      */
     ReducerState<T> init();
 
     /**
-     * State for this reducer.
+     * Returns a stable signature of the part of the result used to generate the code for the shape in the given state, or an
+     * empty string if the codegen of the shape does not use the result. When using incremental codegen, the signature is
+     * added to the fingerprint of the shape. By default, returns null, meaning that the codegen of any shape might use the
+     * whole result, in which case the fingerprints of all the shapes cover all the selected shapes.
+     *
+     * @param result The result of this reducer.
+     * @param state  The state for the shape.
+     * @return The signature of the part of the result used by the shape, or null if unknown.
+     */
+    default String signature(T result, ShapeCodegenState state) {
+        return null;
+    }
+
+    /**
+     * State for this reducer. Each instance is only used from a single thread at a time.
      *
      * @param <T> The result for the reducer.
      */
@@ -33,6 +59,14 @@ public interface ShapeReducer<T> {
          */
         void consume(ShapeCodegenState directive);
 
+        /**
+         * Combines the given state into this one. The given state was created by the same reducer and consumed shapes that come,
+         * in selection order, after the ones consumed by this state.
+         *
+         * @param other The state to combine into this one.
+         */
+        void combine(ReducerState<T> other);
+
         /**
          * Finalizes the reduction step and returns the resulting value.
          *
@@ -0,0 +1,63 @@
+package mx.sugus.braid.core.plugin;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The compiled pipeline for a single shape producer, that is, the producer itself, the chain of transformers for it, and the
+ * consumers for its output, all of them in configuration order.
+ *
+ * @param <T> The type produced by the producer.
+ */
+public final class ShapeTaskPlan<T> {
+    private final ShapeProducerTask<T> producer;
+    private final ShapeTaskTransformer<T>[] transformers;
+    private final ConsumerTask<T>[] consumers;
+
+    @SuppressWarnings("unchecked")
+    ShapeTaskPlan(
+        ShapeProducerTask<T> producer,
+        Collection<ShapeTaskTransformer<T>> transformers,
+        Collection<ConsumerTask<T>> consumers
+    ) {
+        this.producer = Objects.requireNonNull(producer, "producer");
+        this.transformers = transformers.toArray(new ShapeTaskTransformer[0]);
+        this.consumers = consumers.toArray(new ConsumerTask[0]);
+    }
+
+    /**
+     * Returns the producer for this pipeline.
+     *
+     * @return the producer for this pipeline.
+     */
+    public ShapeProducerTask<T> producer() {
+        return producer;
+    }
+
+    /**
+     * Returns the transformers for this pipeline in the order in which they are run.
+     *
+     * @return the transformers for this pipeline.
+     */
+    public List<ShapeTaskTransformer<T>> transformers() {
+        return List.of(transformers);
+    }
+
+    /**
+     * Returns the consumers for this pipeline in the order in which they are run.
+     *
+     * @return the consumers for this pipeline.
+     */
+    public List<ConsumerTask<T>> consumers() {
+        return List.of(consumers);
+    }
+
+    ShapeTaskTransformer<T>[] transformersArray() {
+        return transformers;
+    }
+
+    ConsumerTask<T>[] consumersArray() {
+        return consumers;
+    }
+}
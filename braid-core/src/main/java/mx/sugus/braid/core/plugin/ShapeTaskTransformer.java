@@ -4,6 +4,10 @@ package mx.sugus.braid.core.plugin;
  * Represents a codegen task to transform a produced instance of the type T for the task with the id given by
  * {@link #transformsId()}
  *
+ * <p>Transformers run in the same thread as the producer whose result they transform, when the codegen is configured with a
+ * parallelism greater than one they are called concurrently for different shapes, implementations must be stateless or
+ * otherwise thread-safe and must not write to the file manifest.
+ *
  * @param <T> The input and output type of the transformer.
  */
 public interface ShapeTaskTransformer<T> {
@@ -5,6 +5,9 @@ import software.amazon.smithy.model.Model;
 
 /**
  * Decorates the symbol provider.
+ *
+ * <p>The decorated symbol provider is shared by all the producers and transformers that might run concurrently, the returned
+ * symbol provider must be thread-safe.
  */
 public interface SymbolProviderDecorator {
 
@@ -1,24 +1,28 @@
 package mx.sugus.braid.core.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 import software.amazon.smithy.utils.StringUtils;
 
 /**
  * Represents a Java name that can be converted between naming conventions according to the use case
+ *
+ * <p>Names are immutable. The names created by {@link #of(String, Convention)}, and the conversions between conventions, are
+ * cached, and the cache is safe to use from concurrent threads.
  */
 public final class Name {
-    private static final Pattern SPLIT_ALPHANUM = Pattern.compile("[^A-Za-z\\d]+");
-    private static final Pattern SPLIT_NUMERIC_VERSION = Pattern.compile("([^a-z]{2,})([vV])([0-9]+)");
-    private static final Pattern SPLIT_CAMEL_CASE = Pattern.compile("(?<=[a-z])(?=[A-Z]([a-zA-Z]|[0-9]))");
-    private static final Pattern SPLIT_ACRONYMS = Pattern.compile("([A-Z]+)([A-Z][a-z])");
-    private static final Pattern SPLIT_IN_NUMBERS = Pattern.compile("([0-9])([a-zA-Z])");
-    private static final Pattern COLLAPSE_WHITESPACE = Pattern.compile(" +");
+    // Max number of names cached per convention, the cache is cleared once full.
+    private static final int MAX_CACHED_NAMES = 8192;
+    private static final Convention[] CONVENTIONS = Convention.values();
+    private static final NameCache[] CACHES = newCaches();
 
     private final String[] parts;
     private final Convention convention;
+    // Names for the other conventions, filled lazily, a race just creates an equivalent instance.
+    private final Name[] conversions = new Name[CONVENTIONS.length];
     private volatile String valueCache;
 
     private Name(String[] parts, Convention convention) {
@@ -68,31 +72,27 @@ public final class Name {
     }
 
     public Name toPascalCase() {
-        if (convention == Convention.PASCAL_CASE) {
-            return this;
-        }
-        return new Name(parts.clone(), Convention.PASCAL_CASE);
+        return toNameConvention(Convention.PASCAL_CASE);
     }
 
     public Name toCamelCase() {
-        if (convention == Convention.CAMEL_CASE) {
-            return this;
-        }
-        return new Name(parts.clone(), Convention.CAMEL_CASE);
+        return toNameConvention(Convention.CAMEL_CASE);
     }
 
     public Name toScreamCase() {
-        if (convention == Convention.SCREAM_CASE) {
-            return this;
-        }
-        return new Name(parts.clone(), Convention.SCREAM_CASE);
+        return toNameConvention(Convention.SCREAM_CASE);
     }
 
     public Name toNameConvention(Convention newKind) {
         if (convention == newKind) {
             return this;
         }
-        return new Name(parts.clone(), newKind);
+        var result = conversions[newKind.ordinal()];
+        if (result == null) {
+            result = new Name(parts.clone(), newKind);
+            conversions[newKind.ordinal()] = result;
+        }
+        return result;
     }
 
     public Name concat(Name other) {
@@ -147,34 +147,175 @@ public final class Name {
     }
 
     public static Name of(String value, Convention kind) {
-        return new Name(splitOnWordBoundaries(value), kind);
+        return CACHES[kind.ordinal()].get(value, kind);
     }
 
-    // Adapted from
-    // https://github.com/aws/aws-sdk-java-v2/blob/5dd15f74beb6b5e50a22de26355047b80bf170c3/utils/src/main/java/software/amazon/awssdk/utils/internal/CodegenNamingUtils.java#L36
+    /**
+     * Splits the given string into words. Runs of non-alphanumeric characters are word separators and, within the
+     * alphanumeric runs, the following are word boundaries:
+     *
+     * <ul>
+     *     <li>A version suffix after two or more non-lowercase characters, e.g., {@code TESTv4 -> TEST v4}</li>
+     *     <li>A camelCase boundary, e.g., {@code AcmSuccess -> Acm Success}</li>
+     *     <li>The end of an acronym, e.g., {@code ACMSuccess -> ACM Success}</li>
+     *     <li>A letter after a number, e.g., {@code s3ec2 -> s3 ec2}</li>
+     * </ul>
+     *
+     * <p>The string is scanned once, without using regular expressions, but it yields the same words than the regular
+     * expression based algorithm it was adapted from,
+     * https://github.com/aws/aws-sdk-java-v2/blob/5dd15f74beb6b5e50a22de26355047b80bf170c3/utils/src/main/java/software/amazon/awssdk/utils/internal/CodegenNamingUtils.java#L36
+     *
+     * @param toSplit The string to split
+     * @return The words in the string
+     */
     public static String[] splitOnWordBoundaries(String toSplit) {
-        var result = toSplit;
+        var length = toSplit.length();
+        // Non-alphanumeric characters are replaced by spaces, collapsing consecutive ones.
+        var chars = new char[length];
+        var size = 0;
+        for (var idx = 0; idx < length; idx++) {
+            var c = toSplit.charAt(idx);
+            if (isAlphanumeric(c)) {
+                chars[size++] = c;
+            } else if (size == 0 || chars[size - 1] != ' ') {
+                chars[size++] = ' ';
+            }
+        }
+        var versionBoundaries = versionBoundaries(chars, size);
+        var parts = new ArrayList<String>();
+        var wordStart = -1;
+        for (var idx = 0; idx < size; idx++) {
+            if (chars[idx] == ' ') {
+                if (wordStart != -1) {
+                    parts.add(new String(chars, wordStart, idx - wordStart));
+                    wordStart = -1;
+                }
+            } else if (wordStart == -1) {
+                wordStart = idx;
+            } else if (isWordBoundary(chars, size, idx, versionBoundaries)) {
+                parts.add(new String(chars, wordStart, idx - wordStart));
+                wordStart = idx;
+            }
+        }
+        if (wordStart != -1) {
+            parts.add(new String(chars, wordStart, size - wordStart));
+        }
+        if (parts.isEmpty()) {
+            return new String[] {""};
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    /**
+     * Returns whether there's a word boundary right before the character at the given index. Both, the character and the one
+     * before it, are alphanumeric.
+     */
+    private static boolean isWordBoundary(char[] chars, int size, int idx, boolean[] versionBoundaries) {
+        if (versionBoundaries != null && versionBoundaries[idx]) {
+            return true;
+        }
+        var prev = chars[idx - 1];
+        var current = chars[idx];
+        // Add space after a number in the middle of a word, s3ec2 -> "s3 ec2"
+        if (isDigit(prev)) {
+            return !isDigit(current);
+        }
+        if (!isUpper(current) || idx + 1 == size) {
+            return false;
+        }
+        var next = chars[idx + 1];
+        if (next == ' ' || versionBoundaries != null && versionBoundaries[idx + 1]) {
+            return false;
+        }
+        // camelCased words, AcmSuccess -> "Acm Success", or acronyms, ACMSuccess -> "ACM Success"
+        return isLower(prev) || isUpper(prev) && isLower(next);
+    }
 
-        // All non-alphanumeric characters are spaces
-        result = SPLIT_ALPHANUM.matcher(result).replaceAll(" "); // acm-success -> "acm success"
+    /**
+     * Finds the boundaries around a number with a standalone v in front of it, e.g., TESTv4 -> "TEST v4", or TestV4 -> "Test
+     * V4". The version has to be preceded by two or more non-lowercase characters, and, as with the greedy regular expression
+     * {@code ([^a-z]{2,})([vV])([0-9]+)}, the last version of each run of such characters is taken. Returns null if there are
+     * no versions.
+     */
+    private static boolean[] versionBoundaries(char[] chars, int size) {
+        boolean[] result = null;
+        var idx = 0;
+        while (idx < size) {
+            if (isLower(chars[idx])) {
+                idx++;
+                continue;
+            }
+            var runEnd = idx;
+            while (runEnd < size && !isLower(chars[runEnd])) {
+                runEnd++;
+            }
+            var version = -1;
+            for (var candidate = Math.min(runEnd, size - 2); candidate >= idx + 2; candidate--) {
+                var c = chars[candidate];
+                if ((c == 'v' || c == 'V') && isDigit(chars[candidate + 1])) {
+                    version = candidate;
+                    break;
+                }
+            }
+            if (version == -1) {
+                idx = runEnd;
+                continue;
+            }
+            var versionEnd = version + 1;
+            while (versionEnd < size && isDigit(chars[versionEnd])) {
+                versionEnd++;
+            }
+            if (result == null) {
+                result = new boolean[size + 1];
+            }
+            result[version] = true;
+            result[versionEnd] = true;
+            idx = versionEnd;
+        }
+        return result;
+    }
 
-        // If a number has a standalone v in front of it, separate it out (version).
-        result = SPLIT_NUMERIC_VERSION.matcher(result).replaceAll("$1 $2$3 "); // TESTv4 -> "TEST v4 " or  TestV4 -> "Test V4 "
+    private static boolean isAlphanumeric(char c) {
+        return isLower(c) || isUpper(c) || isDigit(c);
+    }
 
-        // Add a space between camelCased words
-        result = String.join(" ", SPLIT_CAMEL_CASE.split(result)); // AcmSuccess -> // "Acm Success"
+    private static boolean isLower(char c) {
+        return c >= 'a' && c <= 'z';
+    }
 
-        // Add a space after acronyms
-        result = SPLIT_ACRONYMS.matcher(result).replaceAll("$1 $2"); // ACMSuccess -> "ACM Success"
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
 
-        // Add space after a number in the middle of a word
-        result = SPLIT_IN_NUMBERS.matcher(result).replaceAll("$1 $2"); // s3ec2 -> "s3 ec2"
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 
-        // Remove extra spaces - multiple consecutive ones or those and the beginning/end of words
-        result = COLLAPSE_WHITESPACE.matcher(result).replaceAll(" ") // "Foo  Bar" -> "Foo Bar"
-                                    .trim(); // " Foo " -> Foo
+    private static NameCache[] newCaches() {
+        var result = new NameCache[CONVENTIONS.length];
+        for (var idx = 0; idx < result.length; idx++) {
+            result[idx] = new NameCache();
+        }
+        return result;
+    }
 
-        return result.split(" ");
+    /**
+     * A bounded cache of names for a single convention keyed by the source string.
+     */
+    private static final class NameCache {
+        private final ConcurrentHashMap<String, Name> names = new ConcurrentHashMap<>();
+
+        Name get(String value, Convention convention) {
+            var result = names.get(value);
+            if (result == null) {
+                result = new Name(splitOnWordBoundaries(value), convention);
+                if (names.size() >= MAX_CACHED_NAMES) {
+                    names.clear();
+                }
+                names.put(value, result);
+            }
+            return result;
+        }
     }
 
     public enum Convention {
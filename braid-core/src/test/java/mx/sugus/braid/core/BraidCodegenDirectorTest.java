@@ -0,0 +1,174 @@
+package mx.sugus.braid.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import mx.sugus.braid.core.cache.CachedFile;
+import mx.sugus.braid.core.cache.RecordingFileManifest;
+import mx.sugus.braid.core.plugin.CodegenModule;
+import mx.sugus.braid.core.plugin.CodegenModuleConfig;
+import mx.sugus.braid.core.plugin.CodegenState;
+import mx.sugus.braid.core.plugin.ConsumerTask;
+import mx.sugus.braid.core.plugin.DefaultShapeSelector;
+import mx.sugus.braid.core.plugin.Identifier;
+import mx.sugus.braid.core.plugin.ShapeCodegenState;
+import mx.sugus.braid.core.plugin.ShapeProducerTask;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+
+class BraidCodegenDirectorTest {
+    static final int STRUCTURES = 64;
+    static final Model MODEL = model();
+
+    @Test
+    public void testParallelCodegenWritesTheSameFilesInTheSameOrder() {
+        var expected = generate(1);
+        assertEquals(STRUCTURES, expected.size());
+        for (var parallelism : List.of(2, 4, 8)) {
+            assertEquals(expected, generate(parallelism), "parallelism: " + parallelism);
+        }
+    }
+
+    @Test
+    public void testProducerExceptionReachesTheCaller() {
+        var failing = ShapeId.from("test#Shape20");
+        for (var parallelism : List.of(1, 4)) {
+            var fileManifest = new RecordingFileManifest(new MockManifest());
+            var director = director(parallelism, failing, fileManifest);
+
+            var e = assertThrows(IllegalStateException.class, director::execute);
+
+            assertTrue(e.getMessage().contains("Cannot produce test#Shape20"), e.getMessage());
+            // The shapes selected before the failed one are still consumed, in order, and none after it.
+            var written = fileManifest.written().stream().map(CachedFile::path).collect(Collectors.toList());
+            var expected = new ArrayList<String>();
+            for (var shape : DefaultShapeSelector.get().select(MODEL)) {
+                if (shape.getId().equals(failing)) {
+                    break;
+                }
+                if (shape.isStructureShape()) {
+                    expected.add("test/" + shape.getId().getName() + ".txt");
+                }
+            }
+            assertEquals(expected, written, "parallelism: " + parallelism);
+        }
+    }
+
+    static List<String> generate(int parallelism) {
+        var fileManifest = new RecordingFileManifest(new MockManifest());
+        director(parallelism, null, fileManifest).execute();
+        return fileManifest.written()
+                           .stream()
+                           .map(file -> file.path() + "\n" + new String(file.contents(), StandardCharsets.UTF_8))
+                           .collect(Collectors.toList());
+    }
+
+    static BraidCodegenDirector director(int parallelism, ShapeId failing, RecordingFileManifest fileManifest) {
+        var config = CodegenModuleConfig.builder()
+                                        .addProducer(new DescribeProducer(failing))
+                                        .addConsumer(new WriteConsumer())
+                                        .build();
+        var settings = new BrideCodegenSettings(Node.objectNode(), ShapeId.from("test#Service"), null, "test", "1.0",
+                                                parallelism, null);
+        return BraidCodegenDirector.builder()
+                                   .model(MODEL)
+                                   .settings(settings)
+                                   .module(new CodegenModule(config))
+                                   .fileManifest(fileManifest)
+                                   .symbolProviderFactory((model, s) -> symbolProvider())
+                                   .build();
+    }
+
+    static SymbolProvider symbolProvider() {
+        return shape -> Symbol.builder().name(shape.getId().getName()).namespace("test", ".").build();
+    }
+
+    static Model model() {
+        var source = new StringBuilder("$version: \"2.0\"\nnamespace test\n");
+        for (var idx = 0; idx < STRUCTURES; idx++) {
+            source.append("structure Shape").append(idx).append(" {\n");
+            for (var member = 0; member <= idx % 5; member++) {
+                source.append("    member").append(member).append(": String\n");
+            }
+            source.append("}\n");
+        }
+        return Model.assembler()
+                    .addUnparsedModel("test.smithy", source.toString())
+                    .assemble()
+                    .unwrap();
+    }
+
+    /**
+     * Describes each structure and its members. Takes a different time for each shape such that, when producing
+     * concurrently, the shapes are completed out of order.
+     */
+    static final class DescribeProducer implements ShapeProducerTask<String> {
+        private final ShapeId failing;
+
+        DescribeProducer(ShapeId failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public Identifier taskId() {
+            return Identifier.of(DescribeProducer.class);
+        }
+
+        @Override
+        public Class<String> output() {
+            return String.class;
+        }
+
+        @Override
+        public ShapeType type() {
+            return ShapeType.STRUCTURE;
+        }
+
+        @Override
+        public String produce(ShapeCodegenState state) {
+            var shape = state.shape();
+            if (shape.getId().equals(failing)) {
+                throw new IllegalStateException("Cannot produce " + shape.getId());
+            }
+            var index = Integer.parseInt(shape.getId().getName().substring("Shape".length()));
+            try {
+                Thread.sleep((STRUCTURES - index) % 4);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            var result = new StringBuilder(state.symbolProvider().toSymbol(shape).getName());
+            for (var member : shape.members()) {
+                result.append('\n').append(member.getMemberName()).append(": ").append(member.getTarget());
+            }
+            return result.toString();
+        }
+    }
+
+    static final class WriteConsumer implements ConsumerTask<String> {
+        @Override
+        public Identifier taskId() {
+            return Identifier.of(WriteConsumer.class);
+        }
+
+        @Override
+        public Class<String> input() {
+            return String.class;
+        }
+
+        @Override
+        public void consume(String description, CodegenState state) {
+            var name = description.substring(0, description.indexOf('\n'));
+            state.fileManifest().writeFile(Paths.get("test", name + ".txt"), description);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package mx.sugus.braid.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+class ImplementsKnowledgeIndexTest {
+    static final Model MODEL = Model.assembler()
+                                    .addUnparsedModel("test.smithy", "$version: \"2.0\"\n"
+                                                                     + "namespace test\n"
+                                                                     + "use mx.sugus.braid.traits#implements\n"
+                                                                     + "use mx.sugus.braid.traits#interface\n"
+                                                                     // Diamond
+                                                                     + "@interface\n"
+                                                                     + "structure Root {}\n"
+                                                                     + "@interface\n"
+                                                                     + "@implements([Root])\n"
+                                                                     + "structure Right {}\n"
+                                                                     + "@interface\n"
+                                                                     + "@implements([Root])\n"
+                                                                     + "structure Left {}\n"
+                                                                     + "@implements([Right, Left])\n"
+                                                                     + "structure Bottom {}\n"
+                                                                     // Multiple levels
+                                                                     + "@interface\n"
+                                                                     + "structure Level0 {}\n"
+                                                                     + "@interface\n"
+                                                                     + "@implements([Level0])\n"
+                                                                     + "structure Level1 {}\n"
+                                                                     + "@interface\n"
+                                                                     + "@implements([Level1])\n"
+                                                                     + "structure Level2 {}\n"
+                                                                     + "@implements([Level2])\n"
+                                                                     + "structure Level3 {}\n"
+                                                                     // Non interface in the middle
+                                                                     + "@implements([Level0])\n"
+                                                                     + "structure Concrete {}\n"
+                                                                     + "@implements([Concrete])\n"
+                                                                     + "structure Extended {}\n"
+                                                                     // Cycle
+                                                                     + "@interface\n"
+                                                                     + "@implements([CycleB])\n"
+                                                                     + "structure CycleA {}\n"
+                                                                     + "@interface\n"
+                                                                     + "@implements([CycleA])\n"
+                                                                     + "structure CycleB {}\n"
+                                                                     + "structure Unrelated {}\n")
+                                    .discoverModels()
+                                    .assemble()
+                                    .unwrap();
+    static final ImplementsKnowledgeIndex INDEX = ImplementsKnowledgeIndex.of(MODEL);
+
+    @Test
+    public void testDiamondSuperInterfaces() {
+        // Direct super interfaces keep the declaration order, the recursive ones are sorted by shape id.
+        assertEquals(List.of("Right", "Left"), names(INDEX.superInterfaces(shape("Bottom"))));
+        assertEquals(List.of("Left", "Right", "Root"), names(INDEX.recursiveSuperInterfaces(shape("Bottom"))));
+        assertEquals(List.of("Root"), names(INDEX.recursiveSuperInterfaces(shape("Left"))));
+        assertEquals(List.of(), names(INDEX.recursiveSuperInterfaces(shape("Root"))));
+    }
+
+    @Test
+    public void testDiamondImplementers() {
+        // The bottom shape is reachable by both sides of the diamond but is included only once.
+        assertEquals(Set.of(shape("Left"), shape("Right")), INDEX.implementers(shape("Root")));
+        assertEquals(List.of("Bottom", "Left", "Right", "Root"), names(INDEX.recursiveImplementers(shape("Root"))));
+        assertEquals(List.of("Bottom", "Left"), names(INDEX.recursiveImplementers(shape("Left"))));
+        assertEquals(List.of("Bottom"), names(INDEX.recursiveImplementers(shape("Bottom"))));
+    }
+
+    @Test
+    public void testMultiLevelHierarchy() {
+        assertEquals(List.of("Level2"), names(INDEX.superInterfaces(shape("Level3"))));
+        assertEquals(List.of("Level0", "Level1", "Level2"), names(INDEX.recursiveSuperInterfaces(shape("Level3"))));
+        assertEquals(List.of("Level0", "Level1"), names(INDEX.recursiveSuperInterfaces(shape("Level2"))));
+        assertEquals(Set.of(shape("Level1"), shape("Concrete")), INDEX.implementers(shape("Level0")));
+        assertEquals(List.of("Concrete", "Level0", "Level1", "Level2", "Level3"),
+                     names(INDEX.recursiveImplementers(shape("Level0"))));
+        assertEquals(List.of("Level2", "Level3"), names(INDEX.recursiveImplementers(shape("Level2"))));
+    }
+
+    @Test
+    public void testImplementersOfNonInterfacesAreNotExpanded() {
+        // Extended implements Concrete, which is not an interface, therefore it's not an implementer of Level0.
+        assertFalse(INDEX.recursiveImplementers(shape("Level0")).contains(shape("Extended")));
+        assertEquals(List.of("Concrete", "Extended"), names(INDEX.recursiveImplementers(shape("Concrete"))));
+        // The super interfaces are always expanded.
+        assertEquals(List.of("Concrete", "Level0"), names(INDEX.recursiveSuperInterfaces(shape("Extended"))));
+    }
+
+    @Test
+    public void testCyclesAreHandled() {
+        assertEquals(List.of("CycleB"), names(INDEX.recursiveSuperInterfaces(shape("CycleA"))));
+        assertEquals(List.of("CycleA"), names(INDEX.recursiveSuperInterfaces(shape("CycleB"))));
+        assertEquals(List.of("CycleA", "CycleB"), names(INDEX.recursiveImplementers(shape("CycleA"))));
+    }
+
+    @Test
+    public void testUnrelatedShapes() {
+        var unrelated = shape("Unrelated");
+
+        assertEquals(Set.of(), INDEX.superInterfaces(unrelated));
+        assertEquals(Set.of(), INDEX.recursiveSuperInterfaces(unrelated));
+        assertEquals(Set.of(), INDEX.implementers(unrelated));
+        assertEquals(Set.of(unrelated), INDEX.recursiveImplementers(unrelated));
+        assertFalse(INDEX.recursiveImplementers(shape("Root")).contains(unrelated));
+    }
+
+    static StructureShape shape(String name) {
+        return MODEL.expectShape(ShapeId.fromParts("test", name), StructureShape.class);
+    }
+
+    static List<String> names(Set<StructureShape> shapes) {
+        return shapes.stream().map(s -> s.getId().getName()).collect(Collectors.toList());
+    }
+}
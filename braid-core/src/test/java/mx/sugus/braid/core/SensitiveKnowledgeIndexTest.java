@@ -0,0 +1,117 @@
+package mx.sugus.braid.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+class SensitiveKnowledgeIndexTest {
+    static final Model MODEL = Model.assembler()
+                                    .addUnparsedModel("test.smithy", "$version: \"2.0\"\n"
+                                                                     + "namespace test\n"
+                                                                     + "@sensitive\n"
+                                                                     + "string Secret\n"
+                                                                     + "structure Holder {\n"
+                                                                     + "    secret: Secret\n"
+                                                                     + "    plain: String\n"
+                                                                     + "}\n"
+                                                                     // Nested aggregates
+                                                                     + "list Secrets {\n"
+                                                                     + "    member: Secret\n"
+                                                                     + "}\n"
+                                                                     + "list NestedSecrets {\n"
+                                                                     + "    member: Secrets\n"
+                                                                     + "}\n"
+                                                                     + "map SecretsByName {\n"
+                                                                     + "    key: String\n"
+                                                                     + "    value: NestedSecrets\n"
+                                                                     + "}\n"
+                                                                     + "map NamesBySecret {\n"
+                                                                     + "    key: Secret\n"
+                                                                     + "    value: String\n"
+                                                                     + "}\n"
+                                                                     + "structure Aggregates {\n"
+                                                                     + "    secrets: SecretsByName\n"
+                                                                     + "    holders: Holders\n"
+                                                                     + "}\n"
+                                                                     + "list Holders {\n"
+                                                                     + "    member: Holder\n"
+                                                                     + "}\n"
+                                                                     // Recursive
+                                                                     + "structure Tree {\n"
+                                                                     + "    children: Trees\n"
+                                                                     + "    secret: Secret\n"
+                                                                     + "}\n"
+                                                                     + "list Trees {\n"
+                                                                     + "    member: Tree\n"
+                                                                     + "}\n"
+                                                                     + "@sensitive\n"
+                                                                     + "structure SecretTree {\n"
+                                                                     + "    children: SecretTrees\n"
+                                                                     + "}\n"
+                                                                     + "list SecretTrees {\n"
+                                                                     + "    member: SecretTree\n"
+                                                                     + "}\n"
+                                                                     // Unrelated
+                                                                     + "list Names {\n"
+                                                                     + "    member: String\n"
+                                                                     + "}\n"
+                                                                     + "structure Unrelated {\n"
+                                                                     + "    names: Names\n"
+                                                                     + "}\n")
+                                    .assemble()
+                                    .unwrap();
+    static final SensitiveKnowledgeIndex INDEX = SensitiveKnowledgeIndex.of(MODEL);
+
+    @Test
+    public void testMembersTargetingSensitiveShapes() {
+        assertTrue(isSensitive("test#Secret"));
+        assertTrue(isSensitive("test#Holder$secret"));
+        assertFalse(isSensitive("test#Holder$plain"));
+        // Structures stop at the member level.
+        assertFalse(isSensitive("test#Holder"));
+    }
+
+    @Test
+    public void testNestedAggregates() {
+        assertTrue(isSensitive("test#Secrets"));
+        assertTrue(isSensitive("test#NestedSecrets$member"));
+        assertTrue(isSensitive("test#NestedSecrets"));
+        assertTrue(isSensitive("test#SecretsByName"));
+        assertTrue(isSensitive("test#NamesBySecret"));
+        assertFalse(isSensitive("test#NamesBySecret$value"));
+        assertTrue(isSensitive("test#Aggregates$secrets"));
+        // The list is not sensitive since the structure it holds is not.
+        assertFalse(isSensitive("test#Holders"));
+        assertFalse(isSensitive("test#Aggregates$holders"));
+        assertFalse(isSensitive("test#Aggregates"));
+    }
+
+    @Test
+    public void testRecursiveShapes() {
+        assertFalse(isSensitive("test#Tree"));
+        assertFalse(isSensitive("test#Trees"));
+        assertFalse(isSensitive("test#Tree$children"));
+        assertTrue(isSensitive("test#Tree$secret"));
+        assertTrue(isSensitive("test#SecretTree"));
+        assertTrue(isSensitive("test#SecretTree$children"));
+        assertTrue(isSensitive("test#SecretTrees"));
+        assertTrue(isSensitive("test#SecretTrees$member"));
+    }
+
+    @Test
+    public void testUnrelatedShapes() {
+        assertFalse(isSensitive("test#Names"));
+        assertFalse(isSensitive("test#Names$member"));
+        assertFalse(isSensitive("test#Unrelated"));
+        assertFalse(isSensitive("test#Unrelated$names"));
+        assertFalse(isSensitive("smithy.api#String"));
+        // Shapes that are not in the model are never sensitive.
+        assertFalse(isSensitive("test#Missing"));
+    }
+
+    static boolean isSensitive(String shapeId) {
+        return INDEX.isSensitive(ShapeId.from(shapeId));
+    }
+}
@@ -0,0 +1,163 @@
+package mx.sugus.braid.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import mx.sugus.braid.traits.CodegenIgnoreTrait;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+class SymbolTableTest {
+    static final Model MODEL = Model.assembler()
+                                    .addUnparsedModel("test.smithy", "$version: \"2.0\"\n"
+                                                                     + "namespace test\n"
+                                                                     + "structure First {\n"
+                                                                     + "    name: String\n"
+                                                                     + "    values: Values\n"
+                                                                     + "}\n"
+                                                                     + "structure Second {\n"
+                                                                     + "    first: First\n"
+                                                                     + "    data: Blob\n"
+                                                                     + "}\n"
+                                                                     + "list Values {\n"
+                                                                     + "    member: Integer\n"
+                                                                     + "}\n"
+                                                                     + "enum Kind {\n"
+                                                                     + "    A\n"
+                                                                     + "    B\n"
+                                                                     + "}\n")
+                                    .assemble()
+                                    .unwrap();
+
+    @Test
+    public void testMatchesDelegateForEveryShape() {
+        for (var parallelism : List.of(1, 4)) {
+            var delegate = new NamingProvider();
+            var table = SymbolTable.from(delegate, selected(), parallelism);
+            for (var shape : MODEL.toSet()) {
+                assertEquals(delegate.toSymbol(shape), table.toSymbol(shape), shape.getId().toString());
+                if (shape instanceof MemberShape member) {
+                    assertEquals(delegate.toMemberName(member), table.toMemberName(member), shape.getId().toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testServesSelectedShapesFromTable() {
+        var delegate = new NamingProvider();
+        var table = SymbolTable.from(delegate, selected(), 1);
+        var calls = delegate.calls.get();
+        for (var shape : selected()) {
+            table.toSymbol(shape);
+            for (var member : shape.members()) {
+                table.toSymbol(member);
+                table.toMemberName(member);
+            }
+        }
+        assertEquals(calls, delegate.calls.get());
+    }
+
+    @Test
+    public void testDefersUnsupportedShapes() {
+        var delegate = new NamingProvider() {
+            @Override
+            public Symbol toSymbol(Shape shape) {
+                if (shape.getId().equals(ShapeId.from("test#Second$data"))) {
+                    throw new UnsupportedOperationException();
+                }
+                return super.toSymbol(shape);
+            }
+        };
+        var table = SymbolTable.from(delegate, selected(), 1);
+        var data = MODEL.expectShape(ShapeId.from("test#Second$data"));
+        assertThrows(UnsupportedOperationException.class, () -> table.toSymbol(data));
+        assertEquals(delegate.toSymbol(MODEL.expectShape(ShapeId.from("test#Second"))),
+                     table.toSymbol(MODEL.expectShape(ShapeId.from("test#Second"))));
+    }
+
+    @Test
+    public void testDefersOtherFailures() {
+        var delegate = new NamingProvider() {
+            @Override
+            public Symbol toSymbol(Shape shape) {
+                if (shape.getId().equals(ShapeId.from("test#First"))) {
+                    throw new IllegalStateException("broken");
+                }
+                return super.toSymbol(shape);
+            }
+        };
+        for (var parallelism : List.of(1, 4)) {
+            var table = SymbolTable.from(delegate, selected(), parallelism);
+            var first = MODEL.expectShape(ShapeId.from("test#First"));
+            var e = assertThrows(IllegalStateException.class, () -> table.toSymbol(first));
+            assertEquals("broken", e.getMessage());
+            assertEquals(delegate.toSymbol(MODEL.expectShape(ShapeId.from("test#Values"))),
+                         table.toSymbol(MODEL.expectShape(ShapeId.from("test#Values"))));
+        }
+    }
+
+    @Test
+    public void testSkipsIgnoredShapes() {
+        var resolved = new HashSet<ShapeId>();
+        var delegate = new NamingProvider() {
+            @Override
+            public Symbol toSymbol(Shape shape) {
+                resolved.add(shape.getId());
+                return super.toSymbol(shape);
+            }
+        };
+        var shapes = new ArrayList<Shape>();
+        for (var shape : selected()) {
+            if (shape.getId().equals(ShapeId.from("test#Second"))) {
+                shape = shape.asStructureShape().orElseThrow().toBuilder().addTrait(new CodegenIgnoreTrait()).build();
+            }
+            shapes.add(shape);
+        }
+        var table = SymbolTable.from(delegate, shapes, 1);
+
+        assertTrue(resolved.contains(ShapeId.from("test#First")));
+        assertTrue(resolved.contains(ShapeId.from("test#First$name")));
+        assertFalse(resolved.contains(ShapeId.from("test#Second")));
+        assertFalse(resolved.contains(ShapeId.from("test#Second$first")));
+        // Ignored shapes are still resolved on demand.
+        var second = MODEL.expectShape(ShapeId.from("test#Second"));
+        assertEquals(delegate.toSymbol(second), table.toSymbol(second));
+    }
+
+    static List<Shape> selected() {
+        var result = new ArrayList<Shape>();
+        result.addAll(MODEL.getStructureShapes());
+        result.addAll(MODEL.getListShapes());
+        result.addAll(MODEL.getEnumShapes());
+        result.removeIf(shape -> !shape.getId().getNamespace().equals("test"));
+        return result;
+    }
+
+    static class NamingProvider implements SymbolProvider {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Symbol toSymbol(Shape shape) {
+            calls.incrementAndGet();
+            return Symbol.builder()
+                         .namespace(shape.getId().getNamespace(), ".")
+                         .name(shape.getId().getName() + shape.getId().getMember().map(m -> "_" + m).orElse(""))
+                         .build();
+        }
+
+        @Override
+        public String toMemberName(MemberShape shape) {
+            calls.incrementAndGet();
+            return shape.getMemberName().toUpperCase();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package mx.sugus.braid.core.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import mx.sugus.braid.core.BraidCodegenDirector;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+
+class CodeSourceDigestTest {
+
+    @Test
+    public void testSameCodeSourceHasTheSameDigest() {
+        var digest = CodeSourceDigest.of(CodeSourceDigestTest.class);
+
+        assertEquals(64, digest.length());
+        assertEquals(digest, CodeSourceDigest.of(CodeSourceDigestTest.class));
+        assertEquals(digest, CodeSourceDigest.of(ShapeCodegenCacheTest.class));
+        assertEquals(CodeSourceDigest.of(BraidCodegenDirector.class), CodeSourceDigest.of(ShapeFingerprinter.class));
+    }
+
+    @Test
+    public void testDifferentCodeSourcesHaveDifferentDigests() {
+        assertNotEquals(CodeSourceDigest.of(BraidCodegenDirector.class), CodeSourceDigest.of(Model.class));
+        assertNotEquals(CodeSourceDigest.of(CodeSourceDigestTest.class), CodeSourceDigest.of(Model.class));
+    }
+
+    @Test
+    public void testClassesWithoutCodeSourceAreNeverCached() {
+        // JDK classes have no code source, each gets its own random digest.
+        var digest = CodeSourceDigest.of(String.class);
+
+        assertEquals(digest, CodeSourceDigest.of(String.class));
+        assertNotEquals(digest, CodeSourceDigest.of(Integer.class));
+    }
+}
@@ -0,0 +1,52 @@
+package mx.sugus.braid.core.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+
+class RecordingFileManifestTest {
+
+    @Test
+    public void testRecordsAndWritesThrough() {
+        var delegate = new MockManifest(Paths.get("/out"));
+        var manifest = new RecordingFileManifest(delegate);
+        manifest.writeFile(Paths.get("a/A.java"), "class A {}");
+        manifest.writeFile(Paths.get("a/B.java"), new StringReader("class B {}"));
+        manifest.writeFile(Paths.get("/out/a/C.java"), new ByteArrayInputStream(bytes("class C {}")));
+
+        assertEquals("class A {}", delegate.expectFileString("a/A.java"));
+        assertEquals("class B {}", delegate.expectFileString("a/B.java"));
+        assertEquals("class C {}", delegate.expectFileString("a/C.java"));
+        var written = manifest.written();
+        assertEquals(3, written.size());
+        assertEquals("a/A.java", written.get(0).path());
+        assertEquals("a/B.java", written.get(1).path());
+        // Absolute paths are recorded relative to the base dir.
+        assertEquals("a/C.java", written.get(2).path());
+        assertArrayEquals(bytes("class C {}"), written.get(2).contents());
+    }
+
+    @Test
+    public void testReplaysRecordedFiles() {
+        var manifest = new RecordingFileManifest(new MockManifest(Paths.get("/out")));
+        manifest.writeFile(Paths.get("a/A.java"), "class A {}");
+        manifest.writeFile(Paths.get("b/B.java"), "class B {}");
+
+        var replayed = new MockManifest(Paths.get("/other"));
+        for (var file : manifest.written()) {
+            replayed.writeFile(Paths.get(file.path()), new ByteArrayInputStream(file.contents()));
+        }
+        assertEquals("class A {}", replayed.expectFileString("a/A.java"));
+        assertEquals("class B {}", replayed.expectFileString("b/B.java"));
+        assertEquals(2, replayed.getFiles().size());
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+package mx.sugus.braid.core.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+class ShapeCodegenCacheTest {
+    static final ShapeId IMPL_ID = ShapeFingerprinterTest.IMPL_ID;
+    static final ShapeId BASE_ID = ShapeFingerprinterTest.BASE_ID;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testHitOnUnchangedModel() {
+        var fingerprint = fingerprint(ShapeFingerprinterTest.BASE, IMPL_ID);
+        var files = List.of(file("Impl.java", "class Impl {}"));
+        ShapeCodegenCache.open(directory).store(IMPL_ID, fingerprint, files);
+
+        var cached = ShapeCodegenCache.open(directory).lookup(IMPL_ID, fingerprint(ShapeFingerprinterTest.BASE, IMPL_ID));
+        assertNotNull(cached);
+        assertEquals(1, cached.size());
+        assertEquals("Impl.java", cached.get(0).path());
+        assertArrayEquals(files.get(0).contents(), cached.get(0).contents());
+    }
+
+    @Test
+    public void testMissAfterMemberEdit() {
+        var cache = ShapeCodegenCache.open(directory);
+        cache.store(IMPL_ID, fingerprint(ShapeFingerprinterTest.BASE, IMPL_ID), List.of(file("Impl.java", "")));
+
+        var edited = ShapeFingerprinterTest.BASE.replace("value: Integer", "value: Long");
+        assertNull(cache.lookup(IMPL_ID, fingerprint(edited, IMPL_ID)));
+    }
+
+    @Test
+    public void testMissAfterConfigChange() {
+        var model = ShapeFingerprinterTest.model(ShapeFingerprinterTest.BASE);
+        var shape = model.expectShape(IMPL_ID);
+        var cache = ShapeCodegenCache.open(directory);
+        cache.store(IMPL_ID, new ShapeFingerprinter(model, ShapeFingerprinterTest.CONFIG).fingerprint(shape),
+                    List.of(file("Impl.java", "")));
+
+        var otherPlugins = ShapeFingerprinter.digest(List.of("{}", "task-a", "task-b"));
+        assertNull(cache.lookup(IMPL_ID, new ShapeFingerprinter(model, otherPlugins).fingerprint(shape)));
+    }
+
+    @Test
+    public void testMissAfterAddingImplementer() {
+        var cache = ShapeCodegenCache.open(directory);
+        cache.store(BASE_ID, fingerprint(ShapeFingerprinterTest.BASE, BASE_ID), List.of(file("Base.java", "")));
+
+        var extended = ShapeFingerprinterTest.BASE
+                       + "@implements([Base])\n"
+                       + "structure OtherImpl {\n"
+                       + "    name: String\n"
+                       + "}\n";
+        assertNull(cache.lookup(BASE_ID, fingerprint(extended, BASE_ID)));
+    }
+
+    @Test
+    public void testMissOnCorruptedEntry() throws IOException {
+        var fingerprint = fingerprint(ShapeFingerprinterTest.BASE, IMPL_ID);
+        var cache = ShapeCodegenCache.open(directory);
+        cache.store(IMPL_ID, fingerprint, List.of(file("Impl.java", "class Impl {}")));
+        for (var entry : entries()) {
+            var contents = Files.readAllBytes(entry);
+            Files.write(entry, Arrays.copyOf(contents, contents.length - 4));
+        }
+        assertNull(cache.lookup(IMPL_ID, fingerprint));
+    }
+
+    @Test
+    public void testReplaysRecordedFiles() {
+        var fingerprint = fingerprint(ShapeFingerprinterTest.BASE, IMPL_ID);
+        var recorder = new RecordingFileManifest(new MockManifest(Paths.get("/out")));
+        recorder.writeFile(Paths.get("test/Impl.java"), "class Impl {}");
+        recorder.writeFile(Paths.get("test/ImplBuilder.java"), "class ImplBuilder {}");
+        ShapeCodegenCache.open(directory).store(IMPL_ID, fingerprint, recorder.written());
+
+        var replayed = new MockManifest(Paths.get("/out"));
+        for (var file : ShapeCodegenCache.open(directory).lookup(IMPL_ID, fingerprint)) {
+            replayed.writeFile(Paths.get(file.path()), new ByteArrayInputStream(file.contents()));
+        }
+        assertEquals("class Impl {}", replayed.expectFileString("test/Impl.java"));
+        assertEquals("class ImplBuilder {}", replayed.expectFileString("test/ImplBuilder.java"));
+    }
+
+    @Test
+    public void testPrunesEntriesNotUsed() throws IOException {
+        var fingerprint = fingerprint(ShapeFingerprinterTest.BASE, IMPL_ID);
+        var cache = ShapeCodegenCache.open(directory);
+        cache.store(IMPL_ID, fingerprint, List.of(file("Impl.java", "")));
+        cache.store(BASE_ID, fingerprint(ShapeFingerprinterTest.BASE, BASE_ID), List.of(file("Base.java", "")));
+        assertEquals(2, entries().size());
+
+        var next = ShapeCodegenCache.open(directory);
+        assertNotNull(next.lookup(IMPL_ID, fingerprint));
+        next.prune();
+        assertEquals(1, entries().size());
+        assertNotNull(ShapeCodegenCache.open(directory).lookup(IMPL_ID, fingerprint));
+    }
+
+    private List<Path> entries() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    static String fingerprint(String source, ShapeId shapeId) {
+        return ShapeFingerprinterTest.fingerprint(source, ShapeFingerprinterTest.CONFIG, shapeId);
+    }
+
+    static CachedFile file(String path, String contents) {
+        return new CachedFile(path, contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package mx.sugus.braid.core.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+class ShapeFingerprinterTest {
+    static final String BASE = "$version: \"2.0\"\n"
+                               + "namespace test\n"
+                               + "use mx.sugus.braid.traits#implements\n"
+                               + "use mx.sugus.braid.traits#interface\n"
+                               + "@interface\n"
+                               + "structure Base {\n"
+                               + "    name: String\n"
+                               + "}\n"
+                               + "@implements([Base])\n"
+                               + "structure Impl {\n"
+                               + "    name: String\n"
+                               + "    value: Integer\n"
+                               + "}\n";
+    static final ShapeId BASE_ID = ShapeId.from("test#Base");
+    static final ShapeId IMPL_ID = ShapeId.from("test#Impl");
+    static final String CONFIG = ShapeFingerprinter.digest(List.of("{}", "task-a"));
+
+    @Test
+    public void testSameModelYieldsSameFingerprint() {
+        var first = fingerprint(BASE, CONFIG, BASE_ID);
+        var second = fingerprint(BASE, CONFIG, BASE_ID);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testMemberEditChangesFingerprint() {
+        var edited = BASE.replace("value: Integer", "value: Long");
+        assertNotEquals(fingerprint(BASE, CONFIG, IMPL_ID), fingerprint(edited, CONFIG, IMPL_ID));
+    }
+
+    @Test
+    public void testTraitEditChangesFingerprint() {
+        var edited = BASE.replace("structure Base {\n    name: String", "structure Base {\n    @required\n    name: String");
+        assertNotEquals(fingerprint(BASE, CONFIG, BASE_ID), fingerprint(edited, CONFIG, BASE_ID));
+    }
+
+    @Test
+    public void testConfigChangeChangesFingerprint() {
+        var otherSettings = ShapeFingerprinter.digest(List.of("{\"package\":\"other\"}", "task-a"));
+        var otherPlugins = ShapeFingerprinter.digest(List.of("{}", "task-a", "task-b"));
+        var fingerprint = fingerprint(BASE, CONFIG, BASE_ID);
+        assertNotEquals(fingerprint, fingerprint(BASE, otherSettings, BASE_ID));
+        assertNotEquals(fingerprint, fingerprint(BASE, otherPlugins, BASE_ID));
+    }
+
+    @Test
+    public void testAddingImplementerChangesInterfaceFingerprint() {
+        var extended = BASE
+                       + "@implements([Base])\n"
+                       + "structure OtherImpl {\n"
+                       + "    name: String\n"
+                       + "}\n";
+        assertNotEquals(fingerprint(BASE, CONFIG, BASE_ID), fingerprint(extended, CONFIG, BASE_ID));
+        // The sibling implementers do not affect each other.
+        assertEquals(fingerprint(BASE, CONFIG, IMPL_ID), fingerprint(extended, CONFIG, IMPL_ID));
+    }
+
+    @Test
+    public void testInterfaceEditChangesImplementerFingerprint() {
+        var edited = BASE.replace("structure Base {\n    name: String", "structure Base {\n    name: String\n    other: String");
+        assertNotEquals(fingerprint(BASE, CONFIG, IMPL_ID), fingerprint(edited, CONFIG, IMPL_ID));
+    }
+
+    @Test
+    public void testImplementerMemberEditChangesInterfaceFingerprint() {
+        var edited = BASE.replace("value: Integer", "value: Long");
+        assertNotEquals(fingerprint(BASE, CONFIG, BASE_ID), fingerprint(edited, CONFIG, BASE_ID));
+    }
+
+    @Test
+    public void testUnrelatedShapeDoesNotChangeFingerprint() {
+        var extended = BASE + "structure Unrelated {\n    value: String\n}\n";
+        assertEquals(fingerprint(BASE, CONFIG, BASE_ID), fingerprint(extended, CONFIG, BASE_ID));
+    }
+
+    static String fingerprint(String source, String config, ShapeId shapeId) {
+        var model = model(source);
+        return new ShapeFingerprinter(model, config).fingerprint(model.expectShape(shapeId));
+    }
+
+    static Model model(String source) {
+        return Model.assembler()
+                    .addUnparsedModel("test.smithy", source)
+                    .discoverModels()
+                    .assemble()
+                    .unwrap();
+    }
+}
@@ -0,0 +1,52 @@
+package mx.sugus.braid.core.plugin;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class DependenciesTest {
+
+    @Test
+    public void testComputesDefaultsOnce() {
+        var calls = new AtomicInteger();
+        var key = DependencyKey.from("counter", x -> calls.incrementAndGet());
+        var dependencies = Dependencies.builder().build();
+        assertEquals(1, dependencies.get(key));
+        assertEquals(1, dependencies.expect(key));
+        assertEquals(1, dependencies.getOptional(key).orElseThrow());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testPrefersExplicitValues() {
+        var key = DependencyKey.from("value", x -> "default");
+        var dependencies = Dependencies.builder().put(key, "explicit").build();
+        assertEquals("explicit", dependencies.get(key));
+    }
+
+    @Test
+    public void testMemoizesNullDefaults() {
+        var calls = new AtomicInteger();
+        DependencyKey<String> key = DependencyKey.from("null", x -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        var dependencies = Dependencies.builder().build();
+        assertNull(dependencies.get(key));
+        assertTrue(dependencies.getOptional(key).isEmpty());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testDetectsCyclesBetweenDefaults() {
+        var dependencies = Dependencies.builder().build();
+        var exception = assertThrows(IllegalStateException.class, () -> dependencies.get(CyclicKeys.A));
+        assertTrue(exception.getMessage().contains("a -> b -> a"), exception.getMessage());
+    }
+
+    static final class CyclicKeys {
+        static final DependencyKey<String> A = DependencyKey.from("a", x -> x.get(CyclicKeys.B));
+        static final DependencyKey<String> B = DependencyKey.from("b", x -> x.get(CyclicKeys.A));
+    }
+}
@@ -0,0 +1,250 @@
+package mx.sugus.braid.core.plugin;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.SmithyBuildException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ShapeType;
+
+class ShapeCodegenPlanTest {
+
+    @Test
+    public void testKeepsTheConfigurationOrder() {
+        var first = new Producer("test#first", ShapeType.STRUCTURE, String.class);
+        var second = new Producer("test#second", ShapeType.STRUCTURE, String.class);
+        var config = CodegenModuleConfig.builder()
+                                        .addProducer(first)
+                                        .addProducer(second)
+                                        .addTransformer(new Transformer("test#t2", "test#second"))
+                                        .addTransformer(new Transformer("test#t1", "test#first"))
+                                        .addTransformer(new Transformer("test#t3", "test#first"))
+                                        .addConsumer(new Consumer("test#c2", String.class))
+                                        .addConsumer(new Consumer("test#c1", String.class))
+                                        .build();
+
+        var plans = ShapeCodegenPlan.from(config).tasksFor(ShapeType.STRUCTURE);
+
+        assertEquals(List.of(first, second), plans.stream().map(ShapeTaskPlan::producer).collect(Collectors.toList()));
+        assertEquals(List.of("test#t1", "test#t3"), ids(plans.get(0).transformers()));
+        assertEquals(List.of("test#t2"), ids(plans.get(1).transformers()));
+        assertEquals(List.of("test#c2", "test#c1"), ids(plans.get(0).consumers()));
+        assertEquals(List.of("test#c2", "test#c1"), ids(plans.get(1).consumers()));
+    }
+
+    @Test
+    public void testResolvesTransformersByProducerAndConsumersByOutput() {
+        var config = CodegenModuleConfig.builder()
+                                        .addProducer(new Producer("test#strings", ShapeType.STRUCTURE, String.class))
+                                        .addProducer(new Producer("test#numbers", ShapeType.STRUCTURE, Integer.class))
+                                        .addProducer(new Producer("test#unions", ShapeType.UNION, String.class))
+                                        .addTransformer(new Transformer("test#t1", "test#numbers"))
+                                        .addConsumer(new Consumer("test#c1", Integer.class))
+                                        .addConsumer(new Consumer("test#c2", String.class))
+                                        .build();
+
+        var plan = ShapeCodegenPlan.from(config);
+        var structures = plan.tasksFor(ShapeType.STRUCTURE);
+        var unions = plan.tasksFor(ShapeType.UNION);
+
+        assertEquals(2, structures.size());
+        assertEquals(List.of(), ids(structures.get(0).transformers()));
+        assertEquals(List.of("test#c2"), ids(structures.get(0).consumers()));
+        assertEquals(List.of("test#t1"), ids(structures.get(1).transformers()));
+        assertEquals(List.of("test#c1"), ids(structures.get(1).consumers()));
+        assertEquals(1, unions.size());
+        assertEquals(List.of("test#c2"), ids(unions.get(0).consumers()));
+        assertEquals(List.of(), plan.tasksFor(ShapeType.ENUM));
+    }
+
+    @Test
+    public void testSkipsTransformersWithoutProducer() {
+        // Transformers can only target producers, the ones for missing producers or for other transformers never run.
+        var config = CodegenModuleConfig.builder()
+                                        .addProducer(new Producer("test#producer", ShapeType.STRUCTURE, String.class))
+                                        .addTransformer(new Transformer("test#missing", "test#unknown"))
+                                        .addTransformer(new Transformer("test#t1", "test#t2"))
+                                        .addTransformer(new Transformer("test#t2", "test#t1"))
+                                        .addTransformer(new Transformer("test#self", "test#self"))
+                                        .build();
+
+        var plans = ShapeCodegenPlan.from(config).tasksFor(ShapeType.STRUCTURE);
+
+        assertEquals(1, plans.size());
+        assertEquals(List.of(), plans.get(0).transformers());
+        assertEquals(List.of(), plans.get(0).consumers());
+    }
+
+    @Test
+    public void testOrdersThePluginsTasksByRequirements() {
+        var baseConfig = CodegenModuleConfig.builder()
+                                            .addProducer(new Producer("test#producer", ShapeType.STRUCTURE, String.class))
+                                            .addTransformer(new Transformer("test#tBase", "test#producer"))
+                                            .addConsumer(new Consumer("test#cBase", String.class))
+                                            .build();
+        var base = new Plugin("test#base", List.of(), baseConfig);
+        var middle = new Plugin("test#middle", List.of("test#base"), transforming("test#tMiddle", "test#cMiddle"));
+        var last = new Plugin("test#last", List.of("test#middle", "test#base"), transforming("test#tLast", "test#cLast"));
+        // Only the last plugin is enabled, the others are loaded as its requirements.
+        var config = DefaultBaseModuleConfig.buildDependants(loader(last, middle, base), enabled("test#last"));
+
+        var plans = ShapeCodegenPlan.from(config).tasksFor(ShapeType.STRUCTURE);
+
+        assertEquals(1, plans.size());
+        assertEquals(List.of("test#tBase", "test#tMiddle", "test#tLast"), ids(plans.get(0).transformers()));
+        assertEquals(List.of("test#cBase", "test#cMiddle", "test#cLast"), ids(plans.get(0).consumers()));
+    }
+
+    @Test
+    public void testFailsOnMissingRequirement() {
+        var plugin = new Plugin("test#plugin", List.of("test#missing"), CodegenModuleConfig.builder().build());
+
+        var e = assertThrows(RuntimeException.class,
+                             () -> DefaultBaseModuleConfig.buildDependants(loader(plugin), enabled("test#plugin")));
+        assertTrue(e.getMessage().contains("test#missing"), e.getMessage());
+    }
+
+    @Test
+    public void testFailsOnCyclicRequirements() {
+        var first = new Plugin("test#first", List.of("test#second"), CodegenModuleConfig.builder().build());
+        var second = new Plugin("test#second", List.of("test#third"), CodegenModuleConfig.builder().build());
+        var third = new Plugin("test#third", List.of("test#first"), CodegenModuleConfig.builder().build());
+
+        var e = assertThrows(SmithyBuildException.class,
+                             () -> DefaultBaseModuleConfig.buildDependants(loader(first, second, third),
+                                                                           enabled("test#first")));
+        assertTrue(e.getMessage().contains("cycle"), e.getMessage());
+    }
+
+    static CodegenModuleConfig transforming(String transformerId, String consumerId) {
+        return CodegenModuleConfig.builder()
+                                  .addTransformer(new Transformer(transformerId, "test#producer"))
+                                  .addConsumer(new Consumer(consumerId, String.class))
+                                  .build();
+    }
+
+    static ObjectNode enabled(String... pluginIds) {
+        var plugins = Node.objectNodeBuilder();
+        for (var pluginId : pluginIds) {
+            plugins.withMember(pluginId, Node.objectNode());
+        }
+        return Node.objectNode().withMember("plugins", plugins.build());
+    }
+
+    static PluginLoader loader(Plugin... plugins) {
+        var available = new HashMap<Identifier, SmithyGeneratorPlugin<?>>();
+        for (var plugin : plugins) {
+            available.put(plugin.provides(), plugin);
+        }
+        return identifiers -> {
+            var resolved = new HashMap<Identifier, SmithyGeneratorPlugin<?>>();
+            var unresolved = new HashSet<Identifier>();
+            for (var identifier : identifiers) {
+                var plugin = available.get(identifier);
+                if (plugin != null) {
+                    resolved.put(identifier, plugin);
+                } else {
+                    unresolved.add(identifier);
+                }
+            }
+            return new PluginLoader.LoadResult(unresolved, resolved);
+        };
+    }
+
+    static List<String> ids(List<?> tasks) {
+        return tasks.stream().map(ShapeCodegenPlanTest::id).collect(Collectors.toList());
+    }
+
+    static String id(Object task) {
+        if (task instanceof Transformer transformer) {
+            return transformer.taskId().toString();
+        }
+        return ((Consumer) task).taskId().toString();
+    }
+
+    record Plugin(String id, List<String> requirements, CodegenModuleConfig config)
+        implements SmithyGeneratorPlugin<ObjectNode> {
+        @Override
+        public Identifier provides() {
+            return Identifier.of(id);
+        }
+
+        @Override
+        public Collection<Identifier> requires() {
+            return requirements.stream().map(Identifier::of).collect(Collectors.toList());
+        }
+
+        @Override
+        public ObjectNode fromNode(ObjectNode node) {
+            return node;
+        }
+
+        @Override
+        public CodegenModuleConfig moduleConfig(ObjectNode node) {
+            return config;
+        }
+    }
+
+    record Producer(String id, ShapeType shapeType, Class<?> outputType) implements ShapeProducerTask<Object> {
+        @Override
+        public Identifier taskId() {
+            return Identifier.of(id);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<Object> output() {
+            return (Class<Object>) outputType;
+        }
+
+        @Override
+        public ShapeType type() {
+            return shapeType;
+        }
+
+        @Override
+        public Object produce(ShapeCodegenState state) {
+            return null;
+        }
+    }
+
+    record Transformer(String id, String transforms) implements ShapeTaskTransformer<Object> {
+        @Override
+        public Identifier taskId() {
+            return Identifier.of(id);
+        }
+
+        @Override
+        public Identifier transformsId() {
+            return Identifier.of(transforms);
+        }
+
+        @Override
+        public Object transform(Object result, ShapeCodegenState state) {
+            return result;
+        }
+    }
+
+    record Consumer(String id, Class<?> inputType) implements ConsumerTask<Object> {
+        @Override
+        public Identifier taskId() {
+            return Identifier.of(id);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<Object> input() {
+            return (Class<Object>) inputType;
+        }
+
+        @Override
+        public void consume(Object result, CodegenState state) {
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package mx.sugus.braid.core.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Arrays;
@@ -8,6 +10,7 @@ import java.util.Collection;
 import java.util.Objects;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 class NameTest {
@@ -40,6 +43,29 @@ class NameTest {
         assertEquals(Name.Convention.UNKNOWN, name.convention());
     }
 
+    @ParameterizedTest(name = "[{index}] => {0}")
+    @CsvSource({
+        "DescribeDBInstances, Describe DB Instances",
+        "EC2InstanceId, EC2 Instance Id",
+        "KMSKeyArn, KMS Key Arn",
+        "ApiGatewayV2, Api Gateway V2",
+        "x-amz-request-id, x amz request id",
+        "IPv6Address, IP v6 Address",
+        "TLSv1_2, TLS v1 2",
+        "ABV1CV2, ABV1 C V2",
+        "__leading--and..trailing__, leading and trailing",
+    })
+    public void splitsOnWordBoundaries(String source, String expected) {
+        assertArrayEquals(expected.split(" "), Name.splitOnWordBoundaries(source));
+    }
+
+    @Test
+    public void cachesNamesAndConversions() {
+        var name = Name.of("cachedName", Name.Convention.CAMEL_CASE);
+        assertSame(name, Name.of("cachedName", Name.Convention.CAMEL_CASE));
+        assertSame(name.toPascalCase(), name.toPascalCase());
+    }
+
     public static Collection<TestCase> testCases2() {
         return Arrays.asList(
             TestCase.builder()
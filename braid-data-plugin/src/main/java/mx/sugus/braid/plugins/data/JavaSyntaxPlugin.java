@@ -1,11 +1,19 @@
 package mx.sugus.braid.plugins.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import mx.sugus.braid.core.plugin.CodegenModuleConfig;
 import mx.sugus.braid.core.plugin.CodegenState;
 import mx.sugus.braid.core.plugin.ConsumerTask;
+import mx.sugus.braid.core.plugin.DependencyKey;
 import mx.sugus.braid.core.plugin.Identifier;
 import mx.sugus.braid.core.plugin.ShapeCodegenState;
 import mx.sugus.braid.core.plugin.ShapeReducer;
@@ -22,6 +30,18 @@ import software.amazon.smithy.model.shapes.ShapeType;
  */
 public final class JavaSyntaxPlugin implements SmithyGeneratorPlugin<ObjectNode> {
     public static final Identifier ID = Identifier.of(JavaSyntaxPlugin.class);
+    /**
+     * The generated types keyed by package and then by simple name, computed by a shape reducer before codegen.
+     */
+    public static final DependencyKey<Map<String, Map<String, ClassName>>> PACKAGE_IMPLICIT_NAMES =
+        DependencyKey.from("package-implicit-names");
+    /**
+     * The generated types whose simple name shadows a type from {@code java.lang}, keyed by package. References to the
+     * shadowed types have to be qualified in any file of the package, even if the type shadowing it is not used.
+     */
+    public static final DependencyKey<Map<String, List<ClassName>>> JAVA_LANG_SHADOWING_NAMES =
+        DependencyKey.from("java-lang-shadowing-names",
+                           dependencies -> javaLangShadowingNames(dependencies.get(PACKAGE_IMPLICIT_NAMES)));
     private static final TypeSyntaxResultSerializer SERIALIZER = new TypeSyntaxResultSerializer();
     private static final PackageImplicitNamesReducer PACKAGE_IMPLICIT_NAMES_REDUCER = new PackageImplicitNamesReducer();
 
@@ -47,9 +67,15 @@ public final class JavaSyntaxPlugin implements SmithyGeneratorPlugin<ObjectNode>
         return CodegenModuleConfig
             .builder()
             .addConsumer(SERIALIZER)
+            .addShapeReducer(PACKAGE_IMPLICIT_NAMES_REDUCER)
             .build();
     }
 
+    /**
+     * Writes the rendered code of each result into its file. The code is rendered into a buffer and always handed to the
+     * manifest through {@code writeFile}, such that any manifest, e.g., the one recording the files for incremental codegen,
+     * sees the contents of every file.
+     */
     static class TypeSyntaxResultSerializer implements ConsumerTask<TypeSyntaxResult> {
         static final Identifier ID = Identifier.of(TypeSyntaxResultSerializer.class);
 
@@ -63,19 +89,69 @@ public final class JavaSyntaxPlugin implements SmithyGeneratorPlugin<ObjectNode>
             return TypeSyntaxResult.class;
         }
 
+        @Override
+        public boolean onlyWritesFiles() {
+            return true;
+        }
+
         @Override
         public void consume(TypeSyntaxResult result, CodegenState state) {
             @SuppressWarnings("unchecked")
             var syntax = result.syntax();
             if (syntax != null) {
-                var file = syntax.packageName().replace(".", "/") + "/" + result.syntax().type().name() + ".java";
-                state.fileManifest()
-                     .writeFile(file, CodeRenderer.render(syntax.packageName(), result.syntax()));
+                var file = Paths.get(syntax.packageName().replace(".", "/"), result.syntax().type().name() + ".java");
+                var packageNames = state.dependencies()
+                                        .get(JAVA_LANG_SHADOWING_NAMES)
+                                        .getOrDefault(syntax.packageName(), List.of());
+                // Renders straight into UTF-8 bytes and hands them to the manifest without further copies.
+                var contents = new FileContents();
+                CodeRenderer.render(syntax.packageName(), syntax, packageNames, contents);
+                state.fileManifest().writeFile(file, contents.toInputStream());
+            }
+        }
+    }
+
+    /**
+     * A byte array output stream that can be read back without copying its contents.
+     */
+    static final class FileContents extends ByteArrayOutputStream {
+        FileContents() {
+            super(8192);
+        }
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    static Map<String, List<ClassName>> javaLangShadowingNames(Map<String, Map<String, ClassName>> packageImplicitNames) {
+        if (packageImplicitNames == null) {
+            return Collections.emptyMap();
+        }
+        var result = new TreeMap<String, List<ClassName>>();
+        packageImplicitNames.forEach((packageName, names) -> {
+            var shadowing = names.values()
+                                 .stream()
+                                 .filter(className -> isJavaLangType(className.name()))
+                                 .sorted(Comparator.comparing(ClassName::name))
+                                 .toList();
+            if (!shadowing.isEmpty()) {
+                result.put(packageName, shadowing);
             }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    static boolean isJavaLangType(String simpleName) {
+        try {
+            Class.forName("java.lang." + simpleName, false, null);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
         }
     }
 
-    static class PackageImplicitNamesReducer implements ShapeReducer<Map<String, ClassName>> {
+    static class PackageImplicitNamesReducer implements ShapeReducer<Map<String, Map<String, ClassName>>> {
         static Identifier ID = Identifier.of(PackageImplicitNamesReducer.class);
 
         @Override
@@ -84,13 +160,34 @@ public final class JavaSyntaxPlugin implements SmithyGeneratorPlugin<ObjectNode>
         }
 
         @Override
-        public ReducerState<Map<String, ClassName>> init() {
+        public DependencyKey<Map<String, Map<String, ClassName>>> resultKey() {
+            return PACKAGE_IMPLICIT_NAMES;
+        }
+
+        @Override
+        public ReducerState<Map<String, Map<String, ClassName>>> init() {
             return new PackageImplicitNamesReducerState();
         }
+
+        /**
+         * The serializer only uses the types that shadow a type from {@code java.lang}, usually none, the rest of the result
+         * does not change the generated code.
+         */
+        @Override
+        public String signature(Map<String, Map<String, ClassName>> result, ShapeCodegenState state) {
+            var signature = new StringBuilder();
+            state.dependencies().get(JAVA_LANG_SHADOWING_NAMES).forEach((packageName, names) -> {
+                for (var name : names) {
+                    signature.append(packageName).append('.').append(name.name()).append(';');
+                }
+            });
+            return signature.toString();
+        }
     }
 
-    static class PackageImplicitNamesReducerState implements ShapeReducer.ReducerState<Map<String, ClassName>> {
-        private final Map<String, ClassName> packageImports = new HashMap<>();
+    static class PackageImplicitNamesReducerState
+        implements ShapeReducer.ReducerState<Map<String, Map<String, ClassName>>> {
+        private final Map<String, Map<String, ClassName>> packageImports = new HashMap<>();
 
         @Override
         public void consume(ShapeCodegenState state) {
@@ -108,11 +205,18 @@ public final class JavaSyntaxPlugin implements SmithyGeneratorPlugin<ObjectNode>
 
             var typeName = Utils.toJavaTypeName(state, state.shape());
             var className = ClassName.toClassName(typeName);
-            packageImports.put(className.name(), className);
+            packageImports.computeIfAbsent(className.packageName(), x -> new HashMap<>()).put(className.name(), className);
+        }
+
+        @Override
+        public void combine(ShapeReducer.ReducerState<Map<String, Map<String, ClassName>>> other) {
+            ((PackageImplicitNamesReducerState) other).packageImports.forEach(
+                (packageName, names) -> packageImports.computeIfAbsent(packageName, x -> new HashMap<>()).putAll(names));
         }
 
         @Override
-        public Map<String, ClassName> finalizeJob() {
+        public Map<String, Map<String, ClassName>> finalizeJob() {
+            packageImports.replaceAll((packageName, names) -> Collections.unmodifiableMap(names));
             return Collections.unmodifiableMap(packageImports);
         }
     }
@@ -0,0 +1,41 @@
+package mx.sugus.braid.plugins.data;
+
+import mx.sugus.braid.core.plugin.CodegenModuleConfig;
+import mx.sugus.braid.core.plugin.DefaultModelTransformerTask;
+import mx.sugus.braid.core.plugin.Identifier;
+import mx.sugus.braid.core.plugin.SmithyGeneratorPlugin;
+import mx.sugus.braid.plugins.data.model.AddPersistentToCollections;
+import software.amazon.smithy.model.node.ObjectNode;
+
+public class PersistentCollectionsByDefaultPlugin implements SmithyGeneratorPlugin<ObjectNode> {
+    public static final Identifier ID = Identifier.of(PersistentCollectionsByDefaultPlugin.class);
+
+    public PersistentCollectionsByDefaultPlugin() {
+    }
+
+    @Override
+    public Identifier provides() {
+        return ID;
+    }
+
+    @Override
+    public ObjectNode fromNode(ObjectNode node) {
+        return node;
+    }
+
+    @Override
+    public CodegenModuleConfig moduleConfig(ObjectNode node) {
+        return newBaseConfig();
+    }
+
+    static CodegenModuleConfig newBaseConfig() {
+        return CodegenModuleConfig
+            .builder()
+            .addModelTransformer(DefaultModelTransformerTask
+                                     .builder()
+                                     .taskId(Identifier.of(AddPersistentToCollections.class))
+                                     .transform(AddPersistentToCollections::transform)
+                                     .build())
+            .build();
+    }
+}
@@ -13,10 +13,12 @@ import software.amazon.smithy.model.node.ToNode;
 public final class DataPluginConfig implements ToNode {
     private final NullabilityCheckMode nullabilityMode;
     private final String packageName;
+    private final Boolean primitiveFields;
 
     private DataPluginConfig(Builder builder) {
         this.nullabilityMode = builder.nullabilityMode;
         this.packageName = builder.packageName;
+        this.primitiveFields = builder.primitiveFields;
     }
 
     /**
@@ -35,6 +37,15 @@ public final class DataPluginConfig implements ToNode {
         return this.packageName;
     }
 
+    /**
+     * <p>If true, the numeric and boolean members of the structures are
+     * stored in primitive fields, the presence of the optional ones is
+     * tracked using a bitset. By default the members are stored boxed.</p>
+     */
+    public Boolean primitiveFields() {
+        return this.primitiveFields;
+    }
+
     /**
      * <p>Returns a new builder to modify a copy of this instance</p>
      */
@@ -52,7 +63,8 @@ public final class DataPluginConfig implements ToNode {
         }
         DataPluginConfig that = (DataPluginConfig) obj;
         return this.nullabilityMode == that.nullabilityMode
-               && Objects.equals(this.packageName, that.packageName);
+               && Objects.equals(this.packageName, that.packageName)
+               && Objects.equals(this.primitiveFields, that.primitiveFields);
     }
 
     @Override
@@ -60,6 +72,7 @@ public final class DataPluginConfig implements ToNode {
         int hashCode = 17;
         hashCode = 31 * hashCode + (nullabilityMode != null ? nullabilityMode.hashCode() : 0);
         hashCode = 31 * hashCode + (packageName != null ? packageName.hashCode() : 0);
+        hashCode = 31 * hashCode + (primitiveFields != null ? primitiveFields.hashCode() : 0);
         return hashCode;
     }
 
@@ -67,7 +80,8 @@ public final class DataPluginConfig implements ToNode {
     public String toString() {
         return "DataPluginConfig{"
                + "nullabilityMode: " + nullabilityMode
-               + ", packageName: " + packageName + "}";
+               + ", packageName: " + packageName
+               + ", primitiveFields: " + primitiveFields + "}";
     }
 
     /**
@@ -82,6 +96,9 @@ public final class DataPluginConfig implements ToNode {
         if (this.packageName != null) {
             builder.withMember("packageName", Node.from(this.packageName));
         }
+        if (this.primitiveFields != null) {
+            builder.withMember("primitiveFields", Node.from(this.primitiveFields));
+        }
         return builder.build();
     }
 
@@ -99,21 +116,25 @@ public final class DataPluginConfig implements ToNode {
         DataPluginConfig.Builder builder = builder();
         ObjectNode obj = node.expectObjectNode();
         obj.getMember("nullabilityMode").map(n -> NullabilityCheckMode.from(n.expectStringNode().getValue())).ifPresent(builder::nullabilityMode);
-        obj.getMember("packageName").map(n -> n.expectStringNode().getValue()).ifPresent(builder::packageName);
+        obj.getStringMember("packageName", builder::packageName);
+        obj.getBooleanMember("primitiveFields", builder::primitiveFields);
         return builder.build();
     }
 
     public static final class Builder {
         private NullabilityCheckMode nullabilityMode;
         private String packageName;
+        private Boolean primitiveFields;
 
         Builder() {
             this.nullabilityMode = NullabilityCheckMode.CLIENT;
+            this.primitiveFields = false;
         }
 
         Builder(DataPluginConfig data) {
             this.nullabilityMode = data.nullabilityMode;
             this.packageName = data.packageName;
+            this.primitiveFields = data.primitiveFields;
         }
 
         /**
@@ -136,6 +157,17 @@ public final class DataPluginConfig implements ToNode {
             return this;
         }
 
+        /**
+         * <p>Sets the value for {@code primitiveFields}</p>
+         * <p>If true, the numeric and boolean members of the structures are
+         * stored in primitive fields, the presence of the optional ones is
+         * tracked using a bitset. By default the members are stored boxed.</p>
+         */
+        public Builder primitiveFields(Boolean primitiveFields) {
+            this.primitiveFields = primitiveFields;
+            return this;
+        }
+
         public DataPluginConfig build() {
             return new DataPluginConfig(this);
         }
@@ -165,9 +165,6 @@ public final class DefaultShapeToJavaType extends ShapeVisitor.Default<TypeName>
     ClassName from(Shape shape) {
         var simpleName = shapeToJavaName.toJavaName(shape, model);
         var packageName = shapeToJavaName.toJavaPackage(shape);
-        return ClassName.builder()
-                        .name(simpleName.toString())
-                        .packageName(packageName)
-                        .build();
+        return ClassName.from(packageName, simpleName.toString());
     }
 }
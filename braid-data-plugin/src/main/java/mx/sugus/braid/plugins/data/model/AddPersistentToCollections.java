@@ -0,0 +1,43 @@
+package mx.sugus.braid.plugins.data.model;
+
+import java.util.HashSet;
+import java.util.Set;
+import mx.sugus.braid.traits.PersistentTrait;
+import mx.sugus.braid.traits.WrappedTrait;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.traits.SparseTrait;
+import software.amazon.smithy.model.traits.UniqueItemsTrait;
+import software.amazon.smithy.model.transform.ModelTransformer;
+
+public class AddPersistentToCollections {
+
+    public static Model transform(Model model) {
+        ModelTransformer transformer = ModelTransformer.create();
+        var replacements = findReplacements(model);
+        if (replacements.isEmpty()) {
+            return model;
+        }
+        return transformer.replaceShapes(model, replacements);
+    }
+
+    private static Set<Shape> findReplacements(Model model) {
+        var result = new HashSet<Shape>();
+        for (var shape : model.getListShapes()) {
+            // Persistent sets cannot have null members.
+            if (shape.hasTrait(UniqueItemsTrait.class) && shape.hasTrait(SparseTrait.class)) {
+                continue;
+            }
+            if (!shape.hasTrait(PersistentTrait.class) && !shape.hasTrait(WrappedTrait.class)) {
+                result.add(shape.toBuilder().addTrait(new PersistentTrait()).build());
+            }
+        }
+        for (var shape : model.getMapShapes()) {
+            if (!shape.hasTrait(PersistentTrait.class) && !shape.hasTrait(WrappedTrait.class)) {
+                result.add(shape.toBuilder().addTrait(new PersistentTrait()).build());
+            }
+        }
+        return result;
+    }
+
+}
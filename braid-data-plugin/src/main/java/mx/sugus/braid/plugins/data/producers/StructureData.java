@@ -1,7 +1,9 @@
 package mx.sugus.braid.plugins.data.producers;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import javax.lang.model.element.Modifier;
 import mx.sugus.braid.core.ImplementsKnowledgeIndex;
@@ -13,10 +15,12 @@ import mx.sugus.braid.jsyntax.CodeBlock;
 import mx.sugus.braid.jsyntax.ConstructorMethodSyntax;
 import mx.sugus.braid.jsyntax.FieldSyntax;
 import mx.sugus.braid.jsyntax.MethodSyntax;
+import mx.sugus.braid.jsyntax.TypeName;
 import mx.sugus.braid.jsyntax.block.AbstractBlockBuilder;
 import mx.sugus.braid.jsyntax.block.BodyBuilder;
 import mx.sugus.braid.jsyntax.ext.JavadocExt;
 import mx.sugus.braid.plugins.data.DataPlugin;
+import mx.sugus.braid.traits.CacheHashCodeTrait;
 import mx.sugus.braid.traits.ConstTrait;
 import software.amazon.smithy.model.shapes.EnumShape;
 import software.amazon.smithy.model.shapes.MemberShape;
@@ -61,6 +65,9 @@ public final class StructureData implements DirectedClass {
 
     public FieldSyntax fieldFor(ShapeCodegenState state, MemberShape member) {
         var name = Utils.toJavaName(state, member);
+        if (primitiveFields(state).containsKey(member)) {
+            return FieldSyntax.from(TypeName.from(Utils.primitiveType(state, member)), name.toString());
+        }
         var type = Utils.toJavaTypeName(state, member);
         return FieldSyntax.from(type, name.toString());
     }
@@ -79,11 +86,37 @@ public final class StructureData implements DirectedClass {
     }
 
     private void constructorBody(ShapeCodegenState state, BodyBuilder builder) {
+        var primitiveFields = primitiveFields(state);
         for (var member : state.shape().members()) {
+            var bit = primitiveFields.get(member);
+            if (bit != null && bit != 0) {
+                var name = Utils.toJavaName(state, member);
+                builder.addStatement("this.$1L = builder.$1L != null ? builder.$1L : $2L", name,
+                                     zeroValue(Utils.primitiveType(state, member)));
+                continue;
+            }
             for (var stmt : Utils.dataInitFromBuilder(state, member).statements()) {
                 builder.addStatement(stmt);
             }
         }
+        if (hasPresenceBits(primitiveFields)) {
+            var isLong = isLongPresence(primitiveFields);
+            var presence = CodeBlock.builder();
+            presence.addCode("this._present = ");
+            var isFirst = true;
+            for (var kvp : primitiveFields.entrySet()) {
+                if (kvp.getValue() == 0) {
+                    continue;
+                }
+                if (!isFirst) {
+                    presence.addCode("\n| ");
+                }
+                presence.addCode("(builder.$L != null ? $L : 0)", Utils.toJavaName(state, kvp.getKey()),
+                                 presenceMask(kvp.getValue(), isLong));
+                isFirst = false;
+            }
+            builder.addStatement(presence.build());
+        }
     }
 
     @Override
@@ -99,8 +132,15 @@ public final class StructureData implements DirectedClass {
         var type = Utils.toJavaTypeName(state, member);
         var builder = MethodSyntax.builder(Utils.toGetterName(state, member).toString())
                                   .addModifier(Modifier.PUBLIC)
-                                  .returns(type)
-                                  .addStatement("return this.$L", name);
+                                  .returns(type);
+        var primitiveFields = primitiveFields(state);
+        var bit = primitiveFields.get(member);
+        if (bit != null && bit != 0) {
+            builder.addStatement("return (this._present & $L) != 0 ? this.$L : null",
+                                 presenceMask(bit, isLongPresence(primitiveFields)), name);
+        } else {
+            builder.addStatement("return this.$L", name);
+        }
         member.getTrait(DocumentationTrait.class)
               .map(DocumentationTrait::getValue)
               .map(JavadocExt::document)
@@ -128,23 +168,34 @@ public final class StructureData implements DirectedClass {
 
     @Override
     public List<FieldSyntax> extraFields(ShapeCodegenState state) {
+        var result = new ArrayList<FieldSyntax>();
+        var primitiveFields = primitiveFields(state);
+        if (hasPresenceBits(primitiveFields)) {
+            // One bit per optional member stored in a primitive field, set when the member is present.
+            var type = isLongPresence(primitiveFields) ? long.class : int.class;
+            result.add(FieldSyntax.from(TypeName.from(type), "_present"));
+        }
         if (!cacheHashCode(state)) {
-            return List.of();
+            return result;
         }
-        return List.of(FieldSyntax.builder()
-                                  .name("_hashCode")
-                                  .type(int.class)
-                                  // No need to add VOLATILE here, given that all the
-                                  // values are immutable the computation will be
-                                  // idempotent, and integer assignment is atomic.
-                                  // Worst case the hash value will be computed more than
-                                  // once but that's OK.
-                                  .addModifier(Modifier.PRIVATE)
-                                  .initializer(CodeBlock.from("0"))
-                                  .build());
+        result.add(FieldSyntax.builder()
+                              .name("_hashCode")
+                              .type(int.class)
+                              // No need to add VOLATILE here, given that all the
+                              // values are immutable the computation will be
+                              // idempotent, and integer assignment is atomic.
+                              // Worst case the hash value will be computed more than
+                              // once but that's OK.
+                              .addModifier(Modifier.PRIVATE)
+                              .initializer(CodeBlock.from("0"))
+                              .build());
+        return result;
     }
 
     private boolean cacheHashCode(ShapeCodegenState state) {
+        if (state.shape().hasTrait(CacheHashCodeTrait.class)) {
+            return true;
+        }
         var aggregateCount = 0;
         var memberCount = 0;
         for (var member : state.shape().members()) {
@@ -200,6 +251,11 @@ public final class StructureData implements DirectedClass {
             var expressionBuilder = CodeBlock.builder();
             var isFirst = true;
             expressionBuilder.addCode("return ");
+            var primitiveFields = primitiveFields(state);
+            if (hasPresenceBits(primitiveFields)) {
+                expressionBuilder.addCode("this._present == that._present");
+                isFirst = false;
+            }
             for (var member : state.shape().members()) {
                 if (member.hasTrait(ConstTrait.class)) {
                     continue;
@@ -208,7 +264,19 @@ public final class StructureData implements DirectedClass {
                 if (!isFirst) {
                     expressionBuilder.addCode("\n&& ");
                 }
-                if (Utils.isImplicitlyRequired(state, member)) {
+                if (primitiveFields.containsKey(member)) {
+                    // The absent members are stored as zero, they can be compared as any other value.
+                    var primitiveType = Utils.primitiveType(state, member);
+                    if (primitiveType == float.class) {
+                        expressionBuilder.addCode("$1T.floatToIntBits(this.$2L) == $1T.floatToIntBits(that.$2L)",
+                                                  Float.class, name);
+                    } else if (primitiveType == double.class) {
+                        expressionBuilder.addCode("$1T.doubleToLongBits(this.$2L) == $1T.doubleToLongBits(that.$2L)",
+                                                  Double.class, name);
+                    } else {
+                        expressionBuilder.addCode("this.$1L == that.$1L", name);
+                    }
+                } else if (Utils.isImplicitlyRequired(state, member)) {
                     expressionBuilder.addCode("this.$1L.equals(that.$1L)", name);
                 } else {
                     expressionBuilder.addCode("$1T.equals(this.$2L, that.$2L)", Objects.class, name);
@@ -247,13 +315,17 @@ public final class StructureData implements DirectedClass {
 
     private AbstractBlockBuilder<?, ?> addComputeHashCode(ShapeCodegenState state, AbstractBlockBuilder<?, ?> builder) {
         builder.addStatement("int hashCode = 17");
+        var primitiveFields = primitiveFields(state);
         for (var member : state.shape().members()) {
             var name = Utils.toJavaName(state, member);
             if (member.hasTrait(ConstTrait.class)) {
                 builder.addStatement("hashCode = 31 * hashCode + this.$L().hashCode()", Utils.toGetterName(state, member));
                 continue;
             }
-            if (Utils.isImplicitlyRequired(state, member)) {
+            if (primitiveFields.containsKey(member)) {
+                builder.addStatement("hashCode = 31 * hashCode + $T.hashCode($L)",
+                                     boxedType(Utils.primitiveType(state, member)), name);
+            } else if (Utils.isImplicitlyRequired(state, member)) {
                 builder.addStatement("hashCode = 31 * hashCode + $L.hashCode()", name);
             } else {
                 builder.addStatement("hashCode = 31 * hashCode + ($1L != null ? $1L.hashCode() : 0)", name);
@@ -272,6 +344,7 @@ public final class StructureData implements DirectedClass {
                                   .addModifier(Modifier.PUBLIC)
                                   .returns(String.class);
         var isFirst = true;
+        var primitiveFields = primitiveFields(state);
         var toStringReturn = CodeBlock.builder();
         toStringReturn.addCode("return $S", state.shape().getId().getName() + "{");
         for (var member : state.shape().members()) {
@@ -286,7 +359,8 @@ public final class StructureData implements DirectedClass {
                 literalName.append("<*** REDACTED ***>");
                 toStringReturn.addCode("$S", literalName);
             } else {
-                if (member.hasTrait(ConstTrait.class)) {
+                var bit = primitiveFields.get(member);
+                if (member.hasTrait(ConstTrait.class) || (bit != null && bit != 0)) {
                     toStringReturn.addCode("$S + $L()", literalName, Utils.toGetterName(state, member));
                 } else {
                     toStringReturn.addCode("$S + $L", literalName, name);
@@ -311,6 +385,89 @@ public final class StructureData implements DirectedClass {
         return List.of(builder);
     }
 
+    /**
+     * Returns the members stored in primitive fields, mapped to the bit that tracks their presence or to zero for the
+     * required members. At most 64 optional members are tracked, the ones after those are stored boxed.
+     */
+    static Map<MemberShape, Long> primitiveFields(ShapeCodegenState state) {
+        var result = new LinkedHashMap<MemberShape, Long>();
+        var index = 0;
+        for (var member : state.shape().members()) {
+            if (Utils.primitiveType(state, member) == null) {
+                continue;
+            }
+            if (Utils.isImplicitlyRequired(state, member)) {
+                result.put(member, 0L);
+            } else if (index < Long.SIZE) {
+                result.put(member, 1L << index++);
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasPresenceBits(Map<MemberShape, Long> primitiveFields) {
+        for (var bit : primitiveFields.values()) {
+            if (bit != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLongPresence(Map<MemberShape, Long> primitiveFields) {
+        for (var bit : primitiveFields.values()) {
+            if ((bit >>> Integer.SIZE) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String presenceMask(long bit, boolean isLong) {
+        if (isLong) {
+            return "0x" + Long.toHexString(bit) + "L";
+        }
+        return "0x" + Integer.toHexString((int) bit);
+    }
+
+    private static String zeroValue(Class<?> primitiveType) {
+        if (primitiveType == boolean.class) {
+            return "false";
+        }
+        if (primitiveType == long.class) {
+            return "0L";
+        }
+        if (primitiveType == float.class) {
+            return "0F";
+        }
+        if (primitiveType == double.class) {
+            return "0D";
+        }
+        return "0";
+    }
+
+    private static Class<?> boxedType(Class<?> primitiveType) {
+        if (primitiveType == boolean.class) {
+            return Boolean.class;
+        }
+        if (primitiveType == byte.class) {
+            return Byte.class;
+        }
+        if (primitiveType == short.class) {
+            return Short.class;
+        }
+        if (primitiveType == int.class) {
+            return Integer.class;
+        }
+        if (primitiveType == long.class) {
+            return Long.class;
+        }
+        if (primitiveType == float.class) {
+            return Float.class;
+        }
+        return Double.class;
+    }
+
     @Override
     public List<DirectiveToTypeSyntax> innerTypes(ShapeCodegenState state) {
         return INNER_TYPES;
@@ -17,8 +17,10 @@ import mx.sugus.braid.jsyntax.ParameterizedTypeName;
 import mx.sugus.braid.jsyntax.TypeName;
 import mx.sugus.braid.jsyntax.block.BodyBuilder;
 import mx.sugus.braid.jsyntax.ext.JavadocExt;
+import mx.sugus.braid.plugins.data.symbols.SymbolConstants;
 import mx.sugus.braid.rt.util.CollectionBuilderReference;
 import mx.sugus.braid.traits.ConstTrait;
+import mx.sugus.braid.traits.ResettableTrait;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.traits.DocumentationTrait;
 
@@ -77,6 +79,9 @@ public final class StructureDataBuilder implements DirectedClass {
 
     @Override
     public List<MethodSyntax> extraMethods(ShapeCodegenState state) {
+        if (state.shape().hasTrait(ResettableTrait.class)) {
+            return List.of(resetMethod(state), buildMethod(state));
+        }
         return List.of(buildMethod(state));
     }
 
@@ -108,6 +113,31 @@ public final class StructureDataBuilder implements DirectedClass {
         return builder.build();
     }
 
+    private MethodSyntax resetMethod(ShapeCodegenState state) {
+        var builder = methodBuilder("reset");
+        for (var member : state.shape().members()) {
+            if (member.hasTrait(ConstTrait.class)) {
+                continue;
+            }
+            var name = Utils.toJavaName(state, member);
+            if (Utils.aggregateType(state, member) != SymbolConstants.AggregateType.NONE
+                || Utils.builderReference(state, member) != null) {
+                builder.addStatement("this.$L.reset()", name);
+                continue;
+            }
+            var defaultValue = Utils.defaultValue(state, member);
+            if (defaultValue != null) {
+                builder.addStatement("this.$L = $C", name, defaultValue);
+            } else {
+                builder.addStatement("this.$L = null", name);
+            }
+        }
+        builder.addStatement("return this");
+        builder.javadoc(JavadocExt.document("Resets this builder to its initial state, keeping the storage of its "
+                                            + "collections to reuse it"));
+        return builder.build();
+    }
+
     private MethodSyntax buildMethod(ShapeCodegenState state) {
         var shapeType = Utils.toJavaTypeName(state, state.shape());
         return MethodSyntax.builder("build")
@@ -198,6 +228,11 @@ public final class StructureDataBuilder implements DirectedClass {
 
     private void addValueParam(ShapeCodegenState state, MemberShape member, MethodSyntax.Builder builder) {
         var paramName = Utils.toJavaSingularName(state, member).toString();
+        var unboxedType = Utils.unboxedType(state, member);
+        if (unboxedType != null) {
+            builder.addParameter(TypeName.from(unboxedType), paramName);
+            return;
+        }
         var references = state.symbolProvider().toSymbol(member).getReferences();
         builder.addParameter(Utils.toJavaTypeName(state, references.get(0).getSymbol()), paramName);
     }
@@ -213,8 +248,10 @@ public final class StructureDataBuilder implements DirectedClass {
 
     private void addValue(ShapeCodegenState state, MemberShape member, BodyBuilder builder, List<String> values) {
         var name = Utils.toJavaName(state, member);
+        var unboxedType = Utils.unboxedType(state, member);
+        var adderName = unboxedType != null ? Utils.unboxedAdderName(unboxedType) : "add";
         for (var value : values) {
-            builder.addStatement("this.$L.asTransient().add($L)", name.toString(), value);
+            builder.addStatement("this.$L.asTransient().$L($L)", name.toString(), adderName, value);
         }
     }
 
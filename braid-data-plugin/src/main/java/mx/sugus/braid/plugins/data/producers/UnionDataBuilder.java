@@ -18,6 +18,7 @@ import mx.sugus.braid.jsyntax.FieldSyntax;
 import mx.sugus.braid.jsyntax.MethodSyntax;
 import mx.sugus.braid.jsyntax.ParameterizedTypeName;
 import mx.sugus.braid.jsyntax.SwitchStatement;
+import mx.sugus.braid.jsyntax.TypeName;
 import mx.sugus.braid.jsyntax.block.BodyBuilder;
 import mx.sugus.braid.jsyntax.ext.JavadocExt;
 import mx.sugus.braid.plugins.data.symbols.SymbolConstants;
@@ -246,6 +247,11 @@ public final class UnionDataBuilder implements DirectedClass {
 
     private void addValueParam(ShapeCodegenState state, MemberShape member, MethodSyntax.Builder builder) {
         var paramName = Utils.toJavaSingularName(state, member).toString();
+        var unboxedType = Utils.unboxedType(state, member);
+        if (unboxedType != null) {
+            builder.addParameter(TypeName.from(unboxedType), paramName);
+            return;
+        }
         var references = state.symbolProvider().toSymbol(member).getReferences();
         builder.addParameter(Utils.toJavaTypeName(state, references.get(0).getSymbol()), paramName);
     }
@@ -264,8 +270,10 @@ public final class UnionDataBuilder implements DirectedClass {
 
     private void addValue(ShapeCodegenState state, MemberShape member, BodyBuilder builder, List<String> values) {
         var name = Utils.toJavaName(state, member);
+        var unboxedType = Utils.unboxedType(state, member);
+        var adderName = unboxedType != null ? Utils.unboxedAdderName(unboxedType) : "add";
         for (var value : values) {
-            builder.addStatement("$L().asTransient().add($L)", name, value);
+            builder.addStatement("$L().asTransient().$L($L)", name, adderName, value);
         }
     }
 
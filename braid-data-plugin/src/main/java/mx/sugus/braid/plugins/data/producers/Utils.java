@@ -189,6 +189,34 @@ public final class Utils {
         return symbol.getProperty(SymbolProperties.IS_ORDERED).orElse(false);
     }
 
+    public static boolean isPersistent(CodegenState state, Shape shape) {
+        var symbol = state.symbolProvider().toSymbol(shape);
+        return symbol.getProperty(SymbolProperties.IS_PERSISTENT).orElse(false);
+    }
+
+    public static boolean isWrapped(CodegenState state, Shape shape) {
+        var symbol = state.symbolProvider().toSymbol(shape);
+        return symbol.getProperty(SymbolProperties.IS_WRAPPED).orElse(false);
+    }
+
+    public static Class<?> unboxedType(CodegenState state, Shape shape) {
+        var symbol = state.symbolProvider().toSymbol(shape);
+        return symbol.getProperty(SymbolProperties.UNBOXED_TYPE).orElse(null);
+    }
+
+    public static Class<?> primitiveType(CodegenState state, Shape shape) {
+        var symbol = state.symbolProvider().toSymbol(shape);
+        return symbol.getProperty(SymbolProperties.PRIMITIVE_TYPE).orElse(null);
+    }
+
+    /**
+     * Returns the name of the method of the unboxed list that adds a value without boxing it, e.g., {@code addInt}.
+     */
+    public static String unboxedAdderName(Class<?> unboxedType) {
+        var name = unboxedType.getName();
+        return "add" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
     public static CodeBlock defaultValue(CodegenState state, MemberShape shape) {
         var symbol = state.symbolProvider().toSymbol(shape);
         var defaultFunction = symbol.getProperty(SymbolProperties.DEFAULT_VALUE).orElse(null);
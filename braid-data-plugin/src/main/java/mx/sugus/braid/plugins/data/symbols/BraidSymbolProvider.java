@@ -12,16 +12,25 @@ import mx.sugus.braid.core.util.PathUtil;
 import mx.sugus.braid.jsyntax.ClassName;
 import mx.sugus.braid.jsyntax.ParameterizedTypeName;
 import mx.sugus.braid.jsyntax.TypeName;
+import mx.sugus.braid.jsyntax.ext.TypeNameExt;
+import mx.sugus.braid.plugins.data.dependencies.NullabilityIndex;
 import mx.sugus.braid.plugins.data.dependencies.NullabilityIndexProvider;
 import mx.sugus.braid.plugins.data.dependencies.ShapeToJavaName;
 import mx.sugus.braid.plugins.data.dependencies.ShapeToJavaType;
 import mx.sugus.braid.plugins.data.symbols.SymbolConstants.AggregateType;
 import mx.sugus.braid.rt.util.BuilderReference;
 import mx.sugus.braid.rt.util.CollectionBuilderReference;
+import mx.sugus.braid.rt.util.primitive.BooleanListBuilderReference;
+import mx.sugus.braid.rt.util.primitive.DoubleListBuilderReference;
+import mx.sugus.braid.rt.util.primitive.IntListBuilderReference;
+import mx.sugus.braid.rt.util.primitive.LongListBuilderReference;
 import mx.sugus.braid.traits.ConstTrait;
 import mx.sugus.braid.traits.JavaTrait;
 import mx.sugus.braid.traits.OrderedTrait;
+import mx.sugus.braid.traits.PersistentTrait;
+import mx.sugus.braid.traits.UnboxedTrait;
 import mx.sugus.braid.traits.UseBuilderReferenceTrait;
+import mx.sugus.braid.traits.WrappedTrait;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.codegen.core.SymbolProvider;
 import software.amazon.smithy.model.Model;
@@ -49,24 +58,38 @@ import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.TimestampShape;
 import software.amazon.smithy.model.shapes.UnionShape;
+import software.amazon.smithy.model.traits.SparseTrait;
 import software.amazon.smithy.model.traits.UniqueItemsTrait;
 
 public class BraidSymbolProvider implements SymbolProvider, ShapeVisitor<Symbol> {
     private final Model model;
     private final ShapeToJavaName shapeToJavaName;
     private final ShapeToJavaType shapeToJavaType;
-    private final NullabilityIndexProvider nullabilityIndexProvider;
+    private final NullabilityIndex nullabilityIndex;
+    private final boolean primitiveFields;
 
     public BraidSymbolProvider(
         Model model,
         ShapeToJavaName shapeToJavaName,
         ShapeToJavaType shapeToJavaType,
         NullabilityIndexProvider nullabilityIndexProvider
+    ) {
+        this(model, shapeToJavaName, shapeToJavaType, nullabilityIndexProvider, false);
+    }
+
+    public BraidSymbolProvider(
+        Model model,
+        ShapeToJavaName shapeToJavaName,
+        ShapeToJavaType shapeToJavaType,
+        NullabilityIndexProvider nullabilityIndexProvider,
+        boolean primitiveFields
     ) {
         this.model = Objects.requireNonNull(model, "model");
         this.shapeToJavaName = Objects.requireNonNull(shapeToJavaName, "shapeToJavaName");
         this.shapeToJavaType = Objects.requireNonNull(shapeToJavaType, "shapeToJavaType");
-        this.nullabilityIndexProvider = Objects.requireNonNull(nullabilityIndexProvider, "nullabilityIndexProvider");
+        // The model is fixed for this provider, the index is created once instead of per member.
+        this.nullabilityIndex = Objects.requireNonNull(nullabilityIndexProvider, "nullabilityIndexProvider").of(model);
+        this.primitiveFields = primitiveFields;
     }
 
     @Override
@@ -158,7 +181,6 @@ public class BraidSymbolProvider implements SymbolProvider, ShapeVisitor<Symbol>
         var targetSymbol = targetShape.accept(this);
         var builderReference = targetShape.getTrait(UseBuilderReferenceTrait.class).orElse(null);
         var javaName = shapeToJavaName.toJavaName(shape, model);
-        var nullabilityIndex = nullabilityIndexProvider.of(model);
         var builder = targetSymbol
             .toBuilder()
             .putProperty(SymbolProperties.JAVA_NAME, javaName)
@@ -180,8 +202,11 @@ public class BraidSymbolProvider implements SymbolProvider, ShapeVisitor<Symbol>
         var aggregateType = targetSymbol.getProperty(SymbolProperties.AGGREGATE_TYPE).orElse(AggregateType.NONE);
         if (aggregateType != AggregateType.NONE) {
             var targetType = targetSymbol.getProperty(SymbolProperties.JAVA_TYPE).orElseThrow();
-            builder.putProperty(SymbolProperties.BUILDER_JAVA_TYPE,
-                                ParameterizedTypeName.from(CollectionBuilderReference.class, targetType));
+            var unboxedBuilderReference = targetSymbol.getProperty(SymbolProperties.UNBOXED_BUILDER_REFERENCE);
+            var builderType = unboxedBuilderReference.isPresent()
+                ? TypeName.from(unboxedBuilderReference.get())
+                : ParameterizedTypeName.from(CollectionBuilderReference.class, targetType);
+            builder.putProperty(SymbolProperties.BUILDER_JAVA_TYPE, TypeNameExt.intern(builderType));
             var simpleName = shapeToJavaName.toName(shape, model);
             var prefix = aggregateType == AggregateType.MAP ? "put" : "add";
             builder.putProperty(SymbolProperties.ADDER_NAME, simpleName.toSingularSpelling().withPrefix(prefix));
@@ -190,26 +215,46 @@ public class BraidSymbolProvider implements SymbolProvider, ShapeVisitor<Symbol>
         } else if (builderReference != null) {
             var targetType = targetSymbol.getProperty(SymbolProperties.JAVA_TYPE).orElseThrow();
             var targetTypeClass = ClassName.toClassName(targetType);
-            var builderType = targetTypeClass.toBuilder().name(targetTypeClass.name() + ".Builder").build();
+            var builderType = ClassName.from(targetTypeClass.packageName(), targetTypeClass.name() + ".Builder");
             builderType = builderReferenceBuilderType(builderReference, builderType);
             var builderReferenceType = builderReferenceType(builderReference, targetType);
             var fromPersistent = fromPersistent(builderReference);
-            builder.putProperty(SymbolProperties.BUILDER_JAVA_TYPE,
-                                ParameterizedTypeName.from(BuilderReference.class, targetType, builderType));
+            var builderJavaType = ParameterizedTypeName.from(BuilderReference.class, targetType, builderType);
+            builder.putProperty(SymbolProperties.BUILDER_JAVA_TYPE, TypeNameExt.intern(builderJavaType));
             builder.putProperty(SymbolProperties.BUILDER_REFERENCE_JAVA_TYPE, builderReferenceType);
             builder.putProperty(SymbolProperties.BUILDER_REFERENCE_BUILDER_JAVA_TYPE, builderType);
             builder.putProperty(SymbolProperties.BUILDER_REFERENCE_FROM_PERSISTENT, fromPersistent);
+        } else if (primitiveFields && !shape.hasTrait(ConstTrait.class)
+                   && model.expectShape(shape.getContainer()).isStructureShape()) {
+            var primitiveType = primitiveType(targetShape);
+            if (primitiveType != null) {
+                builder.putProperty(SymbolProperties.PRIMITIVE_TYPE, primitiveType);
+            }
         }
         return builder.build();
     }
 
+    private static Class<?> primitiveType(Shape target) {
+        return switch (target.getType()) {
+            case BOOLEAN -> boolean.class;
+            case BYTE -> byte.class;
+            case SHORT -> short.class;
+            case INTEGER -> int.class;
+            case LONG -> long.class;
+            case FLOAT -> float.class;
+            case DOUBLE -> double.class;
+            default -> null;
+        };
+    }
+
     private ClassName builderReferenceType(UseBuilderReferenceTrait trait, TypeName targetType) {
         var builderTypeId = trait.builderType();
         if (builderTypeId != null) {
             return ClassName.from(builderTypeId.getNamespace(), builderTypeId.getName());
         }
         var targetClass = ClassName.toClassName(targetType);
-        return targetClass.toBuilder().name(targetClass.name() + "." + targetClass.name() + "BuilderReference").build();
+        var name = targetClass.name() + "." + targetClass.name() + "BuilderReference";
+        return ClassName.from(targetClass.packageName(), name);
     }
 
     private ClassName builderReferenceBuilderType(UseBuilderReferenceTrait trait, ClassName defaultBuilderType) {
@@ -231,21 +276,56 @@ public class BraidSymbolProvider implements SymbolProvider, ShapeVisitor<Symbol>
     @Override
     public Symbol listShape(ListShape shape) {
         if (shape.hasTrait(UniqueItemsTrait.class)) {
+            if (shape.hasTrait(UnboxedTrait.class)) {
+                throw new IllegalArgumentException("cannot store unboxed the members of " + shape.getId()
+                                                   + ", unboxed lists cannot have unique items");
+            }
             return setShape(shape);
         }
-        return fromClass(List.class)
+        var builder = fromClass(List.class)
             .addReference(shape.getMember().accept(this))
             .putProperty(SymbolProperties.AGGREGATE_TYPE, AggregateType.LIST)
-            .putProperty(SymbolProperties.JAVA_TYPE, shapeToJavaType.toJavaType(shape))
-            .build();
+            .putProperty(SymbolProperties.IS_PERSISTENT, shape.hasTrait(PersistentTrait.class))
+            .putProperty(SymbolProperties.IS_WRAPPED, shape.hasTrait(WrappedTrait.class))
+            .putProperty(SymbolProperties.JAVA_TYPE, shapeToJavaType.toJavaType(shape));
+        if (shape.hasTrait(UnboxedTrait.class)) {
+            addUnboxedProperties(shape, builder);
+        }
+        return builder.build();
+    }
+
+    private void addUnboxedProperties(ListShape shape, Symbol.Builder builder) {
+        var target = model.expectShape(shape.getMember().getTarget());
+        switch (target.getType()) {
+            case INTEGER -> builder.putProperty(SymbolProperties.UNBOXED_TYPE, int.class)
+                                   .putProperty(SymbolProperties.UNBOXED_BUILDER_REFERENCE,
+                                                IntListBuilderReference.class);
+            case LONG -> builder.putProperty(SymbolProperties.UNBOXED_TYPE, long.class)
+                                .putProperty(SymbolProperties.UNBOXED_BUILDER_REFERENCE,
+                                             LongListBuilderReference.class);
+            case DOUBLE -> builder.putProperty(SymbolProperties.UNBOXED_TYPE, double.class)
+                                  .putProperty(SymbolProperties.UNBOXED_BUILDER_REFERENCE,
+                                               DoubleListBuilderReference.class);
+            case BOOLEAN -> builder.putProperty(SymbolProperties.UNBOXED_TYPE, boolean.class)
+                                   .putProperty(SymbolProperties.UNBOXED_BUILDER_REFERENCE,
+                                                BooleanListBuilderReference.class);
+            default -> throw new IllegalArgumentException("cannot store unboxed the members of " + shape.getId()
+                                                          + ", targeting: " + target.getType());
+        }
     }
 
     private Symbol setShape(ListShape shape) {
+        if (shape.hasTrait(PersistentTrait.class) && shape.hasTrait(SparseTrait.class)) {
+            throw new IllegalArgumentException("cannot use persistent collections for " + shape.getId()
+                                               + ", persistent sets cannot have null members");
+        }
         var isOrdered = shape.hasTrait(OrderedTrait.class);
         return fromClass(Set.class)
             .addReference(shape.getMember().accept(this))
             .putProperty(SymbolProperties.AGGREGATE_TYPE, AggregateType.SET)
             .putProperty(SymbolProperties.IS_ORDERED, isOrdered)
+            .putProperty(SymbolProperties.IS_PERSISTENT, shape.hasTrait(PersistentTrait.class))
+            .putProperty(SymbolProperties.IS_WRAPPED, shape.hasTrait(WrappedTrait.class))
             .putProperty(SymbolProperties.JAVA_TYPE, shapeToJavaType.toJavaType(shape))
             .build();
     }
@@ -259,6 +339,8 @@ public class BraidSymbolProvider implements SymbolProvider, ShapeVisitor<Symbol>
             .addReference(shape.getValue().accept(this))
             .putProperty(SymbolProperties.AGGREGATE_TYPE, AggregateType.MAP)
             .putProperty(SymbolProperties.IS_ORDERED, isOrdered)
+            .putProperty(SymbolProperties.IS_PERSISTENT, shape.hasTrait(PersistentTrait.class))
+            .putProperty(SymbolProperties.IS_WRAPPED, shape.hasTrait(WrappedTrait.class))
             .putProperty(SymbolProperties.JAVA_TYPE, shapeToJavaType.toJavaType(shape))
             .build();
     }
@@ -2,6 +2,7 @@ package mx.sugus.braid.plugins.data.symbols;
 
 import mx.sugus.braid.core.plugin.Dependencies;
 import mx.sugus.braid.core.plugin.SymbolProviderDecorator;
+import mx.sugus.braid.plugins.data.config.DataPluginConfig;
 import mx.sugus.braid.plugins.data.dependencies.DataPluginDependencies;
 import mx.sugus.braid.plugins.data.dependencies.DefaultShapeToJavaType;
 import software.amazon.smithy.codegen.core.SymbolProvider;
@@ -18,7 +19,11 @@ public class DataSymbolProviderDecorator implements SymbolProviderDecorator {
         var shapeToJavaName = dependencies.get(DataPluginDependencies.SHAPE_TO_JAVA_NAME);
         var shapeToJavaType = new DefaultShapeToJavaType(shapeToJavaName, model);
         var nullabilityIndexProvider = dependencies.expect(DataPluginDependencies.NULLABILITY_INDEX_PROVIDER);
-        return new BraidSymbolProvider(model, shapeToJavaName, shapeToJavaType, nullabilityIndexProvider);
+        var primitiveFields = dependencies.getOptional(DataPluginDependencies.DATA_PLUGIN_CONFIG)
+                                          .map(DataPluginConfig::primitiveFields)
+                                          .orElse(false);
+        return new BraidSymbolProvider(model, shapeToJavaName, shapeToJavaType, nullabilityIndexProvider,
+                                       primitiveFields);
     }
 
     public static DataSymbolProviderDecorator get() {
@@ -12,6 +12,8 @@ import mx.sugus.braid.jsyntax.CodeBlock;
 import mx.sugus.braid.jsyntax.block.BodyBuilder;
 import mx.sugus.braid.plugins.data.producers.Utils;
 import mx.sugus.braid.rt.util.CollectionBuilderReference;
+import mx.sugus.braid.rt.util.PersistentCollectionBuilderReference;
+import mx.sugus.braid.rt.util.WrappedCollectionBuilderReference;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.DefaultTrait;
@@ -61,25 +63,46 @@ public final class SymbolCodegen {
                             .build();
         }
         var builder = CodeBlock.builder();
+        var factory = collectionBuilderReferenceFactory(state, member);
         var isOrdered = Utils.isOrdered(state, member);
         if (isOrdered) {
             switch (type) {
-                case MAP -> builder.addCode("$T.forOrderedMap()", CollectionBuilderReference.class);
-                case SET -> builder.addCode("$T.forOrderedSet()", CollectionBuilderReference.class);
-                case LIST -> builder.addCode("$T.forList()", CollectionBuilderReference.class);
+                case MAP -> builder.addCode("$T.forOrderedMap()", factory);
+                case SET -> builder.addCode("$T.forOrderedSet()", factory);
+                case LIST -> builder.addCode("$T.forList()", factory);
                 default -> throw new UnsupportedOperationException("unsupported aggregate type: " + type);
             }
         } else {
             switch (type) {
-                case MAP -> builder.addCode("$T.forUnorderedMap()", CollectionBuilderReference.class);
-                case SET -> builder.addCode("$T.forUnorderedSet()", CollectionBuilderReference.class);
-                case LIST -> builder.addCode("$T.forList()", CollectionBuilderReference.class);
+                case MAP -> builder.addCode("$T.forUnorderedMap()", factory);
+                case SET -> builder.addCode("$T.forUnorderedSet()", factory);
+                case LIST -> builder.addCode("$T.forList()", factory);
                 default -> throw new UnsupportedOperationException("unsupported aggregate type: " + type);
             }
         }
         return builder.build();
     }
 
+    /**
+     * Returns the class with the factories for the builder reference of the collection member, the unboxed lists are used
+     * for the shapes with the {@code unboxed} trait, the persistent collections for the ones with the {@code persistent}
+     * trait and the wrapped collections for the ones with the {@code wrapped} trait.
+     */
+    static Class<?> collectionBuilderReferenceFactory(ShapeCodegenState state, MemberShape member) {
+        var symbol = state.symbolProvider().toSymbol(member);
+        var unboxedBuilderReference = symbol.getProperty(SymbolProperties.UNBOXED_BUILDER_REFERENCE).orElse(null);
+        if (unboxedBuilderReference != null) {
+            return unboxedBuilderReference;
+        }
+        if (Utils.isPersistent(state, member)) {
+            return PersistentCollectionBuilderReference.class;
+        }
+        if (Utils.isWrapped(state, member)) {
+            return WrappedCollectionBuilderReference.class;
+        }
+        return CollectionBuilderReference.class;
+    }
+
     static Block builderDataInitializer(ShapeCodegenState state, MemberShape member) {
         if (Utils.isConstant(state, member)) {
             return BodyBuilder.emptyBlock();
@@ -102,7 +125,8 @@ public final class SymbolCodegen {
         var symbol = state.symbolProvider().toSymbol(member);
         var type = Utils.aggregateType(state, member);
         String name;
-        if (useGetters) {
+        // The members stored in primitive fields use the getter to read back the absent values as null.
+        if (useGetters || Utils.primitiveType(state, member) != null) {
             name = Utils.toGetterName(state, member).toString() + "()";
         } else {
             name = Utils.toJavaName(state, member).toString();
@@ -122,25 +146,20 @@ public final class SymbolCodegen {
                             .build();
         }
         var builder = CodeBlock.builder();
+        var factory = collectionBuilderReferenceFactory(state, member);
         var isOrdered = Utils.isOrdered(state, member);
         if (isOrdered) {
             switch (type) {
-                case MAP -> builder.addCode("$T.fromPersistentOrderedMap(data.$L)",
-                                            CollectionBuilderReference.class, name);
-                case SET -> builder.addCode("$T.fromPersistentOrderedSet(data.$L)",
-                                            CollectionBuilderReference.class, name);
-                case LIST -> builder.addCode("$T.fromPersistentList(data.$L)",
-                                             CollectionBuilderReference.class, name);
+                case MAP -> builder.addCode("$T.fromPersistentOrderedMap(data.$L)", factory, name);
+                case SET -> builder.addCode("$T.fromPersistentOrderedSet(data.$L)", factory, name);
+                case LIST -> builder.addCode("$T.fromPersistentList(data.$L)", factory, name);
                 default -> throw new UnsupportedOperationException("unsupported aggregate type: " + type);
             }
         } else {
             switch (type) {
-                case MAP -> builder.addCode("$T.fromPersistentUnorderedMap(data.$L)",
-                                            CollectionBuilderReference.class, name);
-                case SET -> builder.addCode("$T.fromPersistentUnorderedSet(data.$L)",
-                                            CollectionBuilderReference.class, name);
-                case LIST -> builder.addCode("$T.fromPersistentList(data.$L)",
-                                             CollectionBuilderReference.class, name);
+                case MAP -> builder.addCode("$T.fromPersistentUnorderedMap(data.$L)", factory, name);
+                case SET -> builder.addCode("$T.fromPersistentUnorderedSet(data.$L)", factory, name);
+                case LIST -> builder.addCode("$T.fromPersistentList(data.$L)", factory, name);
                 default -> throw new UnsupportedOperationException("unsupported aggregate type: " + type);
             }
         }
@@ -116,6 +116,33 @@ public final class SymbolProperties {
      */
     public static final Property<Boolean> IS_ORDERED = from(Boolean.class);
 
+    /**
+     * Property to flag if the builders of the shape use persistent collections. Valid for lists, sets and maps.
+     */
+    public static final Property<Boolean> IS_PERSISTENT = Property.named("is-persistent?");
+
+    /**
+     * Property to flag if the builders of the shape freeze their collections by wrapping them. Valid for lists, sets and
+     * maps.
+     */
+    public static final Property<Boolean> IS_WRAPPED = Property.named("is-wrapped?");
+
+    /**
+     * Property for the primitive type of the values of a list that stores them unboxed. Valid for lists.
+     */
+    public static final Property<Class<?>> UNBOXED_TYPE = Property.named("unboxed-type");
+
+    /**
+     * Property for the builder reference class of a list that stores its values unboxed. Valid for lists.
+     */
+    public static final Property<Class<?>> UNBOXED_BUILDER_REFERENCE = Property.named("unboxed-builder-reference");
+
+    /**
+     * Property for the primitive type used to store the value of a member in the data class. Valid for the numeric and
+     * boolean members of structures when the plugin is configured to use primitive fields.
+     */
+    public static final Property<Class<?>> PRIMITIVE_TYPE = Property.named("primitive-type");
+
     /**
      * The method name in the class to get the value for the symbol.
      */
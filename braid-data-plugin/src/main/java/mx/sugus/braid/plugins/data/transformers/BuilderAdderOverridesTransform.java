@@ -18,7 +18,8 @@ import mx.sugus.braid.jsyntax.CompilationUnit;
 import mx.sugus.braid.jsyntax.MethodSyntax;
 import mx.sugus.braid.jsyntax.block.BodyBuilder;
 import mx.sugus.braid.jsyntax.ext.JavadocExt;
-import mx.sugus.braid.jsyntax.transforms.AddMethodsTransform;
+import mx.sugus.braid.jsyntax.transforms.AddPosition;
+import mx.sugus.braid.jsyntax.transforms.BatchTransform;
 import mx.sugus.braid.jsyntax.transforms.MethodMatcher;
 import mx.sugus.braid.jsyntax.transforms.TypeMatcher;
 import mx.sugus.braid.plugins.data.TypeSyntaxResult;
@@ -48,22 +49,23 @@ public final class BuilderAdderOverridesTransform implements ShapeTaskTransforme
 
     @Override
     public TypeSyntaxResult transform(TypeSyntaxResult result, ShapeCodegenState state) {
-        var syntax = result.syntax();
+        // Adds the overrides of all the members in a single pass over the syntax tree.
+        var batch = BatchTransform.builder();
         for (var member : state.shape().asStructureShape().orElseThrow().members()) {
             if (Utils.aggregateType(state, member) != SymbolConstants.AggregateType.NONE) {
                 var methods = methodsFor(state, member);
                 if (!methods.isEmpty()) {
-                    syntax = (CompilationUnit)
-                        AddMethodsTransform.builder()
-                                           .addAfter()
-                                           .methodMatcher(MethodMatcher.byName(Utils.toAdderName(state, member).toString()))
-                                           .typeMatcher(TypeMatcher.byName("Builder"))
-                                           .methods(methods)
-                                           .build()
-                                           .transform(syntax);
+                    batch.addMethods(TypeMatcher.byName("Builder"),
+                                     MethodMatcher.byName(Utils.toAdderName(state, member).toString()),
+                                     AddPosition.AFTER,
+                                     methods);
                 }
             }
         }
+        if (batch.isEmpty()) {
+            return result;
+        }
+        var syntax = (CompilationUnit) batch.build().transform(result.syntax());
         return result.toBuilder().syntax(syntax).build();
     }
 
@@ -12,7 +12,8 @@ import mx.sugus.braid.core.plugin.ShapeTaskTransformer;
 import mx.sugus.braid.jsyntax.ClassName;
 import mx.sugus.braid.jsyntax.CompilationUnit;
 import mx.sugus.braid.jsyntax.MethodSyntax;
-import mx.sugus.braid.jsyntax.transforms.AddMethodsTransform;
+import mx.sugus.braid.jsyntax.transforms.AddPosition;
+import mx.sugus.braid.jsyntax.transforms.BatchTransform;
 import mx.sugus.braid.jsyntax.transforms.MethodMatcher;
 import mx.sugus.braid.jsyntax.transforms.TypeMatcher;
 import mx.sugus.braid.plugins.data.TypeSyntaxResult;
@@ -38,20 +39,21 @@ public final class BuilderSetterOverridesTransform implements ShapeTaskTransform
 
     @Override
     public TypeSyntaxResult transform(TypeSyntaxResult result, ShapeCodegenState state) {
-        var syntax = result.syntax();
+        // Adds the overrides of all the members in a single pass over the syntax tree.
+        var batch = BatchTransform.builder();
         for (var member : state.shape().asStructureShape().orElseThrow().members()) {
             var methods = methodsFor(state, member);
             if (!methods.isEmpty()) {
-                syntax = (CompilationUnit)
-                    AddMethodsTransform.builder()
-                                       .addAfter()
-                                       .methodMatcher(MethodMatcher.byName(Utils.toSetterName(state, member).toString()))
-                                       .typeMatcher(TypeMatcher.byName("Builder"))
-                                       .methods(methods)
-                                       .build()
-                                       .transform(syntax);
+                batch.addMethods(TypeMatcher.byName("Builder"),
+                                 MethodMatcher.byName(Utils.toSetterName(state, member).toString()),
+                                 AddPosition.AFTER,
+                                 methods);
             }
         }
+        if (batch.isEmpty()) {
+            return result;
+        }
+        var syntax = (CompilationUnit) batch.build().transform(result.syntax());
         return result.toBuilder().syntax(syntax).build();
     }
 
@@ -19,6 +19,7 @@ import mx.sugus.braid.plugins.data.producers.CodegenUtils;
 import mx.sugus.braid.plugins.data.producers.StructureJavaProducer;
 import mx.sugus.braid.plugins.data.producers.Utils;
 import mx.sugus.braid.rt.util.AbstractBuilderReference;
+import mx.sugus.braid.traits.ResettableTrait;
 import mx.sugus.braid.traits.UseBuilderReferenceTrait;
 
 public class ClassAddBuilderReferenceTransform implements ShapeTaskTransformer<TypeSyntaxResult> {
@@ -94,13 +95,25 @@ public class ClassAddBuilderReferenceTransform implements ShapeTaskTransformer<T
                                       .addParameter(shapeType, "source")
                                       .addStatement("return source.toBuilder()")
                                       .build());
-        builder.addMethod(MethodSyntax.builder("clearTransient")
-                                      .addAnnotation(Override.class)
-                                      .addModifier(Modifier.PROTECTED)
-                                      .returns(builderType)
-                                      .addParameter(builderType, "builder")
-                                      .addStatement("return $T.builder()", shapeType)
-                                      .build());
+        var clearTransient = MethodSyntax.builder("clearTransient")
+                                         .addAnnotation(Override.class)
+                                         .addModifier(Modifier.PROTECTED)
+                                         .returns(builderType)
+                                         .addParameter(builderType, "builder");
+        if (state.shape().hasTrait(ResettableTrait.class)) {
+            clearTransient.addStatement("return builder.reset()");
+            builder.addMethod(clearTransient.build());
+        } else {
+            clearTransient.addStatement("return $T.builder()", shapeType);
+            builder.addMethod(clearTransient.build());
+            // A new builder is created instead of clearing the old one, there is nothing to reuse.
+            builder.addMethod(MethodSyntax.builder("reusesTransient")
+                                          .addAnnotation(Override.class)
+                                          .addModifier(Modifier.PROTECTED)
+                                          .returns(boolean.class)
+                                          .addStatement("return false")
+                                          .build());
+        }
         builder.addMethod(MethodSyntax.builder("from")
                                       .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                                       .returns(className)
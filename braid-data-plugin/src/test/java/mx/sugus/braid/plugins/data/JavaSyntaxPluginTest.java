@@ -0,0 +1,103 @@
+package mx.sugus.braid.plugins.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import mx.sugus.braid.core.BrideCodegenSettings;
+import mx.sugus.braid.core.plugin.CodegenState;
+import mx.sugus.braid.core.plugin.Dependencies;
+import mx.sugus.braid.jsyntax.ClassName;
+import mx.sugus.braid.jsyntax.ClassSyntax;
+import mx.sugus.braid.jsyntax.CompilationUnit;
+import mx.sugus.braid.jsyntax.FieldSyntax;
+import mx.sugus.braid.jsyntax.writer.CodeRenderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.Model;
+
+public class JavaSyntaxPluginTest {
+    static final CompilationUnit UNIT = CompilationUnit.builder()
+                                                       .packageName("com.example")
+                                                       .type(ClassSyntax.builder("Holder")
+                                                                        .addField(FieldSyntax.from(
+                                                                            ClassName.from(Error.class), "error"))
+                                                                        .build())
+                                                       .build();
+    static final TypeSyntaxResult RESULT = TypeSyntaxResult.builder().syntax(UNIT).build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWritesIntoDiskManifest() throws IOException {
+        var fileManifest = FileManifest.create(directory);
+
+        new JavaSyntaxPlugin.TypeSyntaxResultSerializer().consume(RESULT, state(fileManifest, Dependencies.builder().build()));
+
+        var path = directory.resolve("com/example/Holder.java");
+        assertTrue(fileManifest.getFiles().contains(path));
+        assertEquals(CodeRenderer.render("com.example", UNIT), Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWritesThroughOtherManifests() {
+        var fileManifest = new MockManifest();
+
+        new JavaSyntaxPlugin.TypeSyntaxResultSerializer().consume(RESULT, state(fileManifest, Dependencies.builder().build()));
+
+        assertEquals(CodeRenderer.render("com.example", UNIT), fileManifest.expectFileString("com/example/Holder.java"));
+    }
+
+    @Test
+    public void testQualifiesJavaLangTypesShadowedInPackage() throws IOException {
+        var fileManifest = FileManifest.create(directory);
+        var dependencies = Dependencies.builder()
+                                       .put(JavaSyntaxPlugin.PACKAGE_IMPLICIT_NAMES,
+                                            Map.of("com.example", Map.of("Error", ClassName.from("com.example", "Error"),
+                                                                         "Holder", ClassName.from("com.example", "Holder"))))
+                                       .build();
+
+        new JavaSyntaxPlugin.TypeSyntaxResultSerializer().consume(RESULT, state(fileManifest, dependencies));
+
+        var contents = Files.readString(directory.resolve("com/example/Holder.java"), StandardCharsets.UTF_8);
+        assertTrue(contents.contains("private final java.lang.Error error;"), contents);
+    }
+
+    static CodegenState state(FileManifest fileManifest, Dependencies dependencies) {
+        return new CodegenState() {
+            @Override
+            public Model model() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public SymbolProvider symbolProvider() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public FileManifest fileManifest() {
+                return fileManifest;
+            }
+
+            @Override
+            public BrideCodegenSettings settings() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Dependencies dependencies() {
+                return dependencies;
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package mx.sugus.braid.plugins.data.symbols;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import mx.sugus.braid.plugins.data.dependencies.DefaultShapeToJavaName;
+import mx.sugus.braid.plugins.data.dependencies.DefaultShapeToJavaType;
+import mx.sugus.braid.rt.util.primitive.LongListBuilderReference;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+class BraidSymbolProviderTest {
+    static final ValidatedResult<Model> RESULT = Model.assembler()
+                                                      .discoverModels()
+                                                      .addUnparsedModel("test.smithy", "$version: \"2.0\"\n"
+                                                                                       + "namespace test\n"
+                                                                                       + "use mx.sugus.braid.traits#unboxed\n"
+                                                                                       + "@unboxed\n"
+                                                                                       + "list Samples {\n"
+                                                                                       + "    member: Long\n"
+                                                                                       + "}\n"
+                                                                                       + "@unboxed\n"
+                                                                                       + "@uniqueItems\n"
+                                                                                       + "list UniqueSamples {\n"
+                                                                                       + "    member: Long\n"
+                                                                                       + "}\n")
+                                                      .assemble();
+
+    @Test
+    public void storesUnboxedListsUnboxed() {
+        var model = RESULT.getResult().orElseThrow();
+        var symbol = provider(model).toSymbol(model.expectShape(ShapeId.from("test#Samples")));
+
+        assertEquals(Optional.of(long.class), symbol.getProperty(SymbolProperties.UNBOXED_TYPE));
+        assertEquals(Optional.of(LongListBuilderReference.class),
+                     symbol.getProperty(SymbolProperties.UNBOXED_BUILDER_REFERENCE));
+    }
+
+    @Test
+    public void rejectsUnboxedListsWithUniqueItems() {
+        var model = RESULT.getResult().orElseThrow();
+        var provider = provider(model);
+        var shape = model.expectShape(ShapeId.from("test#UniqueSamples"));
+
+        assertThrows(IllegalArgumentException.class, () -> provider.toSymbol(shape));
+    }
+
+    @Test
+    public void traitSelectorRejectsUnboxedListsWithUniqueItems() {
+        List<ShapeId> invalid = RESULT.getValidationEvents(Severity.ERROR)
+                                      .stream()
+                                      .filter(event -> event.getId().equals("TraitTarget"))
+                                      .map(ValidationEvent::getShapeId)
+                                      .flatMap(Optional::stream)
+                                      .collect(Collectors.toList());
+
+        assertEquals(List.of(ShapeId.from("test#UniqueSamples")), invalid);
+        assertTrue(RESULT.getResult().isPresent());
+    }
+
+    static BraidSymbolProvider provider(Model model) {
+        var shapeToJavaName = new DefaultShapeToJavaName("test", (name, shape) -> name);
+        var shapeToJavaType = new DefaultShapeToJavaType(shapeToJavaName, model);
+        return new BraidSymbolProvider(model, shapeToJavaName, shapeToJavaType, m -> shape -> true);
+    }
+}
@@ -325,6 +325,11 @@ public final class AllSimpleTypes {
             return AllSimpleTypes.builder();
         }
 
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
+
         public static AllSimpleTypesBuilderReference from(AllSimpleTypes source) {
             return new AllSimpleTypesBuilderReference(source);
         }
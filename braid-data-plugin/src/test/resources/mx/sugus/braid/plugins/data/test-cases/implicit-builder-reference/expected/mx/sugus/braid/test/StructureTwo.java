@@ -123,6 +123,11 @@ public final class StructureTwo {
             return StructureTwo.builder();
         }
 
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
+
         public static StructureTwoBuilderReference from(StructureTwo source) {
             return new StructureTwoBuilderReference(source);
         }
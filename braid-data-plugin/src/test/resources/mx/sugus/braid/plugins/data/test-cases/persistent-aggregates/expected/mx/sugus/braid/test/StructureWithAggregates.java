@@ -0,0 +1,256 @@
+package mx.sugus.braid.test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import mx.sugus.braid.rt.util.CollectionBuilderReference;
+import mx.sugus.braid.rt.util.PersistentCollectionBuilderReference;
+import mx.sugus.braid.rt.util.annotations.Generated;
+
+@Generated("mx.sugus.braid.plugins.data#DataPlugin")
+public final class StructureWithAggregates {
+    private final Long simpleMember;
+    private final List<StructureOne> structuresOne;
+    private final List<StructureOne> plainStructuresOne;
+    private final Map<String, StructureTwo> structureTwoMap;
+    private final Map<String, StructureTwo> orderedStructureTwoMap;
+    private final Set<StructureThree> structureThreeSet;
+    private final Set<StructureThree> orderedStructureThreeSet;
+    private int _hashCode = 0;
+
+    private StructureWithAggregates(Builder builder) {
+        this.simpleMember = builder.simpleMember;
+        this.structuresOne = Objects.requireNonNull(builder.structuresOne.asPersistent(), "structuresOne");
+        this.plainStructuresOne = Objects.requireNonNull(builder.plainStructuresOne.asPersistent(), "plainStructuresOne");
+        this.structureTwoMap = Objects.requireNonNull(builder.structureTwoMap.asPersistent(), "structureTwoMap");
+        this.orderedStructureTwoMap = Objects.requireNonNull(builder.orderedStructureTwoMap.asPersistent(), "orderedStructureTwoMap");
+        this.structureThreeSet = Objects.requireNonNull(builder.structureThreeSet.asPersistent(), "structureThreeSet");
+        this.orderedStructureThreeSet = Objects.requireNonNull(builder.orderedStructureThreeSet.asPersistent(), "orderedStructureThreeSet");
+    }
+
+    public Long simpleMember() {
+        return this.simpleMember;
+    }
+
+    public List<StructureOne> structuresOne() {
+        return this.structuresOne;
+    }
+
+    public List<StructureOne> plainStructuresOne() {
+        return this.plainStructuresOne;
+    }
+
+    public Map<String, StructureTwo> structureTwoMap() {
+        return this.structureTwoMap;
+    }
+
+    public Map<String, StructureTwo> orderedStructureTwoMap() {
+        return this.orderedStructureTwoMap;
+    }
+
+    public Set<StructureThree> structureThreeSet() {
+        return this.structureThreeSet;
+    }
+
+    public Set<StructureThree> orderedStructureThreeSet() {
+        return this.orderedStructureThreeSet;
+    }
+
+    /**
+     * <p>Returns a new builder to modify a copy of this instance</p>
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        StructureWithAggregates that = (StructureWithAggregates) obj;
+        return Objects.equals(this.simpleMember, that.simpleMember)
+            && this.structuresOne.equals(that.structuresOne)
+            && this.plainStructuresOne.equals(that.plainStructuresOne)
+            && this.structureTwoMap.equals(that.structureTwoMap)
+            && this.orderedStructureTwoMap.equals(that.orderedStructureTwoMap)
+            && this.structureThreeSet.equals(that.structureThreeSet)
+            && this.orderedStructureThreeSet.equals(that.orderedStructureThreeSet);
+    }
+
+    @Override
+    public int hashCode() {
+        if (_hashCode == 0) {
+            int hashCode = 17;
+            hashCode = 31 * hashCode + (simpleMember != null ? simpleMember.hashCode() : 0);
+            hashCode = 31 * hashCode + structuresOne.hashCode();
+            hashCode = 31 * hashCode + plainStructuresOne.hashCode();
+            hashCode = 31 * hashCode + structureTwoMap.hashCode();
+            hashCode = 31 * hashCode + orderedStructureTwoMap.hashCode();
+            hashCode = 31 * hashCode + structureThreeSet.hashCode();
+            hashCode = 31 * hashCode + orderedStructureThreeSet.hashCode();
+            _hashCode = hashCode;
+        }
+        return _hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "StructureWithAggregates{"
+            + "simpleMember: " + simpleMember
+            + ", structuresOne: " + structuresOne
+            + ", plainStructuresOne: " + plainStructuresOne
+            + ", structureTwoMap: " + structureTwoMap
+            + ", orderedStructureTwoMap: " + orderedStructureTwoMap
+            + ", structureThreeSet: " + structureThreeSet
+            + ", orderedStructureThreeSet: " + orderedStructureThreeSet + "}";
+    }
+
+    /**
+     * <p>Creates a new builder</p>
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Long simpleMember;
+        private CollectionBuilderReference<List<StructureOne>> structuresOne;
+        private CollectionBuilderReference<List<StructureOne>> plainStructuresOne;
+        private CollectionBuilderReference<Map<String, StructureTwo>> structureTwoMap;
+        private CollectionBuilderReference<Map<String, StructureTwo>> orderedStructureTwoMap;
+        private CollectionBuilderReference<Set<StructureThree>> structureThreeSet;
+        private CollectionBuilderReference<Set<StructureThree>> orderedStructureThreeSet;
+
+        Builder() {
+            this.structuresOne = PersistentCollectionBuilderReference.forList();
+            this.plainStructuresOne = CollectionBuilderReference.forList();
+            this.structureTwoMap = PersistentCollectionBuilderReference.forUnorderedMap();
+            this.orderedStructureTwoMap = PersistentCollectionBuilderReference.forOrderedMap();
+            this.structureThreeSet = PersistentCollectionBuilderReference.forUnorderedSet();
+            this.orderedStructureThreeSet = PersistentCollectionBuilderReference.forOrderedSet();
+        }
+
+        Builder(StructureWithAggregates data) {
+            this.simpleMember = data.simpleMember;
+            this.structuresOne = PersistentCollectionBuilderReference.fromPersistentList(data.structuresOne);
+            this.plainStructuresOne = CollectionBuilderReference.fromPersistentList(data.plainStructuresOne);
+            this.structureTwoMap = PersistentCollectionBuilderReference.fromPersistentUnorderedMap(data.structureTwoMap);
+            this.orderedStructureTwoMap = PersistentCollectionBuilderReference.fromPersistentOrderedMap(data.orderedStructureTwoMap);
+            this.structureThreeSet = PersistentCollectionBuilderReference.fromPersistentUnorderedSet(data.structureThreeSet);
+            this.orderedStructureThreeSet = PersistentCollectionBuilderReference.fromPersistentOrderedSet(data.orderedStructureThreeSet);
+        }
+
+        /**
+         * <p>Sets the value for <code>simpleMember</code></p>
+         */
+        public Builder simpleMember(Long simpleMember) {
+            this.simpleMember = simpleMember;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>structuresOne</code></p>
+         */
+        public Builder structuresOne(List<StructureOne> structuresOne) {
+            this.structuresOne.clear();
+            this.structuresOne.asTransient().addAll(structuresOne);
+            return this;
+        }
+
+        /**
+         * <p>Adds a single value for <code>structuresOne</code></p>
+         */
+        public Builder addStructuresOne(StructureOne structuresOne) {
+            this.structuresOne.asTransient().add(structuresOne);
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>plainStructuresOne</code></p>
+         */
+        public Builder plainStructuresOne(List<StructureOne> plainStructuresOne) {
+            this.plainStructuresOne.clear();
+            this.plainStructuresOne.asTransient().addAll(plainStructuresOne);
+            return this;
+        }
+
+        /**
+         * <p>Adds a single value for <code>plainStructuresOne</code></p>
+         */
+        public Builder addPlainStructuresOne(StructureOne plainStructuresOne) {
+            this.plainStructuresOne.asTransient().add(plainStructuresOne);
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>structureTwoMap</code></p>
+         */
+        public Builder structureTwoMap(Map<String, StructureTwo> structureTwoMap) {
+            this.structureTwoMap.clear();
+            this.structureTwoMap.asTransient().putAll(structureTwoMap);
+            return this;
+        }
+
+        public Builder putStructureTwoMap(String key, StructureTwo structureTwoMap) {
+            this.structureTwoMap.asTransient().put(key, structureTwoMap);
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>orderedStructureTwoMap</code></p>
+         */
+        public Builder orderedStructureTwoMap(Map<String, StructureTwo> orderedStructureTwoMap) {
+            this.orderedStructureTwoMap.clear();
+            this.orderedStructureTwoMap.asTransient().putAll(orderedStructureTwoMap);
+            return this;
+        }
+
+        public Builder putOrderedStructureTwoMap(String key, StructureTwo orderedStructureTwoMap) {
+            this.orderedStructureTwoMap.asTransient().put(key, orderedStructureTwoMap);
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>structureThreeSet</code></p>
+         */
+        public Builder structureThreeSet(Set<StructureThree> structureThreeSet) {
+            this.structureThreeSet.clear();
+            this.structureThreeSet.asTransient().addAll(structureThreeSet);
+            return this;
+        }
+
+        /**
+         * <p>Adds a single value for <code>structureThreeSet</code></p>
+         */
+        public Builder addStructureThreeSet(StructureThree structureThreeSet) {
+            this.structureThreeSet.asTransient().add(structureThreeSet);
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>orderedStructureThreeSet</code></p>
+         */
+        public Builder orderedStructureThreeSet(Set<StructureThree> orderedStructureThreeSet) {
+            this.orderedStructureThreeSet.clear();
+            this.orderedStructureThreeSet.asTransient().addAll(orderedStructureThreeSet);
+            return this;
+        }
+
+        /**
+         * <p>Adds a single value for <code>orderedStructureThreeSet</code></p>
+         */
+        public Builder addOrderedStructureThreeSet(StructureThree orderedStructureThreeSet) {
+            this.orderedStructureThreeSet.asTransient().add(orderedStructureThreeSet);
+            return this;
+        }
+
+        public StructureWithAggregates build() {
+            return new StructureWithAggregates(this);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package mx.sugus.braid.test;
+
+import java.util.Objects;
+import mx.sugus.braid.rt.util.annotations.Generated;
+
+@Generated("mx.sugus.braid.plugins.data#DataPlugin")
+public final class StructureWithPrimitiveFields {
+    private final int count;
+    private final long total;
+    private final double ratio;
+    private final boolean enabled;
+    private final String label;
+    private final int _present;
+    private int _hashCode = 0;
+
+    private StructureWithPrimitiveFields(Builder builder) {
+        this.count = Objects.requireNonNull(builder.count, "count");
+        this.total = builder.total != null ? builder.total : 0L;
+        this.ratio = builder.ratio != null ? builder.ratio : 0D;
+        this.enabled = builder.enabled != null ? builder.enabled : false;
+        this.label = builder.label;
+        this._present = (builder.total != null ? 0x1 : 0)
+            | (builder.ratio != null ? 0x2 : 0)
+            | (builder.enabled != null ? 0x4 : 0);
+    }
+
+    public Integer count() {
+        return this.count;
+    }
+
+    public Long total() {
+        return (this._present & 0x1) != 0 ? this.total : null;
+    }
+
+    public Double ratio() {
+        return (this._present & 0x2) != 0 ? this.ratio : null;
+    }
+
+    public Boolean enabled() {
+        return (this._present & 0x4) != 0 ? this.enabled : null;
+    }
+
+    public String label() {
+        return this.label;
+    }
+
+    /**
+     * <p>Returns a new builder to modify a copy of this instance</p>
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        StructureWithPrimitiveFields that = (StructureWithPrimitiveFields) obj;
+        return this._present == that._present
+            && this.count == that.count
+            && this.total == that.total
+            && Double.doubleToLongBits(this.ratio) == Double.doubleToLongBits(that.ratio)
+            && this.enabled == that.enabled
+            && Objects.equals(this.label, that.label);
+    }
+
+    @Override
+    public int hashCode() {
+        if (_hashCode == 0) {
+            int hashCode = 17;
+            hashCode = 31 * hashCode + Integer.hashCode(count);
+            hashCode = 31 * hashCode + Long.hashCode(total);
+            hashCode = 31 * hashCode + Double.hashCode(ratio);
+            hashCode = 31 * hashCode + Boolean.hashCode(enabled);
+            hashCode = 31 * hashCode + (label != null ? label.hashCode() : 0);
+            _hashCode = hashCode;
+        }
+        return _hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "StructureWithPrimitiveFields{"
+            + "count: " + count
+            + ", total: " + total()
+            + ", ratio: " + ratio()
+            + ", enabled: " + enabled()
+            + ", label: " + label + "}";
+    }
+
+    /**
+     * <p>Creates a new builder</p>
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Integer count;
+        private Long total;
+        private Double ratio;
+        private Boolean enabled;
+        private String label;
+
+        Builder() {
+        }
+
+        Builder(StructureWithPrimitiveFields data) {
+            this.count = data.count();
+            this.total = data.total();
+            this.ratio = data.ratio();
+            this.enabled = data.enabled();
+            this.label = data.label;
+        }
+
+        /**
+         * <p>Sets the value for <code>count</code></p>
+         */
+        public Builder count(Integer count) {
+            this.count = count;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>total</code></p>
+         */
+        public Builder total(Long total) {
+            this.total = total;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>ratio</code></p>
+         */
+        public Builder ratio(Double ratio) {
+            this.ratio = ratio;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>enabled</code></p>
+         */
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>label</code></p>
+         */
+        public Builder label(String label) {
+            this.label = label;
+            return this;
+        }
+
+        /**
+         * <p>Resets this builder to its initial state, keeping the storage of its collections to reuse it</p>
+         */
+        public Builder reset() {
+            this.count = null;
+            this.total = null;
+            this.ratio = null;
+            this.enabled = null;
+            this.label = null;
+            return this;
+        }
+
+        public StructureWithPrimitiveFields build() {
+            return new StructureWithPrimitiveFields(this);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package mx.sugus.braid.test;
+
+import java.util.Objects;
+import mx.sugus.braid.rt.util.AbstractBuilderReference;
+import mx.sugus.braid.rt.util.annotations.Generated;
+
+@Generated("mx.sugus.braid.plugins.data#DataPlugin")
+public final class Point {
+    private final Integer x;
+    private final Integer y;
+
+    private Point(Builder builder) {
+        this.x = builder.x;
+        this.y = Objects.requireNonNull(builder.y, "y");
+    }
+
+    public Integer x() {
+        return this.x;
+    }
+
+    public Integer y() {
+        return this.y;
+    }
+
+    /**
+     * <p>Returns a new builder to modify a copy of this instance</p>
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Point that = (Point) obj;
+        return Objects.equals(this.x, that.x)
+            && this.y.equals(that.y);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 17;
+        hashCode = 31 * hashCode + (x != null ? x.hashCode() : 0);
+        hashCode = 31 * hashCode + y.hashCode();
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "Point{"
+            + "x: " + x
+            + ", y: " + y + "}";
+    }
+
+    /**
+     * <p>Creates a new builder</p>
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Integer x;
+        private Integer y;
+
+        Builder() {
+            this.y = 0;
+        }
+
+        Builder(Point data) {
+            this.x = data.x;
+            this.y = data.y;
+        }
+
+        /**
+         * <p>Sets the value for <code>x</code></p>
+         */
+        public Builder x(Integer x) {
+            this.x = x;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>y</code></p>
+         */
+        public Builder y(Integer y) {
+            this.y = y;
+            return this;
+        }
+
+        /**
+         * <p>Resets this builder to its initial state, keeping the storage of its collections to reuse it</p>
+         */
+        public Builder reset() {
+            this.x = null;
+            this.y = 0;
+            return this;
+        }
+
+        public Point build() {
+            return new Point(this);
+        }
+    }
+
+    public static class PointBuilderReference extends AbstractBuilderReference<Point, Builder> {
+
+        PointBuilderReference(Point source) {
+            super(source);
+        }
+
+        @Override
+        protected Builder emptyTransient() {
+            return Point.builder();
+        }
+
+        @Override
+        protected Point transientToPersistent(Builder builder) {
+            return builder.build();
+        }
+
+        @Override
+        protected Builder persistentToTransient(Point source) {
+            return source.toBuilder();
+        }
+
+        @Override
+        protected Builder clearTransient(Builder builder) {
+            return builder.reset();
+        }
+
+        public static PointBuilderReference from(Point source) {
+            return new PointBuilderReference(source);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package mx.sugus.braid.test;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import mx.sugus.braid.rt.util.BuilderReference;
+import mx.sugus.braid.rt.util.CollectionBuilderReference;
+import mx.sugus.braid.rt.util.annotations.Generated;
+
+@Generated("mx.sugus.braid.plugins.data#DataPlugin")
+public final class Polygon {
+    private final String name;
+    private final List<String> tags;
+    private final Point origin;
+    private int _hashCode = 0;
+
+    private Polygon(Builder builder) {
+        this.name = builder.name;
+        this.tags = Objects.requireNonNull(builder.tags.asPersistent(), "tags");
+        this.origin = builder.origin.asPersistent();
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    public List<String> tags() {
+        return this.tags;
+    }
+
+    public Point origin() {
+        return this.origin;
+    }
+
+    /**
+     * <p>Returns a new builder to modify a copy of this instance</p>
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Polygon that = (Polygon) obj;
+        return Objects.equals(this.name, that.name)
+            && this.tags.equals(that.tags)
+            && Objects.equals(this.origin, that.origin);
+    }
+
+    @Override
+    public int hashCode() {
+        if (_hashCode == 0) {
+            int hashCode = 17;
+            hashCode = 31 * hashCode + (name != null ? name.hashCode() : 0);
+            hashCode = 31 * hashCode + tags.hashCode();
+            hashCode = 31 * hashCode + (origin != null ? origin.hashCode() : 0);
+            _hashCode = hashCode;
+        }
+        return _hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "Polygon{"
+            + "name: " + name
+            + ", tags: " + tags
+            + ", origin: " + origin + "}";
+    }
+
+    /**
+     * <p>Creates a new builder</p>
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String name;
+        private CollectionBuilderReference<List<String>> tags;
+        private BuilderReference<Point, Point.Builder> origin;
+
+        Builder() {
+            this.tags = CollectionBuilderReference.forList();
+            this.origin = Point.PointBuilderReference.from(null);
+        }
+
+        Builder(Polygon data) {
+            this.name = data.name;
+            this.tags = CollectionBuilderReference.fromPersistentList(data.tags);
+            this.origin = Point.PointBuilderReference.from(data.origin);
+        }
+
+        /**
+         * <p>Sets the value for <code>name</code></p>
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>tags</code></p>
+         */
+        public Builder tags(List<String> tags) {
+            this.tags.clear();
+            this.tags.asTransient().addAll(tags);
+            return this;
+        }
+
+        /**
+         * <p>Adds a single value for <code>tags</code></p>
+         */
+        public Builder addTag(String tag) {
+            this.tags.asTransient().add(tag);
+            return this;
+        }
+
+        public Builder origin(Consumer<Point.Builder> mutator) {
+            mutator.accept(this.origin.asTransient());
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>origin</code></p>
+         */
+        public Builder origin(Point origin) {
+            this.origin.setPersistent(origin);
+            return this;
+        }
+
+        /**
+         * <p>Resets this builder to its initial state, keeping the storage of its collections to reuse it</p>
+         */
+        public Builder reset() {
+            this.name = null;
+            this.tags.reset();
+            this.origin.reset();
+            return this;
+        }
+
+        public Polygon build() {
+            return new Polygon(this);
+        }
+    }
+}
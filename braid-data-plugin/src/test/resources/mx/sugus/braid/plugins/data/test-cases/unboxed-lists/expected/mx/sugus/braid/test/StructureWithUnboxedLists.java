@@ -0,0 +1,144 @@
+package mx.sugus.braid.test;
+
+import java.util.List;
+import java.util.Objects;
+import mx.sugus.braid.rt.util.annotations.Generated;
+import mx.sugus.braid.rt.util.primitive.BooleanListBuilderReference;
+import mx.sugus.braid.rt.util.primitive.LongListBuilderReference;
+
+@Generated("mx.sugus.braid.plugins.data#DataPlugin")
+public final class StructureWithUnboxedLists {
+    private final Long simpleMember;
+    private final List<Long> samples;
+    private final List<Boolean> flags;
+    private int _hashCode = 0;
+
+    private StructureWithUnboxedLists(Builder builder) {
+        this.simpleMember = builder.simpleMember;
+        this.samples = Objects.requireNonNull(builder.samples.asPersistent(), "samples");
+        this.flags = Objects.requireNonNull(builder.flags.asPersistent(), "flags");
+    }
+
+    public Long simpleMember() {
+        return this.simpleMember;
+    }
+
+    public List<Long> samples() {
+        return this.samples;
+    }
+
+    public List<Boolean> flags() {
+        return this.flags;
+    }
+
+    /**
+     * <p>Returns a new builder to modify a copy of this instance</p>
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        StructureWithUnboxedLists that = (StructureWithUnboxedLists) obj;
+        return Objects.equals(this.simpleMember, that.simpleMember)
+            && this.samples.equals(that.samples)
+            && this.flags.equals(that.flags);
+    }
+
+    @Override
+    public int hashCode() {
+        if (_hashCode == 0) {
+            int hashCode = 17;
+            hashCode = 31 * hashCode + (simpleMember != null ? simpleMember.hashCode() : 0);
+            hashCode = 31 * hashCode + samples.hashCode();
+            hashCode = 31 * hashCode + flags.hashCode();
+            _hashCode = hashCode;
+        }
+        return _hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "StructureWithUnboxedLists{"
+            + "simpleMember: " + simpleMember
+            + ", samples: " + samples
+            + ", flags: " + flags + "}";
+    }
+
+    /**
+     * <p>Creates a new builder</p>
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Long simpleMember;
+        private LongListBuilderReference samples;
+        private BooleanListBuilderReference flags;
+
+        Builder() {
+            this.samples = LongListBuilderReference.forList();
+            this.flags = BooleanListBuilderReference.forList();
+        }
+
+        Builder(StructureWithUnboxedLists data) {
+            this.simpleMember = data.simpleMember;
+            this.samples = LongListBuilderReference.fromPersistentList(data.samples);
+            this.flags = BooleanListBuilderReference.fromPersistentList(data.flags);
+        }
+
+        /**
+         * <p>Sets the value for <code>simpleMember</code></p>
+         */
+        public Builder simpleMember(Long simpleMember) {
+            this.simpleMember = simpleMember;
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>samples</code></p>
+         */
+        public Builder samples(List<Long> samples) {
+            this.samples.clear();
+            this.samples.asTransient().addAll(samples);
+            return this;
+        }
+
+        /**
+         * <p>Adds a single value for <code>samples</code></p>
+         */
+        public Builder addSample(long sample) {
+            this.samples.asTransient().addLong(sample);
+            return this;
+        }
+
+        /**
+         * <p>Sets the value for <code>flags</code></p>
+         */
+        public Builder flags(List<Boolean> flags) {
+            this.flags.clear();
+            this.flags.asTransient().addAll(flags);
+            return this;
+        }
+
+        /**
+         * <p>Adds a single value for <code>flags</code></p>
+         */
+        public Builder addFlag(boolean flag) {
+            this.flags.asTransient().addBoolean(flag);
+            return this;
+        }
+
+        public StructureWithUnboxedLists build() {
+            return new StructureWithUnboxedLists(this);
+        }
+    }
+}
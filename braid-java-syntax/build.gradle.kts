@@ -6,6 +6,8 @@ val smithyVersion: String by project
 
 plugins {
     `java-library`
+    // Microbenchmarks in src/jmh/java, run with `./gradlew :braid-java-syntax:jmh`
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -0,0 +1,89 @@
+package mx.sugus.braid.jsyntax;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link FormatParser#parseFormat(String, Object...)}, using the cached templates, against tokenizing and
+ * validating the format on each call, with formats like the ones used by the data plugin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatParserBenchmark {
+    private static final CodeBlock VALUE = CodeBlock.from("builder.$L", "value");
+    private static final Object[][] CASES = {
+        {"this.$L = $L", "value", "value"},
+        {"return this.$L", "value"},
+        {"return new $T(this)", ClassName.from("mx.sugus.braid", "Shape")},
+        {"this.$L = $T.requireNonNull($C, $S)", "value", ClassName.from("java.util", "Objects"), VALUE, "value"},
+        {"$T $L = new $T<>()", ClassName.from(List.class), "values", ClassName.from(ArrayList.class)},
+        {"hashCode = 31 * hashCode + ($L != null ? $L.hashCode() : 0)", "value", "value"},
+        {"$1T<$2T, $2T> $3L = $1T.of()", ClassName.from(Map.class), ClassName.from(String.class), "names"},
+        {"throw new $T($S + $L)", ClassName.from(IllegalArgumentException.class), "Unknown value: ", "value"},
+    };
+
+    @Benchmark
+    public void parseFormat(Blackhole blackhole) {
+        for (var args : CASES) {
+            blackhole.consume(FormatParser.parseFormat((String) args[0], arguments(args)));
+        }
+    }
+
+    @Benchmark
+    public void parseFormatUncached(Blackhole blackhole) {
+        for (var args : CASES) {
+            blackhole.consume(uncachedParseFormat((String) args[0], arguments(args)));
+        }
+    }
+
+    static Object[] arguments(Object[] args) {
+        var result = new Object[args.length - 1];
+        System.arraycopy(args, 1, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Tokenizes and validates the format on each call, kept as the baseline.
+     */
+    static List<FormatterNode> uncachedParseFormat(String format, Object... args) {
+        var parts = new ArrayList<FormatterNode>();
+        FormatterLiteral prev = null;
+        for (var part : FormatParser.formatToNodes(format, args)) {
+            if (part instanceof FormatterLiteral literal) {
+                if (prev == null) {
+                    prev = literal;
+                } else {
+                    prev = FormatterLiteral.builder()
+                                           .value(prev.value() + literal.value())
+                                           .build();
+                }
+            } else {
+                if (prev != null) {
+                    parts.add(prev);
+                    prev = null;
+                }
+                parts.add(part);
+            }
+        }
+        if (prev != null) {
+            parts.add(prev);
+        }
+        return parts;
+    }
+}
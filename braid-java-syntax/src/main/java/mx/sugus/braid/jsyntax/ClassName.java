@@ -10,6 +10,7 @@ import mx.sugus.braid.rt.util.annotations.Generated;
 public final class ClassName implements TypeName {
     private final String name;
     private final String packageName;
+    private int _hashCode = 0;
 
     private ClassName(Builder builder) {
         this.name = Objects.requireNonNull(builder.name, "name");
@@ -55,11 +56,14 @@ public final class ClassName implements TypeName {
 
     @Override
     public int hashCode() {
-        int hashCode = 17;
-        hashCode = 31 * hashCode + this.kind().hashCode();
-        hashCode = 31 * hashCode + name.hashCode();
-        hashCode = 31 * hashCode + (packageName != null ? packageName.hashCode() : 0);
-        return hashCode;
+        if (_hashCode == 0) {
+            int hashCode = 17;
+            hashCode = 31 * hashCode + this.kind().hashCode();
+            hashCode = 31 * hashCode + name.hashCode();
+            hashCode = 31 * hashCode + (packageName != null ? packageName.hashCode() : 0);
+            _hashCode = hashCode;
+        }
+        return _hashCode;
     }
 
     @Override
@@ -86,7 +90,7 @@ public final class ClassName implements TypeName {
             }
             Class<?> enclosing = kclass.getEnclosingClass();
             if (enclosing == null) {
-                return builder().packageName(kclass.getPackageName()).name(kclass.getSimpleName()).build();
+                return mx.sugus.braid.jsyntax.ext.TypeNameExt.intern(builder().packageName(kclass.getPackageName()).name(kclass.getSimpleName()).build());
             }
             java.util.Deque<String> deque = new java.util.ArrayDeque<>();
             deque.add(kclass.getSimpleName());
@@ -94,23 +98,23 @@ public final class ClassName implements TypeName {
                 deque.push(enclosing.getSimpleName());
                 enclosing = enclosing.getEnclosingClass();
             }
-            return builder().packageName(kclass.getPackageName()).name(String.join(".", deque)).build();
+            return mx.sugus.braid.jsyntax.ext.TypeNameExt.intern(builder().packageName(kclass.getPackageName()).name(String.join(".", deque)).build());
     }
 
     /**
      * <p>Creates a class name with the given package and simple name.</p>
      */
     public static ClassName from(String packageName, String simpleName) {
-        return builder().packageName(packageName).name(simpleName).build();
+        return mx.sugus.braid.jsyntax.ext.TypeNameExt.intern(builder().packageName(packageName).name(simpleName).build());
     }
 
     /**
      * <p>Creates a class name without a package.</p>
      */
     public static ClassName from(String simpleName) {
-        return builder()
+        return mx.sugus.braid.jsyntax.ext.TypeNameExt.intern(builder()
                 .name(simpleName)
-                .build();
+                .build());
     }
 
     /**
@@ -128,14 +132,14 @@ public final class ClassName implements TypeName {
                 // Check if the `name` is from a fully qualified class name
                 int lastDotIndex = name.lastIndexOf('.');
                 if (lastDotIndex == -1) {
-                    return ClassName.builder().name(name).build();
+                    return mx.sugus.braid.jsyntax.ext.TypeNameExt.intern(ClassName.builder().name(name).build());
                 }
                 splitIndex = lastDotIndex;
             }
-            return builder()
+            return mx.sugus.braid.jsyntax.ext.TypeNameExt.intern(builder()
                 .packageName(name.substring(0, splitIndex))
                 .name(name.substring(splitIndex + 1))
-                .build();
+                .build());
     }
 
     /**
@@ -2,45 +2,46 @@ package mx.sugus.braid.jsyntax;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FormatParser {
+    // Max number of compiled formats cached, the cache is cleared once full.
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+    private static final Map<String, FormatTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     private FormatParser() {
     }
 
+    /**
+     * Parses the format and applies to it the given arguments. The format is tokenized and validated once, the compiled
+     * template is cached and reused for the following calls with the same format.
+     *
+     * @param format the format
+     * @param args   the arguments for the format
+     * @return the list of nodes, with consecutive literals combined
+     */
     public static List<FormatterNode> parseFormat(String format, Object... args) {
-        var parts = new ArrayList<FormatterNode>();
-        FormatterLiteral prev = null;
-        for (var part : formatToNodes(format, args)) {
-            if (part instanceof FormatterLiteral literal) {
-                if (prev == null) {
-                    prev = literal;
-                } else {
-                    prev = combine(prev, literal);
-                }
-            } else {
-                if (prev != null) {
-                    parts.add(prev);
-                    prev = null;
-                }
-                parts.add(part);
-            }
-        }
-        if (prev != null) {
-            parts.add(prev);
-        }
-        return parts;
+        return template(format).apply(args);
     }
 
-    private static FormatterLiteral combine(FormatterLiteral left, FormatterLiteral right) {
-        return FormatterLiteral.builder()
-            .value(left.value() + right.value())
-            .build();
+    static FormatTemplate template(String format) {
+        var result = TEMPLATES.get(format);
+        if (result == null) {
+            result = FormatTemplate.compile(format);
+            if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+                TEMPLATES.clear();
+            }
+            TEMPLATES.put(format, result);
+        }
+        return result;
     }
 
     public static List<FormatterNode> formatToNodes(String format, Object... args) {
         var tokens = tokenize(format);
-        validateTokens(tokens, args);
+        var explicitIndexes = validateTokens(tokens);
+        validateArguments(explicitIndexes.size(), explicitIndexes.isEmpty() ? 1 : explicitIndexes.first(), args);
         List<FormatterNode> parts = new ArrayList<>(tokens.size());
         for (var token : tokens) {
             if (token.value != null) {
@@ -86,7 +87,10 @@ public final class FormatParser {
         throw from("Cannot convert object of class `%s` to TypeName", arg.getClass());
     }
 
-    private static void validateTokens(List<Token> tokens, Object[] args) {
+    /**
+     * Validates the tokens and returns the explicit indexes used, if any.
+     */
+    private static TreeSet<Integer> validateTokens(List<Token> tokens) {
         var implicit = 0;
         var explicit = 0;
         var explicitIndexes = new TreeSet<Integer>();
@@ -118,17 +122,20 @@ public final class FormatParser {
         if (explicit != 0 && implicit != 0) {
             throw from("mixed use of implicit and positional arguments (%d %d)", explicit, implicit);
         }
-        if (explicit != 0) {
-            var explicitSize = explicitIndexes.size();
+        return explicitIndexes;
+    }
+
+    private static void validateArguments(int explicitSize, int explicitFirst, Object[] args) {
+        if (explicitSize != 0) {
             if (args.length < explicitSize) {
                 throw from("there are more positional indexes than arguments given");
             }
             if (args.length > explicitSize) {
                 throw from("there are fewer positional indexes than arguments given");
             }
-            if (explicitIndexes.first() != 1) {
+            if (explicitFirst != 1) {
                 throw from("positional indexes must start at index 1, min given %d",
-                           explicitIndexes.first());
+                           explicitFirst);
             }
         }
     }
@@ -225,6 +232,115 @@ public final class FormatParser {
         return new Token(format, null, position, implicit, explicit);
     }
 
+    /**
+     * A tokenized and validated format. Consecutive literals, including escaped dollar signs, are combined when compiled,
+     * such that applying the arguments only allocates the resulting nodes.
+     */
+    static final class FormatTemplate {
+        // For each segment, either its literal value or, if null, the format and the index of its argument.
+        private final String[] literals;
+        private final char[] formats;
+        private final int[] indexes;
+        private final int explicitSize;
+        private final int explicitFirst;
+
+        private FormatTemplate(List<String> literals, List<Character> formats, List<Integer> indexes,
+                               TreeSet<Integer> explicitIndexes) {
+            var size = literals.size();
+            this.literals = literals.toArray(new String[0]);
+            this.formats = new char[size];
+            this.indexes = new int[size];
+            for (var idx = 0; idx < size; idx++) {
+                this.formats[idx] = formats.get(idx);
+                this.indexes[idx] = indexes.get(idx);
+            }
+            this.explicitSize = explicitIndexes.size();
+            this.explicitFirst = explicitIndexes.isEmpty() ? 1 : explicitIndexes.first();
+        }
+
+        static FormatTemplate compile(String format) {
+            var tokens = tokenize(format);
+            var explicitIndexes = validateTokens(tokens);
+            var literals = new ArrayList<String>();
+            var formats = new ArrayList<Character>();
+            var indexes = new ArrayList<Integer>();
+            var literal = new StringBuilder();
+            for (var token : tokens) {
+                if (token.value != null) {
+                    literal.append(token.value);
+                } else if (token.format == '$') {
+                    literal.append('$');
+                } else {
+                    if (!literal.isEmpty()) {
+                        literals.add(literal.toString());
+                        formats.add(' ');
+                        indexes.add(-1);
+                        literal.setLength(0);
+                    }
+                    literals.add(null);
+                    formats.add(token.format);
+                    indexes.add(token.getIndex());
+                }
+            }
+            if (!literal.isEmpty()) {
+                literals.add(literal.toString());
+                formats.add(' ');
+                indexes.add(-1);
+            }
+            return new FormatTemplate(literals, formats, indexes, explicitIndexes);
+        }
+
+        List<FormatterNode> apply(Object[] args) {
+            validateArguments(explicitSize, explicitFirst, args);
+            var parts = new ArrayList<FormatterNode>(literals.length);
+            // Literal value not yet added, combined with the literals that follow it.
+            String pending = null;
+            for (var idx = 0; idx < literals.length; idx++) {
+                var literal = literals[idx];
+                if (literal == null) {
+                    var format = formats[idx];
+                    var arg = args[indexes[idx]];
+                    if (format == 'L') {
+                        literal = arg.toString();
+                    } else if (format == 'C') {
+                        for (var part : expectType(format, CodeBlock.class, arg).parts()) {
+                            if (part instanceof FormatterLiteral l) {
+                                pending = pending == null ? l.value() : pending + l.value();
+                            } else {
+                                pending = flush(parts, pending);
+                                parts.add(part);
+                            }
+                        }
+                        continue;
+                    } else {
+                        pending = flush(parts, pending);
+                        parts.add(toNode(format, arg));
+                        continue;
+                    }
+                }
+                pending = pending == null ? literal : pending + literal;
+            }
+            flush(parts, pending);
+            return parts;
+        }
+
+        private static String flush(List<FormatterNode> parts, String pending) {
+            if (pending != null) {
+                parts.add(FormatterLiteral.builder().value(pending).build());
+            }
+            return null;
+        }
+
+        private static FormatterNode toNode(char format, Object arg) {
+            return switch (format) {
+                case 'S' -> FormatterString.builder().value(arg.toString()).build();
+                case 'T' -> FormatterTypeName.builder().value(toTypeName(arg)).build();
+                case 'B' -> FormatterBlock.builder().value(expectType(format, Block.class, arg)).build();
+                default -> throw from("unknown format %s", format);
+            };
+        }
+    }
+
     public static class Token {
         private final Character format;
         private final String value;
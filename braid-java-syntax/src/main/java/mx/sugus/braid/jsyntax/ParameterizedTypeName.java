@@ -12,6 +12,7 @@ import mx.sugus.braid.rt.util.annotations.Generated;
 public final class ParameterizedTypeName implements TypeName {
     private final ClassName rawType;
     private final List<TypeName> typeArguments;
+    private int _hashCode = 0;
 
     private ParameterizedTypeName(Builder builder) {
         this.rawType = Objects.requireNonNull(builder.rawType, "rawType");
@@ -57,11 +58,14 @@ public final class ParameterizedTypeName implements TypeName {
 
     @Override
     public int hashCode() {
-        int hashCode = 17;
-        hashCode = 31 * hashCode + this.kind().hashCode();
-        hashCode = 31 * hashCode + rawType.hashCode();
-        hashCode = 31 * hashCode + typeArguments.hashCode();
-        return hashCode;
+        if (_hashCode == 0) {
+            int hashCode = 17;
+            hashCode = 31 * hashCode + this.kind().hashCode();
+            hashCode = 31 * hashCode + rawType.hashCode();
+            hashCode = 31 * hashCode + typeArguments.hashCode();
+            _hashCode = hashCode;
+        }
+        return _hashCode;
     }
 
     @Override
@@ -9,6 +9,7 @@ import mx.sugus.braid.rt.util.annotations.Generated;
 @Generated({"mx.sugus.braid.plugins.data#DataPlugin", "mx.sugus.braid.plugins.syntax#SyntaxModelPlugin"})
 public final class PrimitiveTypeName implements TypeName {
     private final TypePrimitiveName name;
+    private int _hashCode = 0;
 
     private PrimitiveTypeName(Builder builder) {
         this.name = Objects.requireNonNull(builder.name, "name");
@@ -48,10 +49,13 @@ public final class PrimitiveTypeName implements TypeName {
 
     @Override
     public int hashCode() {
-        int hashCode = 17;
-        hashCode = 31 * hashCode + this.kind().hashCode();
-        hashCode = 31 * hashCode + name.hashCode();
-        return hashCode;
+        if (_hashCode == 0) {
+            int hashCode = 17;
+            hashCode = 31 * hashCode + this.kind().hashCode();
+            hashCode = 31 * hashCode + name.hashCode();
+            _hashCode = hashCode;
+        }
+        return _hashCode;
     }
 
     @Override
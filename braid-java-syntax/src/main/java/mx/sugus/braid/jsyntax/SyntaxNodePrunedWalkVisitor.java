@@ -0,0 +1,592 @@
+package mx.sugus.braid.jsyntax;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import mx.sugus.braid.rt.util.annotations.Generated;
+
+/**
+ * <p>A walk visitor that only descends into the children that can contain, directly or
+ * indirectly, a node of one of the given kinds. Which kinds can be reached from each type
+ * is computed at codegen time from the syntax model.</p>
+ */
+@Generated("mx.sugus.braid.plugins.syntax#SyntaxModelPlugin")
+public class SyntaxNodePrunedWalkVisitor implements SyntaxNodeVisitor<SyntaxNode> {
+    private static final long REACHES_ABSTRACT_CONTROL_FLOW = 0x418931L;
+    private static final long REACHES_ANNOTATION = 0x44L;
+    private static final long REACHES_BASE_METHOD_SYNTAX = 0x1FD8D7FL;
+    private static final long REACHES_BLOCK = 0x418931L;
+    private static final long REACHES_CASE_CLAUSE = 0x418931L;
+    private static final long REACHES_CLASS_NAME = 0x40L;
+    private static final long REACHES_CODE_BLOCK = 0x100L;
+    private static final long REACHES_DEFAULT_CASE_CLAUSE = 0x418931L;
+    private static final long REACHES_ENUM_BODY = 0x100L;
+    private static final long REACHES_ENUM_CONSTANT = 0x1100L;
+    private static final long REACHES_EXPRESSION = 0x100L;
+    private static final long REACHES_FIELD_SYNTAX = 0x1B0414CL;
+    private static final long REACHES_JAVADOC = 0x100L;
+    private static final long REACHES_PARAMETER = 0x1B80048L;
+    private static final long REACHES_STATEMENT = 0x418931L;
+    private static final long REACHES_TYPE_NAME = 0x1B00048L;
+    private static final long REACHES_TYPE_SYNTAX = 0x1FFFDFFL;
+    private static final long REACHES_TYPE_VARIABLE_TYPE_NAME = 0x1B00048L;
+    private final long targets;
+
+    /**
+     * <p>Creates a new visitor that visits the nodes of the given kinds</p>
+     */
+    public SyntaxNodePrunedWalkVisitor(Collection<SyntaxNodePrunedWalkVisitor.NodeKind> targets) {
+        long mask = 0L;
+        for (SyntaxNodePrunedWalkVisitor.NodeKind target : targets) {
+            mask |= 1L << target.ordinal();
+        }
+        this.targets = mask;
+    }
+
+    @Override
+    public SyntaxNode visitAbstractControlFlow(AbstractControlFlow node) {
+        if ((targets & REACHES_CODE_BLOCK) != 0) {
+            node.prefix().accept(this);
+        }
+        if ((targets & REACHES_BLOCK) != 0) {
+            node.statement().accept(this);
+        }
+        if ((targets & REACHES_ABSTRACT_CONTROL_FLOW) != 0) {
+            AbstractControlFlow next = node.next();
+            if (next != null) {
+                next.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitAbstractMethodSyntax(AbstractMethodSyntax node) {
+        if ((targets & REACHES_TYPE_VARIABLE_TYPE_NAME) != 0) {
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                TypeVariableTypeName value = typeParams.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            node.returns().accept(this);
+        }
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_ANNOTATION) != 0) {
+            List<Annotation> annotations = node.annotations();
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                Annotation value = annotations.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_PARAMETER) != 0) {
+            List<Parameter> parameters = node.parameters();
+            for (int idx = 0; idx < parameters.size(); idx++) {
+                Parameter value = parameters.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitAnnotation(Annotation node) {
+        if ((targets & REACHES_CLASS_NAME) != 0) {
+            node.type().accept(this);
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitArrayTypeName(ArrayTypeName node) {
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            node.componentType().accept(this);
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitBlock(Block node) {
+        if ((targets & REACHES_STATEMENT) != 0) {
+            List<Statement> statements = node.statements();
+            for (int idx = 0; idx < statements.size(); idx++) {
+                Statement value = statements.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitCaseClause(CaseClause node) {
+        if ((targets & REACHES_EXPRESSION) != 0) {
+            List<Expression> label = node.label();
+            for (int idx = 0; idx < label.size(); idx++) {
+                Expression value = label.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_BLOCK) != 0) {
+            node.body().accept(this);
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitClassName(ClassName node) {
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitClassSyntax(ClassSyntax node) {
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            TypeName superClass = node.superClass();
+            if (superClass != null) {
+                superClass.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_VARIABLE_TYPE_NAME) != 0) {
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                TypeVariableTypeName value = typeParams.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_BASE_METHOD_SYNTAX) != 0) {
+            List<BaseMethodSyntax> methods = node.methods();
+            for (int idx = 0; idx < methods.size(); idx++) {
+                BaseMethodSyntax value = methods.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_ANNOTATION) != 0) {
+            List<Annotation> annotations = node.annotations();
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                Annotation value = annotations.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_FIELD_SYNTAX) != 0) {
+            List<FieldSyntax> fields = node.fields();
+            for (int idx = 0; idx < fields.size(); idx++) {
+                FieldSyntax value = fields.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            List<TypeName> superInterfaces = node.superInterfaces();
+            for (int idx = 0; idx < superInterfaces.size(); idx++) {
+                TypeName value = superInterfaces.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_SYNTAX) != 0) {
+            List<TypeSyntax> innerTypes = node.innerTypes();
+            for (int idx = 0; idx < innerTypes.size(); idx++) {
+                TypeSyntax value = innerTypes.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitCodeBlock(CodeBlock node) {
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitCompilationUnit(CompilationUnit node) {
+        if ((targets & REACHES_CLASS_NAME) != 0) {
+            Set<ClassName> imports = node.imports();
+            for (ClassName value : imports) {
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_SYNTAX) != 0) {
+            node.type().accept(this);
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitConstructorMethodSyntax(ConstructorMethodSyntax node) {
+        if ((targets & REACHES_BLOCK) != 0) {
+            node.body().accept(this);
+        }
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_ANNOTATION) != 0) {
+            List<Annotation> annotations = node.annotations();
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                Annotation value = annotations.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_PARAMETER) != 0) {
+            List<Parameter> parameters = node.parameters();
+            for (int idx = 0; idx < parameters.size(); idx++) {
+                Parameter value = parameters.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitDefaultCaseClause(DefaultCaseClause node) {
+        if ((targets & REACHES_BLOCK) != 0) {
+            node.body().accept(this);
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitEnumConstant(EnumConstant node) {
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_ENUM_BODY) != 0) {
+            EnumBody body = node.body();
+            if (body != null) {
+                body.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitEnumSyntax(EnumSyntax node) {
+        if ((targets & REACHES_ENUM_CONSTANT) != 0) {
+            List<EnumConstant> enumConstants = node.enumConstants();
+            for (int idx = 0; idx < enumConstants.size(); idx++) {
+                EnumConstant value = enumConstants.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_BASE_METHOD_SYNTAX) != 0) {
+            List<BaseMethodSyntax> methods = node.methods();
+            for (int idx = 0; idx < methods.size(); idx++) {
+                BaseMethodSyntax value = methods.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_ANNOTATION) != 0) {
+            List<Annotation> annotations = node.annotations();
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                Annotation value = annotations.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_FIELD_SYNTAX) != 0) {
+            List<FieldSyntax> fields = node.fields();
+            for (int idx = 0; idx < fields.size(); idx++) {
+                FieldSyntax value = fields.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            List<TypeName> superInterfaces = node.superInterfaces();
+            for (int idx = 0; idx < superInterfaces.size(); idx++) {
+                TypeName value = superInterfaces.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_SYNTAX) != 0) {
+            List<TypeSyntax> innerTypes = node.innerTypes();
+            for (int idx = 0; idx < innerTypes.size(); idx++) {
+                TypeSyntax value = innerTypes.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitFieldSyntax(FieldSyntax node) {
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            node.type().accept(this);
+        }
+        if ((targets & REACHES_ANNOTATION) != 0) {
+            List<Annotation> annotations = node.annotations();
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                Annotation value = annotations.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_EXPRESSION) != 0) {
+            Expression initializer = node.initializer();
+            if (initializer != null) {
+                initializer.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitForStatement(ForStatement node) {
+        if ((targets & REACHES_CODE_BLOCK) != 0) {
+            node.initializer().accept(this);
+        }
+        if ((targets & REACHES_BLOCK) != 0) {
+            node.statement().accept(this);
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitIfStatement(IfStatement node) {
+        if ((targets & REACHES_EXPRESSION) != 0) {
+            node.expression().accept(this);
+        }
+        if ((targets & REACHES_BLOCK) != 0) {
+            node.statement().accept(this);
+        }
+        if ((targets & REACHES_STATEMENT) != 0) {
+            Statement elseStatement = node.elseStatement();
+            if (elseStatement != null) {
+                elseStatement.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitInterfaceSyntax(InterfaceSyntax node) {
+        if ((targets & REACHES_TYPE_VARIABLE_TYPE_NAME) != 0) {
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                TypeVariableTypeName value = typeParams.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_BASE_METHOD_SYNTAX) != 0) {
+            List<BaseMethodSyntax> methods = node.methods();
+            for (int idx = 0; idx < methods.size(); idx++) {
+                BaseMethodSyntax value = methods.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_ANNOTATION) != 0) {
+            List<Annotation> annotations = node.annotations();
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                Annotation value = annotations.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_FIELD_SYNTAX) != 0) {
+            List<FieldSyntax> fields = node.fields();
+            for (int idx = 0; idx < fields.size(); idx++) {
+                FieldSyntax value = fields.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            List<TypeName> superInterfaces = node.superInterfaces();
+            for (int idx = 0; idx < superInterfaces.size(); idx++) {
+                TypeName value = superInterfaces.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_SYNTAX) != 0) {
+            List<TypeSyntax> innerTypes = node.innerTypes();
+            for (int idx = 0; idx < innerTypes.size(); idx++) {
+                TypeSyntax value = innerTypes.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitMethodSyntax(MethodSyntax node) {
+        if ((targets & REACHES_TYPE_VARIABLE_TYPE_NAME) != 0) {
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                TypeVariableTypeName value = typeParams.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            node.returns().accept(this);
+        }
+        if ((targets & REACHES_BLOCK) != 0) {
+            node.body().accept(this);
+        }
+        if ((targets & REACHES_JAVADOC) != 0) {
+            Javadoc javadoc = node.javadoc();
+            if (javadoc != null) {
+                javadoc.accept(this);
+            }
+        }
+        if ((targets & REACHES_ANNOTATION) != 0) {
+            List<Annotation> annotations = node.annotations();
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                Annotation value = annotations.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_PARAMETER) != 0) {
+            List<Parameter> parameters = node.parameters();
+            for (int idx = 0; idx < parameters.size(); idx++) {
+                Parameter value = parameters.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitParameter(Parameter node) {
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            node.type().accept(this);
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitParameterizedTypeName(ParameterizedTypeName node) {
+        if ((targets & REACHES_CLASS_NAME) != 0) {
+            node.rawType().accept(this);
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            List<TypeName> typeArguments = node.typeArguments();
+            for (int idx = 0; idx < typeArguments.size(); idx++) {
+                TypeName value = typeArguments.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitPrimitiveTypeName(PrimitiveTypeName node) {
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitSwitchStatement(SwitchStatement node) {
+        if ((targets & REACHES_EXPRESSION) != 0) {
+            node.expression().accept(this);
+        }
+        if ((targets & REACHES_CASE_CLAUSE) != 0) {
+            List<CaseClause> cases = node.cases();
+            for (int idx = 0; idx < cases.size(); idx++) {
+                CaseClause value = cases.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_DEFAULT_CASE_CLAUSE) != 0) {
+            DefaultCaseClause defaultCase = node.defaultCase();
+            if (defaultCase != null) {
+                defaultCase.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitTypeVariableTypeName(TypeVariableTypeName node) {
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            List<TypeName> bounds = node.bounds();
+            for (int idx = 0; idx < bounds.size(); idx++) {
+                TypeName value = bounds.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public SyntaxNode visitWildcardTypeName(WildcardTypeName node) {
+        if ((targets & REACHES_CLASS_NAME) != 0) {
+            ClassName rawType = node.rawType();
+            if (rawType != null) {
+                rawType.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            List<TypeName> upperBounds = node.upperBounds();
+            for (int idx = 0; idx < upperBounds.size(); idx++) {
+                TypeName value = upperBounds.get(idx);
+                value.accept(this);
+            }
+        }
+        if ((targets & REACHES_TYPE_NAME) != 0) {
+            List<TypeName> lowerBounds = node.lowerBounds();
+            for (int idx = 0; idx < lowerBounds.size(); idx++) {
+                TypeName value = lowerBounds.get(idx);
+                value.accept(this);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * <p>The kinds of nodes that can be targeted by the visitor</p>
+     */
+    public enum NodeKind {
+        ABSTRACT_CONTROL_FLOW,
+        ABSTRACT_METHOD_SYNTAX,
+        ANNOTATION,
+        ARRAY_TYPE_NAME,
+        BLOCK,
+        CASE_CLAUSE,
+        CLASS_NAME,
+        CLASS_SYNTAX,
+        CODE_BLOCK,
+        COMPILATION_UNIT,
+        CONSTRUCTOR_METHOD_SYNTAX,
+        DEFAULT_CASE_CLAUSE,
+        ENUM_CONSTANT,
+        ENUM_SYNTAX,
+        FIELD_SYNTAX,
+        FOR_STATEMENT,
+        IF_STATEMENT,
+        INTERFACE_SYNTAX,
+        METHOD_SYNTAX,
+        PARAMETER,
+        PARAMETERIZED_TYPE_NAME,
+        PRIMITIVE_TYPE_NAME,
+        SWITCH_STATEMENT,
+        TYPE_VARIABLE_TYPE_NAME,
+        WILDCARD_TYPE_NAME;
+    }
+}
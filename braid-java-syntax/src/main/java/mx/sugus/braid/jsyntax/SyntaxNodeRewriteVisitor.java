@@ -3,7 +3,6 @@ package mx.sugus.braid.jsyntax;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import mx.sugus.braid.rt.util.annotations.Generated;
 
@@ -15,13 +14,13 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         AbstractControlFlow.Builder builder = null;
         CodeBlock prefix = node.prefix();
         CodeBlock prefixNew = visitCodeBlock(prefix);
-        if (!Objects.equals(prefix, prefixNew)) {
+        if (prefix != prefixNew) {
             builder = node.toBuilder();
             builder.prefix(prefixNew);
         }
         Block statement = node.statement();
         Block statementNew = visitBlock(statement);
-        if (!Objects.equals(statement, statementNew)) {
+        if (statement != statementNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -32,7 +31,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (next != null) {
             nextNew = visitAbstractControlFlow(next);
         }
-        if (!Objects.equals(next, nextNew)) {
+        if (next != nextNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -52,7 +51,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < typeParams.size(); idx++) {
             TypeVariableTypeName value = typeParams.get(idx);
             TypeVariableTypeName newValue = visitTypeVariableTypeName(value);
-            if (newTypeParams == null && !value.equals(newValue)) {
+            if (newTypeParams == null && value != newValue) {
                 newTypeParams = new ArrayList<>(typeParams.size());
                 newTypeParams.addAll(typeParams.subList(0, idx));
             }
@@ -66,7 +65,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         }
         TypeName returns = node.returns();
         TypeName returnsNew = (TypeName) returns.accept(this);
-        if (!Objects.equals(returns, returnsNew)) {
+        if (returns != returnsNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -77,7 +76,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -88,7 +87,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < annotations.size(); idx++) {
             Annotation value = annotations.get(idx);
             Annotation newValue = visitAnnotation(value);
-            if (newAnnotations == null && !value.equals(newValue)) {
+            if (newAnnotations == null && value != newValue) {
                 newAnnotations = new ArrayList<>(annotations.size());
                 newAnnotations.addAll(annotations.subList(0, idx));
             }
@@ -107,7 +106,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < parameters.size(); idx++) {
             Parameter value = parameters.get(idx);
             Parameter newValue = visitParameter(value);
-            if (newParameters == null && !value.equals(newValue)) {
+            if (newParameters == null && value != newValue) {
                 newParameters = new ArrayList<>(parameters.size());
                 newParameters.addAll(parameters.subList(0, idx));
             }
@@ -132,7 +131,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         Annotation.Builder builder = null;
         ClassName type = node.type();
         ClassName typeNew = visitClassName(type);
-        if (!Objects.equals(type, typeNew)) {
+        if (type != typeNew) {
             builder = node.toBuilder();
             builder.type(typeNew);
         }
@@ -147,7 +146,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         ArrayTypeName.Builder builder = null;
         TypeName componentType = node.componentType();
         TypeName componentTypeNew = (TypeName) componentType.accept(this);
-        if (!Objects.equals(componentType, componentTypeNew)) {
+        if (componentType != componentTypeNew) {
             builder = node.toBuilder();
             builder.componentType(componentTypeNew);
         }
@@ -165,7 +164,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < statements.size(); idx++) {
             Statement value = statements.get(idx);
             Statement newValue = (Statement) value.accept(this);
-            if (newStatements == null && !value.equals(newValue)) {
+            if (newStatements == null && value != newValue) {
                 newStatements = new ArrayList<>(statements.size());
                 newStatements.addAll(statements.subList(0, idx));
             }
@@ -191,7 +190,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < label.size(); idx++) {
             Expression value = label.get(idx);
             Expression newValue = (Expression) value.accept(this);
-            if (newLabel == null && !value.equals(newValue)) {
+            if (newLabel == null && value != newValue) {
                 newLabel = new ArrayList<>(label.size());
                 newLabel.addAll(label.subList(0, idx));
             }
@@ -205,7 +204,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         }
         Block body = node.body();
         Block bodyNew = visitBlock(body);
-        if (!Objects.equals(body, bodyNew)) {
+        if (body != bodyNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -230,7 +229,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (superClass != null) {
             superClassNew = (TypeName) superClass.accept(this);
         }
-        if (!Objects.equals(superClass, superClassNew)) {
+        if (superClass != superClassNew) {
             builder = node.toBuilder();
             builder.superClass(superClassNew);
         }
@@ -239,7 +238,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < typeParams.size(); idx++) {
             TypeVariableTypeName value = typeParams.get(idx);
             TypeVariableTypeName newValue = visitTypeVariableTypeName(value);
-            if (newTypeParams == null && !value.equals(newValue)) {
+            if (newTypeParams == null && value != newValue) {
                 newTypeParams = new ArrayList<>(typeParams.size());
                 newTypeParams.addAll(typeParams.subList(0, idx));
             }
@@ -258,7 +257,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -269,7 +268,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < methods.size(); idx++) {
             BaseMethodSyntax value = methods.get(idx);
             BaseMethodSyntax newValue = (BaseMethodSyntax) value.accept(this);
-            if (newMethods == null && !value.equals(newValue)) {
+            if (newMethods == null && value != newValue) {
                 newMethods = new ArrayList<>(methods.size());
                 newMethods.addAll(methods.subList(0, idx));
             }
@@ -288,7 +287,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < annotations.size(); idx++) {
             Annotation value = annotations.get(idx);
             Annotation newValue = visitAnnotation(value);
-            if (newAnnotations == null && !value.equals(newValue)) {
+            if (newAnnotations == null && value != newValue) {
                 newAnnotations = new ArrayList<>(annotations.size());
                 newAnnotations.addAll(annotations.subList(0, idx));
             }
@@ -307,7 +306,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < fields.size(); idx++) {
             FieldSyntax value = fields.get(idx);
             FieldSyntax newValue = visitFieldSyntax(value);
-            if (newFields == null && !value.equals(newValue)) {
+            if (newFields == null && value != newValue) {
                 newFields = new ArrayList<>(fields.size());
                 newFields.addAll(fields.subList(0, idx));
             }
@@ -326,7 +325,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < superInterfaces.size(); idx++) {
             TypeName value = superInterfaces.get(idx);
             TypeName newValue = (TypeName) value.accept(this);
-            if (newSuperInterfaces == null && !value.equals(newValue)) {
+            if (newSuperInterfaces == null && value != newValue) {
                 newSuperInterfaces = new ArrayList<>(superInterfaces.size());
                 newSuperInterfaces.addAll(superInterfaces.subList(0, idx));
             }
@@ -345,7 +344,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < innerTypes.size(); idx++) {
             TypeSyntax value = innerTypes.get(idx);
             TypeSyntax newValue = (TypeSyntax) value.accept(this);
-            if (newInnerTypes == null && !value.equals(newValue)) {
+            if (newInnerTypes == null && value != newValue) {
                 newInnerTypes = new ArrayList<>(innerTypes.size());
                 newInnerTypes.addAll(innerTypes.subList(0, idx));
             }
@@ -377,7 +376,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         Set<ClassName> newImports = null;
         for (ClassName value : imports) {
             ClassName newValue = visitClassName(value);
-            if (newImports == null && !value.equals(newValue)) {
+            if (newImports == null && value != newValue) {
                 newImports = new LinkedHashSet<>(imports.size());
                 for (ClassName innerValue : imports) {
                     if (innerValue == value) {
@@ -396,7 +395,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         }
         TypeSyntax type = node.type();
         TypeSyntax typeNew = (TypeSyntax) type.accept(this);
-        if (!Objects.equals(type, typeNew)) {
+        if (type != typeNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -413,7 +412,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         ConstructorMethodSyntax.Builder builder = null;
         Block body = node.body();
         Block bodyNew = visitBlock(body);
-        if (!Objects.equals(body, bodyNew)) {
+        if (body != bodyNew) {
             builder = node.toBuilder();
             builder.body(bodyNew);
         }
@@ -422,7 +421,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -433,7 +432,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < annotations.size(); idx++) {
             Annotation value = annotations.get(idx);
             Annotation newValue = visitAnnotation(value);
-            if (newAnnotations == null && !value.equals(newValue)) {
+            if (newAnnotations == null && value != newValue) {
                 newAnnotations = new ArrayList<>(annotations.size());
                 newAnnotations.addAll(annotations.subList(0, idx));
             }
@@ -452,7 +451,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < parameters.size(); idx++) {
             Parameter value = parameters.get(idx);
             Parameter newValue = visitParameter(value);
-            if (newParameters == null && !value.equals(newValue)) {
+            if (newParameters == null && value != newValue) {
                 newParameters = new ArrayList<>(parameters.size());
                 newParameters.addAll(parameters.subList(0, idx));
             }
@@ -477,7 +476,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         DefaultCaseClause.Builder builder = null;
         Block body = node.body();
         Block bodyNew = visitBlock(body);
-        if (!Objects.equals(body, bodyNew)) {
+        if (body != bodyNew) {
             builder = node.toBuilder();
             builder.body(bodyNew);
         }
@@ -495,7 +494,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             builder = node.toBuilder();
             builder.javadoc(javadocNew);
         }
@@ -504,7 +503,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (body != null) {
             bodyNew = (EnumBody) body.accept(this);
         }
-        if (!Objects.equals(body, bodyNew)) {
+        if (body != bodyNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -524,7 +523,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < enumConstants.size(); idx++) {
             EnumConstant value = enumConstants.get(idx);
             EnumConstant newValue = visitEnumConstant(value);
-            if (newEnumConstants == null && !value.equals(newValue)) {
+            if (newEnumConstants == null && value != newValue) {
                 newEnumConstants = new ArrayList<>(enumConstants.size());
                 newEnumConstants.addAll(enumConstants.subList(0, idx));
             }
@@ -541,7 +540,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -552,7 +551,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < methods.size(); idx++) {
             BaseMethodSyntax value = methods.get(idx);
             BaseMethodSyntax newValue = (BaseMethodSyntax) value.accept(this);
-            if (newMethods == null && !value.equals(newValue)) {
+            if (newMethods == null && value != newValue) {
                 newMethods = new ArrayList<>(methods.size());
                 newMethods.addAll(methods.subList(0, idx));
             }
@@ -571,7 +570,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < annotations.size(); idx++) {
             Annotation value = annotations.get(idx);
             Annotation newValue = visitAnnotation(value);
-            if (newAnnotations == null && !value.equals(newValue)) {
+            if (newAnnotations == null && value != newValue) {
                 newAnnotations = new ArrayList<>(annotations.size());
                 newAnnotations.addAll(annotations.subList(0, idx));
             }
@@ -590,7 +589,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < fields.size(); idx++) {
             FieldSyntax value = fields.get(idx);
             FieldSyntax newValue = visitFieldSyntax(value);
-            if (newFields == null && !value.equals(newValue)) {
+            if (newFields == null && value != newValue) {
                 newFields = new ArrayList<>(fields.size());
                 newFields.addAll(fields.subList(0, idx));
             }
@@ -609,7 +608,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < superInterfaces.size(); idx++) {
             TypeName value = superInterfaces.get(idx);
             TypeName newValue = (TypeName) value.accept(this);
-            if (newSuperInterfaces == null && !value.equals(newValue)) {
+            if (newSuperInterfaces == null && value != newValue) {
                 newSuperInterfaces = new ArrayList<>(superInterfaces.size());
                 newSuperInterfaces.addAll(superInterfaces.subList(0, idx));
             }
@@ -628,7 +627,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < innerTypes.size(); idx++) {
             TypeSyntax value = innerTypes.get(idx);
             TypeSyntax newValue = (TypeSyntax) value.accept(this);
-            if (newInnerTypes == null && !value.equals(newValue)) {
+            if (newInnerTypes == null && value != newValue) {
                 newInnerTypes = new ArrayList<>(innerTypes.size());
                 newInnerTypes.addAll(innerTypes.subList(0, idx));
             }
@@ -656,13 +655,13 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             builder = node.toBuilder();
             builder.javadoc(javadocNew);
         }
         TypeName type = node.type();
         TypeName typeNew = (TypeName) type.accept(this);
-        if (!Objects.equals(type, typeNew)) {
+        if (type != typeNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -673,7 +672,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < annotations.size(); idx++) {
             Annotation value = annotations.get(idx);
             Annotation newValue = visitAnnotation(value);
-            if (newAnnotations == null && !value.equals(newValue)) {
+            if (newAnnotations == null && value != newValue) {
                 newAnnotations = new ArrayList<>(annotations.size());
                 newAnnotations.addAll(annotations.subList(0, idx));
             }
@@ -692,7 +691,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (initializer != null) {
             initializerNew = (Expression) initializer.accept(this);
         }
-        if (!Objects.equals(initializer, initializerNew)) {
+        if (initializer != initializerNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -709,13 +708,13 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         ForStatement.Builder builder = null;
         CodeBlock initializer = node.initializer();
         CodeBlock initializerNew = visitCodeBlock(initializer);
-        if (!Objects.equals(initializer, initializerNew)) {
+        if (initializer != initializerNew) {
             builder = node.toBuilder();
             builder.initializer(initializerNew);
         }
         Block statement = node.statement();
         Block statementNew = visitBlock(statement);
-        if (!Objects.equals(statement, statementNew)) {
+        if (statement != statementNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -732,13 +731,13 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         IfStatement.Builder builder = null;
         Expression expression = node.expression();
         Expression expressionNew = (Expression) expression.accept(this);
-        if (!Objects.equals(expression, expressionNew)) {
+        if (expression != expressionNew) {
             builder = node.toBuilder();
             builder.expression(expressionNew);
         }
         Block statement = node.statement();
         Block statementNew = visitBlock(statement);
-        if (!Objects.equals(statement, statementNew)) {
+        if (statement != statementNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -749,7 +748,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (elseStatement != null) {
             elseStatementNew = (Statement) elseStatement.accept(this);
         }
-        if (!Objects.equals(elseStatement, elseStatementNew)) {
+        if (elseStatement != elseStatementNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -769,7 +768,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < typeParams.size(); idx++) {
             TypeVariableTypeName value = typeParams.get(idx);
             TypeVariableTypeName newValue = visitTypeVariableTypeName(value);
-            if (newTypeParams == null && !value.equals(newValue)) {
+            if (newTypeParams == null && value != newValue) {
                 newTypeParams = new ArrayList<>(typeParams.size());
                 newTypeParams.addAll(typeParams.subList(0, idx));
             }
@@ -786,7 +785,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -797,7 +796,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < methods.size(); idx++) {
             BaseMethodSyntax value = methods.get(idx);
             BaseMethodSyntax newValue = (BaseMethodSyntax) value.accept(this);
-            if (newMethods == null && !value.equals(newValue)) {
+            if (newMethods == null && value != newValue) {
                 newMethods = new ArrayList<>(methods.size());
                 newMethods.addAll(methods.subList(0, idx));
             }
@@ -816,7 +815,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < annotations.size(); idx++) {
             Annotation value = annotations.get(idx);
             Annotation newValue = visitAnnotation(value);
-            if (newAnnotations == null && !value.equals(newValue)) {
+            if (newAnnotations == null && value != newValue) {
                 newAnnotations = new ArrayList<>(annotations.size());
                 newAnnotations.addAll(annotations.subList(0, idx));
             }
@@ -835,7 +834,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < fields.size(); idx++) {
             FieldSyntax value = fields.get(idx);
             FieldSyntax newValue = visitFieldSyntax(value);
-            if (newFields == null && !value.equals(newValue)) {
+            if (newFields == null && value != newValue) {
                 newFields = new ArrayList<>(fields.size());
                 newFields.addAll(fields.subList(0, idx));
             }
@@ -854,7 +853,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < superInterfaces.size(); idx++) {
             TypeName value = superInterfaces.get(idx);
             TypeName newValue = (TypeName) value.accept(this);
-            if (newSuperInterfaces == null && !value.equals(newValue)) {
+            if (newSuperInterfaces == null && value != newValue) {
                 newSuperInterfaces = new ArrayList<>(superInterfaces.size());
                 newSuperInterfaces.addAll(superInterfaces.subList(0, idx));
             }
@@ -873,7 +872,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < innerTypes.size(); idx++) {
             TypeSyntax value = innerTypes.get(idx);
             TypeSyntax newValue = (TypeSyntax) value.accept(this);
-            if (newInnerTypes == null && !value.equals(newValue)) {
+            if (newInnerTypes == null && value != newValue) {
                 newInnerTypes = new ArrayList<>(innerTypes.size());
                 newInnerTypes.addAll(innerTypes.subList(0, idx));
             }
@@ -901,7 +900,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < typeParams.size(); idx++) {
             TypeVariableTypeName value = typeParams.get(idx);
             TypeVariableTypeName newValue = visitTypeVariableTypeName(value);
-            if (newTypeParams == null && !value.equals(newValue)) {
+            if (newTypeParams == null && value != newValue) {
                 newTypeParams = new ArrayList<>(typeParams.size());
                 newTypeParams.addAll(typeParams.subList(0, idx));
             }
@@ -915,7 +914,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         }
         TypeName returns = node.returns();
         TypeName returnsNew = (TypeName) returns.accept(this);
-        if (!Objects.equals(returns, returnsNew)) {
+        if (returns != returnsNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -923,7 +922,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         }
         Block body = node.body();
         Block bodyNew = visitBlock(body);
-        if (!Objects.equals(body, bodyNew)) {
+        if (body != bodyNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -934,7 +933,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (javadoc != null) {
             javadocNew = (Javadoc) javadoc.accept(this);
         }
-        if (!Objects.equals(javadoc, javadocNew)) {
+        if (javadoc != javadocNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -945,7 +944,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < annotations.size(); idx++) {
             Annotation value = annotations.get(idx);
             Annotation newValue = visitAnnotation(value);
-            if (newAnnotations == null && !value.equals(newValue)) {
+            if (newAnnotations == null && value != newValue) {
                 newAnnotations = new ArrayList<>(annotations.size());
                 newAnnotations.addAll(annotations.subList(0, idx));
             }
@@ -964,7 +963,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < parameters.size(); idx++) {
             Parameter value = parameters.get(idx);
             Parameter newValue = visitParameter(value);
-            if (newParameters == null && !value.equals(newValue)) {
+            if (newParameters == null && value != newValue) {
                 newParameters = new ArrayList<>(parameters.size());
                 newParameters.addAll(parameters.subList(0, idx));
             }
@@ -989,7 +988,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         Parameter.Builder builder = null;
         TypeName type = node.type();
         TypeName typeNew = (TypeName) type.accept(this);
-        if (!Objects.equals(type, typeNew)) {
+        if (type != typeNew) {
             builder = node.toBuilder();
             builder.type(typeNew);
         }
@@ -1004,7 +1003,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         ParameterizedTypeName.Builder builder = null;
         ClassName rawType = node.rawType();
         ClassName rawTypeNew = visitClassName(rawType);
-        if (!Objects.equals(rawType, rawTypeNew)) {
+        if (rawType != rawTypeNew) {
             builder = node.toBuilder();
             builder.rawType(rawTypeNew);
         }
@@ -1013,7 +1012,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < typeArguments.size(); idx++) {
             TypeName value = typeArguments.get(idx);
             TypeName newValue = (TypeName) value.accept(this);
-            if (newTypeArguments == null && !value.equals(newValue)) {
+            if (newTypeArguments == null && value != newValue) {
                 newTypeArguments = new ArrayList<>(typeArguments.size());
                 newTypeArguments.addAll(typeArguments.subList(0, idx));
             }
@@ -1043,7 +1042,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         SwitchStatement.Builder builder = null;
         Expression expression = node.expression();
         Expression expressionNew = (Expression) expression.accept(this);
-        if (!Objects.equals(expression, expressionNew)) {
+        if (expression != expressionNew) {
             builder = node.toBuilder();
             builder.expression(expressionNew);
         }
@@ -1052,7 +1051,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < cases.size(); idx++) {
             CaseClause value = cases.get(idx);
             CaseClause newValue = visitCaseClause(value);
-            if (newCases == null && !value.equals(newValue)) {
+            if (newCases == null && value != newValue) {
                 newCases = new ArrayList<>(cases.size());
                 newCases.addAll(cases.subList(0, idx));
             }
@@ -1071,7 +1070,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (defaultCase != null) {
             defaultCaseNew = visitDefaultCaseClause(defaultCase);
         }
-        if (!Objects.equals(defaultCase, defaultCaseNew)) {
+        if (defaultCase != defaultCaseNew) {
             if (builder == null) {
                 builder = node.toBuilder();
             }
@@ -1091,7 +1090,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < bounds.size(); idx++) {
             TypeName value = bounds.get(idx);
             TypeName newValue = (TypeName) value.accept(this);
-            if (newBounds == null && !value.equals(newValue)) {
+            if (newBounds == null && value != newValue) {
                 newBounds = new ArrayList<>(bounds.size());
                 newBounds.addAll(bounds.subList(0, idx));
             }
@@ -1117,7 +1116,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         if (rawType != null) {
             rawTypeNew = visitClassName(rawType);
         }
-        if (!Objects.equals(rawType, rawTypeNew)) {
+        if (rawType != rawTypeNew) {
             builder = node.toBuilder();
             builder.rawType(rawTypeNew);
         }
@@ -1126,7 +1125,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < upperBounds.size(); idx++) {
             TypeName value = upperBounds.get(idx);
             TypeName newValue = (TypeName) value.accept(this);
-            if (newUpperBounds == null && !value.equals(newValue)) {
+            if (newUpperBounds == null && value != newValue) {
                 newUpperBounds = new ArrayList<>(upperBounds.size());
                 newUpperBounds.addAll(upperBounds.subList(0, idx));
             }
@@ -1145,7 +1144,7 @@ public class SyntaxNodeRewriteVisitor implements SyntaxNodeVisitor<SyntaxNode> {
         for (int idx = 0; idx < lowerBounds.size(); idx++) {
             TypeName value = lowerBounds.get(idx);
             TypeName newValue = (TypeName) value.accept(this);
-            if (newLowerBounds == null && !value.equals(newValue)) {
+            if (newLowerBounds == null && value != newValue) {
                 newLowerBounds = new ArrayList<>(lowerBounds.size());
                 newLowerBounds.addAll(lowerBounds.subList(0, idx));
             }
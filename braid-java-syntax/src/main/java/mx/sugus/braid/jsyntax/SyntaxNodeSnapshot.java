@@ -0,0 +1,1184 @@
+package mx.sugus.braid.jsyntax;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.lang.model.element.Modifier;
+import mx.sugus.braid.rt.util.annotations.Generated;
+import mx.sugus.braid.rt.util.snapshot.SnapshotReader;
+import mx.sugus.braid.rt.util.snapshot.SnapshotWriter;
+
+/**
+ * <p>Writes syntax nodes to a compact binary snapshot and reads them back. Each kind of node
+ * is written as a number followed by its members, in the order of the syntax model, strings
+ * are written once and nodes equal to one already written are written as a reference to it.
+ * The schema fingerprint is computed at codegen time from the syntax model and snapshots
+ * written for a different schema are rejected.</p>
+ */
+@Generated("mx.sugus.braid.plugins.syntax#SyntaxModelPlugin")
+public final class SyntaxNodeSnapshot {
+    private static final int SCHEMA = 0x22D37865;
+    private static final int KIND_ABSTRACT_CONTROL_FLOW = 0;
+    private static final int KIND_ABSTRACT_METHOD_SYNTAX = 1;
+    private static final int KIND_ANNOTATION = 2;
+    private static final int KIND_ARRAY_TYPE_NAME = 3;
+    private static final int KIND_BLOCK = 4;
+    private static final int KIND_CASE_CLAUSE = 5;
+    private static final int KIND_CLASS_NAME = 6;
+    private static final int KIND_CLASS_SYNTAX = 7;
+    private static final int KIND_CODE_BLOCK = 8;
+    private static final int KIND_COMPILATION_UNIT = 9;
+    private static final int KIND_CONSTRUCTOR_METHOD_SYNTAX = 10;
+    private static final int KIND_DEFAULT_CASE_CLAUSE = 11;
+    private static final int KIND_ENUM_CONSTANT = 12;
+    private static final int KIND_ENUM_SYNTAX = 13;
+    private static final int KIND_FIELD_SYNTAX = 14;
+    private static final int KIND_FOR_STATEMENT = 15;
+    private static final int KIND_FORMATTER_BLOCK = 16;
+    private static final int KIND_FORMATTER_LITERAL = 17;
+    private static final int KIND_FORMATTER_STRING = 18;
+    private static final int KIND_FORMATTER_TYPE_NAME = 19;
+    private static final int KIND_IF_STATEMENT = 20;
+    private static final int KIND_INTERFACE_SYNTAX = 21;
+    private static final int KIND_MEMBER_VALUE = 22;
+    private static final int KIND_METHOD_SYNTAX = 23;
+    private static final int KIND_PARAMETER = 24;
+    private static final int KIND_PARAMETERIZED_TYPE_NAME = 25;
+    private static final int KIND_PRIMITIVE_TYPE_NAME = 26;
+    private static final int KIND_SWITCH_STATEMENT = 27;
+    private static final int KIND_TYPE_VARIABLE_TYPE_NAME = 28;
+    private static final int KIND_WILDCARD_TYPE_NAME = 29;
+
+    private SyntaxNodeSnapshot() {
+    }
+
+    /**
+     * <p>Returns the snapshot of the given node</p>
+     */
+    public static byte[] toBytes(SyntaxNode node) {
+        Writer writer = new Writer();
+        writer.writeNode(node);
+        return writer.out.toByteArray();
+    }
+
+    /**
+     * <p>Returns the node read from the given snapshot. Throws IllegalArgumentException if the
+     * snapshot is truncated or corrupted</p>
+     */
+    public static SyntaxNode fromBytes(byte[] bytes) {
+        SnapshotReader in = new SnapshotReader(bytes, SCHEMA);
+        SyntaxNode result = readNode(in, SyntaxNode.class);
+        if (!in.isAtEnd()) {
+            throw new IllegalArgumentException("Unexpected bytes after the snapshot");
+        }
+        return result;
+    }
+
+    static Object readNode(SnapshotReader in) {
+        int kind = in.readKind();
+        switch (kind) {
+            case SnapshotReader.NULL_KIND:
+                return null;
+            case SnapshotReader.REFERENCE_KIND:
+                return in.readReference();
+            case KIND_ABSTRACT_CONTROL_FLOW:
+                return in.register(readAbstractControlFlow(in));
+            case KIND_ABSTRACT_METHOD_SYNTAX:
+                return in.register(readAbstractMethodSyntax(in));
+            case KIND_ANNOTATION:
+                return in.register(readAnnotation(in));
+            case KIND_ARRAY_TYPE_NAME:
+                return in.register(readArrayTypeName(in));
+            case KIND_BLOCK:
+                return in.register(readBlock(in));
+            case KIND_CASE_CLAUSE:
+                return in.register(readCaseClause(in));
+            case KIND_CLASS_NAME:
+                return in.register(readClassName(in));
+            case KIND_CLASS_SYNTAX:
+                return in.register(readClassSyntax(in));
+            case KIND_CODE_BLOCK:
+                return in.register(readCodeBlock(in));
+            case KIND_COMPILATION_UNIT:
+                return in.register(readCompilationUnit(in));
+            case KIND_CONSTRUCTOR_METHOD_SYNTAX:
+                return in.register(readConstructorMethodSyntax(in));
+            case KIND_DEFAULT_CASE_CLAUSE:
+                return in.register(readDefaultCaseClause(in));
+            case KIND_ENUM_CONSTANT:
+                return in.register(readEnumConstant(in));
+            case KIND_ENUM_SYNTAX:
+                return in.register(readEnumSyntax(in));
+            case KIND_FIELD_SYNTAX:
+                return in.register(readFieldSyntax(in));
+            case KIND_FOR_STATEMENT:
+                return in.register(readForStatement(in));
+            case KIND_FORMATTER_BLOCK:
+                return in.register(readFormatterBlock(in));
+            case KIND_FORMATTER_LITERAL:
+                return in.register(readFormatterLiteral(in));
+            case KIND_FORMATTER_STRING:
+                return in.register(readFormatterString(in));
+            case KIND_FORMATTER_TYPE_NAME:
+                return in.register(readFormatterTypeName(in));
+            case KIND_IF_STATEMENT:
+                return in.register(readIfStatement(in));
+            case KIND_INTERFACE_SYNTAX:
+                return in.register(readInterfaceSyntax(in));
+            case KIND_MEMBER_VALUE:
+                return in.register(readMemberValue(in));
+            case KIND_METHOD_SYNTAX:
+                return in.register(readMethodSyntax(in));
+            case KIND_PARAMETER:
+                return in.register(readParameter(in));
+            case KIND_PARAMETERIZED_TYPE_NAME:
+                return in.register(readParameterizedTypeName(in));
+            case KIND_PRIMITIVE_TYPE_NAME:
+                return in.register(readPrimitiveTypeName(in));
+            case KIND_SWITCH_STATEMENT:
+                return in.register(readSwitchStatement(in));
+            case KIND_TYPE_VARIABLE_TYPE_NAME:
+                return in.register(readTypeVariableTypeName(in));
+            case KIND_WILDCARD_TYPE_NAME:
+                return in.register(readWildcardTypeName(in));
+            default:
+                throw new IllegalArgumentException("Unknown node kind: " + kind);
+        }
+    }
+
+    static <T> T readNode(SnapshotReader in, Class<T> type) {
+        Object node = readNode(in);
+        if (node != null && !type.isInstance(node)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + " but got: " + node.getClass());
+        }
+        return type.cast(node);
+    }
+
+    static <T> T requireMember(T value, String member) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required member: " + member);
+        }
+        return value;
+    }
+
+    static AbstractControlFlow readAbstractControlFlow(SnapshotReader in) {
+        AbstractControlFlow.Builder builder = AbstractControlFlow.builder();
+        builder.prefix(requireMember(readNode(in, CodeBlock.class), "AbstractControlFlow.prefix"));
+        builder.statement(requireMember(readNode(in, Block.class), "AbstractControlFlow.statement"));
+        builder.next(readNode(in, AbstractControlFlow.class));
+        return builder.build();
+    }
+
+    static AbstractMethodSyntax readAbstractMethodSyntax(SnapshotReader in) {
+        AbstractMethodSyntax.Builder builder = AbstractMethodSyntax.builder();
+        builder.name(requireMember(in.readString(), "AbstractMethodSyntax.name"));
+        int typeParamsSize = in.readSize();
+        List<TypeVariableTypeName> typeParams = new ArrayList<>(typeParamsSize);
+        for (int idx = 0; idx < typeParamsSize; idx++) {
+            typeParams.add(readNode(in, TypeVariableTypeName.class));
+        }
+        builder.typeParams(typeParams);
+        builder.returns(requireMember(readNode(in, TypeName.class), "AbstractMethodSyntax.returns"));
+        builder.javadoc(readNode(in, Javadoc.class));
+        int annotationsSize = in.readSize();
+        List<Annotation> annotations = new ArrayList<>(annotationsSize);
+        for (int idx = 0; idx < annotationsSize; idx++) {
+            annotations.add(readNode(in, Annotation.class));
+        }
+        builder.annotations(annotations);
+        int modifiersSize = in.readSize();
+        Set<Modifier> modifiers = new LinkedHashSet<>();
+        for (int idx = 0; idx < modifiersSize; idx++) {
+            modifiers.add(in.readEnum(Modifier.class));
+        }
+        builder.modifiers(modifiers);
+        int parametersSize = in.readSize();
+        List<Parameter> parameters = new ArrayList<>(parametersSize);
+        for (int idx = 0; idx < parametersSize; idx++) {
+            parameters.add(readNode(in, Parameter.class));
+        }
+        builder.parameters(parameters);
+        return builder.build();
+    }
+
+    static Annotation readAnnotation(SnapshotReader in) {
+        Annotation.Builder builder = Annotation.builder();
+        builder.type(requireMember(readNode(in, ClassName.class), "Annotation.type"));
+        int membersSize = in.readSize();
+        Map<String, MemberValue> members = new LinkedHashMap<>();
+        for (int idx = 0; idx < membersSize; idx++) {
+            members.put(in.readString(), readNode(in, MemberValue.class));
+        }
+        builder.members(members);
+        return builder.build();
+    }
+
+    static ArrayTypeName readArrayTypeName(SnapshotReader in) {
+        ArrayTypeName.Builder builder = ArrayTypeName.builder();
+        builder.componentType(requireMember(readNode(in, TypeName.class), "ArrayTypeName.componentType"));
+        return builder.build();
+    }
+
+    static Block readBlock(SnapshotReader in) {
+        Block.Builder builder = Block.builder();
+        int statementsSize = in.readSize();
+        List<Statement> statements = new ArrayList<>(statementsSize);
+        for (int idx = 0; idx < statementsSize; idx++) {
+            statements.add(readNode(in, Statement.class));
+        }
+        builder.statements(statements);
+        return builder.build();
+    }
+
+    static CaseClause readCaseClause(SnapshotReader in) {
+        CaseClause.Builder builder = CaseClause.builder();
+        int labelSize = in.readSize();
+        List<Expression> label = new ArrayList<>(labelSize);
+        for (int idx = 0; idx < labelSize; idx++) {
+            label.add(readNode(in, Expression.class));
+        }
+        builder.label(label);
+        builder.body(requireMember(readNode(in, Block.class), "CaseClause.body"));
+        return builder.build();
+    }
+
+    static ClassName readClassName(SnapshotReader in) {
+        ClassName.Builder builder = ClassName.builder();
+        builder.name(requireMember(in.readString(), "ClassName.name"));
+        builder.packageName(in.readString());
+        return builder.build();
+    }
+
+    static ClassSyntax readClassSyntax(SnapshotReader in) {
+        ClassSyntax.Builder builder = ClassSyntax.builder();
+        builder.superClass(readNode(in, TypeName.class));
+        int typeParamsSize = in.readSize();
+        List<TypeVariableTypeName> typeParams = new ArrayList<>(typeParamsSize);
+        for (int idx = 0; idx < typeParamsSize; idx++) {
+            typeParams.add(readNode(in, TypeVariableTypeName.class));
+        }
+        builder.typeParams(typeParams);
+        builder.javadoc(readNode(in, Javadoc.class));
+        int methodsSize = in.readSize();
+        List<BaseMethodSyntax> methods = new ArrayList<>(methodsSize);
+        for (int idx = 0; idx < methodsSize; idx++) {
+            methods.add(readNode(in, BaseMethodSyntax.class));
+        }
+        builder.methods(methods);
+        builder.name(requireMember(in.readString(), "ClassSyntax.name"));
+        int annotationsSize = in.readSize();
+        List<Annotation> annotations = new ArrayList<>(annotationsSize);
+        for (int idx = 0; idx < annotationsSize; idx++) {
+            annotations.add(readNode(in, Annotation.class));
+        }
+        builder.annotations(annotations);
+        int modifiersSize = in.readSize();
+        Set<Modifier> modifiers = new LinkedHashSet<>();
+        for (int idx = 0; idx < modifiersSize; idx++) {
+            modifiers.add(in.readEnum(Modifier.class));
+        }
+        builder.modifiers(modifiers);
+        int fieldsSize = in.readSize();
+        List<FieldSyntax> fields = new ArrayList<>(fieldsSize);
+        for (int idx = 0; idx < fieldsSize; idx++) {
+            fields.add(readNode(in, FieldSyntax.class));
+        }
+        builder.fields(fields);
+        int superInterfacesSize = in.readSize();
+        List<TypeName> superInterfaces = new ArrayList<>(superInterfacesSize);
+        for (int idx = 0; idx < superInterfacesSize; idx++) {
+            superInterfaces.add(readNode(in, TypeName.class));
+        }
+        builder.superInterfaces(superInterfaces);
+        int innerTypesSize = in.readSize();
+        List<TypeSyntax> innerTypes = new ArrayList<>(innerTypesSize);
+        for (int idx = 0; idx < innerTypesSize; idx++) {
+            innerTypes.add(readNode(in, TypeSyntax.class));
+        }
+        builder.innerTypes(innerTypes);
+        return builder.build();
+    }
+
+    static CodeBlock readCodeBlock(SnapshotReader in) {
+        CodeBlock.Builder builder = CodeBlock.builder();
+        int partsSize = in.readSize();
+        List<FormatterNode> parts = new ArrayList<>(partsSize);
+        for (int idx = 0; idx < partsSize; idx++) {
+            parts.add(readNode(in, FormatterNode.class));
+        }
+        builder.parts(parts);
+        return builder.build();
+    }
+
+    static CompilationUnit readCompilationUnit(SnapshotReader in) {
+        CompilationUnit.Builder builder = CompilationUnit.builder();
+        builder.packageName(requireMember(in.readString(), "CompilationUnit.packageName"));
+        int importsSize = in.readSize();
+        Set<ClassName> imports = new LinkedHashSet<>();
+        for (int idx = 0; idx < importsSize; idx++) {
+            imports.add(readNode(in, ClassName.class));
+        }
+        builder.imports(imports);
+        builder.type(requireMember(readNode(in, TypeSyntax.class), "CompilationUnit.type"));
+        int definedNamesSize = in.readSize();
+        Map<String, ClassName> definedNames = new LinkedHashMap<>();
+        for (int idx = 0; idx < definedNamesSize; idx++) {
+            definedNames.put(in.readString(), readNode(in, ClassName.class));
+        }
+        builder.definedNames(definedNames);
+        return builder.build();
+    }
+
+    static ConstructorMethodSyntax readConstructorMethodSyntax(SnapshotReader in) {
+        ConstructorMethodSyntax.Builder builder = ConstructorMethodSyntax.builder();
+        builder.body(requireMember(readNode(in, Block.class), "ConstructorMethodSyntax.body"));
+        builder.javadoc(readNode(in, Javadoc.class));
+        int annotationsSize = in.readSize();
+        List<Annotation> annotations = new ArrayList<>(annotationsSize);
+        for (int idx = 0; idx < annotationsSize; idx++) {
+            annotations.add(readNode(in, Annotation.class));
+        }
+        builder.annotations(annotations);
+        int modifiersSize = in.readSize();
+        Set<Modifier> modifiers = new LinkedHashSet<>();
+        for (int idx = 0; idx < modifiersSize; idx++) {
+            modifiers.add(in.readEnum(Modifier.class));
+        }
+        builder.modifiers(modifiers);
+        int parametersSize = in.readSize();
+        List<Parameter> parameters = new ArrayList<>(parametersSize);
+        for (int idx = 0; idx < parametersSize; idx++) {
+            parameters.add(readNode(in, Parameter.class));
+        }
+        builder.parameters(parameters);
+        return builder.build();
+    }
+
+    static DefaultCaseClause readDefaultCaseClause(SnapshotReader in) {
+        DefaultCaseClause.Builder builder = DefaultCaseClause.builder();
+        builder.body(requireMember(readNode(in, Block.class), "DefaultCaseClause.body"));
+        return builder.build();
+    }
+
+    static EnumConstant readEnumConstant(SnapshotReader in) {
+        EnumConstant.Builder builder = EnumConstant.builder();
+        builder.javadoc(readNode(in, Javadoc.class));
+        builder.name(requireMember(in.readString(), "EnumConstant.name"));
+        builder.body(readNode(in, EnumBody.class));
+        return builder.build();
+    }
+
+    static EnumSyntax readEnumSyntax(SnapshotReader in) {
+        EnumSyntax.Builder builder = EnumSyntax.builder();
+        int enumConstantsSize = in.readSize();
+        List<EnumConstant> enumConstants = new ArrayList<>(enumConstantsSize);
+        for (int idx = 0; idx < enumConstantsSize; idx++) {
+            enumConstants.add(readNode(in, EnumConstant.class));
+        }
+        builder.enumConstants(enumConstants);
+        builder.javadoc(readNode(in, Javadoc.class));
+        int methodsSize = in.readSize();
+        List<BaseMethodSyntax> methods = new ArrayList<>(methodsSize);
+        for (int idx = 0; idx < methodsSize; idx++) {
+            methods.add(readNode(in, BaseMethodSyntax.class));
+        }
+        builder.methods(methods);
+        builder.name(requireMember(in.readString(), "EnumSyntax.name"));
+        int annotationsSize = in.readSize();
+        List<Annotation> annotations = new ArrayList<>(annotationsSize);
+        for (int idx = 0; idx < annotationsSize; idx++) {
+            annotations.add(readNode(in, Annotation.class));
+        }
+        builder.annotations(annotations);
+        int modifiersSize = in.readSize();
+        Set<Modifier> modifiers = new LinkedHashSet<>();
+        for (int idx = 0; idx < modifiersSize; idx++) {
+            modifiers.add(in.readEnum(Modifier.class));
+        }
+        builder.modifiers(modifiers);
+        int fieldsSize = in.readSize();
+        List<FieldSyntax> fields = new ArrayList<>(fieldsSize);
+        for (int idx = 0; idx < fieldsSize; idx++) {
+            fields.add(readNode(in, FieldSyntax.class));
+        }
+        builder.fields(fields);
+        int superInterfacesSize = in.readSize();
+        List<TypeName> superInterfaces = new ArrayList<>(superInterfacesSize);
+        for (int idx = 0; idx < superInterfacesSize; idx++) {
+            superInterfaces.add(readNode(in, TypeName.class));
+        }
+        builder.superInterfaces(superInterfaces);
+        int innerTypesSize = in.readSize();
+        List<TypeSyntax> innerTypes = new ArrayList<>(innerTypesSize);
+        for (int idx = 0; idx < innerTypesSize; idx++) {
+            innerTypes.add(readNode(in, TypeSyntax.class));
+        }
+        builder.innerTypes(innerTypes);
+        return builder.build();
+    }
+
+    static FieldSyntax readFieldSyntax(SnapshotReader in) {
+        FieldSyntax.Builder builder = FieldSyntax.builder();
+        builder.javadoc(readNode(in, Javadoc.class));
+        builder.name(requireMember(in.readString(), "FieldSyntax.name"));
+        builder.type(requireMember(readNode(in, TypeName.class), "FieldSyntax.type"));
+        int modifiersSize = in.readSize();
+        Set<Modifier> modifiers = new LinkedHashSet<>();
+        for (int idx = 0; idx < modifiersSize; idx++) {
+            modifiers.add(in.readEnum(Modifier.class));
+        }
+        builder.modifiers(modifiers);
+        int annotationsSize = in.readSize();
+        List<Annotation> annotations = new ArrayList<>(annotationsSize);
+        for (int idx = 0; idx < annotationsSize; idx++) {
+            annotations.add(readNode(in, Annotation.class));
+        }
+        builder.annotations(annotations);
+        builder.initializer(readNode(in, Expression.class));
+        return builder.build();
+    }
+
+    static ForStatement readForStatement(SnapshotReader in) {
+        ForStatement.Builder builder = ForStatement.builder();
+        builder.initializer(requireMember(readNode(in, CodeBlock.class), "ForStatement.initializer"));
+        builder.statement(requireMember(readNode(in, Block.class), "ForStatement.statement"));
+        return builder.build();
+    }
+
+    static FormatterBlock readFormatterBlock(SnapshotReader in) {
+        FormatterBlock.Builder builder = FormatterBlock.builder();
+        builder.value(readNode(in, Block.class));
+        return builder.build();
+    }
+
+    static FormatterLiteral readFormatterLiteral(SnapshotReader in) {
+        FormatterLiteral.Builder builder = FormatterLiteral.builder();
+        builder.value(in.readString());
+        return builder.build();
+    }
+
+    static FormatterString readFormatterString(SnapshotReader in) {
+        FormatterString.Builder builder = FormatterString.builder();
+        builder.value(in.readString());
+        return builder.build();
+    }
+
+    static FormatterTypeName readFormatterTypeName(SnapshotReader in) {
+        FormatterTypeName.Builder builder = FormatterTypeName.builder();
+        builder.value(readNode(in, TypeName.class));
+        return builder.build();
+    }
+
+    static IfStatement readIfStatement(SnapshotReader in) {
+        IfStatement.Builder builder = IfStatement.builder();
+        builder.expression(requireMember(readNode(in, Expression.class), "IfStatement.expression"));
+        builder.statement(requireMember(readNode(in, Block.class), "IfStatement.statement"));
+        builder.elseStatement(readNode(in, Statement.class));
+        return builder.build();
+    }
+
+    static InterfaceSyntax readInterfaceSyntax(SnapshotReader in) {
+        InterfaceSyntax.Builder builder = InterfaceSyntax.builder();
+        int typeParamsSize = in.readSize();
+        List<TypeVariableTypeName> typeParams = new ArrayList<>(typeParamsSize);
+        for (int idx = 0; idx < typeParamsSize; idx++) {
+            typeParams.add(readNode(in, TypeVariableTypeName.class));
+        }
+        builder.typeParams(typeParams);
+        builder.javadoc(readNode(in, Javadoc.class));
+        int methodsSize = in.readSize();
+        List<BaseMethodSyntax> methods = new ArrayList<>(methodsSize);
+        for (int idx = 0; idx < methodsSize; idx++) {
+            methods.add(readNode(in, BaseMethodSyntax.class));
+        }
+        builder.methods(methods);
+        builder.name(in.readString());
+        int annotationsSize = in.readSize();
+        List<Annotation> annotations = new ArrayList<>(annotationsSize);
+        for (int idx = 0; idx < annotationsSize; idx++) {
+            annotations.add(readNode(in, Annotation.class));
+        }
+        builder.annotations(annotations);
+        int modifiersSize = in.readSize();
+        Set<Modifier> modifiers = new LinkedHashSet<>();
+        for (int idx = 0; idx < modifiersSize; idx++) {
+            modifiers.add(in.readEnum(Modifier.class));
+        }
+        builder.modifiers(modifiers);
+        int fieldsSize = in.readSize();
+        List<FieldSyntax> fields = new ArrayList<>(fieldsSize);
+        for (int idx = 0; idx < fieldsSize; idx++) {
+            fields.add(readNode(in, FieldSyntax.class));
+        }
+        builder.fields(fields);
+        int superInterfacesSize = in.readSize();
+        List<TypeName> superInterfaces = new ArrayList<>(superInterfacesSize);
+        for (int idx = 0; idx < superInterfacesSize; idx++) {
+            superInterfaces.add(readNode(in, TypeName.class));
+        }
+        builder.superInterfaces(superInterfaces);
+        int innerTypesSize = in.readSize();
+        List<TypeSyntax> innerTypes = new ArrayList<>(innerTypesSize);
+        for (int idx = 0; idx < innerTypesSize; idx++) {
+            innerTypes.add(readNode(in, TypeSyntax.class));
+        }
+        builder.innerTypes(innerTypes);
+        return builder.build();
+    }
+
+    static MemberValue readMemberValue(SnapshotReader in) {
+        MemberValue.Builder builder = MemberValue.builder();
+        MemberValue.VariantTag variantTag = in.readEnum(MemberValue.VariantTag.class);
+        if (variantTag == MemberValue.VariantTag.EXPRESSION) {
+            builder.expression(readNode(in, Expression.class));
+        } else if (variantTag == MemberValue.VariantTag.ARRAY_EXPRESSION) {
+            int arrayExpressionSize = in.readSize();
+            List<Expression> arrayExpression = new ArrayList<>(arrayExpressionSize);
+            for (int idx = 0; idx < arrayExpressionSize; idx++) {
+                arrayExpression.add(readNode(in, Expression.class));
+            }
+            builder.arrayExpression(arrayExpression);
+        } else {
+            throw new IllegalArgumentException("Unknown variant: " + variantTag);
+        }
+        return builder.build();
+    }
+
+    static MethodSyntax readMethodSyntax(SnapshotReader in) {
+        MethodSyntax.Builder builder = MethodSyntax.builder();
+        builder.name(requireMember(in.readString(), "MethodSyntax.name"));
+        int typeParamsSize = in.readSize();
+        List<TypeVariableTypeName> typeParams = new ArrayList<>(typeParamsSize);
+        for (int idx = 0; idx < typeParamsSize; idx++) {
+            typeParams.add(readNode(in, TypeVariableTypeName.class));
+        }
+        builder.typeParams(typeParams);
+        builder.returns(requireMember(readNode(in, TypeName.class), "MethodSyntax.returns"));
+        builder.body(requireMember(readNode(in, Block.class), "MethodSyntax.body"));
+        builder.javadoc(readNode(in, Javadoc.class));
+        int annotationsSize = in.readSize();
+        List<Annotation> annotations = new ArrayList<>(annotationsSize);
+        for (int idx = 0; idx < annotationsSize; idx++) {
+            annotations.add(readNode(in, Annotation.class));
+        }
+        builder.annotations(annotations);
+        int modifiersSize = in.readSize();
+        Set<Modifier> modifiers = new LinkedHashSet<>();
+        for (int idx = 0; idx < modifiersSize; idx++) {
+            modifiers.add(in.readEnum(Modifier.class));
+        }
+        builder.modifiers(modifiers);
+        int parametersSize = in.readSize();
+        List<Parameter> parameters = new ArrayList<>(parametersSize);
+        for (int idx = 0; idx < parametersSize; idx++) {
+            parameters.add(readNode(in, Parameter.class));
+        }
+        builder.parameters(parameters);
+        return builder.build();
+    }
+
+    static Parameter readParameter(SnapshotReader in) {
+        Parameter.Builder builder = Parameter.builder();
+        builder.name(requireMember(in.readString(), "Parameter.name"));
+        builder.type(requireMember(readNode(in, TypeName.class), "Parameter.type"));
+        builder.varargs(in.readBoolean());
+        return builder.build();
+    }
+
+    static ParameterizedTypeName readParameterizedTypeName(SnapshotReader in) {
+        ParameterizedTypeName.Builder builder = ParameterizedTypeName.builder();
+        builder.rawType(requireMember(readNode(in, ClassName.class), "ParameterizedTypeName.rawType"));
+        int typeArgumentsSize = in.readSize();
+        List<TypeName> typeArguments = new ArrayList<>(typeArgumentsSize);
+        for (int idx = 0; idx < typeArgumentsSize; idx++) {
+            typeArguments.add(readNode(in, TypeName.class));
+        }
+        builder.typeArguments(typeArguments);
+        return builder.build();
+    }
+
+    static PrimitiveTypeName readPrimitiveTypeName(SnapshotReader in) {
+        PrimitiveTypeName.Builder builder = PrimitiveTypeName.builder();
+        builder.name(requireMember(in.readEnum(TypePrimitiveName.class), "PrimitiveTypeName.name"));
+        return builder.build();
+    }
+
+    static SwitchStatement readSwitchStatement(SnapshotReader in) {
+        SwitchStatement.Builder builder = SwitchStatement.builder();
+        builder.expression(requireMember(readNode(in, Expression.class), "SwitchStatement.expression"));
+        int casesSize = in.readSize();
+        List<CaseClause> cases = new ArrayList<>(casesSize);
+        for (int idx = 0; idx < casesSize; idx++) {
+            cases.add(readNode(in, CaseClause.class));
+        }
+        builder.cases(cases);
+        builder.defaultCase(readNode(in, DefaultCaseClause.class));
+        return builder.build();
+    }
+
+    static TypeVariableTypeName readTypeVariableTypeName(SnapshotReader in) {
+        TypeVariableTypeName.Builder builder = TypeVariableTypeName.builder();
+        builder.name(requireMember(in.readString(), "TypeVariableTypeName.name"));
+        int boundsSize = in.readSize();
+        List<TypeName> bounds = new ArrayList<>(boundsSize);
+        for (int idx = 0; idx < boundsSize; idx++) {
+            bounds.add(readNode(in, TypeName.class));
+        }
+        builder.bounds(bounds);
+        return builder.build();
+    }
+
+    static WildcardTypeName readWildcardTypeName(SnapshotReader in) {
+        WildcardTypeName.Builder builder = WildcardTypeName.builder();
+        builder.rawType(readNode(in, ClassName.class));
+        int upperBoundsSize = in.readSize();
+        List<TypeName> upperBounds = new ArrayList<>(upperBoundsSize);
+        for (int idx = 0; idx < upperBoundsSize; idx++) {
+            upperBounds.add(readNode(in, TypeName.class));
+        }
+        builder.upperBounds(upperBounds);
+        int lowerBoundsSize = in.readSize();
+        List<TypeName> lowerBounds = new ArrayList<>(lowerBoundsSize);
+        for (int idx = 0; idx < lowerBoundsSize; idx++) {
+            lowerBounds.add(readNode(in, TypeName.class));
+        }
+        builder.lowerBounds(lowerBounds);
+        return builder.build();
+    }
+
+    static final class Writer implements SyntaxNodeVisitor<SyntaxNode> {
+        private final SnapshotWriter out = new SnapshotWriter(SCHEMA);
+
+        void writeNode(SyntaxNode node) {
+            if (!out.writeReference(node)) {
+                node.accept(this);
+            }
+        }
+
+        void writeFormatterNode(FormatterNode node) {
+            if (node == null) {
+                out.writeReference(null);
+            } else if (node instanceof FormatterBlock) {
+                writeFormatterBlock((FormatterBlock) node);
+            } else if (node instanceof FormatterLiteral) {
+                writeFormatterLiteral((FormatterLiteral) node);
+            } else if (node instanceof FormatterString) {
+                writeFormatterString((FormatterString) node);
+            } else if (node instanceof FormatterTypeName) {
+                writeFormatterTypeName((FormatterTypeName) node);
+            } else {
+                throw new IllegalArgumentException("Unknown FormatterNode: " + node.getClass());
+            }
+        }
+
+        @Override
+        public SyntaxNode visitAbstractControlFlow(AbstractControlFlow node) {
+            out.writeKind(KIND_ABSTRACT_CONTROL_FLOW);
+            writeNode(node.prefix());
+            writeNode(node.statement());
+            writeNode(node.next());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitAbstractMethodSyntax(AbstractMethodSyntax node) {
+            out.writeKind(KIND_ABSTRACT_METHOD_SYNTAX);
+            out.writeString(node.name());
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            out.writeSize(typeParams.size());
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                writeNode(typeParams.get(idx));
+            }
+            writeNode(node.returns());
+            writeNode(node.javadoc());
+            List<Annotation> annotations = node.annotations();
+            out.writeSize(annotations.size());
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                writeNode(annotations.get(idx));
+            }
+            Set<Modifier> modifiers = node.modifiers();
+            out.writeSize(modifiers.size());
+            for (Modifier value : modifiers) {
+                out.writeEnum(value);
+            }
+            List<Parameter> parameters = node.parameters();
+            out.writeSize(parameters.size());
+            for (int idx = 0; idx < parameters.size(); idx++) {
+                writeNode(parameters.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitAnnotation(Annotation node) {
+            out.writeKind(KIND_ANNOTATION);
+            writeNode(node.type());
+            Map<String, MemberValue> members = node.members();
+            out.writeSize(members.size());
+            for (Map.Entry<String, MemberValue> entry : members.entrySet()) {
+                out.writeString(entry.getKey());
+                writeMemberValue(entry.getValue());
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitArrayTypeName(ArrayTypeName node) {
+            out.writeKind(KIND_ARRAY_TYPE_NAME);
+            writeNode(node.componentType());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitBlock(Block node) {
+            out.writeKind(KIND_BLOCK);
+            List<Statement> statements = node.statements();
+            out.writeSize(statements.size());
+            for (int idx = 0; idx < statements.size(); idx++) {
+                writeNode(statements.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitCaseClause(CaseClause node) {
+            out.writeKind(KIND_CASE_CLAUSE);
+            List<Expression> label = node.label();
+            out.writeSize(label.size());
+            for (int idx = 0; idx < label.size(); idx++) {
+                writeNode(label.get(idx));
+            }
+            writeNode(node.body());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitClassName(ClassName node) {
+            out.writeKind(KIND_CLASS_NAME);
+            out.writeString(node.name());
+            out.writeString(node.packageName());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitClassSyntax(ClassSyntax node) {
+            out.writeKind(KIND_CLASS_SYNTAX);
+            writeNode(node.superClass());
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            out.writeSize(typeParams.size());
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                writeNode(typeParams.get(idx));
+            }
+            writeNode(node.javadoc());
+            List<BaseMethodSyntax> methods = node.methods();
+            out.writeSize(methods.size());
+            for (int idx = 0; idx < methods.size(); idx++) {
+                writeNode(methods.get(idx));
+            }
+            out.writeString(node.name());
+            List<Annotation> annotations = node.annotations();
+            out.writeSize(annotations.size());
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                writeNode(annotations.get(idx));
+            }
+            Set<Modifier> modifiers = node.modifiers();
+            out.writeSize(modifiers.size());
+            for (Modifier value : modifiers) {
+                out.writeEnum(value);
+            }
+            List<FieldSyntax> fields = node.fields();
+            out.writeSize(fields.size());
+            for (int idx = 0; idx < fields.size(); idx++) {
+                writeNode(fields.get(idx));
+            }
+            List<TypeName> superInterfaces = node.superInterfaces();
+            out.writeSize(superInterfaces.size());
+            for (int idx = 0; idx < superInterfaces.size(); idx++) {
+                writeNode(superInterfaces.get(idx));
+            }
+            List<TypeSyntax> innerTypes = node.innerTypes();
+            out.writeSize(innerTypes.size());
+            for (int idx = 0; idx < innerTypes.size(); idx++) {
+                writeNode(innerTypes.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitCodeBlock(CodeBlock node) {
+            out.writeKind(KIND_CODE_BLOCK);
+            List<FormatterNode> parts = node.parts();
+            out.writeSize(parts.size());
+            for (int idx = 0; idx < parts.size(); idx++) {
+                writeFormatterNode(parts.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitCompilationUnit(CompilationUnit node) {
+            out.writeKind(KIND_COMPILATION_UNIT);
+            out.writeString(node.packageName());
+            Set<ClassName> imports = node.imports();
+            out.writeSize(imports.size());
+            for (ClassName value : imports) {
+                writeNode(value);
+            }
+            writeNode(node.type());
+            Map<String, ClassName> definedNames = node.definedNames();
+            out.writeSize(definedNames.size());
+            for (Map.Entry<String, ClassName> entry : definedNames.entrySet()) {
+                out.writeString(entry.getKey());
+                writeNode(entry.getValue());
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitConstructorMethodSyntax(ConstructorMethodSyntax node) {
+            out.writeKind(KIND_CONSTRUCTOR_METHOD_SYNTAX);
+            writeNode(node.body());
+            writeNode(node.javadoc());
+            List<Annotation> annotations = node.annotations();
+            out.writeSize(annotations.size());
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                writeNode(annotations.get(idx));
+            }
+            Set<Modifier> modifiers = node.modifiers();
+            out.writeSize(modifiers.size());
+            for (Modifier value : modifiers) {
+                out.writeEnum(value);
+            }
+            List<Parameter> parameters = node.parameters();
+            out.writeSize(parameters.size());
+            for (int idx = 0; idx < parameters.size(); idx++) {
+                writeNode(parameters.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitDefaultCaseClause(DefaultCaseClause node) {
+            out.writeKind(KIND_DEFAULT_CASE_CLAUSE);
+            writeNode(node.body());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitEnumConstant(EnumConstant node) {
+            out.writeKind(KIND_ENUM_CONSTANT);
+            writeNode(node.javadoc());
+            out.writeString(node.name());
+            writeNode(node.body());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitEnumSyntax(EnumSyntax node) {
+            out.writeKind(KIND_ENUM_SYNTAX);
+            List<EnumConstant> enumConstants = node.enumConstants();
+            out.writeSize(enumConstants.size());
+            for (int idx = 0; idx < enumConstants.size(); idx++) {
+                writeNode(enumConstants.get(idx));
+            }
+            writeNode(node.javadoc());
+            List<BaseMethodSyntax> methods = node.methods();
+            out.writeSize(methods.size());
+            for (int idx = 0; idx < methods.size(); idx++) {
+                writeNode(methods.get(idx));
+            }
+            out.writeString(node.name());
+            List<Annotation> annotations = node.annotations();
+            out.writeSize(annotations.size());
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                writeNode(annotations.get(idx));
+            }
+            Set<Modifier> modifiers = node.modifiers();
+            out.writeSize(modifiers.size());
+            for (Modifier value : modifiers) {
+                out.writeEnum(value);
+            }
+            List<FieldSyntax> fields = node.fields();
+            out.writeSize(fields.size());
+            for (int idx = 0; idx < fields.size(); idx++) {
+                writeNode(fields.get(idx));
+            }
+            List<TypeName> superInterfaces = node.superInterfaces();
+            out.writeSize(superInterfaces.size());
+            for (int idx = 0; idx < superInterfaces.size(); idx++) {
+                writeNode(superInterfaces.get(idx));
+            }
+            List<TypeSyntax> innerTypes = node.innerTypes();
+            out.writeSize(innerTypes.size());
+            for (int idx = 0; idx < innerTypes.size(); idx++) {
+                writeNode(innerTypes.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitFieldSyntax(FieldSyntax node) {
+            out.writeKind(KIND_FIELD_SYNTAX);
+            writeNode(node.javadoc());
+            out.writeString(node.name());
+            writeNode(node.type());
+            Set<Modifier> modifiers = node.modifiers();
+            out.writeSize(modifiers.size());
+            for (Modifier value : modifiers) {
+                out.writeEnum(value);
+            }
+            List<Annotation> annotations = node.annotations();
+            out.writeSize(annotations.size());
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                writeNode(annotations.get(idx));
+            }
+            writeNode(node.initializer());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitForStatement(ForStatement node) {
+            out.writeKind(KIND_FOR_STATEMENT);
+            writeNode(node.initializer());
+            writeNode(node.statement());
+            out.register(node);
+            return node;
+        }
+
+        void writeFormatterBlock(FormatterBlock node) {
+            if (out.writeReference(node)) {
+                return;
+            }
+            out.writeKind(KIND_FORMATTER_BLOCK);
+            writeNode(node.value());
+            out.register(node);
+        }
+
+        void writeFormatterLiteral(FormatterLiteral node) {
+            if (out.writeReference(node)) {
+                return;
+            }
+            out.writeKind(KIND_FORMATTER_LITERAL);
+            out.writeString(node.value());
+            out.register(node);
+        }
+
+        void writeFormatterString(FormatterString node) {
+            if (out.writeReference(node)) {
+                return;
+            }
+            out.writeKind(KIND_FORMATTER_STRING);
+            out.writeString(node.value());
+            out.register(node);
+        }
+
+        void writeFormatterTypeName(FormatterTypeName node) {
+            if (out.writeReference(node)) {
+                return;
+            }
+            out.writeKind(KIND_FORMATTER_TYPE_NAME);
+            writeNode(node.value());
+            out.register(node);
+        }
+
+        @Override
+        public SyntaxNode visitIfStatement(IfStatement node) {
+            out.writeKind(KIND_IF_STATEMENT);
+            writeNode(node.expression());
+            writeNode(node.statement());
+            writeNode(node.elseStatement());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitInterfaceSyntax(InterfaceSyntax node) {
+            out.writeKind(KIND_INTERFACE_SYNTAX);
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            out.writeSize(typeParams.size());
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                writeNode(typeParams.get(idx));
+            }
+            writeNode(node.javadoc());
+            List<BaseMethodSyntax> methods = node.methods();
+            out.writeSize(methods.size());
+            for (int idx = 0; idx < methods.size(); idx++) {
+                writeNode(methods.get(idx));
+            }
+            out.writeString(node.name());
+            List<Annotation> annotations = node.annotations();
+            out.writeSize(annotations.size());
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                writeNode(annotations.get(idx));
+            }
+            Set<Modifier> modifiers = node.modifiers();
+            out.writeSize(modifiers.size());
+            for (Modifier value : modifiers) {
+                out.writeEnum(value);
+            }
+            List<FieldSyntax> fields = node.fields();
+            out.writeSize(fields.size());
+            for (int idx = 0; idx < fields.size(); idx++) {
+                writeNode(fields.get(idx));
+            }
+            List<TypeName> superInterfaces = node.superInterfaces();
+            out.writeSize(superInterfaces.size());
+            for (int idx = 0; idx < superInterfaces.size(); idx++) {
+                writeNode(superInterfaces.get(idx));
+            }
+            List<TypeSyntax> innerTypes = node.innerTypes();
+            out.writeSize(innerTypes.size());
+            for (int idx = 0; idx < innerTypes.size(); idx++) {
+                writeNode(innerTypes.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        void writeMemberValue(MemberValue node) {
+            if (out.writeReference(node)) {
+                return;
+            }
+            out.writeKind(KIND_MEMBER_VALUE);
+            MemberValue.VariantTag variantTag = node.variantTag();
+            out.writeEnum(variantTag);
+            if (variantTag == MemberValue.VariantTag.EXPRESSION) {
+                writeNode(node.expression());
+            } else if (variantTag == MemberValue.VariantTag.ARRAY_EXPRESSION) {
+                List<Expression> arrayExpression = node.arrayExpression();
+                out.writeSize(arrayExpression.size());
+                for (int idx = 0; idx < arrayExpression.size(); idx++) {
+                    writeNode(arrayExpression.get(idx));
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown variant: " + variantTag);
+            }
+            out.register(node);
+        }
+
+        @Override
+        public SyntaxNode visitMethodSyntax(MethodSyntax node) {
+            out.writeKind(KIND_METHOD_SYNTAX);
+            out.writeString(node.name());
+            List<TypeVariableTypeName> typeParams = node.typeParams();
+            out.writeSize(typeParams.size());
+            for (int idx = 0; idx < typeParams.size(); idx++) {
+                writeNode(typeParams.get(idx));
+            }
+            writeNode(node.returns());
+            writeNode(node.body());
+            writeNode(node.javadoc());
+            List<Annotation> annotations = node.annotations();
+            out.writeSize(annotations.size());
+            for (int idx = 0; idx < annotations.size(); idx++) {
+                writeNode(annotations.get(idx));
+            }
+            Set<Modifier> modifiers = node.modifiers();
+            out.writeSize(modifiers.size());
+            for (Modifier value : modifiers) {
+                out.writeEnum(value);
+            }
+            List<Parameter> parameters = node.parameters();
+            out.writeSize(parameters.size());
+            for (int idx = 0; idx < parameters.size(); idx++) {
+                writeNode(parameters.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitParameter(Parameter node) {
+            out.writeKind(KIND_PARAMETER);
+            out.writeString(node.name());
+            writeNode(node.type());
+            out.writeBoolean(node.varargs());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitParameterizedTypeName(ParameterizedTypeName node) {
+            out.writeKind(KIND_PARAMETERIZED_TYPE_NAME);
+            writeNode(node.rawType());
+            List<TypeName> typeArguments = node.typeArguments();
+            out.writeSize(typeArguments.size());
+            for (int idx = 0; idx < typeArguments.size(); idx++) {
+                writeNode(typeArguments.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitPrimitiveTypeName(PrimitiveTypeName node) {
+            out.writeKind(KIND_PRIMITIVE_TYPE_NAME);
+            out.writeEnum(node.name());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitSwitchStatement(SwitchStatement node) {
+            out.writeKind(KIND_SWITCH_STATEMENT);
+            writeNode(node.expression());
+            List<CaseClause> cases = node.cases();
+            out.writeSize(cases.size());
+            for (int idx = 0; idx < cases.size(); idx++) {
+                writeNode(cases.get(idx));
+            }
+            writeNode(node.defaultCase());
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitTypeVariableTypeName(TypeVariableTypeName node) {
+            out.writeKind(KIND_TYPE_VARIABLE_TYPE_NAME);
+            out.writeString(node.name());
+            List<TypeName> bounds = node.bounds();
+            out.writeSize(bounds.size());
+            for (int idx = 0; idx < bounds.size(); idx++) {
+                writeNode(bounds.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+
+        @Override
+        public SyntaxNode visitWildcardTypeName(WildcardTypeName node) {
+            out.writeKind(KIND_WILDCARD_TYPE_NAME);
+            writeNode(node.rawType());
+            List<TypeName> upperBounds = node.upperBounds();
+            out.writeSize(upperBounds.size());
+            for (int idx = 0; idx < upperBounds.size(); idx++) {
+                writeNode(upperBounds.get(idx));
+            }
+            List<TypeName> lowerBounds = node.lowerBounds();
+            out.writeSize(lowerBounds.size());
+            for (int idx = 0; idx < lowerBounds.size(); idx++) {
+                writeNode(lowerBounds.get(idx));
+            }
+            out.register(node);
+            return node;
+        }
+    }
+}
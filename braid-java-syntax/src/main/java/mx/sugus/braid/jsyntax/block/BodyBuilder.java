@@ -104,5 +104,10 @@ public final class BodyBuilder extends AbstractBlockBuilder<BodyBuilder, Block>
         protected BodyBuilder clearTransient(BodyBuilder source) {
             return new BodyBuilder();
         }
+
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
     }
 }
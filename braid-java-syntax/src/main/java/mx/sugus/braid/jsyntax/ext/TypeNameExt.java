@@ -6,6 +6,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import mx.sugus.braid.jsyntax.ArrayTypeName;
 import mx.sugus.braid.jsyntax.ClassName;
 import mx.sugus.braid.jsyntax.ParameterizedTypeName;
@@ -14,6 +15,17 @@ import mx.sugus.braid.jsyntax.TypeName;
 import mx.sugus.braid.jsyntax.TypePrimitiveName;
 
 public final class TypeNameExt {
+    // Max number of interned type names, the interner is cleared once full. Declared before the constants below given
+    // that ClassName.from interns the values.
+    private static final int MAX_INTERNED_TYPE_NAMES = 16384;
+    private static final Map<TypeName, TypeName> INTERNED = new ConcurrentHashMap<>();
+    private static final ClassValue<TypeName> CLASS_TYPE_NAMES = new ClassValue<>() {
+        @Override
+        protected TypeName computeValue(Class<?> kclass) {
+            return fromClass(kclass);
+        }
+    };
+
     public static final ClassName BIG_DECIMAL = ClassName.from(BigDecimal.class);
     public static final ClassName BIG_INTEGER = ClassName.from(BigInteger.class);
     public static final ClassName BOOLEAN = ClassName.from(Boolean.class);
@@ -32,32 +44,61 @@ public final class TypeNameExt {
     public static final ClassName STRING = ClassName.from(String.class);
     public static final ClassName VOID = ClassName.from(Void.class);
 
-    public static final PrimitiveTypeName P_VOID = PrimitiveTypeName.builder().name(TypePrimitiveName.VOID).build();
-    public static final PrimitiveTypeName P_BOOLEAN = PrimitiveTypeName.builder().name(TypePrimitiveName.BOOLEAN).build();
-    public static final PrimitiveTypeName P_BYTE = PrimitiveTypeName.builder().name(TypePrimitiveName.BYTE).build();
-    public static final PrimitiveTypeName P_SHORT = PrimitiveTypeName.builder().name(TypePrimitiveName.SHORT).build();
-    public static final PrimitiveTypeName P_INT = PrimitiveTypeName.builder().name(TypePrimitiveName.INT).build();
-    public static final PrimitiveTypeName P_LONG = PrimitiveTypeName.builder().name(TypePrimitiveName.LONG).build();
-    public static final PrimitiveTypeName P_CHAR = PrimitiveTypeName.builder().name(TypePrimitiveName.CHAR).build();
-    public static final PrimitiveTypeName P_FLOAT = PrimitiveTypeName.builder().name(TypePrimitiveName.FLOAT).build();
-    public static final PrimitiveTypeName P_DOUBLE = PrimitiveTypeName.builder().name(TypePrimitiveName.DOUBLE).build();
+    public static final PrimitiveTypeName P_VOID = primitive(TypePrimitiveName.VOID);
+    public static final PrimitiveTypeName P_BOOLEAN = primitive(TypePrimitiveName.BOOLEAN);
+    public static final PrimitiveTypeName P_BYTE = primitive(TypePrimitiveName.BYTE);
+    public static final PrimitiveTypeName P_SHORT = primitive(TypePrimitiveName.SHORT);
+    public static final PrimitiveTypeName P_INT = primitive(TypePrimitiveName.INT);
+    public static final PrimitiveTypeName P_LONG = primitive(TypePrimitiveName.LONG);
+    public static final PrimitiveTypeName P_CHAR = primitive(TypePrimitiveName.CHAR);
+    public static final PrimitiveTypeName P_FLOAT = primitive(TypePrimitiveName.FLOAT);
+    public static final PrimitiveTypeName P_DOUBLE = primitive(TypePrimitiveName.DOUBLE);
 
     private TypeNameExt() {
     }
 
     public static TypeName listOf(TypeName typeParam) {
-        return ParameterizedTypeName.from(LIST, typeParam);
+        return intern(ParameterizedTypeName.from(LIST, typeParam));
     }
 
     public static TypeName setOf(TypeName typeParam) {
-        return ParameterizedTypeName.from(SET, typeParam);
+        return intern(ParameterizedTypeName.from(SET, typeParam));
     }
 
     public static TypeName mapOf(TypeName keyType, TypeName valueType) {
-        return ParameterizedTypeName.from(MAP, keyType, valueType);
+        return intern(ParameterizedTypeName.from(MAP, keyType, valueType));
+    }
+
+    /**
+     * Returns the canonical instance of the given type name. Type names are immutable, interning them allows to share
+     * the instances, and their cached hash codes, across the syntax trees and makes the equality checks between them
+     * an identity check.
+     *
+     * @param typeName the type name to intern
+     * @param <T>      the type of the type name
+     * @return the canonical instance equal to the given type name
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends TypeName> T intern(T typeName) {
+        var result = INTERNED.get(typeName);
+        if (result == null) {
+            if (INTERNED.size() >= MAX_INTERNED_TYPE_NAMES) {
+                INTERNED.clear();
+            }
+            result = INTERNED.putIfAbsent(typeName, typeName);
+            if (result == null) {
+                return typeName;
+            }
+        }
+        // Equal type names are always of the same class.
+        return (T) result;
     }
 
     public static TypeName from(Class<?> kclass) {
+        return CLASS_TYPE_NAMES.get(kclass);
+    }
+
+    private static TypeName fromClass(Class<?> kclass) {
         if (kclass.isArray()) {
             var arrayClass = kclass;
             var componentType = arrayClass.getComponentType();
@@ -78,6 +119,10 @@ public final class TypeNameExt {
         return ClassName.from(kclass);
     }
 
+    private static PrimitiveTypeName primitive(TypePrimitiveName name) {
+        return intern(PrimitiveTypeName.builder().name(name).build());
+    }
+
     private static TypeName fromPrimitive(Class<?> kclass) {
         switch (kclass.getSimpleName()) {
             case "void":
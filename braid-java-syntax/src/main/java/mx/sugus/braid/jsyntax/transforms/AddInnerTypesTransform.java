@@ -3,11 +3,7 @@ package mx.sugus.braid.jsyntax.transforms;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import mx.sugus.braid.jsyntax.ClassSyntax;
-import mx.sugus.braid.jsyntax.EnumSyntax;
-import mx.sugus.braid.jsyntax.InterfaceSyntax;
 import mx.sugus.braid.jsyntax.SyntaxNode;
-import mx.sugus.braid.jsyntax.SyntaxNodeRewriteVisitor;
 import mx.sugus.braid.jsyntax.TypeSyntax;
 
 public class AddInnerTypesTransform implements SyntaxNodeTransformer {
@@ -21,15 +17,17 @@ public class AddInnerTypesTransform implements SyntaxNodeTransformer {
         this.types = Objects.requireNonNull(builder.types, "types");
     }
 
+    TypeMatcher.InnerTypeMatcher typeMatcher() {
+        return typeMatcher;
+    }
+
+    AddPosition position() {
+        return position;
+    }
+
     @Override
     public SyntaxNode transform(SyntaxNode node) {
-        var visitor = new TransformVisitor();
-        var result = node.accept(visitor);
-        if (!visitor.added) {
-            throw new IllegalArgumentException("The given type does not match any of the constraints, types not added."
-                                               + " node: " + node);
-        }
-        return result;
+        return new InsertionsTransform(List.of(new InsertionsTransform.InnerTypesInsertion(this))).transform(node);
     }
 
     public List<TypeSyntax> types() {
@@ -79,78 +77,4 @@ public class AddInnerTypesTransform implements SyntaxNodeTransformer {
             return new AddInnerTypesTransform(this);
         }
     }
-
-    class TransformVisitor extends SyntaxNodeRewriteVisitor {
-        private boolean added = false;
-
-        @Override
-        public ClassSyntax visitClassSyntax(ClassSyntax syntax) {
-            var node = super.visitClassSyntax(syntax);
-            return (ClassSyntax) visitTypeSyntax(node);
-        }
-
-        @Override
-        public InterfaceSyntax visitInterfaceSyntax(InterfaceSyntax syntax) {
-            var node = super.visitInterfaceSyntax(syntax);
-            return (InterfaceSyntax) visitTypeSyntax(node);
-        }
-
-        @Override
-        public EnumSyntax visitEnumSyntax(EnumSyntax syntax) {
-            var node = super.visitEnumSyntax(syntax);
-            return (EnumSyntax) visitTypeSyntax(node);
-        }
-
-        private TypeSyntax visitTypeSyntax(TypeSyntax typeSyntax) {
-            if (!typeMatcher.parentMatches(typeSyntax)) {
-                return typeSyntax;
-            }
-            var innerTypes = new ArrayList<TypeSyntax>();
-            var done = false;
-            if (position == AddPosition.BEFORE) {
-                for (var innerType : typeSyntax.innerTypes()) {
-                    if (!done && typeMatcher.matches(innerType)) {
-                        innerTypes.addAll(types());
-                        done = true;
-                    }
-                    innerTypes.add(innerType);
-                }
-                if (!done) {
-                    if (typeSyntax.methods().isEmpty() && typeMatcher.matchesOnEmpty()) {
-                        innerTypes.addAll(types());
-                        done = true;
-                    }
-                }
-            } else if (position == AddPosition.AFTER) {
-                var foundFirstMatch = false;
-                for (var innerType : typeSyntax.innerTypes()) {
-                    if (typeMatcher.matches(innerType) && !done) {
-                        foundFirstMatch = true;
-                        innerTypes.add(innerType);
-                    } else if (foundFirstMatch && !done) {
-                        innerTypes.addAll(types());
-                        innerTypes.add(innerType);
-                        done = true;
-                    } else {
-                        innerTypes.add(innerType);
-                    }
-                }
-                if (!done) {
-                    if (foundFirstMatch || (typeSyntax.methods().isEmpty() && typeMatcher.matchesOnEmpty())) {
-                        innerTypes.addAll(types());
-                        done = true;
-                    }
-                }
-            }
-            added = done;
-            if (done) {
-                return addInnerTypes(typeSyntax, innerTypes);
-            }
-            return typeSyntax;
-        }
-
-        private TypeSyntax addInnerTypes(TypeSyntax typeSyntax, List<TypeSyntax> innerTypes) {
-            return typeSyntax.toBuilder().innerTypes(innerTypes).build();
-        }
-    }
-}
\ No newline at end of file
+}
@@ -4,15 +4,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import mx.sugus.braid.jsyntax.BaseMethodSyntax;
-import mx.sugus.braid.jsyntax.ClassSyntax;
-import mx.sugus.braid.jsyntax.EnumSyntax;
-import mx.sugus.braid.jsyntax.InterfaceSyntax;
 import mx.sugus.braid.jsyntax.SyntaxNode;
-import mx.sugus.braid.jsyntax.SyntaxNodeRewriteVisitor;
-import mx.sugus.braid.jsyntax.TypeSyntax;
 
 /**
- * A syntax node transform to add methods to a type.
+ * A syntax node transform to add methods to a type. To add methods to several places at once use {@link BatchTransform}.
  */
 public final class AddMethodsTransform implements SyntaxNodeTransformer {
     private final TypeMatcher typeMatcher;
@@ -31,15 +26,21 @@ public final class AddMethodsTransform implements SyntaxNodeTransformer {
         return methods;
     }
 
+    TypeMatcher typeMatcher() {
+        return typeMatcher;
+    }
+
+    MethodMatcher methodMatcher() {
+        return methodMatcher;
+    }
+
+    AddPosition position() {
+        return position;
+    }
+
     @Override
     public SyntaxNode transform(SyntaxNode node) {
-        var visitor = new TransformVisitor();
-        var result = node.accept(visitor);
-        if (!visitor.added) {
-            throw new IllegalArgumentException("The given type does not match any of the constraints, methods not added."
-            + " node: " + node);
-        }
-        return result;
+        return new InsertionsTransform(List.of(new InsertionsTransform.MethodsInsertion(this))).transform(node);
     }
 
     /**
@@ -91,78 +92,4 @@ public final class AddMethodsTransform implements SyntaxNodeTransformer {
             return new AddMethodsTransform(this);
         }
     }
-
-    class TransformVisitor extends SyntaxNodeRewriteVisitor {
-        private boolean added = false;
-
-        @Override
-        public ClassSyntax visitClassSyntax(ClassSyntax syntax) {
-            var node = super.visitClassSyntax(syntax);
-            return (ClassSyntax) visitTypeSyntax(node);
-        }
-
-        @Override
-        public InterfaceSyntax visitInterfaceSyntax(InterfaceSyntax syntax) {
-            var node = super.visitInterfaceSyntax(syntax);
-            return (InterfaceSyntax) visitTypeSyntax(node);
-        }
-
-        @Override
-        public EnumSyntax visitEnumSyntax(EnumSyntax syntax) {
-            var node = super.visitEnumSyntax(syntax);
-            return (EnumSyntax) visitTypeSyntax(node);
-        }
-
-        private TypeSyntax visitTypeSyntax(TypeSyntax typeSyntax) {
-            if (!typeMatcher.matches(typeSyntax)) {
-                return typeSyntax;
-            }
-            var methods = new ArrayList<BaseMethodSyntax>();
-            var done = false;
-            if (position == AddPosition.BEFORE) {
-                for (var method : typeSyntax.methods()) {
-                    if (!done && methodMatcher.matches(method)) {
-                        methods.addAll(methods());
-                        done = true;
-                    }
-                    methods.add(method);
-                }
-                if (!done) {
-                    if (typeSyntax.methods().isEmpty() && methodMatcher.matchesOnEmpty()) {
-                        methods.addAll(methods());
-                        done = true;
-                    }
-                }
-            } else if (position == AddPosition.AFTER) {
-                var foundFirstMatch = false;
-                for (var method : typeSyntax.methods()) {
-                    if (methodMatcher.matches(method) && !done) {
-                        foundFirstMatch = true;
-                        methods.add(method);
-                    } else if (foundFirstMatch && !done) {
-                        methods.addAll(methods());
-                        methods.add(method);
-                        done = true;
-                    } else {
-                        methods.add(method);
-                    }
-                }
-                if (!done) {
-                    if (foundFirstMatch || (typeSyntax.methods().isEmpty() && methodMatcher.matchesOnEmpty())) {
-                        methods.addAll(methods());
-                        done = true;
-                    }
-                }
-            }
-            added = done;
-            if (done) {
-                return addMethods(typeSyntax, methods);
-            }
-            return typeSyntax;
-        }
-
-        private TypeSyntax addMethods(TypeSyntax typeSyntax, List<BaseMethodSyntax> methods) {
-            return typeSyntax.toBuilder().methods(methods).build();
-        }
-    }
 }
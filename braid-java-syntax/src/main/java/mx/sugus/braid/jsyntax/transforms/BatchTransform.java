@@ -0,0 +1,128 @@
+package mx.sugus.braid.jsyntax.transforms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import mx.sugus.braid.jsyntax.BaseMethodSyntax;
+import mx.sugus.braid.jsyntax.SyntaxNode;
+
+/**
+ * A syntax node transform that applies a sequence of transforms. Consecutive {@link AddMethodsTransform} and
+ * {@link AddInnerTypesTransform} transforms are fused and applied together in a single traversal of the syntax tree, any
+ * other transform is applied on its own, in the order it was added.
+ *
+ * <p>The result is the same as applying each of the transforms in order, provided that the type matchers only inspect the
+ * type itself and not its inner types. If any of the insertions does not match, an {@link IllegalArgumentException} is
+ * thrown as the individual transform would've. As with the individual transforms, when an insertion matches several
+ * types, whether it was applied is decided by the last one visited, the inner types added by the batch are visited after
+ * the existing inner types of their parent.
+ */
+public final class BatchTransform implements SyntaxNodeTransformer {
+    private final List<SyntaxNodeTransformer> steps;
+
+    BatchTransform(Builder builder) {
+        builder.flushInsertions();
+        this.steps = List.copyOf(builder.steps);
+    }
+
+    @Override
+    public SyntaxNode transform(SyntaxNode node) {
+        var result = node;
+        for (var step : steps) {
+            result = step.transform(result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new builder.
+     *
+     * @return a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<SyntaxNodeTransformer> steps = new ArrayList<>();
+        private final List<InsertionsTransform.Insertion> insertions = new ArrayList<>();
+
+        /**
+         * Adds a transform to the batch.
+         *
+         * @param transformer the transform to add
+         * @return this builder
+         */
+        public Builder add(SyntaxNodeTransformer transformer) {
+            Objects.requireNonNull(transformer, "transformer");
+            if (transformer instanceof AddMethodsTransform t) {
+                insertions.add(new InsertionsTransform.MethodsInsertion(t));
+            } else if (transformer instanceof AddInnerTypesTransform t) {
+                insertions.add(new InsertionsTransform.InnerTypesInsertion(t));
+            } else if (transformer instanceof BatchTransform t) {
+                t.steps.forEach(this::add);
+            } else {
+                flushInsertions();
+                steps.add(transformer);
+            }
+            return this;
+        }
+
+        /**
+         * Adds all the given transforms to the batch.
+         *
+         * @param transformers the transforms to add
+         * @return this builder
+         */
+        public Builder addAll(Collection<? extends SyntaxNodeTransformer> transformers) {
+            for (var transformer : transformers) {
+                add(transformer);
+            }
+            return this;
+        }
+
+        /**
+         * Adds an insertion of methods to the batch, see {@link AddMethodsTransform}.
+         *
+         * @param typeMatcher   the matcher for the type to add the methods to
+         * @param methodMatcher the matcher for the method used as reference to add the methods
+         * @param position      whether to add the methods before or after the matched methods
+         * @param methods       the methods to add
+         * @return this builder
+         */
+        public Builder addMethods(
+            TypeMatcher typeMatcher,
+            MethodMatcher methodMatcher,
+            AddPosition position,
+            List<? extends BaseMethodSyntax> methods
+        ) {
+            return add(AddMethodsTransform.builder()
+                                          .typeMatcher(typeMatcher)
+                                          .methodMatcher(methodMatcher)
+                                          .position(position)
+                                          .methods(methods)
+                                          .build());
+        }
+
+        /**
+         * Returns true if no transforms have been added.
+         *
+         * @return true if no transforms have been added
+         */
+        public boolean isEmpty() {
+            return steps.isEmpty() && insertions.isEmpty();
+        }
+
+        public BatchTransform build() {
+            return new BatchTransform(this);
+        }
+
+        void flushInsertions() {
+            if (!insertions.isEmpty()) {
+                steps.add(new InsertionsTransform(insertions));
+                insertions.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package mx.sugus.braid.jsyntax.transforms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import mx.sugus.braid.jsyntax.AbstractMethodSyntax;
+import mx.sugus.braid.jsyntax.BaseMethodSyntax;
+import mx.sugus.braid.jsyntax.ClassSyntax;
+import mx.sugus.braid.jsyntax.EnumSyntax;
+import mx.sugus.braid.jsyntax.InterfaceSyntax;
+import mx.sugus.braid.jsyntax.MethodSyntax;
+import mx.sugus.braid.jsyntax.SyntaxNode;
+import mx.sugus.braid.jsyntax.SyntaxNodeRewriteVisitor;
+import mx.sugus.braid.jsyntax.TypeSyntax;
+
+/**
+ * Applies a sequence of method and inner type insertions in a single traversal of the syntax tree. Each type is visited
+ * once, after its inner types, and the insertions that match it are applied, in order, to its list of methods or inner
+ * types, which yields the same result as applying each insertion on its own traversal.
+ *
+ * <p>The insertions are indexed by the name of the type they target, when matched by name, and the names of the methods
+ * of each type are tracked while inserting, such that insertions that match methods by name only scan the methods of the
+ * types that have them.
+ */
+final class InsertionsTransform implements SyntaxNodeTransformer {
+    private static final int[] EMPTY = new int[0];
+    private final Insertion[] insertions;
+    private final Map<String, int[]> byTypeName;
+    private final int[] unindexed;
+
+    InsertionsTransform(List<Insertion> insertions) {
+        this.insertions = insertions.toArray(new Insertion[0]);
+        var named = new HashMap<String, List<Integer>>();
+        var rest = new ArrayList<Integer>();
+        for (var idx = 0; idx < this.insertions.length; idx++) {
+            var typeName = this.insertions[idx].typeName();
+            if (typeName != null) {
+                named.computeIfAbsent(typeName, k -> new ArrayList<>()).add(idx);
+            } else {
+                rest.add(idx);
+            }
+        }
+        this.unindexed = toSortedArray(rest, List.of());
+        this.byTypeName = new HashMap<>();
+        for (var entry : named.entrySet()) {
+            byTypeName.put(entry.getKey(), toSortedArray(entry.getValue(), rest));
+        }
+    }
+
+    @Override
+    public SyntaxNode transform(SyntaxNode node) {
+        var added = new boolean[insertions.length];
+        var result = node.accept(new InsertionsVisitor(0, added));
+        for (var idx = 0; idx < insertions.length; idx++) {
+            if (!added[idx]) {
+                throw new IllegalArgumentException("The given type does not match any of the constraints, "
+                                                   + insertions[idx].kind() + " not added. node: " + node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies to the type the insertions starting with the one at the given index. Records in {@code added} whether each
+     * insertion got applied, the last type matched by the insertion wins.
+     */
+    private TypeSyntax apply(TypeSyntax type, int from, boolean[] added) {
+        var candidates = byTypeName.getOrDefault(type.name(), unindexed);
+        TypeState state = null;
+        for (var idx : candidates) {
+            if (idx < from) {
+                continue;
+            }
+            var insertion = insertions[idx];
+            if (!insertion.typeMatches(type)) {
+                continue;
+            }
+            if (state == null) {
+                state = new TypeState(type);
+            }
+            added[idx] = insertion.apply(state, this, idx, added);
+        }
+        if (state == null) {
+            return type;
+        }
+        return state.build();
+    }
+
+    /**
+     * Applies to the given types, about to be inserted, the insertions after the one at the given index, as those would've
+     * been applied to them if each insertion were applied on its own traversal.
+     */
+    List<TypeSyntax> rewriteInserted(List<TypeSyntax> types, int idx, boolean[] added) {
+        if (idx + 1 == insertions.length) {
+            return types;
+        }
+        var visitor = new InsertionsVisitor(idx + 1, added);
+        var result = new ArrayList<TypeSyntax>(types.size());
+        for (var type : types) {
+            result.add((TypeSyntax) type.accept(visitor));
+        }
+        return result;
+    }
+
+    private static int[] toSortedArray(List<Integer> first, List<Integer> second) {
+        if (first.isEmpty() && second.isEmpty()) {
+            return EMPTY;
+        }
+        var result = new int[first.size() + second.size()];
+        var size = 0;
+        for (var value : first) {
+            result[size++] = value;
+        }
+        for (var value : second) {
+            result[size++] = value;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the index at which the values have to be inserted, or -1 if there's no match. Before the first match, or
+     * after the run of consecutive matches that starts with it.
+     */
+    static <T> int insertionIndex(List<T> values, Predicate<T> matcher, AddPosition position) {
+        var size = values.size();
+        for (var idx = 0; idx < size; idx++) {
+            if (matcher.test(values.get(idx))) {
+                if (position == AddPosition.BEFORE) {
+                    return idx;
+                }
+                var end = idx + 1;
+                while (end < size && matcher.test(values.get(end))) {
+                    end++;
+                }
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    static String methodName(BaseMethodSyntax method) {
+        if (method instanceof MethodSyntax m) {
+            return m.name();
+        }
+        if (method instanceof AbstractMethodSyntax m) {
+            return m.name();
+        }
+        return null;
+    }
+
+    /**
+     * A single insertion of methods or inner types.
+     */
+    interface Insertion {
+
+        /**
+         * Returns the name of the type targeted by this insertion, or null if it's not matched by name.
+         */
+        String typeName();
+
+        /**
+         * Returns what's being inserted, used for error messages.
+         */
+        String kind();
+
+        boolean typeMatches(TypeSyntax type);
+
+        /**
+         * Applies this insertion, found at the given index of the transform, to the type state. Returns true if the
+         * insertion was done.
+         */
+        boolean apply(TypeState state, InsertionsTransform transform, int idx, boolean[] added);
+    }
+
+    /**
+     * An insertion of methods, see {@link AddMethodsTransform}.
+     */
+    static final class MethodsInsertion implements Insertion {
+        private final TypeMatcher typeMatcher;
+        private final MethodMatcher methodMatcher;
+        private final AddPosition position;
+        private final List<BaseMethodSyntax> methods;
+
+        MethodsInsertion(AddMethodsTransform transform) {
+            this.typeMatcher = transform.typeMatcher();
+            this.methodMatcher = transform.methodMatcher();
+            this.position = transform.position();
+            this.methods = transform.methods();
+        }
+
+        @Override
+        public String typeName() {
+            if (typeMatcher instanceof TypeMatcher.NameMatcher m) {
+                return m.name();
+            }
+            return null;
+        }
+
+        @Override
+        public String kind() {
+            return "methods";
+        }
+
+        @Override
+        public boolean typeMatches(TypeSyntax type) {
+            return typeMatcher.matches(type);
+        }
+
+        @Override
+        public boolean apply(TypeState state, InsertionsTransform transform, int idx, boolean[] added) {
+            var current = state.methods();
+            var index = -1;
+            if (!(methodMatcher instanceof MethodMatcher.NameMatcher m) || state.methodNames().contains(m.name())) {
+                index = insertionIndex(current, methodMatcher::matches, position);
+            }
+            if (index == -1) {
+                if (!current.isEmpty() || !methodMatcher.matchesOnEmpty()) {
+                    return false;
+                }
+                index = 0;
+            }
+            state.insertMethods(index, methods);
+            return true;
+        }
+    }
+
+    /**
+     * An insertion of inner types, see {@link AddInnerTypesTransform}.
+     */
+    static final class InnerTypesInsertion implements Insertion {
+        private final TypeMatcher.InnerTypeMatcher typeMatcher;
+        private final AddPosition position;
+        private final List<TypeSyntax> types;
+
+        InnerTypesInsertion(AddInnerTypesTransform transform) {
+            this.typeMatcher = transform.typeMatcher();
+            this.position = transform.position();
+            this.types = transform.types();
+        }
+
+        @Override
+        public String typeName() {
+            if (typeMatcher.parentMatcher() instanceof TypeMatcher.NameMatcher m) {
+                return m.name();
+            }
+            return null;
+        }
+
+        @Override
+        public String kind() {
+            return "types";
+        }
+
+        @Override
+        public boolean typeMatches(TypeSyntax type) {
+            return typeMatcher.parentMatches(type);
+        }
+
+        @Override
+        public boolean apply(TypeState state, InsertionsTransform transform, int idx, boolean[] added) {
+            var current = state.innerTypes();
+            var index = insertionIndex(current, typeMatcher::matches, position);
+            if (index == -1) {
+                // Checks the methods, as the individual transform has always done.
+                if (!state.methods().isEmpty() || !typeMatcher.matchesOnEmpty()) {
+                    return false;
+                }
+                index = current.size();
+            }
+            state.insertInnerTypes(index, transform.rewriteInserted(types, idx, added));
+            return true;
+        }
+    }
+
+    /**
+     * The methods and inner types of a type being modified, copied on the first insertion.
+     */
+    static final class TypeState {
+        private final TypeSyntax type;
+        private List<BaseMethodSyntax> methods;
+        private List<TypeSyntax> innerTypes;
+        private Set<String> methodNames;
+
+        TypeState(TypeSyntax type) {
+            this.type = type;
+        }
+
+        List<BaseMethodSyntax> methods() {
+            if (methods == null) {
+                return type.methods();
+            }
+            return methods;
+        }
+
+        List<TypeSyntax> innerTypes() {
+            if (innerTypes == null) {
+                return type.innerTypes();
+            }
+            return innerTypes;
+        }
+
+        Set<String> methodNames() {
+            if (methodNames == null) {
+                methodNames = new HashSet<>();
+                for (var method : methods()) {
+                    methodNames.add(methodName(method));
+                }
+            }
+            return methodNames;
+        }
+
+        void insertMethods(int index, List<BaseMethodSyntax> values) {
+            if (methods == null) {
+                methods = new ArrayList<>(type.methods());
+            }
+            methods.addAll(index, values);
+            if (methodNames != null) {
+                for (var method : values) {
+                    methodNames.add(methodName(method));
+                }
+            }
+        }
+
+        void insertInnerTypes(int index, List<TypeSyntax> values) {
+            if (innerTypes == null) {
+                innerTypes = new ArrayList<>(type.innerTypes());
+            }
+            innerTypes.addAll(index, values);
+        }
+
+        TypeSyntax build() {
+            if (methods == null && innerTypes == null) {
+                return type;
+            }
+            var builder = type.toBuilder();
+            if (methods != null) {
+                builder.methods(methods);
+            }
+            if (innerTypes != null) {
+                builder.innerTypes(innerTypes);
+            }
+            return builder.build();
+        }
+    }
+
+    final class InsertionsVisitor extends SyntaxNodeRewriteVisitor {
+        private final int from;
+        private final boolean[] added;
+
+        InsertionsVisitor(int from, boolean[] added) {
+            this.from = from;
+            this.added = added;
+        }
+
+        @Override
+        public ClassSyntax visitClassSyntax(ClassSyntax syntax) {
+            var node = super.visitClassSyntax(syntax);
+            return (ClassSyntax) apply(node, from, added);
+        }
+
+        @Override
+        public InterfaceSyntax visitInterfaceSyntax(InterfaceSyntax syntax) {
+            var node = super.visitInterfaceSyntax(syntax);
+            return (InterfaceSyntax) apply(node, from, added);
+        }
+
+        @Override
+        public EnumSyntax visitEnumSyntax(EnumSyntax syntax) {
+            var node = super.visitEnumSyntax(syntax);
+            return (EnumSyntax) apply(node, from, added);
+        }
+    }
+}
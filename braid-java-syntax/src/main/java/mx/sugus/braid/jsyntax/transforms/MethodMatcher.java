@@ -75,6 +75,10 @@ public interface MethodMatcher {
             this.name = Objects.requireNonNull(name, "name");
         }
 
+        String name() {
+            return name;
+        }
+
         @Override
         public boolean matches(BaseMethodSyntax node) {
             if (node instanceof MethodSyntax m) {
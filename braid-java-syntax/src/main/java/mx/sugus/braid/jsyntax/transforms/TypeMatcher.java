@@ -79,6 +79,10 @@ public interface TypeMatcher {
             this.name = Objects.requireNonNull(name, "name");
         }
 
+        String name() {
+            return name;
+        }
+
         @Override
         public boolean matches(TypeSyntax node) {
             return node.name().equals(name);
@@ -122,6 +126,10 @@ public interface TypeMatcher {
         public boolean parentMatches(TypeSyntax node) {
             return parentMatcher.matches(node);
         }
+
+        TypeMatcher parentMatcher() {
+            return parentMatcher;
+        }
     }
 
     /**
@@ -1,16 +1,32 @@
 package mx.sugus.braid.jsyntax.writer;
 
-import java.io.StringWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
 import mx.sugus.braid.jsyntax.ClassName;
+import mx.sugus.braid.jsyntax.CompilationUnit;
 import mx.sugus.braid.jsyntax.SyntaxNode;
 
 /**
- * Renders a given syntax node into an string.
+ * Renders a given syntax node into an string, or streams it into a writer, output stream, or channel.
  */
 public final class CodeRenderer {
+    // The UTF-8 encoding buffers are reused for each rendering done by the same thread.
+    private static final ThreadLocal<Utf8Writer> UTF8_WRITER = ThreadLocal.withInitial(Utf8Writer::new);
+    // Max number of units, per worker thread, that can be rendered but still waiting to be passed to the sink.
+    private static final int PENDING_UNITS_PER_WORKER = 4;
+
     private CodeRenderer() {
     }
 
@@ -22,11 +38,10 @@ public final class CodeRenderer {
      */
     public static String render(SyntaxNode node) {
         var simpleNames = new ImportableNames().importableNames("", node);
-        var stringWriter = new StringWriter();
-        var codeWriter = new CodeWriter(stringWriter);
+        var codeWriter = new CodeWriter();
         var visitor = new CodeWriterWalkVisitor(codeWriter, "", simpleNames);
         node.accept(visitor);
-        return stringWriter.toString();
+        return codeWriter.contents();
     }
 
     /**
@@ -39,13 +54,225 @@ public final class CodeRenderer {
      * @return The rendered string of the syntax
      */
     public static String render(String containingPackage, SyntaxNode node) {
-        var simpleNames = new ImportableNames().importableNames(containingPackage, node);
-        var stringWriter = new StringWriter();
-        var codeWriter = new CodeWriter(stringWriter);
+        var codeWriter = new CodeWriter();
+        render(containingPackage, node, codeWriter);
+        return codeWriter.contents();
+    }
+
+    /**
+     * Renders the given syntax node to a string, including the class preface, see {@link #render(String, SyntaxNode)}. The
+     * code of the methods found in the given render cache is copied instead of rendered, and the rendered ones are added to
+     * it.
+     *
+     * @param containingPackage The name of the package
+     * @param node              The syntax node to render.
+     * @param renderCache       The cache of rendered methods
+     * @return The rendered string of the syntax
+     */
+    public static String render(String containingPackage, SyntaxNode node, RenderCache renderCache) {
+        return render(containingPackage, node, Collections.emptySet(), renderCache);
+    }
+
+    /**
+     * Renders the given syntax node to a string using the given render cache, see
+     * {@link #render(String, SyntaxNode, RenderCache)}. The given package names are the types in the containing package and
+     * are used to qualify the types from {@code java.lang} shadowed by them, see
+     * {@link #render(String, SyntaxNode, Collection, OutputStream)}.
+     *
+     * @param containingPackage The name of the package
+     * @param node              The syntax node to render.
+     * @param packageNames      The types in the containing package
+     * @param renderCache       The cache of rendered methods
+     * @return The rendered string of the syntax
+     */
+    public static String render(
+        String containingPackage,
+        SyntaxNode node,
+        Collection<ClassName> packageNames,
+        RenderCache renderCache
+    ) {
+        Objects.requireNonNull(packageNames, "packageNames");
+        Objects.requireNonNull(renderCache, "renderCache");
+        var codeWriter = new CodeWriter();
+        var simpleNames = new ImportableNames().importableNames(containingPackage, node, packageNames);
+        var visitor = new CodeWriterWalkVisitor(codeWriter, containingPackage, simpleNames, renderCache);
+        renderPreface(codeWriter, containingPackage, simpleNames);
+        node.accept(visitor);
+        return codeWriter.contents();
+    }
+
+    /**
+     * Renders the given syntax node, including the class preface, into the given writer, see
+     * {@link #render(String, SyntaxNode)}. The writer is flushed but not closed.
+     *
+     * @param containingPackage The name of the package
+     * @param node              The syntax node to render.
+     * @param writer            The writer to render to
+     */
+    public static void render(String containingPackage, SyntaxNode node, Writer writer) {
+        var codeWriter = CodeWriter.buffered(writer);
+        render(containingPackage, node, codeWriter);
+        codeWriter.flush();
+    }
+
+    /**
+     * Renders the given syntax node, including the class preface, into the given output stream encoded as UTF-8, see
+     * {@link #render(String, SyntaxNode)}. The output is written as it gets rendered using a fixed size buffer. The stream is
+     * flushed but not closed.
+     *
+     * @param containingPackage The name of the package
+     * @param node              The syntax node to render.
+     * @param outputStream      The stream to render to
+     */
+    public static void render(String containingPackage, SyntaxNode node, OutputStream outputStream) {
+        renderUtf8(containingPackage, node, Collections.emptySet(), outputStream, null);
+    }
+
+    /**
+     * Renders the given syntax node, including the class preface, into the given output stream encoded as UTF-8, see
+     * {@link #render(String, SyntaxNode, OutputStream)}. The given package names are the types in the containing package,
+     * referenced or not by the node, and are used to qualify the types from {@code java.lang} shadowed by them, e.g.,
+     * {@code java.lang.Error} when the containing package has an {@code Error} type. The stream is flushed but not closed.
+     *
+     * @param containingPackage The name of the package
+     * @param node              The syntax node to render.
+     * @param packageNames      The types in the containing package
+     * @param outputStream      The stream to render to
+     */
+    public static void render(
+        String containingPackage,
+        SyntaxNode node,
+        Collection<ClassName> packageNames,
+        OutputStream outputStream
+    ) {
+        renderUtf8(containingPackage, node, Objects.requireNonNull(packageNames, "packageNames"), outputStream, null);
+    }
+
+    /**
+     * Renders the given syntax node, including the class preface, into the given channel encoded as UTF-8, see
+     * {@link #render(String, SyntaxNode)}. The output is written as it gets rendered using a fixed size buffer. The channel is
+     * not closed.
+     *
+     * @param containingPackage The name of the package
+     * @param node              The syntax node to render.
+     * @param channel           The channel to render to
+     */
+    public static void render(String containingPackage, SyntaxNode node, WritableByteChannel channel) {
+        renderUtf8(containingPackage, node, Collections.emptySet(), null, channel);
+    }
+
+    /**
+     * Renders the given compilation units concurrently using a pool with the given parallelism, and passes each rendered
+     * unit, including its class preface, to the sink along with its target path, see {@link #render(String, SyntaxNode)}.
+     * The units are rendered using the package name of each as the containing package.
+     *
+     * <p>The sink is called from the calling thread in the iteration order of the given map, regardless of the
+     * parallelism, as soon as each unit and the ones before it are rendered. Only a bounded number of rendered units are
+     * kept waiting for the sink. Each worker thread reuses the same code writer buffer for all the units it renders. Any
+     * exception thrown while rendering is re-thrown once the sink reaches the failed unit.
+     *
+     * @param units       The compilation units to render keyed by their target path
+     * @param parallelism The number of threads to use
+     * @param sink        The consumer of the target path and rendered code of each unit
+     */
+    public static void renderAll(
+        Map<String, CompilationUnit> units,
+        int parallelism,
+        BiConsumer<String, String> sink
+    ) {
+        renderAll(units, Collections.emptyMap(), parallelism, sink);
+    }
+
+    /**
+     * Renders the given compilation units concurrently, see {@link #renderAll(Map, int, BiConsumer)}. Each unit is rendered
+     * using the package names of its package, if any, to qualify the types from {@code java.lang} shadowed by them, see
+     * {@link #render(String, SyntaxNode, Collection, OutputStream)}.
+     *
+     * @param units        The compilation units to render keyed by their target path
+     * @param packageNames The types in each package keyed by the package name
+     * @param parallelism  The number of threads to use
+     * @param sink         The consumer of the target path and rendered code of each unit
+     */
+    public static void renderAll(
+        Map<String, CompilationUnit> units,
+        Map<String, ? extends Collection<ClassName>> packageNames,
+        int parallelism,
+        BiConsumer<String, String> sink
+    ) {
+        Objects.requireNonNull(units, "units");
+        Objects.requireNonNull(packageNames, "packageNames");
+        Objects.requireNonNull(sink, "sink");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive, got: " + parallelism);
+        }
+        // Each batch uses its own writers, such that their buffers are released once it completes.
+        var codeWriters = ThreadLocal.withInitial(CodeWriter::new);
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            var maxPending = parallelism * PENDING_UNITS_PER_WORKER;
+            var pending = new ArrayDeque<PendingUnit>(maxPending);
+            var iterator = units.entrySet().iterator();
+            while (iterator.hasNext() || !pending.isEmpty()) {
+                while (iterator.hasNext() && pending.size() < maxPending) {
+                    var entry = iterator.next();
+                    var unit = entry.getValue();
+                    Collection<ClassName> unitPackageNames = packageNames.get(unit.packageName());
+                    var shadowing = unitPackageNames != null ? unitPackageNames : Collections.<ClassName>emptySet();
+                    var task = pool.submit(() -> {
+                        var codeWriter = codeWriters.get();
+                        codeWriter.reset();
+                        render(unit.packageName(), unit, shadowing, codeWriter);
+                        return codeWriter.contents();
+                    });
+                    pending.add(new PendingUnit(entry.getKey(), task));
+                }
+                var next = pending.remove();
+                // join re-throws any exception thrown by the task.
+                sink.accept(next.path(), next.task().join());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void renderUtf8(
+        String containingPackage,
+        SyntaxNode node,
+        Collection<ClassName> packageNames,
+        OutputStream outputStream,
+        WritableByteChannel channel
+    ) {
+        var writer = UTF8_WRITER.get();
+        // Do not share the buffers with a rendering that's already in progress in this thread.
+        UTF8_WRITER.remove();
+        try {
+            writer.reset(outputStream, channel);
+            var codeWriter = CodeWriter.buffered(writer);
+            render(containingPackage, node, packageNames, codeWriter);
+            codeWriter.flush();
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.reset(null, null);
+            UTF8_WRITER.set(writer);
+        }
+    }
+
+    private static void render(String containingPackage, SyntaxNode node, CodeWriter codeWriter) {
+        render(containingPackage, node, Collections.emptySet(), codeWriter);
+    }
+
+    private static void render(
+        String containingPackage,
+        SyntaxNode node,
+        Collection<ClassName> packageNames,
+        CodeWriter codeWriter
+    ) {
+        var simpleNames = new ImportableNames().importableNames(containingPackage, node, packageNames);
         var visitor = new CodeWriterWalkVisitor(codeWriter, containingPackage, simpleNames);
         renderPreface(codeWriter, containingPackage, simpleNames);
         node.accept(visitor);
-        return stringWriter.toString();
     }
 
     private static void renderPreface(CodeWriter codeWriter, String containingPackage, Map<String, ClassName> simpleNames) {
@@ -80,6 +307,9 @@ public final class CodeRenderer {
         }
     }
 
+    private record PendingUnit(String path, ForkJoinTask<String> task) {
+    }
+
     static String qualifiedName(ClassName c) {
         if (c.packageName() == null) {
             return c.name();
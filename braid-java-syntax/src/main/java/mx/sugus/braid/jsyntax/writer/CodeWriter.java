@@ -3,14 +3,26 @@ package mx.sugus.braid.jsyntax.writer;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * A code writer that keeps tracks of the indentation level and adds the current one to each line. Indentation level is controlled
  * by calls to {@link #indent()} and {@link #dedent()}.
+ *
+ * <p>A code writer created using one of the constructors taking a writer writes the code through to it as it gets written.
+ * A code writer created using {@link #buffered(Writer)} writes the code into a buffer that gets flushed to the underlying
+ * writer once full, and when {@link #flush()} or {@link #close()} are called. A code writer created without an underlying
+ * writer keeps the code in a growable buffer, see {@link #contents()}.
  */
 public class CodeWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 8192;
     private final Writer writer;
-    private final String indentString;
+    private final int indentSpaces;
+    private char[] buffer;
+    private int position = 0;
+    // Spaces to copy from when indenting, grown as needed to hold the current indentation.
+    private char[] indentChars;
     private int indentLevel = 0;
     private boolean requiresIndent = false;
     private String newlinePrefix = "";
@@ -18,14 +30,20 @@ public class CodeWriter implements AutoCloseable {
     private boolean ensureNewLine = false;
 
     /**
-     * Creates a new code writer using the given writer and the indentSpaces.
+     * Creates a new code writer using the given writer and the indentSpaces. The code is written through to the writer.
      *
      * @param writer       The underlying writer to write code to
      * @param indentSpaces The amount of spaces used to indent the code.
      */
     public CodeWriter(Writer writer, int indentSpaces) {
+        this(writer, indentSpaces, writer == null);
+    }
+
+    private CodeWriter(Writer writer, int indentSpaces, boolean buffered) {
         this.writer = writer;
-        indentString = " ".repeat(indentSpaces);
+        this.indentSpaces = indentSpaces;
+        this.buffer = buffered ? new char[BUFFER_SIZE] : null;
+        this.indentChars = spaces(indentSpaces * 8);
     }
 
     /**
@@ -37,6 +55,37 @@ public class CodeWriter implements AutoCloseable {
         this(writer, 4);
     }
 
+    /**
+     * Creates a new code writer that keeps the code in memory using four spaces for indentation. The code written can be
+     * retrieved using {@link #contents()}.
+     */
+    public CodeWriter() {
+        this(null, 4, true);
+    }
+
+    /**
+     * Creates a new code writer that buffers the code and writes it to the given writer when the buffer is full, and when
+     * {@link #flush()} or {@link #close()} are called, using four spaces for indentation.
+     *
+     * @param writer The underlying writer to write code to
+     * @return the new code writer
+     */
+    public static CodeWriter buffered(Writer writer) {
+        return buffered(writer, 4);
+    }
+
+    /**
+     * Creates a new code writer that buffers the code and writes it to the given writer when the buffer is full, and when
+     * {@link #flush()} or {@link #close()} are called.
+     *
+     * @param writer       The underlying writer to write code to
+     * @param indentSpaces The amount of spaces used to indent the code.
+     * @return the new code writer
+     */
+    public static CodeWriter buffered(Writer writer, int indentSpaces) {
+        return new CodeWriter(Objects.requireNonNull(writer, "writer"), indentSpaces, true);
+    }
+
     /**
      * Writes the given value and then adds a new line.
      *
@@ -221,82 +270,232 @@ public class CodeWriter implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Writes the buffered code, if any, to the underlying writer and flushes it. Does nothing if there's no underlying writer.
+     *
+     * @return this instance for chain calling.
+     */
+    public CodeWriter flush() {
+        if (writer != null) {
+            flushBuffer();
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return this;
+    }
+
     @Override
     public void close() {
-        try {
-            writer.close();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        if (writer != null) {
+            flushBuffer();
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
         if (indentLevel != 0) {
             throw new RuntimeException(String.format("close() called while missing %d dedent()'s calls", indentLevel));
         }
     }
 
+    /**
+     * Returns the code written so far if this code writer was created without an underlying writer, otherwise returns the
+     * code buffered and not yet flushed, if any.
+     *
+     * @return the code written so far
+     */
+    public String contents() {
+        if (buffer == null) {
+            return "";
+        }
+        return new String(buffer, 0, position);
+    }
+
+    /**
+     * Discards the code written so far and resets the indentation state, keeping the buffer to be reused. Only meant to be
+     * used with code writers created without an underlying writer.
+     */
+    void reset() {
+        position = 0;
+        indentLevel = 0;
+        requiresIndent = false;
+        newlinePrefix = "";
+        indentFollowingLines = false;
+        ensureNewLine = false;
+    }
+
+    /**
+     * Returns true if the next write starts a new line, without a line prefix or extra indentation in effect.
+     */
+    boolean atLineStart() {
+        return requiresIndent && newlinePrefix.isEmpty() && !indentFollowingLines;
+    }
+
+    /**
+     * Returns true if the next write starts a new line, as in {@link #atLineStart()}, and no new line is pending.
+     */
+    boolean atCleanLineStart() {
+        return atLineStart() && !ensureNewLine;
+    }
+
+    /**
+     * Returns the amount of spaces used to indent the current line.
+     */
+    int indentation() {
+        return indentLevel * indentSpaces;
+    }
+
+    /**
+     * Returns a new code writer that keeps the code in memory, using the same indentation as this one and positioned at the
+     * start of a line, see {@link #writeForked(String)}.
+     */
+    CodeWriter fork() {
+        var result = new CodeWriter(null, indentSpaces, true);
+        result.indentLevel = indentLevel;
+        result.requiresIndent = true;
+        return result;
+    }
+
+    /**
+     * Writes the code written by a code writer returned by {@link #fork()} that ended at the start of a line, when this
+     * one is at the start of a line as well.
+     */
+    void writeForked(String code) {
+        if (ensureNewLine) {
+            newLine();
+            ensureNewLine = false;
+        }
+        append(code);
+        requiresIndent = true;
+    }
+
     private void append(String value) {
-        try {
-            writer.append(value);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        append(value, 0, value.length());
+    }
+
+    private void append(String value, int start, int end) {
+        var length = end - start;
+        if (!ensureCapacity(length)) {
+            try {
+                writer.write(value, start, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        value.getChars(start, end, buffer, position);
+        position += length;
+    }
+
+    private void append(char[] value, int length) {
+        if (!ensureCapacity(length)) {
+            try {
+                writer.write(value, 0, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
         }
+        System.arraycopy(value, 0, buffer, position, length);
+        position += length;
     }
 
     private void append(char value) {
-        try {
-            writer.append(value);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        if (!ensureCapacity(1)) {
+            try {
+                writer.write(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        buffer[position++] = value;
+    }
+
+    /**
+     * Makes room in the buffer for the given amount of chars, either by growing it if there's no underlying writer or by
+     * flushing it. Returns false if the chars do not fit in the buffer, or the code is written through, and have to be
+     * written directly to the writer.
+     */
+    private boolean ensureCapacity(int length) {
+        if (buffer == null) {
+            return false;
+        }
+        if (position + length <= buffer.length) {
+            return true;
+        }
+        if (writer == null) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            return true;
+        }
+        flushBuffer();
+        return length <= buffer.length;
+    }
+
+    private void flushBuffer() {
+        if (position > 0) {
+            try {
+                writer.write(buffer, 0, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            position = 0;
         }
     }
 
     private void writeLines(String value) {
-        var start = 0;
-        var part = trimTrailingNewLines(value);
-        var newLineIndex = part.indexOf('\n');
-        if (newLineIndex == -1) {
-            writeValue(part);
+        var end = trimTrailingNewLines(value);
+        var newLineIndex = value.indexOf('\n');
+        if (newLineIndex == -1 || newLineIndex >= end) {
+            writeValue(value, 0, end);
             return;
         }
-        writeValue(part.substring(start, newLineIndex));
+        writeValue(value, 0, newLineIndex);
         newLine();
-        start = newLineIndex + 1;
-        newLineIndex = part.indexOf('\n', start);
+        var start = newLineIndex + 1;
+        newLineIndex = value.indexOf('\n', start);
         if (indentFollowingLines) {
             indent();
         }
-        while (newLineIndex != -1) {
-            writeValue(part.substring(start, newLineIndex));
+        while (newLineIndex != -1 && newLineIndex < end) {
+            writeValue(value, start, newLineIndex);
             newLine();
             start = newLineIndex + 1;
-            newLineIndex = part.indexOf('\n', start);
+            newLineIndex = value.indexOf('\n', start);
         }
-        var suffix = part.substring(start);
-        writeValue(suffix);
+        writeValue(value, start, end);
         if (indentFollowingLines) {
             dedent();
         }
     }
 
-    private String trimTrailingNewLines(String value) {
-        var length = value.length();
-        var result = length;
+    /**
+     * Returns the end of the value without the trailing new lines.
+     */
+    private int trimTrailingNewLines(String value) {
+        var result = value.length();
         while (result > 0 && value.charAt(result - 1) == '\n') {
             result -= 1;
         }
-        if (result == length) {
-            return value;
-        }
-        return value.substring(0, result);
+        return result;
     }
 
     private void writeValue(String value) {
-        if (!newlinePrefix.isEmpty() || !value.isEmpty()) {
+        writeValue(value, 0, value.length());
+    }
+
+    private void writeValue(String value, int start, int end) {
+        if (!newlinePrefix.isEmpty() || start != end) {
             if (ensureNewLine) {
                 newLine();
                 ensureNewLine = false;
             }
             ensureIndent();
-            append(value);
+            append(value, start, end);
         }
     }
 
@@ -308,12 +507,20 @@ public class CodeWriter implements AutoCloseable {
     }
 
     private void writeIndent() {
-        for (var idx = 0; idx < indentLevel; idx++) {
-            append(indentString);
+        var length = indentLevel * indentSpaces;
+        if (length > indentChars.length) {
+            indentChars = spaces(Math.max(length, indentChars.length * 2));
         }
+        append(indentChars, length);
         requiresIndent = false;
     }
 
+    private static char[] spaces(int length) {
+        var result = new char[length];
+        Arrays.fill(result, ' ');
+        return result;
+    }
+
     // Adapted from https://github.com/square/javapoet/blob/master/src/main/java/com/squareup/javapoet/Util.java
     // XXX move this to an util class for cleaner sharing
     public static String escapeJavaString(String value) {
@@ -2,6 +2,7 @@ package mx.sugus.braid.jsyntax.writer;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
@@ -45,19 +46,42 @@ import mx.sugus.braid.jsyntax.WildcardTypeName;
 import mx.sugus.braid.jsyntax.ext.TypeNameExt;
 
 public final class CodeWriterWalkVisitor extends SyntaxNodeWalkVisitor {
-    private final CodeWriter writer;
+    private CodeWriter writer;
     private final Deque<TypeSyntax> types;
     private final Deque<CodeBlockContext> codeBlockContexts;
     private final Map<String, ClassName> simpleNames;
     private final String containingPackage;
+    // Set when using a render cache, see RenderCache.
+    private final RenderCache renderCache;
+    // The class names used by the node being rendered to be cached, and whether each was imported.
+    private Map<ClassName, Boolean> renderedNames;
 
     public CodeWriterWalkVisitor(CodeWriter writer, String containingPackage, Map<String, ClassName> simpleNames) {
+        this(writer, containingPackage, simpleNames, null);
+    }
+
+    /**
+     * Creates a visitor that copies the code of the methods found in the given cache instead of rendering them, and adds
+     * to the cache the ones it renders.
+     *
+     * @param writer            The code writer to render to
+     * @param containingPackage The name of the package
+     * @param simpleNames       The importable names
+     * @param renderCache       The cache of rendered methods, or null to render all of them
+     */
+    public CodeWriterWalkVisitor(
+        CodeWriter writer,
+        String containingPackage,
+        Map<String, ClassName> simpleNames,
+        RenderCache renderCache
+    ) {
         this.writer = writer;
         this.containingPackage = containingPackage;
         this.simpleNames = simpleNames;
         this.types = new ArrayDeque<>();
         this.codeBlockContexts = new ArrayDeque<>();
         codeBlockContexts.push(CodeBlockContext.NONE);
+        this.renderCache = renderCache;
     }
 
     @Override
@@ -378,16 +402,58 @@ public final class CodeWriterWalkVisitor extends SyntaxNodeWalkVisitor {
 
     @Override
     public SyntaxNode visitMethodSyntax(MethodSyntax node) {
-        codegenMethodSyntax(node, node.typeParams(), node.returns(), node.name(), node.body());
+        renderCached(node, () -> codegenMethodSyntax(node, node.typeParams(), node.returns(), node.name(), node.body()));
         return node;
     }
 
     @Override
     public SyntaxNode visitAbstractMethodSyntax(AbstractMethodSyntax node) {
-        codegenMethodSyntax(node, node.typeParams(), node.returns(), node.name(), null);
+        renderCached(node, () -> codegenMethodSyntax(node, node.typeParams(), node.returns(), node.name(), null));
         return node;
     }
 
+    /**
+     * Copies the code of the node from the render cache if found, otherwise renders it and adds it to the cache. The code
+     * is only cached when the node starts and ends at the start of a line, which methods always do.
+     */
+    private void renderCached(SyntaxNode node, Runnable render) {
+        if (renderCache == null || renderedNames != null || !writer.atLineStart()) {
+            render.run();
+            return;
+        }
+        var key = new RenderCache.Key(node, writer.indentation());
+        var code = renderCache.get(key, this::isClassImported);
+        if (code == null) {
+            var target = writer;
+            writer = target.fork();
+            renderedNames = new LinkedHashMap<>();
+            render.run();
+            var fork = writer;
+            var names = renderedNames;
+            writer = target;
+            renderedNames = null;
+            if (!fork.atCleanLineStart()) {
+                render.run();
+                return;
+            }
+            code = fork.contents();
+            renderCache.put(key, newEntry(code, names));
+        }
+        writer.writeForked(code);
+    }
+
+    private static RenderCache.Entry newEntry(String code, Map<ClassName, Boolean> names) {
+        var classNames = new ClassName[names.size()];
+        var imported = new boolean[names.size()];
+        var idx = 0;
+        for (var kvp : names.entrySet()) {
+            classNames[idx] = kvp.getKey();
+            imported[idx] = kvp.getValue();
+            idx++;
+        }
+        return new RenderCache.Entry(code, classNames, imported);
+    }
+
     public void codegenMethodSyntax(
         BaseMethodSyntax node,
         List<TypeVariableTypeName> typeParams,
@@ -511,7 +577,11 @@ public final class CodeWriterWalkVisitor extends SyntaxNodeWalkVisitor {
 
     @Override
     public TypeName visitClassName(ClassName node) {
-        if (isClassImported(node)) {
+        var imported = isClassImported(node);
+        if (renderedNames != null) {
+            renderedNames.put(node, imported);
+        }
+        if (imported) {
             writer.write(node.name());
         } else {
             if (node.packageName() != null) {
@@ -2,9 +2,12 @@ package mx.sugus.braid.jsyntax.writer;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -18,7 +21,7 @@ import mx.sugus.braid.jsyntax.FormatterNode;
 import mx.sugus.braid.jsyntax.FormatterTypeName;
 import mx.sugus.braid.jsyntax.InterfaceSyntax;
 import mx.sugus.braid.jsyntax.SyntaxNode;
-import mx.sugus.braid.jsyntax.SyntaxNodeWalkVisitor;
+import mx.sugus.braid.jsyntax.SyntaxNodePrunedWalkVisitor;
 import mx.sugus.braid.jsyntax.TypeName;
 import mx.sugus.braid.jsyntax.TypeSyntax;
 
@@ -32,26 +35,72 @@ public final class ImportableNames {
     public Map<String, ClassName> importableNames(
         String containingPackage,
         SyntaxNode node
+    ) {
+        return importableNames(containingPackage, node, Collections.emptySet());
+    }
+
+    /**
+     * Returns the importable names for the given node. The given package names, the types in the containing package, are
+     * taken as referenced by the node, such that the types from other packages with the same simple name are qualified.
+     *
+     * @param containingPackage The name of the package
+     * @param node              The syntax node
+     * @param packageNames      The types in the containing package
+     * @return the importable names keyed by simple name
+     */
+    public Map<String, ClassName> importableNames(
+        String containingPackage,
+        SyntaxNode node,
+        Collection<ClassName> packageNames
+    ) {
+        importContainer = newImportContainer(containingPackage, node, packageNames);
+        node.accept(new CodegenPrepareImports(importContainer));
+        return Collections.unmodifiableMap(importContainer.simpleNames());
+    }
+
+    /**
+     * Creates a new import container for the given node, seeded with the given package names and the imports of the
+     * compilation unit if the node is one. The package names must belong to the containing package.
+     */
+    static CodegenImportContainer newImportContainer(
+        String containingPackage,
+        SyntaxNode node,
+        Collection<ClassName> packageNames
     ) {
         Set<ClassName> imports = Collections.emptySet();
         if (node instanceof CompilationUnit cu) {
             imports = cu.imports();
         }
-        importContainer = new CodegenImportContainer(containingPackage, imports);
-        node.accept(new CodegenPrepareImports(importContainer));
-        return Collections.unmodifiableMap(importContainer.simpleNames());
+        if (!packageNames.isEmpty()) {
+            // The explicit imports of the compilation unit shadow the types of the package.
+            var seed = new LinkedHashSet<ClassName>(packageNames);
+            seed.addAll(imports);
+            imports = seed;
+        }
+        return new CodegenImportContainer(containingPackage, imports);
     }
 
     public CodegenImportContainer importContainer() {
         return importContainer;
     }
 
-    static final class CodegenPrepareImports extends SyntaxNodeWalkVisitor {
+    /**
+     * Collects the names that can be imported. Only descends into the nodes that can contain types, class names or code
+     * blocks, skipping, e.g., the fields and parameters with primitive types.
+     */
+    static final class CodegenPrepareImports extends SyntaxNodePrunedWalkVisitor {
+        private static final Set<NodeKind> TARGETS = EnumSet.of(NodeKind.COMPILATION_UNIT,
+                                                                NodeKind.CLASS_SYNTAX,
+                                                                NodeKind.ENUM_SYNTAX,
+                                                                NodeKind.INTERFACE_SYNTAX,
+                                                                NodeKind.CLASS_NAME,
+                                                                NodeKind.CODE_BLOCK);
         private final Deque<TypeSyntax> types = new ArrayDeque<>();
         private final CodegenImportContainer importContainer;
         private String packageName;
 
         public CodegenPrepareImports(CodegenImportContainer importContainer) {
+            super(TARGETS);
             this.importContainer = importContainer;
         }
 
@@ -105,23 +154,7 @@ public final class ImportableNames {
         }
 
         private void importSymbols() {
-            var simpleName = new StringBuilder();
-            var iterator = types.descendingIterator();
-            var nameSegments = new ArrayList<String>();
-            var namePart = iterator.next().name();
-            simpleName.append(namePart);
-            nameSegments.add(namePart);
-            while (iterator.hasNext()) {
-                namePart = iterator.next().name();
-                nameSegments.add(namePart);
-                simpleName.append(".");
-                simpleName.append(namePart);
-            }
-            var qualifiedClassName = ClassName.from(packageName, simpleName.toString());
-            for (var idx = 0; idx < nameSegments.size(); idx++) {
-                var partial = String.join(".", nameSegments.subList(idx, nameSegments.size()));
-                importContainer.importSymbol(partial, qualifiedClassName);
-            }
+            importContainer.importTypeSymbols(packageName, types);
         }
 
         private void visitFormatterNode(FormatterNode part) {
@@ -171,6 +204,33 @@ public final class ImportableNames {
             simpleNames.put(className.name(), className);
         }
 
+        /**
+         * Imports the innermost of the given enclosing types, the first one, under each of its simple names. E.g., for
+         * {@code Outer.Inner} under {@code Outer.Inner} and {@code Inner}.
+         *
+         * @param packageName the package of the types, or null to use the containing package
+         * @param types       the enclosing types, innermost first
+         */
+        public void importTypeSymbols(String packageName, Deque<TypeSyntax> types) {
+            var simpleName = new StringBuilder();
+            var iterator = types.descendingIterator();
+            var nameSegments = new ArrayList<String>();
+            var namePart = iterator.next().name();
+            simpleName.append(namePart);
+            nameSegments.add(namePart);
+            while (iterator.hasNext()) {
+                namePart = iterator.next().name();
+                nameSegments.add(namePart);
+                simpleName.append(".");
+                simpleName.append(namePart);
+            }
+            var qualifiedClassName = ClassName.from(packageName, simpleName.toString());
+            for (var idx = 0; idx < nameSegments.size(); idx++) {
+                var partial = String.join(".", nameSegments.subList(idx, nameSegments.size()));
+                importSymbol(partial, qualifiedClassName);
+            }
+        }
+
         public void importSymbol(String simpleName, TypeName type) {
             var className = normalize(ClassName.toClassName(type));
             simpleNames.put(simpleName, className);
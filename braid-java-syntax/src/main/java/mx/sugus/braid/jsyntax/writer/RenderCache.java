@@ -0,0 +1,112 @@
+package mx.sugus.braid.jsyntax.writer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import mx.sugus.braid.jsyntax.ClassName;
+import mx.sugus.braid.jsyntax.SyntaxNode;
+
+/**
+ * A cache of rendered method syntax nodes, used by {@link CodeWriterWalkVisitor} to copy the code of methods that were
+ * already rendered instead of walking them again. Generated code has many methods that are the same across types, e.g.,
+ * {@code toBuilder}, or the builder methods of the common members.
+ *
+ * <p>The rendered code of a node depends on the indentation and on which class names are imported. The entries are keyed
+ * by the node, compared by value, and the indentation, and keep which of the class names used by the node were imported,
+ * an entry is only used if those are imported in the same way by the render looking it up. Once full, the least recently
+ * used entry is evicted. The cache can be shared by different renders, including concurrent ones.
+ */
+public final class RenderCache {
+    private final Map<Key, Entry> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new render cache that keeps at most the given number of entries.
+     *
+     * @param maxEntries The max number of entries to keep
+     */
+    public RenderCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive, got: " + maxEntries);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of lookups that found the rendered code.
+     *
+     * @return the number of lookups that found the rendered code
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find the rendered code.
+     *
+     * @return the number of lookups that did not find the rendered code
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return the number of entries in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all the entries of the cache and resets the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Returns the rendered code for the key if found and if each of the class names it uses is still imported, or not,
+     * as it was when rendered.
+     */
+    synchronized String get(Key key, Predicate<ClassName> isImported) {
+        var entry = entries.get(key);
+        if (entry == null || !entry.matches(isImported)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.code();
+    }
+
+    synchronized void put(Key key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    record Key(SyntaxNode node, int indentation) {
+    }
+
+    /**
+     * The rendered code, along with the class names it uses and whether each was imported.
+     */
+    record Entry(String code, ClassName[] names, boolean[] imported) {
+
+        boolean matches(Predicate<ClassName> isImported) {
+            for (var idx = 0; idx < names.length; idx++) {
+                if (isImported.test(names[idx]) != imported[idx]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
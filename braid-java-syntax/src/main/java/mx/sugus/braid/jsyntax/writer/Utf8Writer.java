@@ -0,0 +1,126 @@
+package mx.sugus.braid.jsyntax.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A writer that encodes the written characters to UTF-8 into a fixed size buffer and flushes it to an output stream or to a
+ * channel each time it fills up. The buffers are kept between uses, see {@link #reset(OutputStream, WritableByteChannel)}.
+ *
+ * <p>Closing the writer does not close the underlying output, it's the responsibility of the caller.
+ */
+final class Utf8Writer extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                                                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+    private OutputStream outputStream;
+    private WritableByteChannel channel;
+
+    /**
+     * Resets the writer state and sets the output, only one of the output stream or the channel is expected to be non-null.
+     */
+    Utf8Writer reset(OutputStream outputStream, WritableByteChannel channel) {
+        this.outputStream = outputStream;
+        this.channel = channel;
+        encoder.reset();
+        chars.clear();
+        bytes.clear();
+        return this;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            var count = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            var count = Math.min(len, chars.remaining());
+            var position = chars.position();
+            // Copies straight into the buffer, avoids the intermediate array used by the default implementation.
+            str.getChars(off, off + count, chars.array(), chars.arrayOffset() + position);
+            chars.position(position + count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        var value = String.valueOf(csq);
+        write(value, 0, value.length());
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encode(false);
+        drain();
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        encode(true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (encoder.encode(chars, bytes, endOfInput).isOverflow()) {
+            drain();
+        }
+        // Keeps any dangling high surrogate for the next round.
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        if (outputStream != null) {
+            outputStream.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        bytes.clear();
+    }
+}
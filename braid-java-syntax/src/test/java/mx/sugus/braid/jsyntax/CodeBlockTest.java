@@ -71,6 +71,31 @@ class CodeBlockTest {
 
     }
 
+    @Test
+    public void sameFormatWithDifferentArguments() {
+        var first = CodeBlock.from("$T $L = $S", String.class, "foo", "bar");
+        var second = CodeBlock.from("$T $L = $S", Integer.class, "baz", "qux");
+
+        assertEquals("String foo = \"bar\"", CodeRenderer.render(first));
+        assertEquals("Integer baz = \"qux\"", CodeRenderer.render(second));
+    }
+
+    @Test
+    public void invalidFormatThrowsOnEachCall() {
+        assertThrows(IllegalArgumentException.class, () -> CodeBlock.from("$L cost $ 10USD", "foo"));
+        assertThrows(IllegalArgumentException.class, () -> CodeBlock.from("$L cost $ 10USD", "foo"));
+    }
+
+    @Test
+    public void consecutiveLiteralsAreCombined() {
+        var block = CodeBlock.from("var $L = $C;", "foo", CodeBlock.from("$L + $T.MAX_VALUE", 1, Integer.class));
+
+        assertEquals(List.of(FormatterLiteral.builder().value("var foo = 1 + ").build(),
+                             FormatterTypeName.builder().value(TypeName.from(Integer.class)).build(),
+                             FormatterLiteral.builder().value(".MAX_VALUE;").build()),
+                     block.parts());
+    }
+
 
     public static List<TestCase> testCases() {
         return List.of(
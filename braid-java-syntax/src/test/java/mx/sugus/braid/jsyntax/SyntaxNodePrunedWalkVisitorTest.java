@@ -0,0 +1,56 @@
+package mx.sugus.braid.jsyntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SyntaxNodePrunedWalkVisitorTest {
+
+    @Test
+    public void visitsAllTargetedNodes() {
+        var node = SyntaxNodeRewriteVisitorTest.classSyntax();
+        var expected = new ArrayList<String>();
+        node.accept(new SyntaxNodeWalkVisitor() {
+            @Override
+            public SyntaxNode visitParameter(Parameter node) {
+                expected.add(node.name());
+                return super.visitParameter(node);
+            }
+        });
+        var visited = new ArrayList<String>();
+        node.accept(new SyntaxNodePrunedWalkVisitor(EnumSet.of(SyntaxNodePrunedWalkVisitor.NodeKind.PARAMETER)) {
+            @Override
+            public SyntaxNode visitParameter(Parameter node) {
+                visited.add(node.name());
+                return super.visitParameter(node);
+            }
+        });
+
+        assertEquals(List.of("value"), expected);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    public void skipsChildrenThatCannotReachTargets() {
+        var node = SyntaxNodeRewriteVisitorTest.classSyntax();
+        var visited = new ArrayList<String>();
+        node.accept(new SyntaxNodePrunedWalkVisitor(EnumSet.of(SyntaxNodePrunedWalkVisitor.NodeKind.PARAMETER)) {
+            @Override
+            public SyntaxNode visitPrimitiveTypeName(PrimitiveTypeName node) {
+                visited.add(node.toString());
+                return super.visitPrimitiveTypeName(node);
+            }
+
+            @Override
+            public SyntaxNode visitCodeBlock(CodeBlock node) {
+                visited.add(node.toString());
+                return super.visitCodeBlock(node);
+            }
+        });
+
+        assertEquals(List.of(), visited);
+    }
+}
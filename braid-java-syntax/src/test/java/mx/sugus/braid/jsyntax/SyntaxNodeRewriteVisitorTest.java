@@ -0,0 +1,54 @@
+package mx.sugus.braid.jsyntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import javax.lang.model.element.Modifier;
+import org.junit.jupiter.api.Test;
+
+class SyntaxNodeRewriteVisitorTest {
+
+    @Test
+    public void returnsSameInstanceIfNothingChanged() {
+        var node = classSyntax();
+
+        var result = node.accept(new SyntaxNodeRewriteVisitor());
+
+        assertSame(node, result);
+    }
+
+    @Test
+    public void keepsUnchangedChildren() {
+        var node = classSyntax();
+        var visitor = new SyntaxNodeRewriteVisitor() {
+            @Override
+            public Parameter visitParameter(Parameter node) {
+                return node.toBuilder().name(node.name() + "New").build();
+            }
+        };
+
+        var result = (ClassSyntax) node.accept(visitor);
+
+        assertNotSame(node, result);
+        assertSame(node.fields(), result.fields());
+        assertSame(node.methods().get(0), result.methods().get(0));
+        assertEquals("valueNew", ((MethodSyntax) result.methods().get(1)).parameters().get(0).name());
+    }
+
+    static ClassSyntax classSyntax() {
+        return ClassSyntax.builder("Counter")
+                          .addModifier(Modifier.PUBLIC)
+                          .addField(FieldSyntax.from(int.class, "value"))
+                          .addMethod(MethodSyntax.builder("increment")
+                                                 .returns(void.class)
+                                                 .addStatement("value++")
+                                                 .build())
+                          .addMethod(MethodSyntax.builder("add")
+                                                 .returns(void.class)
+                                                 .addParameter(int.class, "value")
+                                                 .addStatement("this.value += value")
+                                                 .build())
+                          .build();
+    }
+}
@@ -0,0 +1,122 @@
+package mx.sugus.braid.jsyntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.lang.model.element.Modifier;
+import org.junit.jupiter.api.Test;
+
+class SyntaxNodeSnapshotTest {
+
+    @Test
+    public void readsBackTheSameNode() {
+        var node = compilationUnit(SyntaxNodeRewriteVisitorTest.classSyntax());
+
+        var result = SyntaxNodeSnapshot.fromBytes(SyntaxNodeSnapshot.toBytes(node));
+
+        assertEquals(node, result);
+    }
+
+    @Test
+    public void writesSharedNodesOnce() {
+        var method = MethodSyntax.builder("describe")
+                                 .addModifier(Modifier.PUBLIC)
+                                 .returns(String.class)
+                                 .addStatement("return $S", "a counter that can be described")
+                                 .build();
+        var once = ClassSyntax.builder("Counter").addMethod(method).build();
+        var twice = ClassSyntax.builder("Counter")
+                               .addMethod(method)
+                               .addInnerType(ClassSyntax.builder("Inner").addMethod(method).build())
+                               .build();
+        var withoutMethods = ClassSyntax.builder("Counter")
+                                        .addInnerType(ClassSyntax.builder("Inner").build())
+                                        .build();
+
+        var methodBytes = SyntaxNodeSnapshot.toBytes(once).length
+                          - SyntaxNodeSnapshot.toBytes(ClassSyntax.builder("Counter").build()).length;
+        var twiceBytes = SyntaxNodeSnapshot.toBytes(twice);
+        var twiceMethodBytes = twiceBytes.length - SyntaxNodeSnapshot.toBytes(withoutMethods).length;
+
+        assertEquals(twice, SyntaxNodeSnapshot.fromBytes(twiceBytes));
+        // The second copy of the method is written as a reference, a couple of bytes.
+        assertTrue(twiceMethodBytes - methodBytes < 4);
+    }
+
+    @Test
+    public void readsBackAnnotationsAndNullableMembers() {
+        var node = ClassSyntax.builder("Counter")
+                              .addAnnotation(Annotation.builder(SuppressWarnings.class)
+                                                       .putMember("value", MemberValue.forArrayExpression(
+                                                           CodeBlock.from("$S", "unchecked"),
+                                                           CodeBlock.from("$S", "rawtypes")))
+                                                       .build())
+                              .addField(FieldSyntax.builder()
+                                                   .name("values")
+                                                   .type(ParameterizedTypeName.from(List.class, String.class))
+                                                   .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                                                   .build())
+                              .build();
+
+        var result = SyntaxNodeSnapshot.fromBytes(SyntaxNodeSnapshot.toBytes(node));
+
+        assertEquals(node, result);
+    }
+
+    @Test
+    public void rejectsInvalidSnapshots() {
+        var bytes = SyntaxNodeSnapshot.toBytes(SyntaxNodeRewriteVisitorTest.classSyntax());
+        var badSchema = Arrays.copyOf(bytes, bytes.length);
+        badSchema[7]++;
+
+        assertThrows(IllegalArgumentException.class, () -> SyntaxNodeSnapshot.fromBytes(new byte[] {1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> SyntaxNodeSnapshot.fromBytes(badSchema));
+        assertThrows(IllegalArgumentException.class,
+                     () -> SyntaxNodeSnapshot.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    public void corruptedSnapshotsOnlyThrowIllegalArgumentException() {
+        var bytes = SyntaxNodeSnapshot.toBytes(compilationUnit(SyntaxNodeRewriteVisitorTest.classSyntax()));
+        var random = new Random(42);
+        for (var iteration = 0; iteration < 5000; iteration++) {
+            var corrupted = bytes.clone();
+            var changes = 1 + random.nextInt(3);
+            for (var idx = 0; idx < changes; idx++) {
+                // The header is left untouched.
+                corrupted[8 + random.nextInt(corrupted.length - 8)] = (byte) random.nextInt(256);
+            }
+            assertOnlyThrowsIllegalArgumentException(corrupted);
+        }
+    }
+
+    @Test
+    public void truncatedSnapshotsOnlyThrowIllegalArgumentException() {
+        var bytes = SyntaxNodeSnapshot.toBytes(compilationUnit(SyntaxNodeRewriteVisitorTest.classSyntax()));
+        for (var length = 0; length < bytes.length; length++) {
+            var truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IllegalArgumentException.class, () -> SyntaxNodeSnapshot.fromBytes(truncated));
+        }
+    }
+
+    static void assertOnlyThrowsIllegalArgumentException(byte[] bytes) {
+        try {
+            SyntaxNodeSnapshot.fromBytes(bytes);
+        } catch (IllegalArgumentException expected) {
+            // Corruption detected.
+        } catch (RuntimeException e) {
+            throw new AssertionError("Unexpected exception for: " + Arrays.toString(bytes), e);
+        }
+    }
+
+    static CompilationUnit compilationUnit(TypeSyntax type) {
+        return CompilationUnit.builder()
+                              .packageName("mx.sugus.braid.test")
+                              .type(type)
+                              .build();
+    }
+}
@@ -1,7 +1,12 @@
 package mx.sugus.braid.jsyntax.ext;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.util.List;
+import mx.sugus.braid.jsyntax.ClassName;
+import mx.sugus.braid.jsyntax.ParameterizedTypeName;
 import mx.sugus.braid.jsyntax.ext.TypeNameExt;
 import mx.sugus.braid.jsyntax.writer.CodeRenderer;
 import org.junit.jupiter.api.Test;
@@ -25,4 +30,22 @@ class TypeNameExtTest {
         var result = TypeNameExt.from(String[][][].class);
         assertEquals("String[][][]", CodeRenderer.render(result));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testClassNamesAreInterned() {
+        assertSame(ClassName.from(List.class), ClassName.from("java.util", "List"));
+        assertSame(ClassName.parse("java.util.List"), TypeNameExt.LIST);
+        assertSame(TypeNameExt.from(int.class), TypeNameExt.P_INT);
+    }
+
+    @Test
+    public void testInternReturnsCanonicalInstance() {
+        var first = ParameterizedTypeName.from(List.class, String.class);
+        var second = ParameterizedTypeName.from(List.class, String.class);
+
+        assertNotSame(first, second);
+        assertSame(TypeNameExt.intern(first), TypeNameExt.intern(second));
+        assertSame(TypeNameExt.listOf(TypeNameExt.STRING), TypeNameExt.intern(second));
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+}
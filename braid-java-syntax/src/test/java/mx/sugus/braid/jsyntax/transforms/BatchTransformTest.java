@@ -0,0 +1,85 @@
+package mx.sugus.braid.jsyntax.transforms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import mx.sugus.braid.jsyntax.ClassSyntax;
+import mx.sugus.braid.jsyntax.MethodSyntax;
+import mx.sugus.braid.jsyntax.SyntaxNode;
+import mx.sugus.braid.jsyntax.TypeSyntax;
+import org.junit.jupiter.api.Test;
+
+class BatchTransformTest {
+
+    @Test
+    public void appliesInsertionsInOrder() {
+        var transforms = List.<SyntaxNodeTransformer>of(
+            addMethods("Builder", "b", AddPosition.AFTER, "b"),
+            addMethods("Builder", "a", AddPosition.BEFORE, "a0"),
+            addMethods("Builder", "b", AddPosition.AFTER, "b1"),
+            addMethods("Foo", "builder", AddPosition.AFTER, "fromBar"),
+            AddInnerTypesTransform.builder()
+                                  .typeMatcher(TypeMatcher.byName("Foo"), TypeMatcher.byName("Builder"))
+                                  .addBefore()
+                                  .types(List.of(type("Inner", "toString")))
+                                  .build(),
+            addMethods("Inner", "toString", AddPosition.BEFORE, "accept"));
+        var node = type("Foo", "builder", "value")
+            .toBuilder()
+            .innerTypes(List.of(type("Builder", "a", "b", "c")))
+            .build();
+        var expected = node;
+        for (var transform : transforms) {
+            expected = (TypeSyntax) transform.transform(expected);
+        }
+        var result = (TypeSyntax) BatchTransform.builder().addAll(transforms).build().transform(node);
+
+        assertEquals(expected, result);
+        assertEquals(List.of("builder", "fromBar", "value"), methodNames(result));
+        assertEquals(List.of("a0", "a", "b", "b", "b1", "c"), methodNames(result.innerTypes().get(1)));
+        assertEquals(List.of("accept", "toString"), methodNames(result.innerTypes().get(0)));
+    }
+
+    @Test
+    public void failsIfAnyInsertionDoesNotMatch() {
+        var transform = BatchTransform.builder()
+                                      .add(addMethods("Foo", "builder", AddPosition.AFTER, "fromBar"))
+                                      .add(addMethods("Foo", "missing", AddPosition.AFTER, "other"))
+                                      .build();
+        var node = type("Foo", "builder");
+
+        assertThrows(IllegalArgumentException.class, () -> transform.transform(node));
+    }
+
+    static AddMethodsTransform addMethods(String typeName, String methodName, AddPosition position, String newMethod) {
+        return AddMethodsTransform.builder()
+                                  .typeMatcher(TypeMatcher.byName(typeName))
+                                  .methodMatcher(MethodMatcher.byName(methodName))
+                                  .position(position)
+                                  .methods(List.of(method(newMethod)))
+                                  .build();
+    }
+
+    static TypeSyntax type(String name, String... methods) {
+        var builder = ClassSyntax.builder(name);
+        for (var method : methods) {
+            builder.addMethod(method(method));
+        }
+        return builder.build();
+    }
+
+    static MethodSyntax method(String name) {
+        return MethodSyntax.builder(name)
+                           .returns(void.class)
+                           .build();
+    }
+
+    static List<String> methodNames(SyntaxNode node) {
+        return ((TypeSyntax) node).methods()
+                                  .stream()
+                                  .map(InsertionsTransform::methodName)
+                                  .collect(Collectors.toList());
+    }
+}
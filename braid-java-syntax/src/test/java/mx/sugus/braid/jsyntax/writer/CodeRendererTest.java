@@ -1,11 +1,16 @@
 package mx.sugus.braid.jsyntax.writer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -17,6 +22,7 @@ import mx.sugus.braid.jsyntax.CaseClause;
 import mx.sugus.braid.jsyntax.ClassName;
 import mx.sugus.braid.jsyntax.ClassSyntax;
 import mx.sugus.braid.jsyntax.CodeBlock;
+import mx.sugus.braid.jsyntax.CompilationUnit;
 import mx.sugus.braid.jsyntax.ConstructorMethodSyntax;
 import mx.sugus.braid.jsyntax.DefaultCaseClause;
 import mx.sugus.braid.jsyntax.EnumConstant;
@@ -33,6 +39,7 @@ import mx.sugus.braid.jsyntax.TypeVariableTypeName;
 import mx.sugus.braid.jsyntax.WildcardTypeName;
 import mx.sugus.braid.jsyntax.ext.JavadocExt;
 import mx.sugus.braid.rt.util.annotations.Generated;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -45,6 +52,145 @@ class CodeRendererTest {
         assertEquals(testCase.expected, rendered);
     }
 
+    @Test
+    public void packageNamesQualifyShadowedJavaLangTypes() {
+        var node = ClassSyntax.builder("Holder")
+                              .addField(FieldSyntax.from(ClassName.from(Error.class), "error"))
+                              .addField(FieldSyntax.from(ClassName.from(String.class), "name"))
+                              .build();
+        var output = new ByteArrayOutputStream();
+
+        CodeRenderer.render("com.example", node, List.of(ClassName.from("com.example", "Error")), output);
+
+        assertEquals("""
+                         package com.example;
+
+                         class Holder {
+                             private final java.lang.Error error;
+                             private final String name;
+                         }
+                         """, output.toString(StandardCharsets.UTF_8));
+        // Without the package names the shadowed type is not qualified.
+        output.reset();
+        CodeRenderer.render("com.example", node, output);
+        assertEquals(CodeRenderer.render("com.example", node), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void rendersAllInOrder() {
+        var units = new LinkedHashMap<String, CompilationUnit>();
+        for (var idx = 0; idx < 50; idx++) {
+            var packageName = "com.example.p" + (idx % 3);
+            var unit = CompilationUnit.builder()
+                                      .packageName(packageName)
+                                      .type(ClassSyntax.builder("Type" + idx)
+                                                       .addField(FieldSyntax.from(ClassName.from(List.class), "values"))
+                                                       .addField(FieldSyntax.from(ClassName.from("com.example.p0", "Type0"),
+                                                                                  "first"))
+                                                       .build())
+                                      .build();
+            units.put(packageName.replace(".", "/") + "/Type" + idx + ".java", unit);
+        }
+        var rendered = new ArrayList<String>();
+
+        CodeRenderer.renderAll(units, 4, (path, code) -> rendered.add(path + "\n" + code));
+
+        var expected = new ArrayList<String>();
+        units.forEach((path, unit) -> expected.add(path + "\n" + CodeRenderer.render(unit.packageName(), unit)));
+        assertEquals(expected, rendered);
+    }
+
+    @Test
+    public void rendersAllWithPackageNames() {
+        var units = new LinkedHashMap<String, CompilationUnit>();
+        for (var idx = 0; idx < 30; idx++) {
+            var packageName = "com.example.p" + (idx % 3);
+            var unit = CompilationUnit.builder()
+                                      .packageName(packageName)
+                                      .type(ClassSyntax.builder("Type" + idx)
+                                                       .addField(FieldSyntax.from(ClassName.from(Error.class), "error"))
+                                                       .addField(FieldSyntax.from(ClassName.from(String.class), "name"))
+                                                       .build())
+                                      .build();
+            units.put(packageName.replace(".", "/") + "/Type" + idx + ".java", unit);
+        }
+        // Only the types in p0 and p1 shadow java.lang.Error.
+        var packageNames = Map.of("com.example.p0", List.of(ClassName.from("com.example.p0", "Error")),
+                                  "com.example.p1", List.of(ClassName.from("com.example.p1", "Error")));
+        var rendered = new ArrayList<String>();
+
+        CodeRenderer.renderAll(units, packageNames, 4, (path, code) -> rendered.add(path + "\n" + code));
+
+        var expected = new ArrayList<String>();
+        var output = new ByteArrayOutputStream();
+        units.forEach((path, unit) -> {
+            output.reset();
+            var shadowing = packageNames.getOrDefault(unit.packageName(), List.of());
+            CodeRenderer.render(unit.packageName(), unit, shadowing, output);
+            expected.add(path + "\n" + output.toString(StandardCharsets.UTF_8));
+        });
+        assertEquals(expected, rendered);
+        assertTrue(rendered.get(0).contains("private final java.lang.Error error;"));
+        assertTrue(rendered.get(2).contains("private final Error error;"));
+    }
+
+    @ParameterizedTest(name = "[{index}] => {0}")
+    @MethodSource("testCases")
+    public void runTestCaseWithRenderCache(TestCase testCase) {
+        var renderCache = new RenderCache(16);
+        var expected = CodeRenderer.render("com.example", testCase.node);
+
+        assertEquals(expected, CodeRenderer.render("com.example", testCase.node, renderCache));
+        assertEquals(expected, CodeRenderer.render("com.example", testCase.node, renderCache));
+    }
+
+    @Test
+    public void renderCacheReusesMethodsAcrossTypes() {
+        var renderCache = new RenderCache(16);
+        var method = MethodSyntax.builder("values")
+                                 .returns(ParameterizedTypeName.from(List.class, String.class))
+                                 .addStatement("return $T.of()", List.class)
+                                 .build();
+        var first = ClassSyntax.builder("First").addMethod(method).build();
+        var second = ClassSyntax.builder("Second").addMethod(method).build();
+        // List cannot be imported here, the method has to be rendered again.
+        var third = ClassSyntax.builder("Third")
+                               .addField(FieldSyntax.from(ClassName.from("com.example", "List"), "list"))
+                               .addMethod(method)
+                               .build();
+
+        CodeRenderer.render("com.example", first, renderCache);
+        var rendered = CodeRenderer.render("com.example", second, renderCache);
+        var renderedThird = CodeRenderer.render("com.example", third, renderCache);
+
+        assertEquals(CodeRenderer.render("com.example", second), rendered);
+        assertEquals(CodeRenderer.render("com.example", third), renderedThird);
+        assertEquals(1L, renderCache.hits());
+        assertEquals(2L, renderCache.misses());
+    }
+
+    @Test
+    public void renderCacheUsesThePackageNames() {
+        var renderCache = new RenderCache(16);
+        var method = MethodSyntax.builder("error")
+                                 .returns(ClassName.from(Error.class))
+                                 .addStatement("return new $T()", Error.class)
+                                 .build();
+        var node = ClassSyntax.builder("Holder").addMethod(method).build();
+        var packageNames = List.of(ClassName.from("com.example", "Error"));
+        var output = new ByteArrayOutputStream();
+        CodeRenderer.render("com.example", node, packageNames, output);
+        var expected = output.toString(StandardCharsets.UTF_8);
+
+        CodeRenderer.render("com.example", node, renderCache);
+        // The method cached without the package names cannot be reused, Error has to be qualified.
+        assertEquals(expected, CodeRenderer.render("com.example", node, packageNames, renderCache));
+        assertEquals(expected, CodeRenderer.render("com.example", node, packageNames, renderCache));
+        assertTrue(expected.contains("java.lang.Error error()"));
+        assertEquals(1L, renderCache.hits());
+        assertEquals(2L, renderCache.misses());
+    }
+
     public static List<TestCase> testCases() {
         return List.of(
             testCase("Simple class")
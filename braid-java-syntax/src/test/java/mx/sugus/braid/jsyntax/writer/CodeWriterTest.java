@@ -1,5 +1,8 @@
 package mx.sugus.braid.jsyntax.writer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
 import org.junit.jupiter.api.Test;
 
 class CodeWriterTest {
@@ -7,4 +10,55 @@ class CodeWriterTest {
     @Test
     public void test0() {
     }
-}
\ No newline at end of file
+
+    @Test
+    public void indentsEachLine() {
+        var writer = new CodeWriter();
+        writer.beginControlFlow("void foo()")
+              .writeln("a();\nb();\n\n")
+              .beginControlFlow("if (c)")
+              .writeln("d();")
+              .endControlFlow()
+              .endControlFlow();
+
+        assertEquals("void foo() {\n    a();\n    b();\n    if (c) {\n        d();\n    }\n}\n", writer.contents());
+    }
+
+    @Test
+    public void writesThroughToTheWriter() {
+        var stringWriter = new StringWriter();
+        var writer = new CodeWriter(stringWriter, 2);
+        writer.beginControlFlow("class Foo")
+              .writeln("value;");
+
+        // Written as it goes, without flushing.
+        assertEquals("class Foo {\n  value;\n", stringWriter.toString());
+        assertEquals("", writer.contents());
+        writer.endControlFlow();
+        assertEquals("class Foo {\n  value;\n}\n", stringWriter.toString());
+    }
+
+    @Test
+    public void flushesToTheWriter() {
+        var stringWriter = new StringWriter();
+        var writer = CodeWriter.buffered(stringWriter, 2);
+        var expected = new StringBuilder("class Foo {\n");
+        writer.beginControlFlow("class Foo");
+        for (var idx = 0; idx < 2000; idx++) {
+            writer.writeln("value" + idx + ";");
+            expected.append("  value").append(idx).append(";\n");
+        }
+        writer.endControlFlow();
+        expected.append("}\n");
+        var large = "x".repeat(20000);
+        writer.write(large);
+        expected.append(large);
+        writer.write(";");
+        expected.append(";");
+        // The code not yet flushed is kept in the buffer.
+        assertEquals(";", writer.contents());
+        writer.flush();
+
+        assertEquals(expected.toString(), stringWriter.toString());
+    }
+}
@@ -3,12 +3,19 @@ package mx.sugus.braid.rt.util;
 /**
  * An abstract class that provides the basic logic to convert between transient and persistent state.
  *
+ * <p>Unless {@link #reusesTransient()} is overridden to return false, the transient instance is cleared as soon as it is
+ * converted to persistent, such that it does not keep the built values alive, and reused after the reference is
+ * {@link #reset() reset}. In that case, the persistent instances returned by {@link #transientToPersistent(Object)} must
+ * not share mutable state with the transient instance they are converted from.
+ *
  * @param <P> The persistent representation of the class
  * @param <T> The transient representation of the class
  */
 public abstract class AbstractBuilderReference<P, T> implements BuilderReference<P, T> {
     protected P asPersistent;
     protected T asTransient;
+    // A cleared transient instance to be used instead of creating a new empty one.
+    private T spare;
 
     /**
      * Creates a new reference builder with the given persistent instance.
@@ -35,6 +42,9 @@ public abstract class AbstractBuilderReference<P, T> implements BuilderReference
                 return emptyPersistent();
             }
             asPersistent = transientToPersistent(asTransient);
+            if (reusesTransient()) {
+                spare = clearTransient(asTransient);
+            }
             asTransient = null;
         }
         return asPersistent;
@@ -44,7 +54,8 @@ public abstract class AbstractBuilderReference<P, T> implements BuilderReference
     public T asTransient() {
         if (asTransient == null) {
             if (asPersistent == null) {
-                asTransient = emptyTransient();
+                asTransient = spare != null ? spare : emptyTransient();
+                spare = null;
                 return asTransient;
             }
             asTransient = persistentToTransient(asPersistent);
@@ -55,10 +66,18 @@ public abstract class AbstractBuilderReference<P, T> implements BuilderReference
 
     @Override
     public BuilderReference<P, T> clear() {
-        var tmp = asTransient();
-        if (tmp != null) {
-            asTransient = clearTransient(tmp);
+        reset();
+        asTransient();
+        return this;
+    }
+
+    @Override
+    public BuilderReference<P, T> reset() {
+        if (asTransient != null) {
+            spare = clearTransient(asTransient);
         }
+        asPersistent = null;
+        asTransient = null;
         return this;
     }
 
@@ -67,7 +86,6 @@ public abstract class AbstractBuilderReference<P, T> implements BuilderReference
         this.asPersistent = persistent;
     }
 
-
     /**
      * Returns an empty representation of the persistent state. By default {@code null}, but can be overridden if a more
      * meaningful value exists for the persistent type.
@@ -78,6 +96,17 @@ public abstract class AbstractBuilderReference<P, T> implements BuilderReference
         return null;
     }
 
+    /**
+     * Returns true if the transient instance is cleared and kept to be reused once converted to persistent. Must return
+     * false if the persistent instances are views of the transient instance they are converted from, and should if
+     * {@link #clearTransient(Object)} creates a new instance instead of clearing the given one. By default {@code true}.
+     *
+     * @return true if the transient instance is reused once converted to persistent
+     */
+    protected boolean reusesTransient() {
+        return true;
+    }
+
     /**
      * Returns an empty instance of the transient type.
      *
@@ -103,12 +132,11 @@ public abstract class AbstractBuilderReference<P, T> implements BuilderReference
 
     /**
      * Clears the given transient instance. The semantics of clearing depends on the class being cleared, for collections this
-     * means removing all the element present on it, for non-collections this might just drop the original and create a new
-     * builder.
+     * means removing all the element present on it, keeping their backing storage, for non-collections this might either
+     * reset the builder in place or just drop the original and create a new builder.
      *
      * @param source The transient instance to clear
      * @return The cleared instance
      */
     protected abstract T clearTransient(T source);
-
 }
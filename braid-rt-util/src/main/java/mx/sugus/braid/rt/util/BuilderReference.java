@@ -31,6 +31,16 @@ public interface BuilderReference<P, T> {
      */
     BuilderReference<P, T> clear();
 
+    /**
+     * Resets the reference back to the empty state it has when created without a value, reusing when possible the storage
+     * of its transient instance. By default, the same as {@link #clear()}.
+     *
+     * @return This instance for method chaining.
+     */
+    default BuilderReference<P, T> reset() {
+        return clear();
+    }
+
     /**
      * Sets the persistent value.
      *
@@ -11,7 +11,9 @@ import java.util.Map;
 import java.util.Set;
 
 /**
- * Builder reference for collections.
+ * Builder reference for collections. The transient collections are frozen into the right-sized immutable collections of
+ * {@link CompactCollections}, such that the frozen instances do not keep the spare capacity of the builders. See
+ * {@link WrappedCollectionBuilderReference} for the references that wrap them instead, without copying.
  *
  * @param <T> The collection type.
  */
@@ -150,7 +152,7 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Map<K, V> transientToPersistent(Map<K, V> source) {
-            return Collections.unmodifiableMap(source);
+            return CompactCollections.mapCopyOf(source);
         }
 
         @Override
@@ -160,10 +162,8 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Map<K, V> clearTransient(Map<K, V> source) {
-            if (asTransient != null) {
-                asTransient.clear();
-            }
-            return asTransient;
+            source.clear();
+            return source;
         }
     }
 
@@ -196,7 +196,7 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Map<K, V> transientToPersistent(Map<K, V> source) {
-            return Collections.unmodifiableMap(source);
+            return CompactCollections.mapCopyOf(source);
         }
 
         @Override
@@ -206,10 +206,8 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Map<K, V> clearTransient(Map<K, V> source) {
-            if (asTransient != null) {
-                asTransient.clear();
-            }
-            return asTransient;
+            source.clear();
+            return source;
         }
     }
 
@@ -241,7 +239,7 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected List<T> transientToPersistent(List<T> source) {
-            return Collections.unmodifiableList(source);
+            return CompactCollections.listCopyOf(source);
         }
 
         @Override
@@ -251,10 +249,8 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected List<T> clearTransient(List<T> source) {
-            if (asTransient != null) {
-                asTransient.clear();
-            }
-            return asTransient;
+            source.clear();
+            return source;
         }
     }
 
@@ -286,7 +282,7 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Set<T> transientToPersistent(Set<T> source) {
-            return Collections.unmodifiableSet(source);
+            return CompactCollections.setCopyOf(source);
         }
 
         @Override
@@ -296,10 +292,8 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Set<T> clearTransient(Set<T> source) {
-            if (asTransient != null) {
-                asTransient.clear();
-            }
-            return asTransient;
+            source.clear();
+            return source;
         }
     }
 
@@ -331,7 +325,7 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Set<T> transientToPersistent(Set<T> source) {
-            return Collections.unmodifiableSet(source);
+            return CompactCollections.setCopyOf(source);
         }
 
         @Override
@@ -341,10 +335,8 @@ public interface CollectionBuilderReference<T> extends BuilderReference<T, T> {
 
         @Override
         protected Set<T> clearTransient(Set<T> source) {
-            if (asTransient != null) {
-                asTransient.clear();
-            }
-            return asTransient;
+            source.clear();
+            return source;
         }
     }
 }
@@ -0,0 +1,461 @@
+package mx.sugus.braid.rt.util;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable collections sized to their contents, used to freeze the collections of the builders. The lists are backed by
+ * an array of the exact size, the maps and sets keep their elements in an array in insertion order along with an open
+ * addressing table of indexes into it. Collections of up to two elements use dedicated classes without arrays, and the
+ * empty collections are shared singletons. Null elements, keys and values are allowed.
+ */
+public final class CompactCollections {
+    private static final List<?> EMPTY_LIST = new ListN<>(new Object[0]);
+    private static final Set<?> EMPTY_SET = new SetN<>(new Object[0], new int[1]);
+    private static final Map<?, ?> EMPTY_MAP = new MapN<>(new Object[0], new int[1]);
+
+    private CompactCollections() {
+    }
+
+    /**
+     * Returns an immutable list with the elements of the given collection, in its iteration order.
+     *
+     * @param source The collection to copy
+     * @param <T>    The type of the elements
+     * @return an immutable list with the elements of the given collection
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> listCopyOf(Collection<? extends T> source) {
+        if (source instanceof ListN || source instanceof List12) {
+            return (List<T>) source;
+        }
+        var elements = source.toArray();
+        return switch (elements.length) {
+            case 0 -> (List<T>) EMPTY_LIST;
+            case 1 -> new List12<>((T) elements[0]);
+            case 2 -> new List12<>((T) elements[0], (T) elements[1]);
+            default -> new ListN<>(elements);
+        };
+    }
+
+    /**
+     * Returns an immutable set with the distinct elements of the given collection, keeping its iteration order.
+     *
+     * @param source The collection to copy
+     * @param <T>    The type of the elements
+     * @return an immutable set with the elements of the given collection
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> setCopyOf(Collection<? extends T> source) {
+        if (source instanceof SetN || source instanceof Set12) {
+            return (Set<T>) source;
+        }
+        var elements = source.toArray();
+        var size = source instanceof Set ? elements.length : distinct(elements);
+        return switch (size) {
+            case 0 -> (Set<T>) EMPTY_SET;
+            case 1 -> new Set12<>((T) elements[0]);
+            case 2 -> new Set12<>((T) elements[0], (T) elements[1]);
+            default -> new SetN<>(trim(elements, size), null);
+        };
+    }
+
+    /**
+     * Returns an immutable map with the entries of the given map, keeping its iteration order.
+     *
+     * @param source The map to copy
+     * @param <K>    The type of the keys
+     * @param <V>    The type of the values
+     * @return an immutable map with the entries of the given map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Map<K, V> mapCopyOf(Map<? extends K, ? extends V> source) {
+        if (source instanceof MapN || source instanceof Map12) {
+            return (Map<K, V>) source;
+        }
+        var size = source.size();
+        if (size == 0) {
+            return (Map<K, V>) EMPTY_MAP;
+        }
+        var keysAndValues = new Object[2 * size];
+        var idx = 0;
+        for (var entry : source.entrySet()) {
+            keysAndValues[idx++] = entry.getKey();
+            keysAndValues[idx++] = entry.getValue();
+        }
+        return switch (size) {
+            case 1 -> new Map12<>((K) keysAndValues[0], (V) keysAndValues[1]);
+            case 2 -> new Map12<>((K) keysAndValues[0], (V) keysAndValues[1], (K) keysAndValues[2], (V) keysAndValues[3]);
+            default -> new MapN<>(keysAndValues, null);
+        };
+    }
+
+    /**
+     * Moves the distinct elements to the front of the array, keeping their order, and returns how many they are.
+     */
+    private static int distinct(Object[] elements) {
+        if (elements.length < 2) {
+            return elements.length;
+        }
+        var table = new int[tableSize(elements.length)];
+        var size = 0;
+        for (var element : elements) {
+            var slot = probe(table, elements, 1, element);
+            if (slot >= 0) {
+                elements[size] = element;
+                table[slot] = ++size;
+            }
+        }
+        return size;
+    }
+
+    private static Object[] trim(Object[] elements, int size) {
+        if (elements.length == size) {
+            return elements;
+        }
+        var result = new Object[size];
+        System.arraycopy(elements, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Returns a power of two table size that keeps the load factor at or below one half.
+     */
+    private static int tableSize(int size) {
+        return Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+    }
+
+    private static int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        var hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the slot in the table where the key is found as {@code -(slot + 1)}, or the empty slot where it would be
+     * added. The table keeps one plus the index of each key, the keys are found at {@code stride} times that index in the
+     * given array.
+     */
+    private static int probe(int[] table, Object[] array, int stride, Object key) {
+        var mask = table.length - 1;
+        var slot = hash(key) & mask;
+        while (true) {
+            var index = table[slot];
+            if (index == 0) {
+                return slot;
+            }
+            if (Objects.equals(key, array[(index - 1) * stride])) {
+                return -(slot + 1);
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int[] buildTable(Object[] array, int stride) {
+        var size = array.length / stride;
+        var table = new int[tableSize(size)];
+        for (var idx = 0; idx < size; idx++) {
+            table[probe(table, array, stride, array[idx * stride])] = idx + 1;
+        }
+        return table;
+    }
+
+    /**
+     * An immutable list with one or two elements.
+     */
+    static final class List12<T> extends AbstractList<T> implements RandomAccess {
+        private final T first;
+        private final T second;
+        private final int size;
+
+        List12(T first) {
+            this.first = first;
+            this.second = null;
+            this.size = 1;
+        }
+
+        List12(T first, T second) {
+            this.first = first;
+            this.second = second;
+            this.size = 2;
+        }
+
+        @Override
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            return index == 0 ? first : second;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * An immutable list backed by an array of the exact size.
+     */
+    static final class ListN<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] elements;
+
+        ListN(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+    }
+
+    /**
+     * An immutable set with one or two elements.
+     */
+    static final class Set12<T> extends AbstractSet<T> {
+        private final T first;
+        private final T second;
+        private final int size;
+
+        Set12(T first) {
+            this.first = first;
+            this.second = null;
+            this.size = 1;
+        }
+
+        Set12(T first, T second) {
+            this.first = first;
+            this.second = second;
+            this.size = 2;
+        }
+
+        @Override
+        public boolean contains(Object value) {
+            return Objects.equals(value, first) || (size == 2 && Objects.equals(value, second));
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new IndexIterator<>(size) {
+                @Override
+                T get(int index) {
+                    return index == 0 ? first : second;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * An immutable set that keeps its elements in an array in insertion order, along with an open addressing table.
+     */
+    static final class SetN<T> extends AbstractSet<T> {
+        private final Object[] elements;
+        private final int[] table;
+
+        SetN(Object[] elements, int[] table) {
+            this.elements = elements;
+            this.table = table != null ? table : buildTable(elements, 1);
+        }
+
+        @Override
+        public boolean contains(Object value) {
+            return probe(table, elements, 1, value) < 0;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new IndexIterator<>(elements.length) {
+                @Override
+                @SuppressWarnings("unchecked")
+                T get(int index) {
+                    return (T) elements[index];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    /**
+     * An immutable map with one or two entries.
+     */
+    static final class Map12<K, V> extends AbstractMap<K, V> {
+        private final K firstKey;
+        private final V firstValue;
+        private final K secondKey;
+        private final V secondValue;
+        private final int size;
+
+        Map12(K firstKey, V firstValue) {
+            this.firstKey = firstKey;
+            this.firstValue = firstValue;
+            this.secondKey = null;
+            this.secondValue = null;
+            this.size = 1;
+        }
+
+        Map12(K firstKey, V firstValue, K secondKey, V secondValue) {
+            this.firstKey = firstKey;
+            this.firstValue = firstValue;
+            this.secondKey = secondKey;
+            this.secondValue = secondValue;
+            this.size = 2;
+        }
+
+        @Override
+        public V get(Object key) {
+            if (Objects.equals(key, firstKey)) {
+                return firstValue;
+            }
+            if (size == 2 && Objects.equals(key, secondKey)) {
+                return secondValue;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return Objects.equals(key, firstKey) || (size == 2 && Objects.equals(key, secondKey));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new IndexIterator<>(size) {
+                        @Override
+                        Entry<K, V> get(int index) {
+                            if (index == 0) {
+                                return new SimpleImmutableEntry<>(firstKey, firstValue);
+                            }
+                            return new SimpleImmutableEntry<>(secondKey, secondValue);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    /**
+     * An immutable map that keeps its keys and values in an array in insertion order, along with an open addressing
+     * table.
+     */
+    static final class MapN<K, V> extends AbstractMap<K, V> {
+        private final Object[] keysAndValues;
+        private final int[] table;
+
+        MapN(Object[] keysAndValues, int[] table) {
+            this.keysAndValues = keysAndValues;
+            this.table = table != null ? table : buildTable(keysAndValues, 2);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            var slot = probe(table, keysAndValues, 2, key);
+            if (slot >= 0) {
+                return null;
+            }
+            return (V) keysAndValues[(table[-(slot + 1)] - 1) * 2 + 1];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return probe(table, keysAndValues, 2, key) < 0;
+        }
+
+        @Override
+        public int size() {
+            return keysAndValues.length / 2;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new IndexIterator<>(size()) {
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        Entry<K, V> get(int index) {
+                            return new SimpleImmutableEntry<>((K) keysAndValues[2 * index],
+                                                              (V) keysAndValues[2 * index + 1]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return MapN.this.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * An iterator over the indexes of a collection, that does not support removing elements.
+     */
+    abstract static class IndexIterator<T> implements Iterator<T> {
+        private final int size;
+        private int index;
+
+        IndexIterator(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            return get(index++);
+        }
+
+        abstract T get(int index);
+    }
+}
@@ -0,0 +1,365 @@
+package mx.sugus.braid.rt.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import mx.sugus.braid.rt.util.persistent.PersistentHashMap;
+import mx.sugus.braid.rt.util.persistent.PersistentOrderedMap;
+import mx.sugus.braid.rt.util.persistent.PersistentSet;
+import mx.sugus.braid.rt.util.persistent.PersistentVector;
+import mx.sugus.braid.rt.util.persistent.TransientHashMap;
+import mx.sugus.braid.rt.util.persistent.TransientOrderedMap;
+import mx.sugus.braid.rt.util.persistent.TransientSet;
+import mx.sugus.braid.rt.util.persistent.TransientVector;
+
+/**
+ * Builder reference for collections backed by the persistent collections of the
+ * {@link mx.sugus.braid.rt.util.persistent} package. The same factories as {@link CollectionBuilderReference} are
+ * offered, but converting between the persistent and the transient representations is O(1) instead of copying the whole
+ * collection, such that a builder created from an existing instance to add a single element does not copy the elements
+ * already present.
+ *
+ * <p>Unlike the collections used by {@link CollectionBuilderReference}, the persistent sets and maps do not accept null
+ * elements or keys and throw {@link NullPointerException} for them. Null list elements and map values are supported.
+ *
+ * @param <T> The collection type.
+ */
+public interface PersistentCollectionBuilderReference<T> extends CollectionBuilderReference<T> {
+
+    /**
+     * Creates a persistent builder reference to an unordered map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> forUnorderedMap() {
+        return new UnorderedMapBuilderReference<>();
+    }
+
+    /**
+     * Creates a persistent builder reference to an unordered map borrowing from the given map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> fromPersistentUnorderedMap(Map<K, V> persistent) {
+        return new UnorderedMapBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a persistent builder reference to an ordered map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> forOrderedMap() {
+        return new OrderedMapBuilderReference<>();
+    }
+
+    /**
+     * Creates a persistent builder reference to an ordered map borrowing from the given map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> fromPersistentOrderedMap(Map<K, V> persistent) {
+        return new OrderedMapBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a persistent builder reference to a list.
+     *
+     * @param <T> Type of value in the list.
+     * @return Returns the created list.
+     */
+    static <T> CollectionBuilderReference<List<T>> forList() {
+        return new ListBuilderReference<>();
+    }
+
+    /**
+     * Creates a persistent builder reference to a list borrowing from the given list.
+     *
+     * @param <T> Type of value in the list.
+     * @return Returns the created list.
+     */
+    static <T> CollectionBuilderReference<List<T>> fromPersistentList(List<T> persistent) {
+        return new ListBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a persistent builder reference to an unordered set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> forUnorderedSet() {
+        return new UnorderedSetBuilderReference<>();
+    }
+
+    /**
+     * Creates a persistent builder reference to an unordered set borrowing from the given set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> fromPersistentUnorderedSet(Set<T> persistent) {
+        return new UnorderedSetBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a persistent builder reference to an ordered set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> forOrderedSet() {
+        return new OrderedSetBuilderReference<>();
+    }
+
+    /**
+     * Creates a persistent builder reference to an ordered set borrowing from the given set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> fromPersistentOrderedSet(Set<T> persistent) {
+        return new OrderedSetBuilderReference<>(persistent);
+    }
+
+    /**
+     * A persistent builder reference for maps, backed up by {@link PersistentHashMap}.
+     *
+     * @param <K> The type of the key.
+     * @param <V> The type of the value.
+     */
+    class UnorderedMapBuilderReference<K, V>
+        extends AbstractBuilderReference<Map<K, V>, Map<K, V>>
+        implements PersistentCollectionBuilderReference<Map<K, V>> {
+
+        UnorderedMapBuilderReference() {
+        }
+
+        UnorderedMapBuilderReference(Map<K, V> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Map<K, V> emptyPersistent() {
+            return PersistentHashMap.empty();
+        }
+
+        @Override
+        protected Map<K, V> emptyTransient() {
+            return PersistentHashMap.<K, V>empty().asTransient();
+        }
+
+        @Override
+        protected Map<K, V> transientToPersistent(Map<K, V> source) {
+            if (source instanceof TransientHashMap<K, V> map) {
+                return map.persistent();
+            }
+            return PersistentHashMap.from(source);
+        }
+
+        @Override
+        protected Map<K, V> persistentToTransient(Map<K, V> source) {
+            return PersistentHashMap.from(source).asTransient();
+        }
+
+        @Override
+        protected Map<K, V> clearTransient(Map<K, V> source) {
+            source.clear();
+            return source;
+        }
+    }
+
+    /**
+     * A persistent builder reference for maps that keep insert order as iteration order, backed up by
+     * {@link PersistentOrderedMap}.
+     *
+     * @param <K> The type of the key.
+     * @param <V> The type of the value.
+     */
+    class OrderedMapBuilderReference<K, V>
+        extends AbstractBuilderReference<Map<K, V>, Map<K, V>>
+        implements PersistentCollectionBuilderReference<Map<K, V>> {
+
+        OrderedMapBuilderReference() {
+        }
+
+        OrderedMapBuilderReference(Map<K, V> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Map<K, V> emptyPersistent() {
+            return PersistentOrderedMap.empty();
+        }
+
+        @Override
+        protected Map<K, V> emptyTransient() {
+            return PersistentOrderedMap.<K, V>empty().asTransient();
+        }
+
+        @Override
+        protected Map<K, V> transientToPersistent(Map<K, V> source) {
+            if (source instanceof TransientOrderedMap<K, V> map) {
+                return map.persistent();
+            }
+            return PersistentOrderedMap.from(source);
+        }
+
+        @Override
+        protected Map<K, V> persistentToTransient(Map<K, V> source) {
+            return PersistentOrderedMap.from(source).asTransient();
+        }
+
+        @Override
+        protected Map<K, V> clearTransient(Map<K, V> source) {
+            source.clear();
+            return source;
+        }
+    }
+
+    /**
+     * A persistent builder reference for lists, backed up by {@link PersistentVector}.
+     *
+     * @param <T> The type of the list member.
+     */
+    class ListBuilderReference<T>
+        extends AbstractBuilderReference<List<T>, List<T>>
+        implements PersistentCollectionBuilderReference<List<T>> {
+
+        ListBuilderReference() {
+        }
+
+        ListBuilderReference(List<T> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected List<T> emptyPersistent() {
+            return PersistentVector.empty();
+        }
+
+        @Override
+        protected List<T> emptyTransient() {
+            return PersistentVector.<T>empty().asTransient();
+        }
+
+        @Override
+        protected List<T> transientToPersistent(List<T> source) {
+            if (source instanceof TransientVector<T> vector) {
+                return vector.persistent();
+            }
+            return PersistentVector.from(source);
+        }
+
+        @Override
+        protected List<T> persistentToTransient(List<T> source) {
+            return PersistentVector.from(source).asTransient();
+        }
+
+        @Override
+        protected List<T> clearTransient(List<T> source) {
+            source.clear();
+            return source;
+        }
+    }
+
+    /**
+     * A persistent builder reference for sets, backed up by {@link PersistentSet}.
+     *
+     * @param <T> The type of the set member.
+     */
+    class UnorderedSetBuilderReference<T>
+        extends AbstractBuilderReference<Set<T>, Set<T>>
+        implements PersistentCollectionBuilderReference<Set<T>> {
+
+        UnorderedSetBuilderReference() {
+        }
+
+        UnorderedSetBuilderReference(Set<T> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Set<T> emptyPersistent() {
+            return PersistentSet.emptyUnordered();
+        }
+
+        @Override
+        protected Set<T> emptyTransient() {
+            return PersistentSet.<T>emptyUnordered().asTransient();
+        }
+
+        @Override
+        protected Set<T> transientToPersistent(Set<T> source) {
+            if (source instanceof TransientSet<T> set) {
+                return set.persistent();
+            }
+            return PersistentSet.unorderedFrom(source);
+        }
+
+        @Override
+        protected Set<T> persistentToTransient(Set<T> source) {
+            return PersistentSet.unorderedFrom(source).asTransient();
+        }
+
+        @Override
+        protected Set<T> clearTransient(Set<T> source) {
+            source.clear();
+            return source;
+        }
+    }
+
+    /**
+     * A persistent builder reference for sets that keep insert order as iteration order, backed up by {@link PersistentSet}.
+     *
+     * @param <T> The type of the set member.
+     */
+    class OrderedSetBuilderReference<T>
+        extends AbstractBuilderReference<Set<T>, Set<T>>
+        implements PersistentCollectionBuilderReference<Set<T>> {
+
+        OrderedSetBuilderReference() {
+        }
+
+        OrderedSetBuilderReference(Set<T> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Set<T> emptyPersistent() {
+            return PersistentSet.emptyOrdered();
+        }
+
+        @Override
+        protected Set<T> emptyTransient() {
+            return PersistentSet.<T>emptyOrdered().asTransient();
+        }
+
+        @Override
+        protected Set<T> transientToPersistent(Set<T> source) {
+            if (source instanceof TransientSet<T> set) {
+                return set.persistent();
+            }
+            return PersistentSet.orderedFrom(source);
+        }
+
+        @Override
+        protected Set<T> persistentToTransient(Set<T> source) {
+            return PersistentSet.orderedFrom(source).asTransient();
+        }
+
+        @Override
+        protected Set<T> clearTransient(Set<T> source) {
+            source.clear();
+            return source;
+        }
+    }
+}
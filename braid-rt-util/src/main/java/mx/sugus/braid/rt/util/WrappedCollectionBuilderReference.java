@@ -0,0 +1,260 @@
+package mx.sugus.braid.rt.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builder reference for collections that are frozen by wrapping the transient collection in an unmodifiable view, in
+ * O(1), instead of copying it into the right-sized immutable collections of {@link CompactCollections}. The same
+ * factories as {@link CollectionBuilderReference} are offered and the same transient collections are used.
+ *
+ * <p>Building is cheaper, but the frozen instances keep the spare capacity of the transient collections for their whole
+ * lifetime, and the transient collections cannot be reused by the builders once frozen.
+ *
+ * @param <T> The collection type.
+ */
+public interface WrappedCollectionBuilderReference<T> extends CollectionBuilderReference<T> {
+
+    /**
+     * Creates a wrapped builder reference to an unordered map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> forUnorderedMap() {
+        return new UnorderedMapBuilderReference<>();
+    }
+
+    /**
+     * Creates a wrapped builder reference to an unordered map borrowing from the given map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> fromPersistentUnorderedMap(Map<K, V> persistent) {
+        return new UnorderedMapBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a wrapped builder reference to an ordered map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> forOrderedMap() {
+        return new OrderedMapBuilderReference<>();
+    }
+
+    /**
+     * Creates a wrapped builder reference to an ordered map borrowing from the given map.
+     *
+     * @param <K> Type of key of the map.
+     * @param <V> Type of value of the map.
+     * @return Returns the created map.
+     */
+    static <K, V> CollectionBuilderReference<Map<K, V>> fromPersistentOrderedMap(Map<K, V> persistent) {
+        return new OrderedMapBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a wrapped builder reference to a list.
+     *
+     * @param <T> Type of value in the list.
+     * @return Returns the created list.
+     */
+    static <T> CollectionBuilderReference<List<T>> forList() {
+        return new ListBuilderReference<>();
+    }
+
+    /**
+     * Creates a wrapped builder reference to a list borrowing from the given list.
+     *
+     * @param <T> Type of value in the list.
+     * @return Returns the created list.
+     */
+    static <T> CollectionBuilderReference<List<T>> fromPersistentList(List<T> persistent) {
+        return new ListBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a wrapped builder reference to an unordered set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> forUnorderedSet() {
+        return new UnorderedSetBuilderReference<>();
+    }
+
+    /**
+     * Creates a wrapped builder reference to an unordered set borrowing from the given set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> fromPersistentUnorderedSet(Set<T> persistent) {
+        return new UnorderedSetBuilderReference<>(persistent);
+    }
+
+    /**
+     * Creates a wrapped builder reference to an ordered set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> forOrderedSet() {
+        return new OrderedSetBuilderReference<>();
+    }
+
+    /**
+     * Creates a wrapped builder reference to an ordered set borrowing from the given set.
+     *
+     * @param <T> Type of value in the set.
+     * @return Returns the created set.
+     */
+    static <T> CollectionBuilderReference<Set<T>> fromPersistentOrderedSet(Set<T> persistent) {
+        return new OrderedSetBuilderReference<>(persistent);
+    }
+
+    /**
+     * A wrapped builder reference for maps.
+     *
+     * @param <K> The type of the key.
+     * @param <V> The type of the value.
+     */
+    class UnorderedMapBuilderReference<K, V>
+        extends CollectionBuilderReference.UnorderedMapBuilderReference<K, V>
+        implements WrappedCollectionBuilderReference<Map<K, V>> {
+
+        UnorderedMapBuilderReference() {
+        }
+
+        UnorderedMapBuilderReference(Map<K, V> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Map<K, V> transientToPersistent(Map<K, V> source) {
+            return Collections.unmodifiableMap(source);
+        }
+
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
+    }
+
+    /**
+     * A wrapped builder reference for maps that keep insert order as iteration order.
+     *
+     * @param <K> The type of the key.
+     * @param <V> The type of the value.
+     */
+    class OrderedMapBuilderReference<K, V>
+        extends CollectionBuilderReference.OrderedMapBuilderReference<K, V>
+        implements WrappedCollectionBuilderReference<Map<K, V>> {
+
+        OrderedMapBuilderReference() {
+        }
+
+        OrderedMapBuilderReference(Map<K, V> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Map<K, V> transientToPersistent(Map<K, V> source) {
+            return Collections.unmodifiableMap(source);
+        }
+
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
+    }
+
+    /**
+     * A wrapped builder reference for lists.
+     *
+     * @param <T> The type of the list member.
+     */
+    class ListBuilderReference<T>
+        extends CollectionBuilderReference.ListBuilderReference<T>
+        implements WrappedCollectionBuilderReference<List<T>> {
+
+        ListBuilderReference() {
+        }
+
+        ListBuilderReference(List<T> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected List<T> transientToPersistent(List<T> source) {
+            return Collections.unmodifiableList(source);
+        }
+
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
+    }
+
+    /**
+     * A wrapped builder reference for sets.
+     *
+     * @param <T> The type of the set member.
+     */
+    class UnorderedSetBuilderReference<T>
+        extends CollectionBuilderReference.UnorderedSetBuilderReference<T>
+        implements WrappedCollectionBuilderReference<Set<T>> {
+
+        UnorderedSetBuilderReference() {
+        }
+
+        UnorderedSetBuilderReference(Set<T> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Set<T> transientToPersistent(Set<T> source) {
+            return Collections.unmodifiableSet(source);
+        }
+
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
+    }
+
+    /**
+     * A wrapped builder reference for sets that keep insert order as iteration order.
+     *
+     * @param <T> The type of the set member.
+     */
+    class OrderedSetBuilderReference<T>
+        extends CollectionBuilderReference.OrderedSetBuilderReference<T>
+        implements WrappedCollectionBuilderReference<Set<T>> {
+
+        OrderedSetBuilderReference() {
+        }
+
+        OrderedSetBuilderReference(Set<T> persistent) {
+            super(persistent);
+        }
+
+        @Override
+        protected Set<T> transientToPersistent(Set<T> source) {
+            return Collections.unmodifiableSet(source);
+        }
+
+        @Override
+        protected boolean reusesTransient() {
+            return false;
+        }
+    }
+}
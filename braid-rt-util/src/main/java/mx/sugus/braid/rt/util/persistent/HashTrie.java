@@ -0,0 +1,362 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The nodes of the hash array mapped trie used by {@link PersistentHashMap} and {@link TransientHashMap}. Each level of
+ * the trie uses five bits of the hash of the key, the keys whose hashes are the same are kept in a collision node.
+ *
+ * <p>The operations that change the trie take the edit token of the transient map changing it, or null for persistent
+ * maps. The nodes created with the same edit token are owned by that transient map and changed in place, any other node
+ * is copied.
+ */
+final class HashTrie {
+    static final int BITS = 5;
+    static final int MASK = (1 << BITS) - 1;
+
+    private HashTrie() {
+    }
+
+    static int hash(Object key) {
+        var hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Keeps the outcome of an operation that changes the trie.
+     */
+    static final class Result {
+        boolean added;
+        boolean removed;
+        Object previous;
+    }
+
+    abstract static class Node {
+        final Object edit;
+
+        Node(Object edit) {
+            this.edit = edit;
+        }
+
+        abstract Object get(int shift, int hash, Object key, Object notFound);
+
+        abstract Node put(Object edit, int shift, int hash, Object key, Object value, Result result);
+
+        /**
+         * Returns the node without the key, null if the node ends up empty.
+         */
+        abstract Node remove(Object edit, int shift, int hash, Object key, Result result);
+
+        /**
+         * Returns the keys and values in this node, a null key stands for a child node kept as the value.
+         */
+        abstract Object[] array();
+    }
+
+    /**
+     * A node that keeps up to 32 entries or child nodes, along with a bitmap of the hash bits present.
+     */
+    static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+        int bitmap;
+        Object[] array;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit);
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key, Object notFound) {
+            var bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return notFound;
+            }
+            var idx = index(bit);
+            var keyOrNull = array[2 * idx];
+            var valueOrNode = array[2 * idx + 1];
+            if (keyOrNull == null) {
+                return ((Node) valueOrNode).get(shift + BITS, hash, key, notFound);
+            }
+            if (key.equals(keyOrNull)) {
+                return valueOrNode;
+            }
+            return notFound;
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Result result) {
+            var bit = bit(hash, shift);
+            var idx = index(bit);
+            if ((bitmap & bit) != 0) {
+                var keyOrNull = array[2 * idx];
+                var valueOrNode = array[2 * idx + 1];
+                if (keyOrNull == null) {
+                    var node = ((Node) valueOrNode).put(edit, shift + BITS, hash, key, value, result);
+                    if (node == valueOrNode) {
+                        return this;
+                    }
+                    return editAndSet(edit, 2 * idx + 1, node);
+                }
+                if (key.equals(keyOrNull)) {
+                    result.previous = valueOrNode;
+                    if (valueOrNode == value) {
+                        return this;
+                    }
+                    return editAndSet(edit, 2 * idx + 1, value);
+                }
+                result.added = true;
+                var node = createNode(edit, shift + BITS, keyOrNull, valueOrNode, hash, key, value);
+                var editable = ensureEditable(edit);
+                editable.array[2 * idx] = null;
+                editable.array[2 * idx + 1] = node;
+                return editable;
+            }
+            result.added = true;
+            var count = Integer.bitCount(bitmap);
+            var newArray = new Object[2 * (count + 1)];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            newArray[2 * idx] = key;
+            newArray[2 * idx + 1] = value;
+            System.arraycopy(array, 2 * idx, newArray, 2 * (idx + 1), 2 * (count - idx));
+            if (edit != null && this.edit == edit) {
+                this.bitmap |= bit;
+                this.array = newArray;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, newArray);
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Result result) {
+            var bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            var idx = index(bit);
+            var keyOrNull = array[2 * idx];
+            var valueOrNode = array[2 * idx + 1];
+            if (keyOrNull == null) {
+                var node = ((Node) valueOrNode).remove(edit, shift + BITS, hash, key, result);
+                if (node == valueOrNode) {
+                    return this;
+                }
+                if (node != null) {
+                    return editAndSet(edit, 2 * idx + 1, node);
+                }
+            } else if (key.equals(keyOrNull)) {
+                result.removed = true;
+                result.previous = valueOrNode;
+            } else {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            var count = Integer.bitCount(bitmap);
+            var newArray = new Object[2 * (count - 1)];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            System.arraycopy(array, 2 * (idx + 1), newArray, 2 * idx, 2 * (count - idx - 1));
+            if (edit != null && this.edit == edit) {
+                this.bitmap ^= bit;
+                this.array = newArray;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, newArray);
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private BitmapNode ensureEditable(Object edit) {
+            if (edit != null && this.edit == edit) {
+                return this;
+            }
+            return new BitmapNode(edit, bitmap, array.clone());
+        }
+
+        private BitmapNode editAndSet(Object edit, int idx, Object value) {
+            var editable = ensureEditable(edit);
+            editable.array[idx] = value;
+            return editable;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private static Node createNode(Object edit, int shift, Object key1, Object value1, int hash2, Object key2,
+                                       Object value2) {
+            var hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(edit, hash1, new Object[] {key1, value1, key2, value2});
+            }
+            var result = new Result();
+            return EMPTY.put(edit, shift, hash1, key1, value1, result)
+                        .put(edit, shift, hash2, key2, value2, result);
+        }
+    }
+
+    /**
+     * A node that keeps the entries whose keys have the same hash.
+     */
+    static final class CollisionNode extends Node {
+        final int hash;
+        Object[] array;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit);
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key, Object notFound) {
+            var idx = find(key);
+            if (idx < 0) {
+                return notFound;
+            }
+            return array[idx + 1];
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Result result) {
+            if (hash != this.hash) {
+                // Nest this node into a bitmap node and add the new entry to it.
+                var node = new BitmapNode(edit, BitmapNode.bit(this.hash, shift), new Object[] {null, this});
+                return node.put(edit, shift, hash, key, value, result);
+            }
+            var idx = find(key);
+            if (idx >= 0) {
+                result.previous = array[idx + 1];
+                if (array[idx + 1] == value) {
+                    return this;
+                }
+                var editable = ensureEditable(edit);
+                editable.array[idx + 1] = value;
+                return editable;
+            }
+            result.added = true;
+            var newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            if (edit != null && this.edit == edit) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Result result) {
+            var idx = find(key);
+            if (idx < 0) {
+                return this;
+            }
+            result.removed = true;
+            result.previous = array[idx + 1];
+            if (array.length == 2) {
+                return null;
+            }
+            var newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 2, newArray, idx, array.length - idx - 2);
+            if (edit != null && this.edit == edit) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int find(Object key) {
+            for (var idx = 0; idx < array.length; idx += 2) {
+                if (key.equals(array[idx])) {
+                    return idx;
+                }
+            }
+            return -1;
+        }
+
+        private CollisionNode ensureEditable(Object edit) {
+            if (edit != null && this.edit == edit) {
+                return this;
+            }
+            return new CollisionNode(edit, hash, array.clone());
+        }
+    }
+
+    /**
+     * Iterates the entries of a trie, depth first. The trie must not be changed in place while iterated.
+     */
+    static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Deque<Object[]> arrays = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private Object[] array;
+        private int position;
+        private Map.Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                array = root.array();
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            var result = next;
+            advance();
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (array != null) {
+                if (position == array.length) {
+                    array = arrays.pollFirst();
+                    position = array == null ? 0 : positions.pollFirst();
+                    continue;
+                }
+                var keyOrNull = array[position];
+                var valueOrNode = array[position + 1];
+                position += 2;
+                if (keyOrNull == null) {
+                    arrays.addFirst(array);
+                    positions.addFirst(position);
+                    array = ((Node) valueOrNode).array();
+                    position = 0;
+                    continue;
+                }
+                next = new AbstractMap.SimpleImmutableEntry<>((K) keyOrNull, (V) valueOrNode);
+                return;
+            }
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable map backed by a hash array mapped trie, that shares its structure with the maps derived from it. Adding,
+ * replacing and removing entries of a copy is O(log32 n) instead of O(n). The keys cannot be null.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> implements PersistentMap<K, V> {
+    static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(0, null);
+    final int size;
+    final HashTrie.Node root;
+
+    PersistentHashMap(int size, HashTrie.Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a map with the entries of the given map. If the map is already a persistent hash map it is returned as is.
+     *
+     * @param source The map with the entries
+     * @param <K>    The type of the keys
+     * @param <V>    The type of the values
+     * @return a map with the entries of the given map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> from(Map<? extends K, ? extends V> source) {
+        if (source instanceof PersistentHashMap<?, ?> map) {
+            return (PersistentHashMap<K, V>) map;
+        }
+        var result = PersistentHashMap.<K, V>empty().asTransient();
+        result.putAll(source);
+        return result.persistent();
+    }
+
+    @Override
+    public TransientHashMap<K, V> asTransient() {
+        return new TransientHashMap<>(size, root);
+    }
+
+    @Override
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        return (PersistentHashMap<K, V>) PersistentMap.super.plus(key, value);
+    }
+
+    @Override
+    public PersistentHashMap<K, V> minus(K key) {
+        return (PersistentHashMap<K, V>) PersistentMap.super.minus(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return get(root, key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return containsKey(root, key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new HashTrie.EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> V get(HashTrie.Node root, Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+        var value = root.get(0, HashTrie.hash(key), key, NOT_FOUND);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    static boolean containsKey(HashTrie.Node root, Object key) {
+        if (root == null || key == null) {
+            return false;
+        }
+        return root.get(0, HashTrie.hash(key), key, NOT_FOUND) != NOT_FOUND;
+    }
+}
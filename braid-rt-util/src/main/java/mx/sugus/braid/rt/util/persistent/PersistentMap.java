@@ -0,0 +1,47 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.Map;
+
+/**
+ * An immutable map that shares its structure with the maps derived from it.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public interface PersistentMap<K, V> extends Map<K, V> {
+
+    /**
+     * Returns a transient copy of this map, the copy is done lazily as the transient is changed.
+     *
+     * @return a transient copy of this map
+     */
+    TransientMap<K, V> asTransient();
+
+    /**
+     * Returns a new map with the given entry added, or replaced if the key is already present.
+     *
+     * @param key   The key of the entry
+     * @param value The value of the entry
+     * @return a new map with the given entry
+     */
+    default PersistentMap<K, V> plus(K key, V value) {
+        var result = asTransient();
+        result.put(key, value);
+        return result.persistent();
+    }
+
+    /**
+     * Returns a new map without the given key.
+     *
+     * @param key The key to remove
+     * @return a new map without the given key
+     */
+    default PersistentMap<K, V> minus(K key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        var result = asTransient();
+        result.remove(key);
+        return result.persistent();
+    }
+}
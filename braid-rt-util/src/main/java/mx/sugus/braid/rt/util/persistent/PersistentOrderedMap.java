@@ -0,0 +1,144 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map that keeps the insertion order as iteration order, and that shares its structure with the maps derived
+ * from it. The entries are kept in a {@link PersistentVector} in insertion order, along with a {@link PersistentHashMap}
+ * from each key to the index of its entry. Removed entries leave a gap in the vector, which is compacted once the gaps
+ * outnumber the entries. The keys cannot be null.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public final class PersistentOrderedMap<K, V> extends AbstractMap<K, V> implements PersistentMap<K, V> {
+    private static final PersistentOrderedMap<?, ?> EMPTY = new PersistentOrderedMap<>(PersistentHashMap.empty(),
+                                                                                        PersistentVector.empty());
+    final PersistentHashMap<K, Integer> indexes;
+    final PersistentVector<Entry<K, V>> entries;
+
+    PersistentOrderedMap(PersistentHashMap<K, Integer> indexes, PersistentVector<Entry<K, V>> entries) {
+        this.indexes = indexes;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentOrderedMap<K, V> empty() {
+        return (PersistentOrderedMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a map with the entries of the given map, in its iteration order. If the map is already a persistent ordered
+     * map it is returned as is.
+     *
+     * @param source The map with the entries
+     * @param <K>    The type of the keys
+     * @param <V>    The type of the values
+     * @return a map with the entries of the given map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentOrderedMap<K, V> from(Map<? extends K, ? extends V> source) {
+        if (source instanceof PersistentOrderedMap<?, ?> map) {
+            return (PersistentOrderedMap<K, V>) map;
+        }
+        var result = PersistentOrderedMap.<K, V>empty().asTransient();
+        result.putAll(source);
+        return result.persistent();
+    }
+
+    @Override
+    public TransientOrderedMap<K, V> asTransient() {
+        return new TransientOrderedMap<>(indexes.asTransient(), entries.asTransient());
+    }
+
+    @Override
+    public PersistentOrderedMap<K, V> plus(K key, V value) {
+        return (PersistentOrderedMap<K, V>) PersistentMap.super.plus(key, value);
+    }
+
+    @Override
+    public PersistentOrderedMap<K, V> minus(K key) {
+        return (PersistentOrderedMap<K, V>) PersistentMap.super.minus(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        var index = indexes.get(key);
+        if (index == null) {
+            return null;
+        }
+        return entries.get(index).getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexes.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return indexes.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(entries.iterator());
+            }
+
+            @Override
+            public int size() {
+                return indexes.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates the entries in insertion order, skipping the gaps left by removed entries.
+     */
+    static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Iterator<Entry<K, V>> entries;
+        private Entry<K, V> next;
+
+        EntryIterator(Iterator<Entry<K, V>> entries) {
+            this.entries = entries;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            var result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && entries.hasNext()) {
+                next = entries.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * An immutable set that shares its structure with the sets derived from it, backed by the keys of a
+ * {@link PersistentHashMap} or, to keep the insertion order as iteration order, of a {@link PersistentOrderedMap}. The
+ * elements cannot be null.
+ *
+ * @param <T> The type of the elements
+ */
+public final class PersistentSet<T> extends AbstractSet<T> {
+    private static final PersistentSet<?> EMPTY_UNORDERED = new PersistentSet<>(PersistentHashMap.empty());
+    private static final PersistentSet<?> EMPTY_ORDERED = new PersistentSet<>(PersistentOrderedMap.empty());
+    private final PersistentMap<T, Boolean> map;
+
+    PersistentSet(PersistentMap<T, Boolean> map) {
+        this.map = map;
+    }
+
+    /**
+     * Returns the empty unordered set.
+     *
+     * @param <T> The type of the elements
+     * @return the empty unordered set
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentSet<T> emptyUnordered() {
+        return (PersistentSet<T>) EMPTY_UNORDERED;
+    }
+
+    /**
+     * Returns the empty set that keeps the insertion order as iteration order.
+     *
+     * @param <T> The type of the elements
+     * @return the empty ordered set
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentSet<T> emptyOrdered() {
+        return (PersistentSet<T>) EMPTY_ORDERED;
+    }
+
+    /**
+     * Returns an unordered set with the elements of the given collection.
+     *
+     * @param source The collection with the elements
+     * @param <T>    The type of the elements
+     * @return an unordered set with the elements of the given collection
+     */
+    public static <T> PersistentSet<T> unorderedFrom(Collection<? extends T> source) {
+        return from(PersistentSet.<T>emptyUnordered(), source);
+    }
+
+    /**
+     * Returns a set with the elements of the given collection that keeps its iteration order.
+     *
+     * @param source The collection with the elements
+     * @param <T>    The type of the elements
+     * @return an ordered set with the elements of the given collection
+     */
+    public static <T> PersistentSet<T> orderedFrom(Collection<? extends T> source) {
+        return from(PersistentSet.<T>emptyOrdered(), source);
+    }
+
+    /**
+     * Returns a transient copy of this set, the copy is done lazily as the transient is changed.
+     *
+     * @return a transient copy of this set
+     */
+    public TransientSet<T> asTransient() {
+        return new TransientSet<>(map.asTransient());
+    }
+
+    /**
+     * Returns true if this set keeps the insertion order as iteration order.
+     *
+     * @return true if this set keeps the insertion order as iteration order
+     */
+    public boolean isOrdered() {
+        return map instanceof PersistentOrderedMap;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return map.containsKey(value);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PersistentSet<T> from(PersistentSet<T> empty, Collection<? extends T> source) {
+        if (source instanceof PersistentSet<?> set && set.isOrdered() == empty.isOrdered()) {
+            return (PersistentSet<T>) set;
+        }
+        var result = empty.asTransient();
+        result.addAll(source);
+        return result.persistent();
+    }
+}
@@ -0,0 +1,181 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list that shares its structure with the lists derived from it. The elements are kept in a 32-way trie plus
+ * a tail array with the last elements, such that appending to and updating a copy is O(log32 n) instead of O(n).
+ *
+ * <p>The lists are derived using a {@link TransientVector}, returned by {@link #asTransient()}, that changes in place the
+ * nodes it already copied and returns back an immutable list in O(1) using {@link TransientVector#persistent()}.
+ *
+ * @param <T> The type of the elements
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+    static final int BITS = 5;
+    static final int WIDTH = 1 << BITS;
+    static final int MASK = WIDTH - 1;
+    static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+    final int size;
+    final int shift;
+    final Node root;
+    final Object[] tail;
+
+    PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector.
+     *
+     * @param <T> The type of the elements
+     * @return the empty vector
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * Returns a vector with the elements of the given collection. If the collection is already a persistent vector it is
+     * returned as is.
+     *
+     * @param source The collection with the elements
+     * @param <T>    The type of the elements
+     * @return a vector with the elements of the given collection
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> from(Collection<? extends T> source) {
+        if (source instanceof PersistentVector<?> vector) {
+            return (PersistentVector<T>) vector;
+        }
+        var result = PersistentVector.<T>empty().asTransient();
+        result.addAll(source);
+        return result.persistent();
+    }
+
+    /**
+     * Returns a transient copy of this vector, the copy is done lazily, one node at a time, as the transient is changed.
+     *
+     * @return a transient copy of this vector
+     */
+    public TransientVector<T> asTransient() {
+        return new TransientVector<>(this);
+    }
+
+    /**
+     * Returns a new vector with the given element appended.
+     *
+     * @param value The element to append
+     * @return a new vector with the given element appended
+     */
+    public PersistentVector<T> plus(T value) {
+        var result = asTransient();
+        result.add(value);
+        return result.persistent();
+    }
+
+    /**
+     * Returns a new vector with the element at the given index replaced.
+     *
+     * @param index The index of the element to replace
+     * @param value The new element
+     * @return a new vector with the element at the given index replaced
+     */
+    public PersistentVector<T> with(int index, T value) {
+        var result = asTransient();
+        result.set(index, value);
+        return result.persistent();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) arrayFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new VectorIterator<>(this);
+    }
+
+    Object[] arrayFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        var node = root;
+        for (var level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Returns the index of the first element kept in the tail for a vector of the given size.
+     */
+    static int tailOffset(int size) {
+        if (size < WIDTH) {
+            return 0;
+        }
+        return ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * A node of the trie. The nodes with the same edit token as a transient vector are owned by it and can be changed in
+     * place.
+     */
+    static final class Node {
+        final Object edit;
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Iterates the elements one leaf array at a time.
+     */
+    static final class VectorIterator<T> implements Iterator<T> {
+        private final PersistentVector<T> vector;
+        private Object[] array;
+        private int index;
+
+        VectorIterator(PersistentVector<T> vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < vector.size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (index >= vector.size) {
+                throw new NoSuchElementException();
+            }
+            if ((index & MASK) == 0) {
+                array = vector.arrayFor(index);
+            }
+            return (T) array[index++ & MASK];
+        }
+    }
+}
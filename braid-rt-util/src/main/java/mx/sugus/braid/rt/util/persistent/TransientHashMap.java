@@ -0,0 +1,126 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A mutable map derived from a {@link PersistentHashMap}. The nodes of the trie are copied the first time they are changed
+ * and changed in place afterwards, adding, replacing and removing entries is O(log32 n).
+ *
+ * <p>{@link #persistent()} returns an immutable map with the current entries in O(1). The nodes are shared with the
+ * returned map and this map no longer owns them, this map can still be changed afterwards and will copy them again.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public final class TransientHashMap<K, V> extends AbstractMap<K, V> implements TransientMap<K, V> {
+    private Object edit = new Object();
+    private int size;
+    private HashTrie.Node root;
+
+    TransientHashMap(int size, HashTrie.Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    @Override
+    public PersistentHashMap<K, V> persistent() {
+        if (size == 0) {
+            return PersistentHashMap.empty();
+        }
+        // Rotate the edit token, the nodes are now shared with the returned map and will be copied when changed.
+        edit = new Object();
+        return new PersistentHashMap<>(size, root);
+    }
+
+    @Override
+    public V get(Object key) {
+        return PersistentHashMap.get(root, key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return PersistentHashMap.containsKey(root, key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        var result = new HashTrie.Result();
+        var node = root == null ? HashTrie.BitmapNode.EMPTY : root;
+        root = node.put(edit, 0, HashTrie.hash(key), key, value, result);
+        if (result.added) {
+            size++;
+        }
+        return (V) result.previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+        var result = new HashTrie.Result();
+        root = root.remove(edit, 0, HashTrie.hash(key), key, result);
+        if (result.removed) {
+            size--;
+        }
+        return (V) result.previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        root = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                // Iterate over a snapshot of the trie, changes done while iterating will copy the nodes instead.
+                edit = new Object();
+                var entries = new HashTrie.EntryIterator<K, V>(root);
+                return new Iterator<>() {
+                    private Entry<K, V> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        last = entries.next();
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        TransientHashMap.this.remove(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
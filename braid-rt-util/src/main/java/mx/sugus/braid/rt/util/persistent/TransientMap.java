@@ -0,0 +1,20 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.Map;
+
+/**
+ * A mutable map derived from a {@link PersistentMap}, that copies the structure of the persistent map as it is changed.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public interface TransientMap<K, V> extends Map<K, V> {
+
+    /**
+     * Returns an immutable map with the current entries of this map, in O(1). This map can still be changed afterwards
+     * without changing the returned map.
+     *
+     * @return an immutable map with the current entries of this map
+     */
+    PersistentMap<K, V> persistent();
+}
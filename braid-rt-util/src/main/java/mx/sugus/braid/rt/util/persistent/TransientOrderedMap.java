@@ -0,0 +1,140 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A mutable map derived from a {@link PersistentOrderedMap}, that keeps the insertion order as iteration order. Adding,
+ * replacing and removing entries is O(log32 n), and {@link #persistent()} returns an immutable map with the current
+ * entries in O(1).
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public final class TransientOrderedMap<K, V> extends AbstractMap<K, V> implements TransientMap<K, V> {
+    private final TransientHashMap<K, Integer> indexes;
+    private final TransientVector<Entry<K, V>> entries;
+
+    TransientOrderedMap(TransientHashMap<K, Integer> indexes, TransientVector<Entry<K, V>> entries) {
+        this.indexes = indexes;
+        this.entries = entries;
+    }
+
+    @Override
+    public PersistentOrderedMap<K, V> persistent() {
+        if (indexes.isEmpty()) {
+            return PersistentOrderedMap.empty();
+        }
+        return new PersistentOrderedMap<>(indexes.persistent(), entries.persistent());
+    }
+
+    @Override
+    public V get(Object key) {
+        var index = indexes.get(key);
+        if (index == null) {
+            return null;
+        }
+        return entries.get(index).getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexes.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        var entry = new SimpleImmutableEntry<>(key, value);
+        var index = indexes.get(key);
+        if (index == null) {
+            indexes.put(key, entries.size());
+            entries.add(entry);
+            return null;
+        }
+        return entries.set(index, entry).getValue();
+    }
+
+    @Override
+    public V remove(Object key) {
+        var index = indexes.remove(key);
+        if (index == null) {
+            return null;
+        }
+        var previous = entries.set(index, null);
+        var gaps = entries.size() - indexes.size();
+        if (gaps > PersistentVector.WIDTH && gaps > indexes.size()) {
+            compact();
+        }
+        return previous.getValue();
+    }
+
+    @Override
+    public void clear() {
+        indexes.clear();
+        entries.clear();
+    }
+
+    @Override
+    public int size() {
+        return indexes.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                // Iterate over a snapshot of the entries, changes done while iterating will copy the nodes instead.
+                var iterator = new PersistentOrderedMap.EntryIterator<>(entries.persistent().iterator());
+                return new Iterator<>() {
+                    private Entry<K, V> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        last = iterator.next();
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        TransientOrderedMap.this.remove(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return indexes.size();
+            }
+        };
+    }
+
+    /**
+     * Removes the gaps left by the removed entries, and updates the indexes of the entries moved.
+     */
+    private void compact() {
+        var live = entries.toArray();
+        entries.clear();
+        for (var element : live) {
+            if (element != null) {
+                @SuppressWarnings("unchecked")
+                var entry = (Entry<K, V>) element;
+                indexes.put(entry.getKey(), entries.size());
+                entries.add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A mutable set derived from a {@link PersistentSet}, that copies the structure of the persistent set as it is changed.
+ *
+ * @param <T> The type of the elements
+ */
+public final class TransientSet<T> extends AbstractSet<T> {
+    private final TransientMap<T, Boolean> map;
+
+    TransientSet(TransientMap<T, Boolean> map) {
+        this.map = map;
+    }
+
+    /**
+     * Returns an immutable set with the current elements of this set, in O(1). This set can still be changed afterwards
+     * without changing the returned set.
+     *
+     * @return an immutable set with the current elements of this set
+     */
+    public PersistentSet<T> persistent() {
+        return new PersistentSet<>(map.persistent());
+    }
+
+    @Override
+    public boolean add(T value) {
+        Objects.requireNonNull(value, "value");
+        return map.put(value, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return map.remove(value) != null;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return map.containsKey(value);
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+}
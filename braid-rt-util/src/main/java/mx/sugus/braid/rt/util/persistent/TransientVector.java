@@ -0,0 +1,219 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import static mx.sugus.braid.rt.util.persistent.PersistentVector.BITS;
+import static mx.sugus.braid.rt.util.persistent.PersistentVector.EMPTY_NODE;
+import static mx.sugus.braid.rt.util.persistent.PersistentVector.MASK;
+import static mx.sugus.braid.rt.util.persistent.PersistentVector.WIDTH;
+import static mx.sugus.braid.rt.util.persistent.PersistentVector.tailOffset;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import mx.sugus.braid.rt.util.persistent.PersistentVector.Node;
+
+/**
+ * A mutable list derived from a {@link PersistentVector}. The nodes of the vector are copied the first time they are
+ * changed and changed in place afterwards, appending and updating elements is O(log32 n).
+ *
+ * <p>{@link #persistent()} returns an immutable vector with the current elements in O(1). The nodes are shared with the
+ * returned vector and this list no longer owns them, this list can still be changed afterwards and will copy them again.
+ * Inserting or removing elements other than at the end rebuilds the vector in O(n).
+ *
+ * @param <T> The type of the elements
+ */
+public final class TransientVector<T> extends AbstractList<T> implements RandomAccess {
+    private Object edit = new Object();
+    private int size;
+    private int shift;
+    private Node root;
+    private Object[] tail;
+
+    TransientVector(PersistentVector<T> source) {
+        this.size = source.size;
+        this.shift = source.shift;
+        this.root = source.root;
+        this.tail = Arrays.copyOf(source.tail, WIDTH);
+    }
+
+    /**
+     * Returns an immutable vector with the current elements of this list, in O(1).
+     *
+     * @return an immutable vector with the current elements of this list
+     */
+    public PersistentVector<T> persistent() {
+        if (size == 0) {
+            return PersistentVector.empty();
+        }
+        // Rotate the edit token, the nodes are now shared with the returned vector and will be copied when changed.
+        edit = new Object();
+        return new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) arrayFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(T value) {
+        modCount++;
+        if (size - tailOffset(size) < WIDTH) {
+            tail[size & MASK] = value;
+            size++;
+            return true;
+        }
+        var tailNode = new Node(edit, tail);
+        tail = new Object[WIDTH];
+        tail[0] = value;
+        if ((size >>> BITS) > (1 << shift)) {
+            var newRoot = new Node(edit, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, tailNode);
+            root = newRoot;
+            shift += BITS;
+        } else {
+            root = pushTail(shift, root, tailNode);
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> values) {
+        for (var value : values) {
+            add(value);
+        }
+        return !values.isEmpty();
+    }
+
+    @Override
+    public void add(int index, T value) {
+        if (index == size) {
+            add(value);
+            return;
+        }
+        Objects.checkIndex(index, size);
+        var elements = toArray();
+        var newElements = new Object[size + 1];
+        System.arraycopy(elements, 0, newElements, 0, index);
+        newElements[index] = value;
+        System.arraycopy(elements, index, newElements, index + 1, size - index);
+        rebuild(newElements);
+    }
+
+    @Override
+    public T set(int index, T value) {
+        var previous = get(index);
+        if (index >= tailOffset(size)) {
+            tail[index & MASK] = value;
+        } else {
+            root = doSet(shift, root, index, value);
+        }
+        return previous;
+    }
+
+    @Override
+    public T remove(int index) {
+        var previous = get(index);
+        if (index == size - 1 && size - tailOffset(size) > 1) {
+            tail[index & MASK] = null;
+            size--;
+            modCount++;
+            return previous;
+        }
+        var elements = toArray();
+        var newElements = new Object[size - 1];
+        System.arraycopy(elements, 0, newElements, 0, index);
+        System.arraycopy(elements, index + 1, newElements, index, size - index - 1);
+        rebuild(newElements);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        size = 0;
+        shift = BITS;
+        root = EMPTY_NODE;
+        tail = new Object[WIDTH];
+    }
+
+    @Override
+    public Object[] toArray() {
+        var result = new Object[size];
+        for (var idx = 0; idx < size; idx += WIDTH) {
+            System.arraycopy(arrayFor(idx), 0, result, idx, Math.min(WIDTH, size - idx));
+        }
+        return result;
+    }
+
+    private void rebuild(Object[] elements) {
+        clear();
+        for (var element : elements) {
+            @SuppressWarnings("unchecked")
+            var value = (T) element;
+            add(value);
+        }
+    }
+
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        var node = root;
+        for (var level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private Node ensureEditable(Node node) {
+        if (node.edit == edit) {
+            return node;
+        }
+        return new Node(edit, node.array.clone());
+    }
+
+    private Node newPath(int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        var result = new Node(edit, new Object[WIDTH]);
+        result.array[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        var result = ensureEditable(parent);
+        var index = ((size - 1) >>> level) & MASK;
+        if (level == BITS) {
+            result.array[index] = tailNode;
+        } else {
+            var child = (Node) result.array[index];
+            result.array[index] = child != null
+                ? pushTail(level - BITS, child, tailNode)
+                : newPath(level - BITS, tailNode);
+        }
+        return result;
+    }
+
+    private Node doSet(int level, Node node, int index, Object value) {
+        var result = ensureEditable(node);
+        if (level == 0) {
+            result.array[index & MASK] = value;
+        } else {
+            var subIndex = (index >>> level) & MASK;
+            result.array[subIndex] = doSet(level - BITS, (Node) node.array[subIndex], index, value);
+        }
+        return result;
+    }
+}
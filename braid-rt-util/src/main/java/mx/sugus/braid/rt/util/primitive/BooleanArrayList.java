@@ -0,0 +1,131 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A mutable list of {@code boolean} values that stores the values unboxed in a growable array, used by the builders of
+ * lists of {@code boolean}. The list cannot contain null values.
+ */
+public final class BooleanArrayList extends AbstractList<Boolean> implements RandomAccess {
+    private boolean[] values;
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public BooleanArrayList() {
+        this.values = new boolean[10];
+    }
+
+    BooleanArrayList(boolean[] values) {
+        this.values = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Appends the given value, without boxing it.
+     *
+     * @param value The value to append
+     */
+    public void addBoolean(boolean value) {
+        modCount++;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(10, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @return the value at the given index
+     */
+    public boolean getBoolean(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Replaces the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @param value The new value
+     * @return the previous value
+     */
+    public boolean setBoolean(int index, boolean value) {
+        Objects.checkIndex(index, size);
+        var previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * Returns a copy of the values of this list.
+     *
+     * @return a copy of the values of this list
+     */
+    public boolean[] toBooleanArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns an immutable list with the current values of this list.
+     *
+     * @return an immutable list with the current values of this list
+     */
+    public BooleanList toList() {
+        if (size == 0) {
+            return BooleanList.empty();
+        }
+        return new BooleanList(toBooleanArray());
+    }
+
+    @Override
+    public Boolean get(int index) {
+        return getBoolean(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Boolean value) {
+        addBoolean(Objects.requireNonNull(value, "value"));
+        return true;
+    }
+
+    @Override
+    public void add(int index, Boolean value) {
+        Objects.checkIndex(index, size + 1);
+        boolean unboxed = Objects.requireNonNull(value, "value");
+        addBoolean(unboxed);
+        System.arraycopy(values, index, values, index + 1, size - index - 1);
+        values[index] = unboxed;
+    }
+
+    @Override
+    public Boolean set(int index, Boolean value) {
+        return setBoolean(index, Objects.requireNonNull(value, "value"));
+    }
+
+    @Override
+    public Boolean remove(int index) {
+        var previous = getBoolean(index);
+        modCount++;
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        size = 0;
+    }
+}
@@ -0,0 +1,70 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.List;
+import mx.sugus.braid.rt.util.AbstractBuilderReference;
+import mx.sugus.braid.rt.util.CollectionBuilderReference;
+
+/**
+ * Builder reference for lists of {@code boolean} that store the values unboxed, backed up by {@link BooleanArrayList} and
+ * frozen into {@link BooleanList}.
+ */
+public final class BooleanListBuilderReference
+    extends AbstractBuilderReference<List<Boolean>, List<Boolean>>
+    implements CollectionBuilderReference<List<Boolean>> {
+
+    BooleanListBuilderReference() {
+    }
+
+    BooleanListBuilderReference(List<Boolean> persistent) {
+        super(persistent);
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code boolean}.
+     *
+     * @return Returns the created list.
+     */
+    public static BooleanListBuilderReference forList() {
+        return new BooleanListBuilderReference();
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code boolean} borrowing from the given list.
+     *
+     * @return Returns the created list.
+     */
+    public static BooleanListBuilderReference fromPersistentList(List<Boolean> persistent) {
+        return new BooleanListBuilderReference(persistent);
+    }
+
+    @Override
+    public BooleanArrayList asTransient() {
+        return (BooleanArrayList) super.asTransient();
+    }
+
+    @Override
+    protected List<Boolean> emptyPersistent() {
+        return BooleanList.empty();
+    }
+
+    @Override
+    protected List<Boolean> emptyTransient() {
+        return new BooleanArrayList();
+    }
+
+    @Override
+    protected List<Boolean> transientToPersistent(List<Boolean> source) {
+        return BooleanList.copyOf(source);
+    }
+
+    @Override
+    protected List<Boolean> persistentToTransient(List<Boolean> source) {
+        return new BooleanArrayList(BooleanList.copyOf(source).toBooleanArray());
+    }
+
+    @Override
+    protected List<Boolean> clearTransient(List<Boolean> source) {
+        source.clear();
+        return source;
+    }
+}
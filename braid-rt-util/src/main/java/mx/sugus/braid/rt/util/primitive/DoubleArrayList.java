@@ -0,0 +1,131 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A mutable list of {@code double} values that stores the values unboxed in a growable array, used by the builders of
+ * lists of {@code double}. The list cannot contain null values.
+ */
+public final class DoubleArrayList extends AbstractList<Double> implements RandomAccess {
+    private double[] values;
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public DoubleArrayList() {
+        this.values = new double[10];
+    }
+
+    DoubleArrayList(double[] values) {
+        this.values = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Appends the given value, without boxing it.
+     *
+     * @param value The value to append
+     */
+    public void addDouble(double value) {
+        modCount++;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(10, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @return the value at the given index
+     */
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Replaces the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @param value The new value
+     * @return the previous value
+     */
+    public double setDouble(int index, double value) {
+        Objects.checkIndex(index, size);
+        var previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * Returns a copy of the values of this list.
+     *
+     * @return a copy of the values of this list
+     */
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns an immutable list with the current values of this list.
+     *
+     * @return an immutable list with the current values of this list
+     */
+    public DoubleList toList() {
+        if (size == 0) {
+            return DoubleList.empty();
+        }
+        return new DoubleList(toDoubleArray());
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Double value) {
+        addDouble(Objects.requireNonNull(value, "value"));
+        return true;
+    }
+
+    @Override
+    public void add(int index, Double value) {
+        Objects.checkIndex(index, size + 1);
+        double unboxed = Objects.requireNonNull(value, "value");
+        addDouble(unboxed);
+        System.arraycopy(values, index, values, index + 1, size - index - 1);
+        values[index] = unboxed;
+    }
+
+    @Override
+    public Double set(int index, Double value) {
+        return setDouble(index, Objects.requireNonNull(value, "value"));
+    }
+
+    @Override
+    public Double remove(int index) {
+        var previous = getDouble(index);
+        modCount++;
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        size = 0;
+    }
+}
@@ -0,0 +1,131 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of {@code double} values backed by an array of the exact size, that stores the values unboxed and offers
+ * a boxed {@link java.util.List} view of them. The list cannot contain null values.
+ */
+public final class DoubleList extends AbstractList<Double> implements RandomAccess {
+    private static final DoubleList EMPTY = new DoubleList(new double[0]);
+    private final double[] values;
+
+    DoubleList(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @return the empty list
+     */
+    public static DoubleList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list with the given values.
+     *
+     * @param values The values of the list
+     * @return a list with the given values
+     */
+    public static DoubleList of(double... values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        return new DoubleList(values.clone());
+    }
+
+    /**
+     * Returns a list with the values of the given collection. If the collection is already a {@code DoubleList} it is
+     * returned as is.
+     *
+     * @param source The collection with the values
+     * @return a list with the values of the given collection
+     */
+    public static DoubleList copyOf(Collection<? extends Double> source) {
+        if (source instanceof DoubleList list) {
+            return list;
+        }
+        if (source instanceof DoubleArrayList list) {
+            return list.toList();
+        }
+        if (source.isEmpty()) {
+            return EMPTY;
+        }
+        var values = new double[source.size()];
+        var idx = 0;
+        for (var value : source) {
+            values[idx++] = Objects.requireNonNull(value, "value");
+        }
+        return new DoubleList(values);
+    }
+
+    /**
+     * Returns the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @return the value at the given index
+     */
+    public double getDouble(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a copy of the values of this list.
+     *
+     * @return a copy of the values of this list
+     */
+    public double[] toDoubleArray() {
+        return values.clone();
+    }
+
+    @Override
+    public Double get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value instanceof Double boxed) {
+            double unboxed = boxed;
+            for (var idx = 0; idx < values.length; idx++) {
+                if (Double.doubleToLongBits(values[idx]) == Double.doubleToLongBits(unboxed)) {
+                    return idx;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof DoubleList other) {
+            return Arrays.equals(values, other.values);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        var hashCode = 1;
+        for (var value : values) {
+            hashCode = 31 * hashCode + Double.hashCode(value);
+        }
+        return hashCode;
+    }
+}
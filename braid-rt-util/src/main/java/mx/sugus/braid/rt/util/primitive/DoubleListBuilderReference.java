@@ -0,0 +1,70 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.List;
+import mx.sugus.braid.rt.util.AbstractBuilderReference;
+import mx.sugus.braid.rt.util.CollectionBuilderReference;
+
+/**
+ * Builder reference for lists of {@code double} that store the values unboxed, backed up by {@link DoubleArrayList} and
+ * frozen into {@link DoubleList}.
+ */
+public final class DoubleListBuilderReference
+    extends AbstractBuilderReference<List<Double>, List<Double>>
+    implements CollectionBuilderReference<List<Double>> {
+
+    DoubleListBuilderReference() {
+    }
+
+    DoubleListBuilderReference(List<Double> persistent) {
+        super(persistent);
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code double}.
+     *
+     * @return Returns the created list.
+     */
+    public static DoubleListBuilderReference forList() {
+        return new DoubleListBuilderReference();
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code double} borrowing from the given list.
+     *
+     * @return Returns the created list.
+     */
+    public static DoubleListBuilderReference fromPersistentList(List<Double> persistent) {
+        return new DoubleListBuilderReference(persistent);
+    }
+
+    @Override
+    public DoubleArrayList asTransient() {
+        return (DoubleArrayList) super.asTransient();
+    }
+
+    @Override
+    protected List<Double> emptyPersistent() {
+        return DoubleList.empty();
+    }
+
+    @Override
+    protected List<Double> emptyTransient() {
+        return new DoubleArrayList();
+    }
+
+    @Override
+    protected List<Double> transientToPersistent(List<Double> source) {
+        return DoubleList.copyOf(source);
+    }
+
+    @Override
+    protected List<Double> persistentToTransient(List<Double> source) {
+        return new DoubleArrayList(DoubleList.copyOf(source).toDoubleArray());
+    }
+
+    @Override
+    protected List<Double> clearTransient(List<Double> source) {
+        source.clear();
+        return source;
+    }
+}
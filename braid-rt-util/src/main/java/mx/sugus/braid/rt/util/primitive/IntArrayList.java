@@ -0,0 +1,131 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A mutable list of {@code int} values that stores the values unboxed in a growable array, used by the builders of
+ * lists of {@code int}. The list cannot contain null values.
+ */
+public final class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+    private int[] values;
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public IntArrayList() {
+        this.values = new int[10];
+    }
+
+    IntArrayList(int[] values) {
+        this.values = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Appends the given value, without boxing it.
+     *
+     * @param value The value to append
+     */
+    public void addInt(int value) {
+        modCount++;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(10, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @return the value at the given index
+     */
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Replaces the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @param value The new value
+     * @return the previous value
+     */
+    public int setInt(int index, int value) {
+        Objects.checkIndex(index, size);
+        var previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * Returns a copy of the values of this list.
+     *
+     * @return a copy of the values of this list
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns an immutable list with the current values of this list.
+     *
+     * @return an immutable list with the current values of this list
+     */
+    public IntList toList() {
+        if (size == 0) {
+            return IntList.empty();
+        }
+        return new IntList(toIntArray());
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Integer value) {
+        addInt(Objects.requireNonNull(value, "value"));
+        return true;
+    }
+
+    @Override
+    public void add(int index, Integer value) {
+        Objects.checkIndex(index, size + 1);
+        int unboxed = Objects.requireNonNull(value, "value");
+        addInt(unboxed);
+        System.arraycopy(values, index, values, index + 1, size - index - 1);
+        values[index] = unboxed;
+    }
+
+    @Override
+    public Integer set(int index, Integer value) {
+        return setInt(index, Objects.requireNonNull(value, "value"));
+    }
+
+    @Override
+    public Integer remove(int index) {
+        var previous = getInt(index);
+        modCount++;
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        size = 0;
+    }
+}
@@ -0,0 +1,131 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of {@code int} values backed by an array of the exact size, that stores the values unboxed and offers
+ * a boxed {@link java.util.List} view of them. The list cannot contain null values.
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+    private static final IntList EMPTY = new IntList(new int[0]);
+    private final int[] values;
+
+    IntList(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @return the empty list
+     */
+    public static IntList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list with the given values.
+     *
+     * @param values The values of the list
+     * @return a list with the given values
+     */
+    public static IntList of(int... values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        return new IntList(values.clone());
+    }
+
+    /**
+     * Returns a list with the values of the given collection. If the collection is already an {@code IntList} it is
+     * returned as is.
+     *
+     * @param source The collection with the values
+     * @return a list with the values of the given collection
+     */
+    public static IntList copyOf(Collection<? extends Integer> source) {
+        if (source instanceof IntList list) {
+            return list;
+        }
+        if (source instanceof IntArrayList list) {
+            return list.toList();
+        }
+        if (source.isEmpty()) {
+            return EMPTY;
+        }
+        var values = new int[source.size()];
+        var idx = 0;
+        for (var value : source) {
+            values[idx++] = Objects.requireNonNull(value, "value");
+        }
+        return new IntList(values);
+    }
+
+    /**
+     * Returns the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @return the value at the given index
+     */
+    public int getInt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a copy of the values of this list.
+     *
+     * @return a copy of the values of this list
+     */
+    public int[] toIntArray() {
+        return values.clone();
+    }
+
+    @Override
+    public Integer get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value instanceof Integer boxed) {
+            int unboxed = boxed;
+            for (var idx = 0; idx < values.length; idx++) {
+                if (values[idx] == unboxed) {
+                    return idx;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof IntList other) {
+            return Arrays.equals(values, other.values);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        var hashCode = 1;
+        for (var value : values) {
+            hashCode = 31 * hashCode + Integer.hashCode(value);
+        }
+        return hashCode;
+    }
+}
@@ -0,0 +1,70 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.List;
+import mx.sugus.braid.rt.util.AbstractBuilderReference;
+import mx.sugus.braid.rt.util.CollectionBuilderReference;
+
+/**
+ * Builder reference for lists of {@code int} that store the values unboxed, backed up by {@link IntArrayList} and
+ * frozen into {@link IntList}.
+ */
+public final class IntListBuilderReference
+    extends AbstractBuilderReference<List<Integer>, List<Integer>>
+    implements CollectionBuilderReference<List<Integer>> {
+
+    IntListBuilderReference() {
+    }
+
+    IntListBuilderReference(List<Integer> persistent) {
+        super(persistent);
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code int}.
+     *
+     * @return Returns the created list.
+     */
+    public static IntListBuilderReference forList() {
+        return new IntListBuilderReference();
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code int} borrowing from the given list.
+     *
+     * @return Returns the created list.
+     */
+    public static IntListBuilderReference fromPersistentList(List<Integer> persistent) {
+        return new IntListBuilderReference(persistent);
+    }
+
+    @Override
+    public IntArrayList asTransient() {
+        return (IntArrayList) super.asTransient();
+    }
+
+    @Override
+    protected List<Integer> emptyPersistent() {
+        return IntList.empty();
+    }
+
+    @Override
+    protected List<Integer> emptyTransient() {
+        return new IntArrayList();
+    }
+
+    @Override
+    protected List<Integer> transientToPersistent(List<Integer> source) {
+        return IntList.copyOf(source);
+    }
+
+    @Override
+    protected List<Integer> persistentToTransient(List<Integer> source) {
+        return new IntArrayList(IntList.copyOf(source).toIntArray());
+    }
+
+    @Override
+    protected List<Integer> clearTransient(List<Integer> source) {
+        source.clear();
+        return source;
+    }
+}
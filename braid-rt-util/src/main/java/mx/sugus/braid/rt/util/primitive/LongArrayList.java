@@ -0,0 +1,131 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A mutable list of {@code long} values that stores the values unboxed in a growable array, used by the builders of
+ * lists of {@code long}. The list cannot contain null values.
+ */
+public final class LongArrayList extends AbstractList<Long> implements RandomAccess {
+    private long[] values;
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public LongArrayList() {
+        this.values = new long[10];
+    }
+
+    LongArrayList(long[] values) {
+        this.values = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Appends the given value, without boxing it.
+     *
+     * @param value The value to append
+     */
+    public void addLong(long value) {
+        modCount++;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(10, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @return the value at the given index
+     */
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Replaces the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @param value The new value
+     * @return the previous value
+     */
+    public long setLong(int index, long value) {
+        Objects.checkIndex(index, size);
+        var previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * Returns a copy of the values of this list.
+     *
+     * @return a copy of the values of this list
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns an immutable list with the current values of this list.
+     *
+     * @return an immutable list with the current values of this list
+     */
+    public LongList toList() {
+        if (size == 0) {
+            return LongList.empty();
+        }
+        return new LongList(toLongArray());
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Long value) {
+        addLong(Objects.requireNonNull(value, "value"));
+        return true;
+    }
+
+    @Override
+    public void add(int index, Long value) {
+        Objects.checkIndex(index, size + 1);
+        long unboxed = Objects.requireNonNull(value, "value");
+        addLong(unboxed);
+        System.arraycopy(values, index, values, index + 1, size - index - 1);
+        values[index] = unboxed;
+    }
+
+    @Override
+    public Long set(int index, Long value) {
+        return setLong(index, Objects.requireNonNull(value, "value"));
+    }
+
+    @Override
+    public Long remove(int index) {
+        var previous = getLong(index);
+        modCount++;
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        size = 0;
+    }
+}
@@ -0,0 +1,131 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of {@code long} values backed by an array of the exact size, that stores the values unboxed and offers
+ * a boxed {@link java.util.List} view of them. The list cannot contain null values.
+ */
+public final class LongList extends AbstractList<Long> implements RandomAccess {
+    private static final LongList EMPTY = new LongList(new long[0]);
+    private final long[] values;
+
+    LongList(long[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @return the empty list
+     */
+    public static LongList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list with the given values.
+     *
+     * @param values The values of the list
+     * @return a list with the given values
+     */
+    public static LongList of(long... values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        return new LongList(values.clone());
+    }
+
+    /**
+     * Returns a list with the values of the given collection. If the collection is already a {@code LongList} it is
+     * returned as is.
+     *
+     * @param source The collection with the values
+     * @return a list with the values of the given collection
+     */
+    public static LongList copyOf(Collection<? extends Long> source) {
+        if (source instanceof LongList list) {
+            return list;
+        }
+        if (source instanceof LongArrayList list) {
+            return list.toList();
+        }
+        if (source.isEmpty()) {
+            return EMPTY;
+        }
+        var values = new long[source.size()];
+        var idx = 0;
+        for (var value : source) {
+            values[idx++] = Objects.requireNonNull(value, "value");
+        }
+        return new LongList(values);
+    }
+
+    /**
+     * Returns the value at the given index, without boxing it.
+     *
+     * @param index The index of the value
+     * @return the value at the given index
+     */
+    public long getLong(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a copy of the values of this list.
+     *
+     * @return a copy of the values of this list
+     */
+    public long[] toLongArray() {
+        return values.clone();
+    }
+
+    @Override
+    public Long get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value instanceof Long boxed) {
+            long unboxed = boxed;
+            for (var idx = 0; idx < values.length; idx++) {
+                if (values[idx] == unboxed) {
+                    return idx;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof LongList other) {
+            return Arrays.equals(values, other.values);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        var hashCode = 1;
+        for (var value : values) {
+            hashCode = 31 * hashCode + Long.hashCode(value);
+        }
+        return hashCode;
+    }
+}
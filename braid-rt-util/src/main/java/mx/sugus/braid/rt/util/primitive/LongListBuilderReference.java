@@ -0,0 +1,70 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import java.util.List;
+import mx.sugus.braid.rt.util.AbstractBuilderReference;
+import mx.sugus.braid.rt.util.CollectionBuilderReference;
+
+/**
+ * Builder reference for lists of {@code long} that store the values unboxed, backed up by {@link LongArrayList} and
+ * frozen into {@link LongList}.
+ */
+public final class LongListBuilderReference
+    extends AbstractBuilderReference<List<Long>, List<Long>>
+    implements CollectionBuilderReference<List<Long>> {
+
+    LongListBuilderReference() {
+    }
+
+    LongListBuilderReference(List<Long> persistent) {
+        super(persistent);
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code long}.
+     *
+     * @return Returns the created list.
+     */
+    public static LongListBuilderReference forList() {
+        return new LongListBuilderReference();
+    }
+
+    /**
+     * Creates a builder reference to a list of {@code long} borrowing from the given list.
+     *
+     * @return Returns the created list.
+     */
+    public static LongListBuilderReference fromPersistentList(List<Long> persistent) {
+        return new LongListBuilderReference(persistent);
+    }
+
+    @Override
+    public LongArrayList asTransient() {
+        return (LongArrayList) super.asTransient();
+    }
+
+    @Override
+    protected List<Long> emptyPersistent() {
+        return LongList.empty();
+    }
+
+    @Override
+    protected List<Long> emptyTransient() {
+        return new LongArrayList();
+    }
+
+    @Override
+    protected List<Long> transientToPersistent(List<Long> source) {
+        return LongList.copyOf(source);
+    }
+
+    @Override
+    protected List<Long> persistentToTransient(List<Long> source) {
+        return new LongArrayList(LongList.copyOf(source).toLongArray());
+    }
+
+    @Override
+    protected List<Long> clearTransient(List<Long> source) {
+        source.clear();
+        return source;
+    }
+}
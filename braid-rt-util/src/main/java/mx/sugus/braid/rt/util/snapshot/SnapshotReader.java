@@ -0,0 +1,200 @@
+package mx.sugus.braid.rt.util.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a snapshot written by a {@link SnapshotWriter}. The values are read by generated code that knows their structure
+ * and that has to read them in the same order in which they were written.
+ *
+ * <p>Truncated or corrupted snapshots are rejected by throwing {@link IllegalArgumentException}.
+ */
+public final class SnapshotReader {
+    /**
+     * The kind returned by {@link #readKind()} for null values.
+     */
+    public static final int NULL_KIND = -1;
+    /**
+     * The kind returned by {@link #readKind()} for references to values already read, see {@link #readReference()}.
+     */
+    public static final int REFERENCE_KIND = -2;
+    private final List<String> strings = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+    private final byte[] bytes;
+    private int position;
+
+    /**
+     * Creates a new snapshot reader for the given snapshot. Throws if the bytes are not a snapshot of values of the given
+     * schema.
+     *
+     * @param bytes  The snapshot
+     * @param schema The fingerprint of the schema of the values
+     */
+    public SnapshotReader(byte[] bytes, int schema) {
+        this.bytes = bytes;
+        if (bytes.length < 8 || readFixedInt() != SnapshotWriter.MAGIC) {
+            throw new IllegalArgumentException("The given bytes are not a snapshot");
+        }
+        var snapshotSchema = readFixedInt();
+        if (snapshotSchema != schema) {
+            throw new IllegalArgumentException(String.format("Snapshot schema mismatch, expected: 0x%08X, got: 0x%08X",
+                                                             schema, snapshotSchema));
+        }
+    }
+
+    /**
+     * Reads an int written as a varint.
+     *
+     * @return the int read
+     */
+    public int readVarint() {
+        var result = 0;
+        for (var shift = 0; shift < 32; shift += 7) {
+            var value = readByte();
+            result |= (value & 0x7F) << shift;
+            if ((value & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at position: " + position);
+    }
+
+    /**
+     * Reads the size of a collection. Each element takes at least one byte, a size larger than the bytes left is rejected
+     * such that it can be safely used to size the collection.
+     *
+     * @return the size read
+     */
+    public int readSize() {
+        var size = readVarint();
+        if (size < 0 || size > bytes.length - position) {
+            throw new IllegalArgumentException("Invalid collection size: " + size + ", at position: " + position);
+        }
+        return size;
+    }
+
+    /**
+     * Reads a boolean value.
+     *
+     * @return the boolean read
+     */
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    /**
+     * Reads a string, or null.
+     *
+     * @return the string read
+     */
+    public String readString() {
+        var tag = readVarint();
+        if (tag == SnapshotWriter.NULL) {
+            return null;
+        }
+        if (tag == SnapshotWriter.NEW_STRING) {
+            var length = readVarint();
+            if (length < 0) {
+                throw new IllegalArgumentException("Invalid string length: " + length + ", at position: " + position);
+            }
+            if (length > bytes.length - position) {
+                throw truncated();
+            }
+            var result = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(result);
+            return result;
+        }
+        var index = tag - SnapshotWriter.FIRST_STRING;
+        if (index < 0 || index >= strings.size()) {
+            throw new IllegalArgumentException("Unknown string index: " + index);
+        }
+        return strings.get(index);
+    }
+
+    /**
+     * Reads an enum constant of the given type, or null.
+     *
+     * @param type The class of the enum
+     * @param <E>  The type of the enum
+     * @return the enum constant read
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        var name = readString();
+        if (name == null) {
+            return null;
+        }
+        return Enum.valueOf(type, name);
+    }
+
+    /**
+     * Reads the kind of the next value. Returns {@link #NULL_KIND} for a null value and {@link #REFERENCE_KIND} for a
+     * reference, to be read using {@link #readReference()}. Otherwise, the caller has to read the value and then
+     * {@link #register(Object)} it.
+     *
+     * @return the kind of the next value
+     */
+    public int readKind() {
+        var tag = readVarint();
+        if (tag == SnapshotWriter.NULL) {
+            return NULL_KIND;
+        }
+        if (tag == SnapshotWriter.REFERENCE) {
+            return REFERENCE_KIND;
+        }
+        if (tag < 0) {
+            throw new IllegalArgumentException("Invalid kind: " + tag + ", at position: " + position);
+        }
+        return tag - SnapshotWriter.FIRST_KIND;
+    }
+
+    /**
+     * Reads a reference to a value already read.
+     *
+     * @return the value referenced
+     */
+    public Object readReference() {
+        var index = readVarint();
+        if (index < 0 || index >= values.size()) {
+            throw new IllegalArgumentException("Unknown value index: " + index);
+        }
+        return values.get(index);
+    }
+
+    /**
+     * Registers a value that has been completely read, such that it can be referenced by the values that follow.
+     *
+     * @param value The value read
+     * @param <T>   The type of the value
+     * @return the given value
+     */
+    public <T> T register(T value) {
+        values.add(value);
+        return value;
+    }
+
+    /**
+     * Returns true if the whole snapshot has been read.
+     *
+     * @return true if the whole snapshot has been read
+     */
+    public boolean isAtEnd() {
+        return position == bytes.length;
+    }
+
+    private int readByte() {
+        if (position == bytes.length) {
+            throw truncated();
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    private int readFixedInt() {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    private IllegalArgumentException truncated() {
+        return new IllegalArgumentException("Truncated snapshot at position: " + position);
+    }
+}
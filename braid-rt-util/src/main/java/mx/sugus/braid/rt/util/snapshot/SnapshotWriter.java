@@ -0,0 +1,170 @@
+package mx.sugus.braid.rt.util.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a compact binary snapshot of a tree of immutable values, to be read back using a {@link SnapshotReader}. The
+ * values are written by generated code that knows their structure, this class only provides the encoding.
+ *
+ * <p>The snapshot starts with a header with a magic number and the schema of the values, any other int is written as a
+ * varint. Each string is written once and afterwards referenced by its index in the string table. Each value registered
+ * using {@link #register(Object)} is also written once, values equal to one already written are written as a reference to
+ * it, such that shared subtrees are written once.
+ */
+public final class SnapshotWriter {
+    static final int MAGIC = 0x42534E50;
+    static final int NULL = 0;
+    static final int REFERENCE = 1;
+    static final int FIRST_KIND = 2;
+    static final int NEW_STRING = 1;
+    static final int FIRST_STRING = 2;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<Object, Integer> values = new HashMap<>();
+    private int valuesCount;
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    /**
+     * Creates a new snapshot writer for values of the given schema.
+     *
+     * @param schema The fingerprint of the schema of the values, checked when reading the snapshot
+     */
+    public SnapshotWriter(int schema) {
+        writeFixedInt(MAGIC);
+        writeFixedInt(schema);
+    }
+
+    /**
+     * Writes a non-negative int using a variable number of bytes, seven bits per byte.
+     *
+     * @param value The value to write
+     */
+    public void writeVarint(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Writes the size of a collection, followed by its elements.
+     *
+     * @param size The size of the collection
+     */
+    public void writeSize(int size) {
+        writeVarint(size);
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value The value to write
+     */
+    public void writeBoolean(boolean value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) (value ? 1 : 0);
+    }
+
+    /**
+     * Writes a string, or null. The contents of the string are only written the first time, afterwards its index in the
+     * string table is written.
+     *
+     * @param value The value to write
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarint(NULL);
+            return;
+        }
+        var index = strings.get(value);
+        if (index != null) {
+            writeVarint(index + FIRST_STRING);
+            return;
+        }
+        strings.put(value, strings.size());
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(NEW_STRING);
+        writeVarint(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes an enum constant, or null, by name such that the snapshot does not depend on the order of the constants.
+     *
+     * @param value The value to write
+     */
+    public void writeEnum(Enum<?> value) {
+        writeString(value == null ? null : value.name());
+    }
+
+    /**
+     * Writes a reference to the value if it's null or equal to a value already written and returns true, otherwise
+     * writes nothing and returns false, and the caller has to write the value using {@link #writeKind(int)} followed by its
+     * contents and then {@link #register(Object)}.
+     *
+     * @param value The value to write a reference to
+     * @return true if a reference to the value was written
+     */
+    public boolean writeReference(Object value) {
+        if (value == null) {
+            writeVarint(NULL);
+            return true;
+        }
+        var index = values.get(value);
+        if (index != null) {
+            writeVarint(REFERENCE);
+            writeVarint(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the kind of the value about to be written, used by the reader to know how to read it.
+     *
+     * @param kind The kind of the value, a non-negative number
+     */
+    public void writeKind(int kind) {
+        writeVarint(kind + FIRST_KIND);
+    }
+
+    /**
+     * Registers a value that has been completely written, such that values equal to it are written as references.
+     *
+     * @param value The value written
+     */
+    public void register(Object value) {
+        values.putIfAbsent(value, valuesCount);
+        valuesCount++;
+    }
+
+    /**
+     * Returns the snapshot written so far.
+     *
+     * @return the snapshot written so far
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeFixedInt(int value) {
+        ensureCapacity(4);
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package mx.sugus.braid.rt.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class AbstractBuilderReferenceTest {
+    static final List<Supplier<CollectionBuilderReference<List<String>>>> LISTS = List.of(
+        CollectionBuilderReference::forList,
+        PersistentCollectionBuilderReference::forList);
+    static final List<Supplier<CollectionBuilderReference<Set<String>>>> SETS = List.of(
+        CollectionBuilderReference::forUnorderedSet,
+        CollectionBuilderReference::forOrderedSet,
+        PersistentCollectionBuilderReference::forUnorderedSet,
+        PersistentCollectionBuilderReference::forOrderedSet);
+    static final List<Supplier<CollectionBuilderReference<Map<String, Integer>>>> MAPS = List.of(
+        CollectionBuilderReference::forUnorderedMap,
+        CollectionBuilderReference::forOrderedMap,
+        PersistentCollectionBuilderReference::forUnorderedMap,
+        PersistentCollectionBuilderReference::forOrderedMap);
+    static final List<Function<List<String>, CollectionBuilderReference<List<String>>>> BORROWED_LISTS = List.of(
+        CollectionBuilderReference::fromPersistentList,
+        PersistentCollectionBuilderReference::fromPersistentList);
+    static final List<Function<Set<String>, CollectionBuilderReference<Set<String>>>> BORROWED_SETS = List.of(
+        CollectionBuilderReference::fromPersistentUnorderedSet,
+        CollectionBuilderReference::fromPersistentOrderedSet,
+        PersistentCollectionBuilderReference::fromPersistentUnorderedSet,
+        PersistentCollectionBuilderReference::fromPersistentOrderedSet);
+    static final List<Function<Map<String, Integer>, CollectionBuilderReference<Map<String, Integer>>>> BORROWED_MAPS =
+        List.of(CollectionBuilderReference::fromPersistentUnorderedMap,
+                CollectionBuilderReference::fromPersistentOrderedMap,
+                PersistentCollectionBuilderReference::fromPersistentUnorderedMap,
+                PersistentCollectionBuilderReference::fromPersistentOrderedMap);
+
+    @Test
+    public void collectionsResetAfterBuild() {
+        for (var factory : LISTS) {
+            assertResetAfterBuild(factory.get(), List.of());
+        }
+        for (var factory : SETS) {
+            assertResetAfterBuild(factory.get(), Set.of());
+        }
+    }
+
+    @Test
+    public void collectionsResetAfterPartialBuild() {
+        for (var factory : LISTS) {
+            assertResetAfterPartialBuild(factory.get(), List.of());
+        }
+        for (var factory : SETS) {
+            assertResetAfterPartialBuild(factory.get(), Set.of());
+        }
+    }
+
+    @Test
+    public void buildDoesNotKeepTheElements() {
+        for (var factory : LISTS) {
+            var ref = factory.get();
+            var storage = ref.asTransient();
+            storage.addAll(elements(0, 100));
+            var built = ref.asPersistent();
+
+            assertTrue(storage.isEmpty());
+            assertEquals(elements(0, 100), built);
+        }
+        for (var factory : MAPS) {
+            var ref = factory.get();
+            var storage = ref.asTransient();
+            storage.putAll(entries(0, 100));
+            var built = ref.asPersistent();
+
+            assertTrue(storage.isEmpty());
+            assertEquals(entries(0, 100), built);
+        }
+        var ref = new SampleBuilderReference();
+        var builder = BuilderPoolTest.fill(ref.asTransient());
+        var built = ref.asPersistent();
+
+        assertEquals(BuilderPoolTest.Sample.builder().build(), builder.build());
+        assertEquals(BuilderPoolTest.filled(), built);
+    }
+
+    @Test
+    public void mapsResetAfterBuild() {
+        for (var factory : MAPS) {
+            var ref = factory.get();
+            var storage = ref.asTransient();
+            storage.putAll(entries(0, 100));
+            var built = ref.asPersistent();
+            ref.reset();
+
+            assertEquals(Map.of(), ref.asPersistent());
+            assertSame(storage, ref.asTransient());
+            assertTrue(storage.isEmpty());
+            ref.asTransient().putAll(entries(100, 110));
+            assertEquals(entries(100, 110), ref.asPersistent());
+            assertEquals(entries(0, 100), built);
+        }
+    }
+
+    @Test
+    public void mapsResetAfterPartialBuild() {
+        for (var factory : MAPS) {
+            var ref = factory.get();
+            var storage = ref.asTransient();
+            storage.putAll(entries(0, 100));
+            ref.reset();
+
+            assertEquals(Map.of(), ref.asPersistent());
+            assertSame(storage, ref.asTransient());
+            assertTrue(storage.isEmpty());
+        }
+    }
+
+    @Test
+    public void resetDoesNotChangeBorrowedValues() {
+        for (var factory : BORROWED_LISTS) {
+            var source = List.copyOf(elements(0, 100));
+            var ref = factory.apply(source);
+            ref.asTransient().add("extra");
+            ref.reset();
+
+            assertEquals(List.of(), ref.asPersistent());
+            assertEquals(elements(0, 100), source);
+        }
+        for (var factory : BORROWED_SETS) {
+            var source = Set.copyOf(elements(0, 100));
+            var ref = factory.apply(source);
+            ref.asTransient().add("extra");
+            ref.reset();
+
+            assertEquals(Set.of(), ref.asPersistent());
+            assertEquals(new LinkedHashSet<>(elements(0, 100)), source);
+        }
+        for (var factory : BORROWED_MAPS) {
+            var source = Map.copyOf(entries(0, 100));
+            var ref = factory.apply(source);
+            ref.asTransient().put("extra", -1);
+            ref.reset();
+
+            assertEquals(Map.of(), ref.asPersistent());
+            assertEquals(entries(0, 100), source);
+        }
+    }
+
+    @Test
+    public void resetDropsPersistentValuesSetLater() {
+        for (var factory : LISTS) {
+            var ref = factory.get();
+            var first = new ArrayList<>(elements(0, 10));
+            ref.asTransient().add("stale");
+            ref.setPersistent(first);
+            ref.reset();
+
+            assertEquals(List.of(), ref.asPersistent());
+            assertEquals(List.of(), ref.asTransient());
+            assertEquals(elements(0, 10), first);
+        }
+    }
+
+    @Test
+    public void clearLeavesAnEmptyTransient() {
+        for (var factory : LISTS) {
+            var ref = factory.get();
+            ref.asTransient().addAll(elements(0, 10));
+            var built = ref.asPersistent();
+            ref.clear();
+
+            assertTrue(ref.asTransient().isEmpty());
+            assertEquals(List.of(), ref.asPersistent());
+            assertEquals(elements(0, 10), built);
+        }
+        for (var factory : MAPS) {
+            var ref = factory.get();
+            ref.asTransient().putAll(entries(0, 10));
+            ref.clear();
+
+            assertTrue(ref.asTransient().isEmpty());
+            assertEquals(Map.of(), ref.asPersistent());
+        }
+    }
+
+    @Test
+    public void wrappedCollectionsAreNotReusedAfterBuild() {
+        CollectionBuilderReference<List<String>> list = WrappedCollectionBuilderReference.forList();
+        var listStorage = list.asTransient();
+        listStorage.addAll(elements(0, 100));
+        var builtList = list.asPersistent();
+        list.reset();
+        list.asTransient().add("next");
+
+        assertNotSame(listStorage, list.asTransient());
+        assertEquals(elements(0, 100), builtList);
+        assertThrows(UnsupportedOperationException.class, () -> builtList.add("other"));
+        for (var factory : List.<Supplier<CollectionBuilderReference<Set<String>>>>of(
+            WrappedCollectionBuilderReference::forUnorderedSet, WrappedCollectionBuilderReference::forOrderedSet)) {
+            var ref = factory.get();
+            ref.asTransient().addAll(elements(0, 100));
+            var built = ref.asPersistent();
+            ref.reset();
+            ref.asTransient().add("next");
+
+            assertEquals(new LinkedHashSet<>(elements(0, 100)), built);
+            assertIterableEquals(List.of("next"), ref.asPersistent());
+        }
+        for (var factory : List.<Supplier<CollectionBuilderReference<Map<String, Integer>>>>of(
+            WrappedCollectionBuilderReference::forUnorderedMap, WrappedCollectionBuilderReference::forOrderedMap)) {
+            var ref = factory.get();
+            ref.asTransient().putAll(entries(0, 100));
+            var built = ref.asPersistent();
+            ref.clear();
+
+            assertEquals(entries(0, 100), built);
+            assertTrue(ref.asTransient().isEmpty());
+        }
+    }
+
+    @Test
+    public void wrappedCollectionsResetAfterPartialBuild() {
+        assertResetAfterPartialBuild(WrappedCollectionBuilderReference.<String>forList(), List.of());
+        assertResetAfterPartialBuild(WrappedCollectionBuilderReference.<String>forOrderedSet(), Set.of());
+    }
+
+    @Test
+    public void buildersResetAfterBuild() {
+        var ref = new SampleBuilderReference();
+        var builder = BuilderPoolTest.fill(ref.asTransient());
+        var built = ref.asPersistent();
+        ref.reset();
+
+        assertNull(ref.asPersistent());
+        assertSame(builder, ref.asTransient());
+        var empty = ref.asPersistent();
+        assertEquals(0, empty.present());
+        assertNull(empty.total());
+        assertEquals(List.of(), empty.tags());
+        assertEquals(BuilderPoolTest.filled(), built);
+    }
+
+    @Test
+    public void buildersResetAfterPartialBuild() {
+        var ref = new SampleBuilderReference();
+        var builder = BuilderPoolTest.fill(ref.asTransient());
+        ref.reset();
+        var partial = ref.asTransient().addTag("other").build();
+
+        assertSame(builder, ref.asTransient());
+        assertEquals(0, partial.present());
+        assertNull(partial.total());
+        assertEquals(List.of("other"), partial.tags());
+        assertEquals(Map.of(), partial.counts());
+    }
+
+    @Test
+    public void buildersResetAfterSettingAPersistentValue() {
+        var ref = new SampleBuilderReference();
+        ref.setPersistent(BuilderPoolTest.filled());
+        ref.asTransient().total(null);
+        ref.reset();
+
+        assertNull(ref.asPersistent());
+        assertEquals(BuilderPoolTest.Sample.builder().build(), ref.asTransient().build());
+    }
+
+    static <C extends Collection<String>> void assertResetAfterBuild(CollectionBuilderReference<C> ref, C empty) {
+        for (var cycle = 0; cycle < 3; cycle++) {
+            var storage = ref.asTransient();
+            storage.addAll(elements(cycle * 100, cycle * 100 + 100));
+            var built = ref.asPersistent();
+            ref.reset();
+
+            assertEquals(empty, ref.asPersistent());
+            assertSame(storage, ref.asTransient());
+            assertTrue(storage.isEmpty());
+            ref.asTransient().add("next");
+            assertIterableEquals(List.of("next"), ref.asPersistent());
+            assertEquals(100, built.size());
+            assertTrue(built.containsAll(elements(cycle * 100, cycle * 100 + 100)));
+            ref.reset();
+        }
+    }
+
+    static <C extends Collection<String>> void assertResetAfterPartialBuild(CollectionBuilderReference<C> ref, C empty) {
+        var storage = ref.asTransient();
+        storage.addAll(elements(0, 100));
+        ref.reset();
+
+        assertEquals(empty, ref.asPersistent());
+        assertSame(storage, ref.asTransient());
+        assertTrue(storage.isEmpty());
+        storage.add("next");
+        assertIterableEquals(List.of("next"), ref.asPersistent());
+    }
+
+    static List<String> elements(int from, int to) {
+        var result = new ArrayList<String>();
+        for (var idx = from; idx < to; idx++) {
+            result.add("v" + idx);
+        }
+        return result;
+    }
+
+    static Map<String, Integer> entries(int from, int to) {
+        var result = new LinkedHashMap<String, Integer>();
+        for (var idx = from; idx < to; idx++) {
+            result.put("k" + idx, idx);
+        }
+        return result;
+    }
+
+    /**
+     * A reference to a resettable builder, mirroring the generated builder references of the structures with resettable
+     * builders.
+     */
+    static final class SampleBuilderReference
+        extends AbstractBuilderReference<BuilderPoolTest.Sample, BuilderPoolTest.Sample.Builder> {
+
+        @Override
+        protected BuilderPoolTest.Sample.Builder emptyTransient() {
+            return BuilderPoolTest.Sample.builder();
+        }
+
+        @Override
+        protected BuilderPoolTest.Sample transientToPersistent(BuilderPoolTest.Sample.Builder source) {
+            return source.build();
+        }
+
+        @Override
+        protected BuilderPoolTest.Sample.Builder persistentToTransient(BuilderPoolTest.Sample source) {
+            var builder = BuilderPoolTest.Sample.builder()
+                                                .total(source.total())
+                                                .tags(source.tags());
+            source.labels().forEach(builder::addLabel);
+            source.counts().forEach(builder::putCount);
+            return builder;
+        }
+
+        @Override
+        protected BuilderPoolTest.Sample.Builder clearTransient(BuilderPoolTest.Sample.Builder builder) {
+            return builder.reset();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package mx.sugus.braid.rt.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class BuilderPoolTest {
+
+    @Test
+    public void acquireCreatesBuildersWhenEmpty() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 2);
+        var first = pool.acquire();
+        var second = pool.acquire();
+
+        assertNotSame(first, second);
+        assertEquals(Sample.builder().build(), first.build());
+    }
+
+    @Test
+    public void releaseReusesTheBuilders() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 2);
+        var first = pool.acquire();
+        var second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(second, pool.acquire());
+        assertSame(first, pool.acquire());
+        assertNotSame(first, pool.acquire());
+    }
+
+    @Test
+    public void resetsAfterBuild() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 1);
+        var builder = pool.acquire();
+        var built = fill(builder).build();
+        pool.release(builder);
+        var reused = pool.acquire();
+        var empty = reused.build();
+
+        assertSame(builder, reused);
+        assertEquals(Sample.builder().build(), empty);
+        assertNull(empty.total());
+        assertEquals(0, empty.present());
+        assertEquals(List.of(), empty.tags());
+        assertEquals(Set.of(), empty.labels());
+        assertEquals(Map.of(), empty.counts());
+        assertEquals(filled(), built);
+        assertEquals(filled(), fill(reused).build());
+    }
+
+    @Test
+    public void resetsAfterPartialBuild() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 1);
+        var builder = pool.acquire();
+        // Released after setting the values but without building.
+        fill(builder);
+        pool.release(builder);
+        var reused = pool.acquire();
+        var partial = reused.addTag("other").build();
+
+        assertSame(builder, reused);
+        assertNull(partial.total());
+        assertEquals(0, partial.present());
+        assertEquals(List.of("other"), partial.tags());
+        assertEquals(Set.of(), partial.labels());
+        assertEquals(Map.of(), partial.counts());
+    }
+
+    @Test
+    public void resetsAfterSettingPersistentValues() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 1);
+        var tags = List.of("a", "b");
+        var builder = pool.acquire().tags(tags).total(0L);
+        var built = builder.build();
+        pool.release(builder);
+        var empty = pool.acquire().build();
+
+        assertEquals(tags, built.tags());
+        assertEquals(0L, built.total());
+        assertEquals(Sample.TOTAL_PRESENT, built.present());
+        assertEquals(List.of(), empty.tags());
+        assertEquals(0, empty.present());
+        assertEquals(List.of("a", "b"), tags);
+    }
+
+    @Test
+    public void keepsUpToItsCapacity() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 2);
+        var builders = List.of(pool.acquire(), pool.acquire(), pool.acquire());
+        for (var builder : builders) {
+            fill(builder);
+            pool.release(builder);
+        }
+        var reused = new ArrayList<Sample.Builder>();
+        for (var idx = 0; idx < 3; idx++) {
+            reused.add(pool.acquire());
+        }
+
+        assertSame(builders.get(1), reused.get(0));
+        assertSame(builders.get(0), reused.get(1));
+        for (var builder : builders) {
+            assertNotSame(builder, reused.get(2));
+        }
+        // The dropped builder is reset as well.
+        assertEquals(Sample.builder().build(), builders.get(2).build());
+    }
+
+    @Test
+    public void zeroCapacityNeverPools() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 0);
+        var builder = fill(pool.acquire());
+        pool.release(builder);
+
+        assertNotSame(builder, pool.acquire());
+        assertEquals(Sample.builder().build(), builder.build());
+    }
+
+    @Test
+    public void rejectsNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> BuilderPool.create(Sample::builder, Sample.Builder::reset, -1));
+        assertThrows(NullPointerException.class, () -> BuilderPool.create(null, Sample.Builder::reset, 1));
+        assertThrows(NullPointerException.class, () -> BuilderPool.create(Sample::builder, null, 1));
+    }
+
+    @Test
+    public void applyReleasesTheBuilder() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 1);
+        var used = new AtomicReference<Sample.Builder>();
+        var built = pool.apply(b -> {
+            used.set(b);
+            return fill(b).build();
+        });
+
+        assertEquals(filled(), built);
+        assertSame(used.get(), pool.acquire());
+    }
+
+    @Test
+    public void applyReleasesTheBuilderWhenTheFunctionThrows() {
+        var pool = BuilderPool.create(Sample::builder, Sample.Builder::reset, 1);
+        var used = new AtomicReference<Sample.Builder>();
+        assertThrows(IllegalStateException.class, () -> pool.apply(b -> {
+            used.set(fill(b));
+            throw new IllegalStateException();
+        }));
+        var reused = pool.acquire();
+
+        assertSame(used.get(), reused);
+        assertEquals(Sample.builder().build(), reused.build());
+    }
+
+    @Test
+    public void threadLocalKeepsAPoolPerThread() throws InterruptedException {
+        var pools = BuilderPool.threadLocal(Sample::builder, Sample.Builder::reset, 1);
+        var pool = pools.get();
+        var other = new AtomicReference<BuilderPool<Sample.Builder>>();
+        var thread = new Thread(() -> other.set(pools.get()));
+        thread.start();
+        thread.join();
+
+        assertSame(pool, pools.get());
+        assertNotSame(pool, other.get());
+        assertThrows(NullPointerException.class, () -> BuilderPool.threadLocal(null, Sample.Builder::reset, 1));
+    }
+
+    static Sample.Builder fill(Sample.Builder builder) {
+        return builder.total(10L)
+                      .addTag("a")
+                      .addTag("b")
+                      .addLabel("x")
+                      .putCount("c", 1);
+    }
+
+    static Sample filled() {
+        return fill(Sample.builder()).build();
+    }
+
+    /**
+     * A class with a resettable builder, mirroring the generated code for a structure with an optional primitive field
+     * and collection members.
+     */
+    static final class Sample {
+        static final int TOTAL_PRESENT = 0x1;
+        private final long total;
+        private final List<String> tags;
+        private final Set<String> labels;
+        private final Map<String, Integer> counts;
+        private final int _present;
+
+        private Sample(Builder builder) {
+            this.total = builder.total != null ? builder.total : 0L;
+            this.tags = builder.tags.asPersistent();
+            this.labels = builder.labels.asPersistent();
+            this.counts = builder.counts.asPersistent();
+            this._present = builder.total != null ? TOTAL_PRESENT : 0;
+        }
+
+        public Long total() {
+            return (this._present & TOTAL_PRESENT) != 0 ? this.total : null;
+        }
+
+        public List<String> tags() {
+            return this.tags;
+        }
+
+        public Set<String> labels() {
+            return this.labels;
+        }
+
+        public Map<String, Integer> counts() {
+            return this.counts;
+        }
+
+        int present() {
+            return this._present;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Sample that
+                && this._present == that._present
+                && this.total == that.total
+                && this.tags.equals(that.tags)
+                && this.labels.equals(that.labels)
+                && this.counts.equals(that.counts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(total) + 31 * tags.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Sample{total: " + total() + ", tags: " + tags + ", labels: " + labels + ", counts: " + counts + "}";
+        }
+
+        static Builder builder() {
+            return new Builder();
+        }
+
+        static final class Builder {
+            private Long total;
+            private final CollectionBuilderReference<List<String>> tags;
+            private final CollectionBuilderReference<Set<String>> labels;
+            private final CollectionBuilderReference<Map<String, Integer>> counts;
+
+            Builder() {
+                this.tags = CollectionBuilderReference.forList();
+                this.labels = PersistentCollectionBuilderReference.forOrderedSet();
+                this.counts = PersistentCollectionBuilderReference.forUnorderedMap();
+            }
+
+            Builder total(Long total) {
+                this.total = total;
+                return this;
+            }
+
+            Builder tags(List<String> tags) {
+                this.tags.setPersistent(tags);
+                return this;
+            }
+
+            Builder addTag(String tag) {
+                this.tags.asTransient().add(tag);
+                return this;
+            }
+
+            Builder addLabel(String label) {
+                this.labels.asTransient().add(label);
+                return this;
+            }
+
+            Builder putCount(String key, int count) {
+                this.counts.asTransient().put(key, count);
+                return this;
+            }
+
+            Builder reset() {
+                this.total = null;
+                this.tags.reset();
+                this.labels.reset();
+                this.counts.reset();
+                return this;
+            }
+
+            Sample build() {
+                return new Sample(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package mx.sugus.braid.rt.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class CompactCollectionsTest {
+    static final int[] SIZES = {0, 1, 2, 3, 8, 1000};
+
+    @Test
+    public void listCopyOfKeepsTheOrderAtEachSize() {
+        for (var size : SIZES) {
+            var source = range(size);
+            var copy = CompactCollections.listCopyOf(source);
+
+            assertEquals(source, copy, "size: " + size);
+            assertEquals(source.hashCode(), copy.hashCode());
+            assertEquals(source.toString(), copy.toString());
+            assertArrayEquals(source.toArray(), copy.toArray());
+            for (var idx = 0; idx < size; idx++) {
+                assertEquals(source.get(idx), copy.get(idx));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> copy.get(size));
+        }
+    }
+
+    @Test
+    public void setCopyOfKeepsTheOrderAtEachSize() {
+        for (var size : SIZES) {
+            var ordered = new LinkedHashSet<>(range(size));
+            var copy = CompactCollections.setCopyOf(ordered);
+
+            assertIterableEquals(ordered, copy);
+            assertEquals(ordered, copy, "size: " + size);
+            assertEquals(ordered.hashCode(), copy.hashCode());
+            for (var value : ordered) {
+                assertTrue(copy.contains(value));
+            }
+            assertFalse(copy.contains("missing"));
+        }
+    }
+
+    @Test
+    public void setCopyOfUnorderedSourcesAtEachSize() {
+        for (var size : SIZES) {
+            var unordered = new HashSet<>(range(size));
+            var copy = CompactCollections.setCopyOf(unordered);
+
+            assertIterableEquals(unordered, copy);
+            assertEquals(unordered, copy, "size: " + size);
+            assertEquals(new TreeSet<>(unordered), copy);
+        }
+    }
+
+    @Test
+    public void setCopyOfDropsDuplicatesKeepingTheFirst() {
+        for (var size : SIZES) {
+            var source = new ArrayList<>(range(size));
+            source.addAll(range(size));
+            var expected = new LinkedHashSet<>(source);
+            var copy = CompactCollections.setCopyOf(source);
+
+            assertEquals(size, copy.size());
+            assertIterableEquals(expected, copy);
+        }
+        assertIterableEquals(List.of("b", "a"), CompactCollections.setCopyOf(List.of("b", "a", "b", "a", "a")));
+    }
+
+    @Test
+    public void mapCopyOfKeepsTheOrderAtEachSize() {
+        for (var size : SIZES) {
+            var ordered = rangeMap(size);
+            var copy = CompactCollections.mapCopyOf(ordered);
+
+            assertIterableEquals(ordered.entrySet(), copy.entrySet());
+            assertEquals(ordered, copy, "size: " + size);
+            assertEquals(ordered.hashCode(), copy.hashCode());
+            for (var entry : ordered.entrySet()) {
+                assertEquals(entry.getValue(), copy.get(entry.getKey()));
+                assertTrue(copy.containsKey(entry.getKey()));
+            }
+            assertNull(copy.get("missing"));
+            assertFalse(copy.containsKey("missing"));
+        }
+    }
+
+    @Test
+    public void mapCopyOfUnorderedSourcesAtEachSize() {
+        for (var size : SIZES) {
+            var unordered = new HashMap<>(rangeMap(size));
+            var copy = CompactCollections.mapCopyOf(unordered);
+
+            assertIterableEquals(unordered.entrySet(), copy.entrySet());
+            assertEquals(new TreeMap<>(unordered), copy, "size: " + size);
+        }
+    }
+
+    @Test
+    public void keepsNullsAndCollidingHashes() {
+        // "Aa" and "BB" have the same hash code.
+        var elements = Arrays.asList("Aa", null, "BB", "C");
+        var map = new LinkedHashMap<String, String>();
+        for (var element : elements) {
+            map.put(element, element == null ? "null" : null);
+        }
+        var list = CompactCollections.listCopyOf(elements);
+        var set = CompactCollections.setCopyOf(elements);
+        var mapCopy = CompactCollections.mapCopyOf(map);
+
+        assertEquals(elements, list);
+        assertIterableEquals(elements, set);
+        assertTrue(set.contains(null));
+        assertTrue(set.contains("BB"));
+        assertFalse(set.contains("Ab"));
+        assertEquals(map, mapCopy);
+        assertEquals("null", mapCopy.get(null));
+        assertTrue(mapCopy.containsKey("BB"));
+        assertNull(mapCopy.get("BB"));
+        assertIterableEquals(List.of("Aa", "BB"), CompactCollections.setCopyOf(List.of("Aa", "BB", "Aa")));
+    }
+
+    @Test
+    public void copiesAreImmutable() {
+        for (var size : SIZES) {
+            var list = CompactCollections.listCopyOf(range(size));
+            var set = CompactCollections.setCopyOf(range(size));
+            var map = CompactCollections.mapCopyOf(rangeMap(size));
+
+            assertThrows(UnsupportedOperationException.class, () -> list.add("x"));
+            assertThrows(UnsupportedOperationException.class, () -> set.add("x"));
+            assertThrows(UnsupportedOperationException.class, () -> map.put("x", 1));
+            if (size > 0) {
+                assertThrows(UnsupportedOperationException.class, () -> list.set(0, "x"));
+                assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+                assertThrows(UnsupportedOperationException.class, list::clear);
+                assertThrows(UnsupportedOperationException.class, set::clear);
+                assertThrows(UnsupportedOperationException.class, map::clear);
+                assertThrows(UnsupportedOperationException.class, () -> set.remove("v0"));
+                assertThrows(UnsupportedOperationException.class, () -> map.remove("k0"));
+                assertThrows(UnsupportedOperationException.class, () -> removeFirst(set.iterator()));
+                assertThrows(UnsupportedOperationException.class, () -> removeFirst(map.entrySet().iterator()));
+                assertThrows(UnsupportedOperationException.class,
+                             () -> map.entrySet().iterator().next().setValue(-1));
+            }
+        }
+    }
+
+    @Test
+    public void copiesDoNotChangeWithTheSource() {
+        var list = new ArrayList<>(range(10));
+        var set = new LinkedHashSet<>(range(10));
+        var map = new LinkedHashMap<>(rangeMap(10));
+        var listCopy = CompactCollections.listCopyOf(list);
+        var setCopy = CompactCollections.setCopyOf(set);
+        var mapCopy = CompactCollections.mapCopyOf(map);
+        list.clear();
+        set.clear();
+        map.clear();
+        listCopy.toArray()[0] = "x";
+
+        assertEquals(range(10), listCopy);
+        assertEquals(new HashSet<>(range(10)), setCopy);
+        assertEquals(rangeMap(10), mapCopy);
+    }
+
+    @Test
+    public void copiesOfCopiesAreReturnedAsIs() {
+        for (var size : SIZES) {
+            var list = CompactCollections.listCopyOf(range(size));
+            var set = CompactCollections.setCopyOf(range(size));
+            var map = CompactCollections.mapCopyOf(rangeMap(size));
+
+            assertSame(list, CompactCollections.listCopyOf(list));
+            assertSame(set, CompactCollections.setCopyOf(set));
+            assertSame(map, CompactCollections.mapCopyOf(map));
+        }
+        assertSame(CompactCollections.listCopyOf(List.of()), CompactCollections.listCopyOf(new ArrayList<>()));
+        assertSame(CompactCollections.setCopyOf(Set.of()), CompactCollections.setCopyOf(List.of()));
+        assertSame(CompactCollections.mapCopyOf(Map.of()), CompactCollections.mapCopyOf(new HashMap<>()));
+    }
+
+    static void removeFirst(Iterator<?> iterator) {
+        iterator.next();
+        iterator.remove();
+    }
+
+    static List<String> range(int size) {
+        var result = new ArrayList<String>(size);
+        for (var idx = size - 1; idx >= 0; idx--) {
+            result.add("v" + idx);
+        }
+        return result;
+    }
+
+    static Map<String, Integer> rangeMap(int size) {
+        var result = new LinkedHashMap<String, Integer>();
+        for (var idx = size - 1; idx >= 0; idx--) {
+            result.put("k" + idx, idx);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class PersistentHashMapTest {
+
+    @Test
+    public void matchesHashMapAtEachSize() {
+        for (var size : new int[] {0, 1, 31, 32, 33, 1024, 1025, 32768, 32769}) {
+            var expected = new HashMap<String, Integer>();
+            var map = PersistentHashMap.<String, Integer>empty().asTransient();
+            for (var idx = 0; idx < size; idx++) {
+                expected.put("key" + idx, idx);
+                assertNull(map.put("key" + idx, idx));
+            }
+            var persistent = map.persistent();
+
+            assertEquals(expected, persistent, "size: " + size);
+            assertEquals(size, persistent.size());
+            for (var idx = 0; idx < size; idx++) {
+                assertEquals(idx, persistent.get("key" + idx));
+            }
+            assertFalse(persistent.containsKey("key" + size));
+        }
+    }
+
+    @Test
+    public void keepsKeysWithCollidingHashes() {
+        var expected = new HashMap<Key, Integer>();
+        var map = PersistentHashMap.<Key, Integer>empty().asTransient();
+        // Same hash for all the keys of each group, and hashes that share the lower bits across the groups, such that
+        // collision nodes are created and then nested into bitmap nodes at different levels.
+        var hashes = new int[] {1, 1 | (1 << 5), 1 | (1 << 10), 1 | (1 << 25), 0};
+        for (var hash : hashes) {
+            for (var idx = 0; idx < 4; idx++) {
+                var key = new Key(hash, hash + "-" + idx);
+                expected.put(key, idx);
+                map.put(key, idx);
+            }
+        }
+        var persistent = map.persistent();
+        var snapshot = new HashMap<>(expected);
+        assertEquals(expected, persistent);
+
+        for (var hash : hashes) {
+            var key = new Key(hash, hash + "-1");
+            assertEquals(1, persistent.get(key));
+            assertEquals(1, map.put(key, -1));
+            expected.put(key, -1);
+            assertEquals(-1, map.get(key));
+            assertNull(persistent.get(new Key(hash, hash + "-4")));
+        }
+        assertEquals(expected, map);
+        assertEquals(snapshot, persistent);
+
+        for (var hash : hashes) {
+            for (var idx = 0; idx < 4; idx++) {
+                var key = new Key(hash, hash + "-" + idx);
+                expected.remove(key);
+                map.remove(key);
+                assertEquals(expected, map);
+            }
+        }
+        assertTrue(map.isEmpty());
+        assertSame(PersistentHashMap.empty(), map.persistent());
+        assertEquals(snapshot, persistent);
+    }
+
+    @Test
+    public void persistentIsNotChangedByTheTransient() {
+        var map = PersistentHashMap.<String, Integer>empty().asTransient();
+        for (var idx = 0; idx < 100; idx++) {
+            map.put("key" + idx, idx);
+        }
+        var first = map.persistent();
+        var expected = new HashMap<>(first);
+        map.put("key0", -1);
+        map.remove("key1");
+        map.put("key100", 100);
+        var second = map.persistent();
+        map.put("key2", -1);
+
+        assertEquals(expected, first);
+        assertEquals(100, second.size());
+        assertEquals(-1, second.get("key0"));
+        assertFalse(second.containsKey("key1"));
+        assertEquals(2, second.get("key2"));
+    }
+
+    @Test
+    public void asTransientDoesNotChangeTheSource() {
+        var source = PersistentHashMap.from(range(2000));
+        var map = source.asTransient();
+        map.put("key0", -1);
+        map.remove("key1");
+        map.put("key2000", 2000);
+        map.entrySet().removeIf(e -> e.getValue() % 2 == 0);
+
+        assertEquals(range(2000), source);
+        assertEquals(1000, map.size());
+        map.clear();
+        assertEquals(range(2000), source);
+    }
+
+    @Test
+    public void plusAndMinusDoNotChangeTheSource() {
+        var source = PersistentHashMap.from(range(100));
+        var plus = source.plus("key100", 100);
+        var replaced = source.plus("key0", -1);
+        var minus = source.minus("key0");
+
+        assertEquals(range(100), source);
+        assertEquals(range(101), plus);
+        assertEquals(-1, replaced.get("key0"));
+        assertEquals(100, replaced.size());
+        assertFalse(minus.containsKey("key0"));
+        assertEquals(99, minus.size());
+        assertSame(source, source.minus("key100"));
+    }
+
+    @Test
+    public void matchesHashMapAfterRandomChanges() {
+        var random = new Random(42);
+        var expected = new HashMap<Integer, Integer>();
+        var map = PersistentHashMap.<Integer, Integer>empty().asTransient();
+        for (var iteration = 0; iteration < 20000; iteration++) {
+            var key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, iteration), map.put(key, iteration));
+            }
+            if (iteration % 1000 == 0) {
+                assertEquals(expected, map.persistent());
+            }
+        }
+        assertEquals(expected, map);
+    }
+
+    @Test
+    public void equalsAndHashCodeMatchTheJdkMaps() {
+        for (var size : new int[] {0, 1, 33, 1025}) {
+            var expected = range(size);
+            var map = PersistentHashMap.from(expected);
+
+            assertEquals(expected, map);
+            assertEquals(map, expected);
+            assertEquals(new TreeMap<>(expected), map);
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(map, map.asTransient());
+        }
+    }
+
+    @Test
+    public void rejectsNullKeysAndChanges() {
+        var map = PersistentHashMap.from(range(10));
+
+        assertThrows(NullPointerException.class, () -> map.plus(null, 1));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("key10", 10));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().remove());
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(null));
+        assertNull(map.asTransient().remove(null));
+    }
+
+    @Test
+    public void supportsNullValues() {
+        var map = PersistentHashMap.from(range(10)).plus("key3", null).plus("key10", null);
+
+        assertEquals(11, map.size());
+        assertNull(map.get("key3"));
+        assertTrue(map.containsKey("key3"));
+        assertTrue(map.containsKey("key10"));
+        assertEquals(Integer.valueOf(4), map.get("key4"));
+    }
+
+    static Map<String, Integer> range(int size) {
+        var result = new HashMap<String, Integer>();
+        for (var idx = 0; idx < size; idx++) {
+            result.put("key" + idx, idx);
+        }
+        return result;
+    }
+
+    /**
+     * A key with a given hash code, to create collisions.
+     */
+    static final class Key {
+        private final int hash;
+        private final String name;
+
+        Key(int hash, String name) {
+            this.hash = hash;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
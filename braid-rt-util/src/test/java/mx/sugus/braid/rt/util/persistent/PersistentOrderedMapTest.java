@@ -0,0 +1,145 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PersistentOrderedMapTest {
+
+    @Test
+    public void keepsTheInsertionOrderAtEachSize() {
+        for (var size : new int[] {0, 1, 32, 33, 1024, 1057, 32768, 33825}) {
+            var expected = range(size);
+            var map = PersistentOrderedMap.from(expected);
+
+            assertEquals(expected, map, "size: " + size);
+            assertIterableEquals(expected.entrySet(), map.entrySet());
+        }
+    }
+
+    @Test
+    public void replacingKeepsThePosition() {
+        var map = PersistentOrderedMap.from(range(40)).plus("key3", -1);
+        var expected = range(40);
+        expected.put("key3", -1);
+
+        assertIterableEquals(expected.entrySet(), map.entrySet());
+    }
+
+    @Test
+    public void removingCompactsTheGaps() {
+        var random = new Random(42);
+        var expected = new LinkedHashMap<Integer, Integer>();
+        var map = PersistentOrderedMap.<Integer, Integer>empty().asTransient();
+        for (var iteration = 0; iteration < 20000; iteration++) {
+            var key = random.nextInt(500);
+            if (random.nextInt(2) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, iteration), map.put(key, iteration));
+            }
+            if (iteration % 1000 == 0) {
+                assertIterableEquals(expected.entrySet(), map.persistent().entrySet());
+            }
+        }
+        assertIterableEquals(expected.entrySet(), map.entrySet());
+        for (var key : new HashMap<>(expected).keySet()) {
+            map.remove(key);
+        }
+        assertSame(PersistentOrderedMap.empty(), map.persistent());
+    }
+
+    @Test
+    public void keepsKeysWithCollidingHashes() {
+        var expected = new LinkedHashMap<PersistentHashMapTest.Key, Integer>();
+        var map = PersistentOrderedMap.<PersistentHashMapTest.Key, Integer>empty().asTransient();
+        for (var idx = 0; idx < 10; idx++) {
+            var key = new PersistentHashMapTest.Key(idx % 2, "key" + idx);
+            expected.put(key, idx);
+            map.put(key, idx);
+        }
+        expected.remove(new PersistentHashMapTest.Key(0, "key4"));
+        map.remove(new PersistentHashMapTest.Key(0, "key4"));
+
+        assertIterableEquals(expected.entrySet(), map.persistent().entrySet());
+    }
+
+    @Test
+    public void persistentIsNotChangedByTheTransient() {
+        var map = PersistentOrderedMap.<String, Integer>empty().asTransient();
+        map.putAll(range(100));
+        var first = map.persistent();
+        map.put("key0", -1);
+        for (var idx = 1; idx < 80; idx++) {
+            map.remove("key" + idx);
+        }
+        map.put("key1", 1);
+        var second = map.persistent();
+        map.put("key2", 2);
+
+        assertIterableEquals(range(100).entrySet(), first.entrySet());
+        assertEquals(22, second.size());
+        assertEquals(-1, second.get("key0"));
+        assertNull(second.get("key2"));
+        assertEquals("key1", last(second));
+    }
+
+    @Test
+    public void asTransientDoesNotChangeTheSource() {
+        var source = PersistentOrderedMap.from(range(100));
+        var map = source.asTransient();
+        map.put("key0", -1);
+        map.entrySet().removeIf(e -> e.getValue() % 2 == 0);
+        map.put("key100", 100);
+        map.clear();
+
+        assertIterableEquals(range(100).entrySet(), source.entrySet());
+        assertIterableEquals(range(99).entrySet(), source.minus("key99").entrySet());
+        assertIterableEquals(range(100).entrySet(), source.entrySet());
+    }
+
+    @Test
+    public void equalsAndHashCodeMatchTheJdkMaps() {
+        var expected = range(100);
+        var map = PersistentOrderedMap.from(expected);
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(new HashMap<>(expected), map);
+        assertEquals(PersistentHashMap.from(expected), map);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void rejectsNullKeysAndChanges() {
+        var map = PersistentOrderedMap.from(range(10));
+
+        assertThrows(NullPointerException.class, () -> map.plus(null, 1));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("key10", 10));
+        assertNull(map.get(null));
+    }
+
+    static Map<String, Integer> range(int size) {
+        var result = new LinkedHashMap<String, Integer>();
+        for (var idx = size - 1; idx >= 0; idx--) {
+            result.put("key" + idx, idx);
+        }
+        return result;
+    }
+
+    static String last(Map<String, ?> map) {
+        String result = null;
+        for (var key : map.keySet()) {
+            result = key;
+        }
+        return result;
+    }
+}
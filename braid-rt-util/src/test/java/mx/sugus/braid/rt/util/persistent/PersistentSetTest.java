@@ -0,0 +1,128 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class PersistentSetTest {
+
+    @Test
+    public void matchesTheJdkSetsAtEachSize() {
+        for (var size : new int[] {0, 1, 32, 33, 1024, 1057, 32768, 33825}) {
+            var elements = range(size);
+            var unordered = PersistentSet.unorderedFrom(elements);
+            var ordered = PersistentSet.orderedFrom(elements);
+
+            assertEquals(new HashSet<>(elements), unordered, "size: " + size);
+            assertEquals(new HashSet<>(elements), ordered, "size: " + size);
+            assertIterableEquals(new LinkedHashSet<>(elements), ordered);
+            assertFalse(unordered.isOrdered());
+            assertTrue(ordered.isOrdered());
+        }
+    }
+
+    @Test
+    public void keepsElementsWithCollidingHashes() {
+        var expected = new LinkedHashSet<PersistentHashMapTest.Key>();
+        var unordered = PersistentSet.<PersistentHashMapTest.Key>emptyUnordered().asTransient();
+        var ordered = PersistentSet.<PersistentHashMapTest.Key>emptyOrdered().asTransient();
+        for (var idx = 0; idx < 10; idx++) {
+            var key = new PersistentHashMapTest.Key(7, "key" + idx);
+            expected.add(key);
+            assertTrue(unordered.add(key));
+            assertTrue(ordered.add(key));
+            assertFalse(ordered.add(new PersistentHashMapTest.Key(7, "key" + idx)));
+        }
+        var removed = new PersistentHashMapTest.Key(7, "key3");
+        expected.remove(removed);
+        assertTrue(unordered.remove(removed));
+        assertTrue(ordered.remove(removed));
+        assertFalse(ordered.remove(removed));
+
+        assertEquals(expected, unordered.persistent());
+        assertIterableEquals(expected, ordered.persistent());
+    }
+
+    @Test
+    public void persistentIsNotChangedByTheTransient() {
+        var set = PersistentSet.<Integer>emptyOrdered().asTransient();
+        set.addAll(range(100));
+        var first = set.persistent();
+        set.remove(99 * 31);
+        set.add(-1);
+        var second = set.persistent();
+        set.clear();
+        var expected = new ArrayList<>(range(99));
+        expected.add(-1);
+
+        assertIterableEquals(range(100), first);
+        assertIterableEquals(expected, second);
+    }
+
+    @Test
+    public void asTransientDoesNotChangeTheSource() {
+        var source = PersistentSet.unorderedFrom(range(1000));
+        var set = source.asTransient();
+        set.removeIf(value -> value % 2 == 0);
+        set.add(1000);
+
+        assertEquals(new HashSet<>(range(1000)), source);
+        assertEquals(501, set.size());
+    }
+
+    @Test
+    public void equalsAndHashCodeMatchTheJdkSets() {
+        var elements = range(100);
+        var unordered = PersistentSet.unorderedFrom(elements);
+        var ordered = PersistentSet.orderedFrom(elements);
+        Set<Integer> expected = new TreeSet<>(elements);
+
+        assertEquals(expected, unordered);
+        assertEquals(unordered, expected);
+        assertEquals(expected, ordered);
+        assertEquals(ordered, unordered);
+        assertEquals(expected.hashCode(), unordered.hashCode());
+        assertEquals(expected.hashCode(), ordered.hashCode());
+    }
+
+    @Test
+    public void fromReturnsSetsWithTheSameOrderingAsIs() {
+        var unordered = PersistentSet.unorderedFrom(range(10));
+        var ordered = PersistentSet.orderedFrom(range(10));
+
+        assertSame(unordered, PersistentSet.unorderedFrom(unordered));
+        assertSame(ordered, PersistentSet.orderedFrom(ordered));
+        assertNotSame(unordered, PersistentSet.orderedFrom(unordered));
+        assertTrue(PersistentSet.orderedFrom(unordered).isOrdered());
+    }
+
+    @Test
+    public void rejectsNullElementsAndChanges() {
+        var set = PersistentSet.orderedFrom(range(10));
+
+        assertThrows(NullPointerException.class, () -> set.asTransient().add(null));
+        assertThrows(UnsupportedOperationException.class, () -> set.add(10));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(0));
+        assertFalse(set.contains(null));
+    }
+
+    static List<Integer> range(int size) {
+        var result = new ArrayList<Integer>(size);
+        for (var idx = size - 1; idx >= 0; idx--) {
+            result.add(idx * 31);
+        }
+        return result;
+    }
+}
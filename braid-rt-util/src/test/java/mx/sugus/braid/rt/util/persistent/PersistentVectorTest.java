@@ -0,0 +1,203 @@
+package mx.sugus.braid.rt.util.persistent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PersistentVectorTest {
+    // The sizes around the tail, the first root overflow, and the second root overflow, at 32, 32 * 32 + 32 and
+    // 32 * 32 * 32 + 32 * 32 + 32 elements.
+    static final int[] SIZES = {0, 1, 31, 32, 33, 64, 65, 1023, 1024, 1025, 1055, 1056, 1057, 1088, 1089, 32767, 32768,
+                                32769, 33823, 33824, 33825, 33856, 33857};
+
+    @Test
+    public void appendsAcrossTailAndRootOverflows() {
+        var snapshots = new LinkedHashMap<Integer, PersistentVector<Integer>>();
+        var vector = PersistentVector.<Integer>empty().asTransient();
+        var next = 0;
+        for (var size : SIZES) {
+            while (next < size) {
+                vector.add(next++);
+            }
+            snapshots.put(size, vector.persistent());
+        }
+        // Checked after the transient kept appending, such that changes to shared nodes are also caught.
+        for (Map.Entry<Integer, PersistentVector<Integer>> entry : snapshots.entrySet()) {
+            assertEquals(range(entry.getKey()), entry.getValue(), "size: " + entry.getKey());
+            assertEquals(range(entry.getKey()), new ArrayList<>(entry.getValue()), "size: " + entry.getKey());
+        }
+    }
+
+    @Test
+    public void updatesAcrossTailAndRootOverflows() {
+        for (var size : SIZES) {
+            if (size == 0) {
+                continue;
+            }
+            var source = PersistentVector.from(range(size));
+            var expected = range(size);
+            var updated = source;
+            for (var index : new int[] {0, size / 2, size - 1}) {
+                expected.set(index, -index - 1);
+                updated = updated.with(index, -index - 1);
+            }
+
+            assertEquals(expected, updated, "size: " + size);
+            assertEquals(range(size), source, "size: " + size);
+        }
+    }
+
+    @Test
+    public void persistentIsNotChangedByTheTransient() {
+        var vector = PersistentVector.<Integer>empty().asTransient();
+        vector.addAll(range(100));
+        var first = vector.persistent();
+        vector.set(5, -1);
+        vector.set(99, -1);
+        vector.add(100);
+        var second = vector.persistent();
+        vector.set(6, -1);
+
+        assertEquals(range(100), first);
+        assertEquals(101, second.size());
+        assertEquals(-1, second.get(5));
+        assertEquals(6, second.get(6));
+        assertEquals(-1, second.get(99));
+    }
+
+    @Test
+    public void asTransientDoesNotChangeTheSource() {
+        var source = PersistentVector.from(range(2000));
+        var vector = source.asTransient();
+        vector.set(0, -1);
+        vector.set(1500, -1);
+        vector.add(2000);
+        vector.remove(10);
+        vector.add(3, -1);
+        vector.clear();
+
+        assertEquals(range(2000), source);
+    }
+
+    @Test
+    public void plusDoesNotChangeTheSource() {
+        var source = PersistentVector.from(range(1056));
+        var first = source.plus(1056);
+        var second = source.plus(-1);
+
+        assertEquals(range(1056), source);
+        assertEquals(range(1057), first);
+        assertEquals(-1, second.get(1056));
+    }
+
+    @Test
+    public void removeAndInsertRebuildTheVector() {
+        var random = new Random(42);
+        var expected = new ArrayList<>(range(1050));
+        var vector = PersistentVector.from(expected).asTransient();
+        for (var iteration = 0; iteration < 500; iteration++) {
+            var index = random.nextInt(expected.size() + 1);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    expected.add(index, iteration);
+                    vector.add(index, iteration);
+                }
+                case 1 -> {
+                    if (index < expected.size()) {
+                        assertEquals(expected.remove(index), vector.remove(index));
+                    }
+                }
+                case 2 -> assertEquals(expected.remove(expected.size() - 1), vector.remove(vector.size() - 1));
+                default -> {
+                    expected.add(iteration);
+                    vector.add(iteration);
+                }
+            }
+            if (iteration % 50 == 0) {
+                assertEquals(expected, vector.persistent());
+            }
+        }
+        assertEquals(expected, vector);
+        assertEquals(expected, vector.persistent());
+    }
+
+    @Test
+    public void removesTheLastElementAcrossTheTail() {
+        var vector = PersistentVector.from(range(65)).asTransient();
+        var expected = range(65);
+        while (!expected.isEmpty()) {
+            assertEquals(expected.remove(expected.size() - 1), vector.remove(vector.size() - 1));
+            assertEquals(expected, vector.persistent());
+        }
+        assertSame(PersistentVector.empty(), vector.persistent());
+    }
+
+    @Test
+    public void equalsAndHashCodeMatchTheJdkLists() {
+        for (var size : new int[] {0, 1, 32, 33, 1057}) {
+            var expected = range(size);
+            var vector = PersistentVector.from(expected);
+
+            assertEquals(expected, vector);
+            assertEquals(vector, expected);
+            assertEquals(new LinkedList<>(expected), vector);
+            assertEquals(expected.hashCode(), vector.hashCode());
+            assertEquals(expected.toString(), vector.toString());
+            assertEquals(vector, vector.asTransient());
+        }
+        assertNotEquals(PersistentVector.from(range(3)), List.of(0, 1, 3));
+    }
+
+    @Test
+    public void fromReturnsPersistentVectorsAsIs() {
+        var vector = PersistentVector.from(range(10));
+
+        assertSame(vector, PersistentVector.from(vector));
+        assertSame(PersistentVector.empty(), PersistentVector.from(List.of()));
+    }
+
+    @Test
+    public void rejectsChangesAndInvalidIndexes() {
+        var vector = PersistentVector.from(range(33));
+
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> vector.set(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(33));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.asTransient().set(33, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.asTransient().add(34, 1));
+    }
+
+    @Test
+    public void supportsNullElements() {
+        var transientVector = PersistentVector.<Integer>empty().asTransient();
+        var expected = new ArrayList<Integer>();
+        for (var idx = 0; idx < 40; idx++) {
+            var value = idx % 3 == 0 ? null : idx;
+            transientVector.add(value);
+            expected.add(value);
+        }
+
+        assertEquals(expected, transientVector.persistent());
+        assertNull(transientVector.persistent().get(33));
+    }
+
+    static List<Integer> range(int size) {
+        var result = new ArrayList<Integer>(size);
+        for (var idx = 0; idx < size; idx++) {
+            result.add(idx);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IntListTest {
+
+    @Test
+    public void growsAsValuesAreAdded() {
+        var list = new IntArrayList();
+        var expected = new ArrayList<Integer>();
+        for (var idx = 0; idx < 1000; idx++) {
+            list.addInt(value(idx));
+            expected.add(value(idx));
+            assertEquals(idx + 1, list.size());
+        }
+
+        assertEquals(expected, list);
+        assertEquals(expected, list.toList());
+        assertEquals(1000, list.toIntArray().length);
+    }
+
+    @Test
+    public void boxedAndPrimitiveAccessorsAgree() {
+        var list = new IntArrayList();
+        for (var idx = 0; idx < 20; idx++) {
+            list.addInt(value(idx));
+        }
+        var frozen = list.toList();
+        for (var idx = 0; idx < 20; idx++) {
+            assertEquals(Integer.valueOf(list.getInt(idx)), list.get(idx));
+            assertEquals(Integer.valueOf(frozen.getInt(idx)), frozen.get(idx));
+            assertEquals(list.get(idx), frozen.get(idx));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(20));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> frozen.getInt(20));
+        assertThrows(IndexOutOfBoundsException.class, () -> frozen.get(20));
+    }
+
+    @Test
+    public void changesMatchTheJdkLists() {
+        var list = new IntArrayList();
+        var expected = new ArrayList<Integer>();
+        for (var idx = 0; idx < 30; idx++) {
+            list.add(value(idx));
+            expected.add(value(idx));
+        }
+        list.add(0, value(100));
+        expected.add(0, value(100));
+        list.add(15, value(101));
+        expected.add(15, value(101));
+        list.add(list.size(), value(102));
+        expected.add(expected.size(), value(102));
+        assertEquals(expected.remove(3), list.remove(3));
+        assertEquals(expected.set(4, value(103)), list.set(4, value(103)));
+        assertEquals(expected.get(5), Integer.valueOf(list.setInt(5, value(104))));
+        expected.set(5, value(104));
+
+        assertEquals(expected, list);
+        assertEquals(expected.indexOf(value(101)), list.toList().indexOf(value(101)));
+        assertTrue(list.toList().contains(value(102)));
+        list.clear();
+        assertEquals(List.of(), list);
+    }
+
+    @Test
+    public void rejectsNullValues() {
+        var list = new IntArrayList();
+
+        assertThrows(NullPointerException.class, () -> list.add(null));
+        assertThrows(NullPointerException.class, () -> list.add(0, null));
+        assertThrows(NullPointerException.class, () -> IntList.copyOf(Arrays.asList(value(0), null)));
+        list.add(value(0));
+        assertThrows(NullPointerException.class, () -> list.set(0, null));
+    }
+
+    @Test
+    public void equalsAndHashCodeMatchTheJdkLists() {
+        for (var size : new int[] {0, 1, 2, 11, 100}) {
+            var expected = new ArrayList<Integer>();
+            var list = new IntArrayList();
+            for (var idx = 0; idx < size; idx++) {
+                expected.add(value(idx));
+                list.addInt(value(idx));
+            }
+            var frozen = IntList.copyOf(expected);
+
+            assertEquals(expected, frozen);
+            assertEquals(frozen, expected);
+            assertEquals(new LinkedList<>(expected), frozen);
+            assertEquals(list, frozen);
+            assertEquals(frozen, list.toList());
+            assertEquals(expected.hashCode(), frozen.hashCode());
+            assertEquals(expected.hashCode(), list.hashCode());
+            assertEquals(expected.toString(), frozen.toString());
+        }
+        assertNotEquals(IntList.of(value(0), value(1)), List.of(value(1), value(0)));
+        assertNotEquals(IntList.of(value(0)), List.of(value(0), value(0)));
+    }
+
+    @Test
+    public void frozenListsAreImmutableCopies() {
+        var values = new int[] {value(0), value(1), value(2)};
+        var list = IntList.of(values);
+        values[0] = value(3);
+        list.toIntArray()[1] = value(3);
+        var source = new IntArrayList();
+        source.addInt(value(0));
+        var frozen = source.toList();
+        source.setInt(0, value(3));
+
+        assertEquals(List.of(value(0), value(1), value(2)), list);
+        assertEquals(List.of(value(0)), frozen);
+        assertSame(list, IntList.copyOf(list));
+        assertSame(IntList.empty(), IntList.of());
+        assertSame(IntList.empty(), new IntArrayList().toList());
+        assertThrows(UnsupportedOperationException.class, () -> list.add(value(0)));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, value(0)));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+    }
+
+    @Test
+    public void builderReferenceCopiesOnBuild() {
+        var reference = IntListBuilderReference.forList();
+        for (var idx = 0; idx < 20; idx++) {
+            reference.asTransient().addInt(value(idx));
+        }
+        var first = reference.asPersistent();
+        reference.asTransient().addInt(value(20));
+        reference.asTransient().setInt(0, value(21));
+        var second = reference.asPersistent();
+
+        assertTrue(first instanceof IntList);
+        assertEquals(20, first.size());
+        assertEquals(value(0), first.get(0));
+        assertEquals(21, second.size());
+        assertEquals(value(21), second.get(0));
+    }
+
+    @Test
+    public void builderReferenceDoesNotChangeTheBorrowedList() {
+        var source = IntList.of(value(0), value(1));
+        var reference = IntListBuilderReference.fromPersistentList(source);
+
+        assertSame(source, reference.asPersistent());
+        reference.asTransient().addInt(value(2));
+        reference.asTransient().setInt(0, value(3));
+
+        assertEquals(List.of(value(0), value(1)), source);
+        assertEquals(List.of(value(3), value(1), value(2)), reference.asPersistent());
+        assertArrayEquals(new int[] {value(3), value(1), value(2)}, ((IntList) reference.asPersistent()).toIntArray());
+    }
+
+    @Test
+    public void builderReferenceResetsToAnEmptyList() {
+        var reference = IntListBuilderReference.forList();
+        reference.asTransient().addInt(value(0));
+        var built = reference.asPersistent();
+        reference.reset();
+
+        assertSame(IntList.empty(), reference.asPersistent());
+        reference.asTransient().addInt(value(1));
+        assertEquals(List.of(value(1)), reference.asPersistent());
+        assertEquals(List.of(value(0)), built);
+        reference.clear();
+        assertEquals(List.of(), reference.asPersistent());
+    }
+
+    static int value(int idx) {
+        return idx * 7 - 3;
+    }
+}
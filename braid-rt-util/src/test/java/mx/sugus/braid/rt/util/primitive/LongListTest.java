@@ -0,0 +1,183 @@
+package mx.sugus.braid.rt.util.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LongListTest {
+
+    @Test
+    public void growsAsValuesAreAdded() {
+        var list = new LongArrayList();
+        var expected = new ArrayList<Long>();
+        for (var idx = 0; idx < 1000; idx++) {
+            list.addLong(value(idx));
+            expected.add(value(idx));
+            assertEquals(idx + 1, list.size());
+        }
+
+        assertEquals(expected, list);
+        assertEquals(expected, list.toList());
+        assertEquals(1000, list.toLongArray().length);
+    }
+
+    @Test
+    public void boxedAndPrimitiveAccessorsAgree() {
+        var list = new LongArrayList();
+        for (var idx = 0; idx < 20; idx++) {
+            list.addLong(value(idx));
+        }
+        var frozen = list.toList();
+        for (var idx = 0; idx < 20; idx++) {
+            assertEquals(Long.valueOf(list.getLong(idx)), list.get(idx));
+            assertEquals(Long.valueOf(frozen.getLong(idx)), frozen.get(idx));
+            assertEquals(list.get(idx), frozen.get(idx));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getLong(20));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> frozen.getLong(20));
+        assertThrows(IndexOutOfBoundsException.class, () -> frozen.get(20));
+    }
+
+    @Test
+    public void changesMatchTheJdkLists() {
+        var list = new LongArrayList();
+        var expected = new ArrayList<Long>();
+        for (var idx = 0; idx < 30; idx++) {
+            list.add(value(idx));
+            expected.add(value(idx));
+        }
+        list.add(0, value(100));
+        expected.add(0, value(100));
+        list.add(15, value(101));
+        expected.add(15, value(101));
+        list.add(list.size(), value(102));
+        expected.add(expected.size(), value(102));
+        assertEquals(expected.remove(3), list.remove(3));
+        assertEquals(expected.set(4, value(103)), list.set(4, value(103)));
+        assertEquals(expected.get(5), Long.valueOf(list.setLong(5, value(104))));
+        expected.set(5, value(104));
+
+        assertEquals(expected, list);
+        assertEquals(expected.indexOf(value(101)), list.toList().indexOf(value(101)));
+        assertTrue(list.toList().contains(value(102)));
+        list.clear();
+        assertEquals(List.of(), list);
+    }
+
+    @Test
+    public void rejectsNullValues() {
+        var list = new LongArrayList();
+
+        assertThrows(NullPointerException.class, () -> list.add(null));
+        assertThrows(NullPointerException.class, () -> list.add(0, null));
+        assertThrows(NullPointerException.class, () -> LongList.copyOf(Arrays.asList(value(0), null)));
+        list.add(value(0));
+        assertThrows(NullPointerException.class, () -> list.set(0, null));
+    }
+
+    @Test
+    public void equalsAndHashCodeMatchTheJdkLists() {
+        for (var size : new int[] {0, 1, 2, 11, 100}) {
+            var expected = new ArrayList<Long>();
+            var list = new LongArrayList();
+            for (var idx = 0; idx < size; idx++) {
+                expected.add(value(idx));
+                list.addLong(value(idx));
+            }
+            var frozen = LongList.copyOf(expected);
+
+            assertEquals(expected, frozen);
+            assertEquals(frozen, expected);
+            assertEquals(new LinkedList<>(expected), frozen);
+            assertEquals(list, frozen);
+            assertEquals(frozen, list.toList());
+            assertEquals(expected.hashCode(), frozen.hashCode());
+            assertEquals(expected.hashCode(), list.hashCode());
+            assertEquals(expected.toString(), frozen.toString());
+        }
+        assertNotEquals(LongList.of(value(0), value(1)), List.of(value(1), value(0)));
+        assertNotEquals(LongList.of(value(0)), List.of(value(0), value(0)));
+    }
+
+    @Test
+    public void frozenListsAreImmutableCopies() {
+        var values = new long[] {value(0), value(1), value(2)};
+        var list = LongList.of(values);
+        values[0] = value(3);
+        list.toLongArray()[1] = value(3);
+        var source = new LongArrayList();
+        source.addLong(value(0));
+        var frozen = source.toList();
+        source.setLong(0, value(3));
+
+        assertEquals(List.of(value(0), value(1), value(2)), list);
+        assertEquals(List.of(value(0)), frozen);
+        assertSame(list, LongList.copyOf(list));
+        assertSame(LongList.empty(), LongList.of());
+        assertSame(LongList.empty(), new LongArrayList().toList());
+        assertThrows(UnsupportedOperationException.class, () -> list.add(value(0)));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, value(0)));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+    }
+
+    @Test
+    public void builderReferenceCopiesOnBuild() {
+        var reference = LongListBuilderReference.forList();
+        for (var idx = 0; idx < 20; idx++) {
+            reference.asTransient().addLong(value(idx));
+        }
+        var first = reference.asPersistent();
+        reference.asTransient().addLong(value(20));
+        reference.asTransient().setLong(0, value(21));
+        var second = reference.asPersistent();
+
+        assertTrue(first instanceof LongList);
+        assertEquals(20, first.size());
+        assertEquals(value(0), first.get(0));
+        assertEquals(21, second.size());
+        assertEquals(value(21), second.get(0));
+    }
+
+    @Test
+    public void builderReferenceDoesNotChangeTheBorrowedList() {
+        var source = LongList.of(value(0), value(1));
+        var reference = LongListBuilderReference.fromPersistentList(source);
+
+        assertSame(source, reference.asPersistent());
+        reference.asTransient().addLong(value(2));
+        reference.asTransient().setLong(0, value(3));
+
+        assertEquals(List.of(value(0), value(1)), source);
+        assertEquals(List.of(value(3), value(1), value(2)), reference.asPersistent());
+        assertArrayEquals(new long[] {value(3), value(1), value(2)}, ((LongList) reference.asPersistent()).toLongArray());
+    }
+
+    @Test
+    public void builderReferenceResetsToAnEmptyList() {
+        var reference = LongListBuilderReference.forList();
+        reference.asTransient().addLong(value(0));
+        var built = reference.asPersistent();
+        reference.reset();
+
+        assertSame(LongList.empty(), reference.asPersistent());
+        reference.asTransient().addLong(value(1));
+        assertEquals(List.of(value(1)), reference.asPersistent());
+        assertEquals(List.of(value(0)), built);
+        reference.clear();
+        assertEquals(List.of(), reference.asPersistent());
+    }
+
+    static long value(int idx) {
+        return idx * 3_000_000_000L - 1;
+    }
+}
@@ -0,0 +1,187 @@
+package mx.sugus.braid.rt.util.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SnapshotReaderTest {
+    static final int SCHEMA = 0x1234ABCD;
+
+    @Test
+    public void readsWhatWasWritten() {
+        var reader = new SnapshotReader(snapshot(), SCHEMA);
+        var values = readSnapshot(reader);
+
+        assertEquals(List.of("first", "second", "first"), values.subList(0, 3));
+        assertNull(values.get(3));
+        assertEquals(Kind.B, values.get(4));
+        assertEquals(2, values.get(5));
+        assertEquals(true, values.get(6));
+        assertSame(values.get(7), values.get(8));
+        assertTrue(reader.isAtEnd());
+    }
+
+    @Test
+    public void rejectsNonSnapshots() {
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotReader(new byte[0], SCHEMA));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotReader(new byte[8], SCHEMA));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotReader(snapshot(), SCHEMA + 1));
+    }
+
+    @Test
+    public void rejectsTruncatedSnapshots() {
+        var bytes = snapshot();
+        for (var length = 0; length < bytes.length; length++) {
+            var truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IllegalArgumentException.class, () -> readSnapshot(new SnapshotReader(truncated, SCHEMA)),
+                         "length: " + length);
+        }
+    }
+
+    @Test
+    public void rejectsNegativeStringLength() {
+        var writer = new SnapshotWriter(SCHEMA);
+        writer.writeVarint(SnapshotWriter.NEW_STRING);
+        writer.writeVarint(-1);
+        var reader = new SnapshotReader(writer.toByteArray(), SCHEMA);
+
+        assertThrows(IllegalArgumentException.class, reader::readString);
+    }
+
+    @Test
+    public void rejectsNegativeStringIndex() {
+        var writer = new SnapshotWriter(SCHEMA);
+        writer.writeVarint(-1);
+        var reader = new SnapshotReader(writer.toByteArray(), SCHEMA);
+
+        assertThrows(IllegalArgumentException.class, reader::readString);
+    }
+
+    @Test
+    public void rejectsUnknownStringIndex() {
+        var writer = new SnapshotWriter(SCHEMA);
+        writer.writeVarint(SnapshotWriter.FIRST_STRING);
+        var reader = new SnapshotReader(writer.toByteArray(), SCHEMA);
+
+        assertThrows(IllegalArgumentException.class, reader::readString);
+    }
+
+    @Test
+    public void rejectsNegativeReferenceIndex() {
+        var writer = new SnapshotWriter(SCHEMA);
+        writer.writeVarint(SnapshotWriter.REFERENCE);
+        writer.writeVarint(-1);
+        var reader = new SnapshotReader(writer.toByteArray(), SCHEMA);
+
+        assertEquals(SnapshotReader.REFERENCE_KIND, reader.readKind());
+        assertThrows(IllegalArgumentException.class, reader::readReference);
+    }
+
+    @Test
+    public void rejectsNegativeKind() {
+        var writer = new SnapshotWriter(SCHEMA);
+        writer.writeVarint(-1);
+        var reader = new SnapshotReader(writer.toByteArray(), SCHEMA);
+
+        assertThrows(IllegalArgumentException.class, reader::readKind);
+    }
+
+    @Test
+    public void rejectsNegativeSize() {
+        var writer = new SnapshotWriter(SCHEMA);
+        writer.writeVarint(-1);
+        var reader = new SnapshotReader(writer.toByteArray(), SCHEMA);
+
+        assertThrows(IllegalArgumentException.class, reader::readSize);
+    }
+
+    @Test
+    public void rejectsMalformedVarint() {
+        var bytes = Arrays.copyOf(new SnapshotWriter(SCHEMA).toByteArray(), 8 + 6);
+        Arrays.fill(bytes, 8, bytes.length, (byte) 0xFF);
+        var reader = new SnapshotReader(bytes, SCHEMA);
+
+        assertThrows(IllegalArgumentException.class, reader::readVarint);
+    }
+
+    @Test
+    public void corruptedSnapshotsOnlyThrowIllegalArgumentException() {
+        var bytes = snapshot();
+        var random = new Random(42);
+        for (var iteration = 0; iteration < 2000; iteration++) {
+            var corrupted = bytes.clone();
+            var changes = 1 + random.nextInt(3);
+            for (var idx = 0; idx < changes; idx++) {
+                // The header is left untouched.
+                corrupted[8 + random.nextInt(corrupted.length - 8)] = (byte) random.nextInt(256);
+            }
+            try {
+                readSnapshot(new SnapshotReader(corrupted, SCHEMA));
+            } catch (IllegalArgumentException expected) {
+                // Corruption detected.
+            } catch (RuntimeException e) {
+                throw new AssertionError("Unexpected exception for: " + Arrays.toString(corrupted), e);
+            }
+        }
+    }
+
+    static byte[] snapshot() {
+        var writer = new SnapshotWriter(SCHEMA);
+        writer.writeString("first");
+        writer.writeString("second");
+        writer.writeString("first");
+        writer.writeString(null);
+        writer.writeEnum(Kind.B);
+        writer.writeSize(2);
+        writer.writeBoolean(true);
+        var value = List.of("x");
+        for (var idx = 0; idx < 2; idx++) {
+            if (!writer.writeReference(value)) {
+                writer.writeKind(0);
+                writer.writeString(value.get(0));
+                writer.register(value);
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    static List<Object> readSnapshot(SnapshotReader reader) {
+        var result = new ArrayList<Object>();
+        result.add(reader.readString());
+        result.add(reader.readString());
+        result.add(reader.readString());
+        result.add(reader.readString());
+        result.add(reader.readEnum(Kind.class));
+        result.add(reader.readSize());
+        result.add(reader.readBoolean());
+        for (var idx = 0; idx < 2; idx++) {
+            // Mirrors the switch used by the generated snapshot readers.
+            var kind = reader.readKind();
+            switch (kind) {
+                case SnapshotReader.NULL_KIND -> result.add(null);
+                case SnapshotReader.REFERENCE_KIND -> result.add(reader.readReference());
+                case 0 -> result.add(reader.register(Collections.singletonList(reader.readString())));
+                default -> throw new IllegalArgumentException("Unknown kind: " + kind);
+            }
+        }
+        if (!reader.isAtEnd()) {
+            throw new IllegalArgumentException("Trailing bytes");
+        }
+        assertFalse(result.isEmpty());
+        return result;
+    }
+
+    enum Kind {
+        A, B
+    }
+}
@@ -164,6 +164,12 @@ public final class ClassAddFromNodeTransformer implements ShapeTaskTransformer<T
                               Utils.toSetterName(state, member),
                               member.getMemberName(),
                               valueFromNode("", state, target));
+        } else if (target.isStringShape() || target.isBooleanShape()) {
+            // The typed getters take the consumer directly, keeping the generated statement short.
+            body.addStatement("obj.$L($S, builder::$L)",
+                              target.isStringShape() ? "getStringMember" : "getBooleanMember",
+                              member.getMemberName(),
+                              Utils.toSetterName(state, member));
         } else {
             body.addStatement("obj.getMember($S).map(n -> $C).ifPresent(builder::$L)",
                               member.getMemberName(),
@@ -136,9 +136,13 @@ public final class ClassAddToNodeTransformer implements ShapeTaskTransformer<Typ
                                   member.getMemberName(), valueToNode(memberField, state, target));
             }
         } else {
-            body.ifStatement("$L != null", memberField, then -> {
+            // The optional members stored in primitive fields are read using the getter, that returns null when absent.
+            var value = Utils.primitiveType(state, member) != null
+                ? "this." + Utils.toGetterName(state, member) + "()"
+                : memberField;
+            body.ifStatement("$L != null", value, then -> {
                 then.addStatement("builder.withMember($S, $C)",
-                                  member.getMemberName(), valueToNode(memberField, state, target));
+                                  member.getMemberName(), valueToNode(value, state, target));
             });
         }
     }
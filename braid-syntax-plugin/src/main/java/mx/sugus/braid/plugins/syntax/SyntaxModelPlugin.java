@@ -33,10 +33,13 @@ public final class SyntaxModelPlugin implements SmithyGeneratorPlugin<SyntaxMode
     @Override
     public CodegenModuleConfig moduleConfig(SyntaxModelPluginConfig config) {
         var builder = CodegenModuleConfig.builder();
+        var structuralChangeDetection = Boolean.TRUE.equals(config.structuralChangeDetection());
         for (var syntaxNode : config.syntaxNodes()) {
             builder.addProducer(new SyntaxVisitorJavaProducer(syntaxNode))
                    .addProducer(new SyntaxWalkVisitorJavaProducer(syntaxNode))
-                   .addProducer(new SyntaxRewriteVisitorJavaProducer(syntaxNode))
+                   .addProducer(new SyntaxPrunedWalkVisitorJavaProducer(syntaxNode))
+                   .addProducer(new SyntaxSnapshotJavaProducer(syntaxNode))
+                   .addProducer(new SyntaxRewriteVisitorJavaProducer(syntaxNode, structuralChangeDetection))
                    .addTransformer(new InterfaceSyntaxAddAcceptVisitorTransformer(syntaxNode))
                    .addTransformer(new SyntaxAddAcceptVisitorTransformer(syntaxNode));
         }
@@ -0,0 +1,272 @@
+package mx.sugus.braid.plugins.syntax;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.lang.model.element.Modifier;
+import mx.sugus.braid.core.ImplementsKnowledgeIndex;
+import mx.sugus.braid.core.plugin.CodegenState;
+import mx.sugus.braid.core.plugin.Identifier;
+import mx.sugus.braid.core.plugin.NonShapeProducerTask;
+import mx.sugus.braid.core.util.Name;
+import mx.sugus.braid.jsyntax.ClassName;
+import mx.sugus.braid.jsyntax.ClassSyntax;
+import mx.sugus.braid.jsyntax.CodeBlock;
+import mx.sugus.braid.jsyntax.CompilationUnit;
+import mx.sugus.braid.jsyntax.ConstructorMethodSyntax;
+import mx.sugus.braid.jsyntax.EnumConstant;
+import mx.sugus.braid.jsyntax.EnumSyntax;
+import mx.sugus.braid.jsyntax.FieldSyntax;
+import mx.sugus.braid.jsyntax.MethodSyntax;
+import mx.sugus.braid.jsyntax.ParameterizedTypeName;
+import mx.sugus.braid.jsyntax.ext.JavadocExt;
+import mx.sugus.braid.plugins.data.TypeSyntaxResult;
+import mx.sugus.braid.plugins.data.producers.Utils;
+import mx.sugus.braid.traits.InterfaceTrait;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+/**
+ * Produces a walk visitor that only descends into the children that can contain one of the node kinds it was created for.
+ * Which kinds of nodes can be reached from each type of node, the containment matrix, is computed here, at codegen time,
+ * from the syntax model and is encoded as a bitmask per type.
+ */
+public final class SyntaxPrunedWalkVisitorJavaProducer implements NonShapeProducerTask<TypeSyntaxResult> {
+    public static final Identifier ID = Identifier.of(SyntaxPrunedWalkVisitorJavaProducer.class);
+    private static final String NODE_KIND = "NodeKind";
+    private final String syntaxNode;
+    private final SyntaxWalkVisitorJavaProducer walkVisitorProducer;
+
+    SyntaxPrunedWalkVisitorJavaProducer(String syntaxNode) {
+        this.syntaxNode = syntaxNode;
+        this.walkVisitorProducer = new SyntaxWalkVisitorJavaProducer(syntaxNode);
+    }
+
+    @Override
+    public Identifier taskId() {
+        return ID;
+    }
+
+    @Override
+    public Class<TypeSyntaxResult> output() {
+        return TypeSyntaxResult.class;
+    }
+
+    @Override
+    public TypeSyntaxResult produce(CodegenState state) {
+        return TypeSyntaxResult.builder().syntax(compilationUnit(state)).build();
+    }
+
+    CompilationUnit compilationUnit(CodegenState state) {
+        var syntaxShape = state.model().expectShape(ShapeId.from(syntaxNode));
+        var typeName = ClassName.toClassName(Utils.toJavaTypeName(state, syntaxShape));
+        return CompilationUnit.builder().packageName(typeName.packageName()).type(typeSyntax(state)).build();
+    }
+
+    ClassSyntax typeSyntax(CodegenState state) {
+        var syntaxShape = state.model().expectShape(ShapeId.from(syntaxNode));
+        var syntaxNodeClass = ClassName.toClassName(Utils.toJavaTypeName(state, syntaxShape));
+        var syntaxNodeRawClass = ClassName.toClassName(syntaxNodeClass);
+        var prunedWalkVisitorClass = ClassName.from(syntaxNodeRawClass.packageName(),
+                                                    syntaxNodeRawClass.name() + "PrunedWalkVisitor");
+        var visitorClass = ClassName.from(syntaxNodeRawClass.packageName(),
+                                          syntaxNodeRawClass.name() + "Visitor");
+        var nodeKindClass = ClassName.from(syntaxNodeRawClass.packageName(),
+                                           prunedWalkVisitorClass.name() + "." + NODE_KIND);
+        var kinds = nodeKinds(state);
+        if (kinds.size() > Long.SIZE) {
+            var names = kinds.stream().map(s -> s.getId().toString()).collect(Collectors.joining(", "));
+            throw new IllegalStateException("Cannot produce a pruned walk visitor for `" + syntaxNode + "`, the masks "
+                                            + "support up to " + Long.SIZE + " node kinds but " + kinds.size()
+                                            + " implement it: " + names);
+        }
+        var reaches = reaches(state, kinds);
+        var builder = ClassSyntax.builder(prunedWalkVisitorClass.name())
+                                 .javadoc(JavadocExt.document(
+                                     "A walk visitor that only descends into the children that can contain, directly or "
+                                     + "indirectly, a node of one of the given kinds. Which kinds can be reached from each type "
+                                     + "is computed at codegen time from the syntax model."))
+                                 .addAnnotation(Utils.generatedBy(SyntaxModelPlugin.ID))
+                                 .addModifier(Modifier.PUBLIC)
+                                 .addSuperInterface(ParameterizedTypeName.from(visitorClass, syntaxNodeClass));
+        for (var kvp : reachesFields(state, kinds, reaches).entrySet()) {
+            builder.addField(FieldSyntax.builder()
+                                        .name(kvp.getKey())
+                                        .type(long.class)
+                                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                        .initializer(CodeBlock.from("$L", kvp.getValue()))
+                                        .build());
+        }
+        builder.addField(FieldSyntax.builder()
+                                    .name("targets")
+                                    .type(long.class)
+                                    .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                                    .build());
+        builder.addMethod(constructor(nodeKindClass));
+        for (var shape : kinds) {
+            builder.addMethod(visitForStructure(state, shape)
+                                  .addAnnotation(Override.class)
+                                  .addModifier(Modifier.PUBLIC)
+                                  .returns(syntaxNodeClass)
+                                  .build());
+        }
+        builder.addInnerType(nodeKindEnum(state, kinds));
+        return builder.build();
+    }
+
+    ConstructorMethodSyntax constructor(ClassName nodeKindClass) {
+        var targetsType = ParameterizedTypeName.from(ClassName.from(Collection.class), nodeKindClass);
+        return ConstructorMethodSyntax.builder()
+                                      .javadoc(JavadocExt.document("Creates a new visitor that visits the nodes of the given "
+                                                                   + "kinds"))
+                                      .addModifier(Modifier.PUBLIC)
+                                      .addParameter(targetsType, "targets")
+                                      .body(body -> {
+                                          body.addStatement("long mask = 0L");
+                                          body.forStatement("$T target : targets", nodeKindClass, b -> {
+                                              b.addStatement("mask |= 1L << target.ordinal()");
+                                          });
+                                          body.addStatement("this.targets = mask");
+                                      })
+                                      .build();
+    }
+
+    EnumSyntax nodeKindEnum(CodegenState state, List<StructureShape> kinds) {
+        var builder = EnumSyntax.builder(NODE_KIND)
+                                .javadoc(JavadocExt.document("The kinds of nodes that can be targeted by the visitor"))
+                                .addModifier(Modifier.PUBLIC);
+        for (var shape : kinds) {
+            builder.addEnumConstant(EnumConstant.builder()
+                                                .name(kindName(state, shape))
+                                                .build());
+        }
+        return builder.build();
+    }
+
+    MethodSyntax.Builder visitForStructure(CodegenState state, StructureShape shape) {
+        var name = shape.getId().getName();
+        var type = Utils.toJavaTypeName(state, shape);
+        var builder = MethodSyntax.builder("visit" + name)
+                                  .addParameter(type, "node");
+        var model = state.model();
+        builder.body(body -> {
+            for (var member : shape.members()) {
+                var memberShape = model.expectShape(member.getTarget());
+                if (SyntaxVisitorJavaProducer.shapeImplements(syntaxNode, model, memberShape)) {
+                    body.ifStatement("(targets & $L) != 0", reachesName(state, memberShape),
+                                     b -> walkVisitorProducer.addSingleSyntaxNode(state, member, b));
+                }
+                if (walkVisitorProducer.isCollectionOfSyntaxNode(state, member)) {
+                    var innerType = walkVisitorProducer.memberInnerType(state, member);
+                    body.ifStatement("(targets & $L) != 0", reachesName(state, innerType),
+                                     b -> walkVisitorProducer.addCollectionOfSyntaxNode(state, member, b));
+                }
+            }
+            body.addStatement("return node");
+        });
+        return builder;
+    }
+
+    /**
+     * Returns the concrete syntax node types, in the same order used for the visit methods. The ordinal of each in the
+     * returned list is also its bit in the masks.
+     */
+    List<StructureShape> nodeKinds(CodegenState state) {
+        var isaKnowledgeIndex = ImplementsKnowledgeIndex.of(state.model());
+        var syntaxNodeShape = state.model().expectShape(ShapeId.from(syntaxNode)).asStructureShape().orElseThrow();
+        var result = new ArrayList<StructureShape>();
+        for (var shape : isaKnowledgeIndex.recursiveImplementers(syntaxNodeShape)) {
+            if (!shape.hasTrait(InterfaceTrait.class)) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes for each node kind the mask of the kinds reachable from it, including itself, by propagating the masks
+     * of the children until a fixed point is reached.
+     */
+    Map<ShapeId, Long> reaches(CodegenState state, List<StructureShape> kinds) {
+        var result = new HashMap<ShapeId, Long>();
+        for (var idx = 0; idx < kinds.size(); idx++) {
+            result.put(kinds.get(idx).getId(), 1L << idx);
+        }
+        var changed = true;
+        while (changed) {
+            changed = false;
+            for (var shape : kinds) {
+                var mask = result.get(shape.getId());
+                for (var childType : childTypes(state, shape)) {
+                    mask |= mask(state, childType, result);
+                }
+                if (mask != result.get(shape.getId())) {
+                    result.put(shape.getId(), mask);
+                    changed = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the masks for each of the types used as children of a node, sorted by the name of the field.
+     */
+    Map<String, String> reachesFields(CodegenState state, List<StructureShape> kinds, Map<ShapeId, Long> reaches) {
+        var result = new TreeMap<String, String>();
+        for (var shape : kinds) {
+            for (var childType : childTypes(state, shape)) {
+                var mask = mask(state, childType, reaches);
+                result.put(reachesName(state, childType), String.format("0x%XL", mask));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the static types of the children visited for the given node type.
+     */
+    List<Shape> childTypes(CodegenState state, StructureShape shape) {
+        var model = state.model();
+        var result = new ArrayList<Shape>();
+        for (var member : shape.members()) {
+            var memberShape = model.expectShape(member.getTarget());
+            if (SyntaxVisitorJavaProducer.shapeImplements(syntaxNode, model, memberShape)) {
+                result.add(memberShape);
+            }
+            if (walkVisitorProducer.isCollectionOfSyntaxNode(state, member)) {
+                result.add(walkVisitorProducer.memberInnerType(state, member));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the kinds reachable from a value of the given static type, that is, the union of the masks of
+     * all the concrete types that implement it.
+     */
+    long mask(CodegenState state, Shape type, Map<ShapeId, Long> reaches) {
+        if (!type.hasTrait(InterfaceTrait.class)) {
+            return reaches.getOrDefault(type.getId(), 0L);
+        }
+        var isaKnowledgeIndex = ImplementsKnowledgeIndex.of(state.model());
+        var result = 0L;
+        for (var implementer : isaKnowledgeIndex.recursiveImplementers(type.asStructureShape().orElseThrow())) {
+            result |= reaches.getOrDefault(implementer.getId(), 0L);
+        }
+        return result;
+    }
+
+    String kindName(CodegenState state, Shape shape) {
+        return Utils.toJavaName(state, shape, Name.Convention.SCREAM_CASE).toString();
+    }
+
+    String reachesName(CodegenState state, Shape shape) {
+        return "REACHES_" + kindName(state, shape);
+    }
+}
@@ -26,9 +26,19 @@ import software.amazon.smithy.model.shapes.StructureShape;
 public final class SyntaxRewriteVisitorJavaProducer implements NonShapeProducerTask<TypeSyntaxResult> {
     public static final Identifier ID = Identifier.of(SyntaxRewriteVisitorJavaProducer.class);
     private final String syntaxNode;
+    private final boolean structuralChangeDetection;
 
-    SyntaxRewriteVisitorJavaProducer(String syntaxNode) {
+    /**
+     * Creates a new producer for the rewrite visitor of the given syntax node.
+     *
+     * @param syntaxNode                the shape id of the root syntax node
+     * @param structuralChangeDetection if true, a node is rebuilt only if its rewritten children are not equal to the
+     *                                  original ones, otherwise only the reference identity of the children is checked,
+     *                                  which avoids comparing in full unchanged subtrees at every level
+     */
+    SyntaxRewriteVisitorJavaProducer(String syntaxNode, boolean structuralChangeDetection) {
         this.syntaxNode = syntaxNode;
+        this.structuralChangeDetection = structuralChangeDetection;
     }
 
     @Override
@@ -136,7 +146,8 @@ public final class SyntaxRewriteVisitorJavaProducer implements NonShapeProducerT
                 b.addStatement("$T value = $L.get(idx)", memberInnerType, memberName);
                 var acceptBlock = acceptBlock(state, memberInnerTypeShape, "value");
                 b.addStatement("$T newValue = $C", memberInnerType, acceptBlock);
-                b.ifStatement("$L == null && !value.equals(newValue)", memberNameNew, valueChanged -> {
+                var firstChange = CodeBlock.from("$L == null && $C", memberNameNew, changed("value", "newValue"));
+                b.ifStatement(firstChange, valueChanged -> {
                     valueChanged.addStatement("$L = new $T<>($L.size())",
                                               memberNameNew,
                                               Utils.concreteClassFor(SymbolConstants.AggregateType.LIST), memberName);
@@ -150,7 +161,8 @@ public final class SyntaxRewriteVisitorJavaProducer implements NonShapeProducerT
             builder.forStatement("$T value : $L", memberInnerType, memberName, b -> {
                 var acceptBlock = acceptBlock(state, memberInnerTypeShape, "value");
                 b.addStatement("$T newValue = $C", memberInnerType, acceptBlock);
-                b.ifStatement("$L == null && !value.equals(newValue)", memberNameNew, valueChanged -> {
+                var firstChange = CodeBlock.from("$L == null && $C", memberNameNew, changed("value", "newValue"));
+                b.ifStatement(firstChange, valueChanged -> {
                     valueChanged.addStatement("$L = new $T<>($L.size())",
                                               memberNameNew, Utils.concreteClassFor(SymbolConstants.AggregateType.SET)
                         , memberName);
@@ -217,7 +229,7 @@ public final class SyntaxRewriteVisitorJavaProducer implements NonShapeProducerT
         } else {
             builder.addStatement("$T $L = $C", memberType, memberNameNew, acceptBlock);
         }
-        builder.ifStatement(CodeBlock.from("!$T.equals($L, $L)", Objects.class, memberName, memberNameNew), notEqual -> {
+        builder.ifStatement(changed(memberName.toString(), memberNameNew.toString()), notEqual -> {
             if (isBuilderNull) {
                 notEqual.addStatement("builder = node.toBuilder()");
             } else {
@@ -229,6 +241,13 @@ public final class SyntaxRewriteVisitorJavaProducer implements NonShapeProducerT
         });
     }
 
+    private CodeBlock changed(String value, String newValue) {
+        if (structuralChangeDetection) {
+            return CodeBlock.from("!$T.equals($L, $L)", Objects.class, value, newValue);
+        }
+        return CodeBlock.from("$L != $L", value, newValue);
+    }
+
     private CodeBlock acceptBlock(CodegenState state, Shape targetShape, String memberName) {
         var memberType = Utils.toJavaTypeName(state, targetShape);
         CodeBlock acceptBlock;
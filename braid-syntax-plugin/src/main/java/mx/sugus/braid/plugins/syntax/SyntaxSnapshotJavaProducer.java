@@ -0,0 +1,621 @@
+package mx.sugus.braid.plugins.syntax;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.lang.model.element.Modifier;
+import mx.sugus.braid.core.ImplementsKnowledgeIndex;
+import mx.sugus.braid.core.plugin.CodegenState;
+import mx.sugus.braid.core.plugin.Identifier;
+import mx.sugus.braid.core.plugin.NonShapeProducerTask;
+import mx.sugus.braid.core.util.Name;
+import mx.sugus.braid.jsyntax.Block;
+import mx.sugus.braid.jsyntax.CaseClause;
+import mx.sugus.braid.jsyntax.ClassName;
+import mx.sugus.braid.jsyntax.ClassSyntax;
+import mx.sugus.braid.jsyntax.CodeBlock;
+import mx.sugus.braid.jsyntax.CompilationUnit;
+import mx.sugus.braid.jsyntax.ConstructorMethodSyntax;
+import mx.sugus.braid.jsyntax.DefaultCaseClause;
+import mx.sugus.braid.jsyntax.FieldSyntax;
+import mx.sugus.braid.jsyntax.MethodSyntax;
+import mx.sugus.braid.jsyntax.ParameterizedTypeName;
+import mx.sugus.braid.jsyntax.SwitchStatement;
+import mx.sugus.braid.jsyntax.TypeName;
+import mx.sugus.braid.jsyntax.TypeVariableTypeName;
+import mx.sugus.braid.jsyntax.block.AbstractBlockBuilder;
+import mx.sugus.braid.jsyntax.block.BodyBuilder;
+import mx.sugus.braid.jsyntax.ext.JavadocExt;
+import mx.sugus.braid.plugins.data.TypeSyntaxResult;
+import mx.sugus.braid.plugins.data.producers.Utils;
+import mx.sugus.braid.plugins.data.symbols.SymbolConstants;
+import mx.sugus.braid.rt.util.snapshot.SnapshotReader;
+import mx.sugus.braid.rt.util.snapshot.SnapshotWriter;
+import mx.sugus.braid.traits.InterfaceTrait;
+import mx.sugus.braid.traits.JavaTrait;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Produces a class that writes syntax nodes to a compact binary snapshot and reads them back, using the runtime in
+ * {@code mx.sugus.braid.rt.util.snapshot}. The kinds of values written, the syntax nodes and any other structure or union
+ * reachable from them, are numbered here, at codegen time, by name. The members of each kind are written in the order of
+ * the model, and a fingerprint of the kinds and their members is used as the schema of the snapshots.
+ */
+public final class SyntaxSnapshotJavaProducer implements NonShapeProducerTask<TypeSyntaxResult> {
+    public static final Identifier ID = Identifier.of(SyntaxSnapshotJavaProducer.class);
+    private final String syntaxNode;
+
+    SyntaxSnapshotJavaProducer(String syntaxNode) {
+        this.syntaxNode = syntaxNode;
+    }
+
+    @Override
+    public Identifier taskId() {
+        return ID;
+    }
+
+    @Override
+    public Class<TypeSyntaxResult> output() {
+        return TypeSyntaxResult.class;
+    }
+
+    @Override
+    public TypeSyntaxResult produce(CodegenState state) {
+        return TypeSyntaxResult.builder().syntax(compilationUnit(state)).build();
+    }
+
+    CompilationUnit compilationUnit(CodegenState state) {
+        var syntaxShape = state.model().expectShape(ShapeId.from(syntaxNode));
+        var typeName = ClassName.toClassName(Utils.toJavaTypeName(state, syntaxShape));
+        return CompilationUnit.builder().packageName(typeName.packageName()).type(typeSyntax(state)).build();
+    }
+
+    ClassSyntax typeSyntax(CodegenState state) {
+        var syntaxShape = state.model().expectShape(ShapeId.from(syntaxNode));
+        var syntaxNodeClass = ClassName.toClassName(Utils.toJavaTypeName(state, syntaxShape));
+        var syntaxNodeRawClass = ClassName.toClassName(syntaxNodeClass);
+        var snapshotClass = ClassName.from(syntaxNodeRawClass.packageName(), syntaxNodeRawClass.name() + "Snapshot");
+        var kinds = snapshotKinds(state);
+        var builder = ClassSyntax.builder(snapshotClass.name())
+                                 .javadoc(JavadocExt.document(
+                                     "Writes syntax nodes to a compact binary snapshot and reads them back. Each kind of node "
+                                     + "is written as a number followed by its members, in the order of the syntax model, "
+                                     + "strings are written once and nodes equal to one already written are written as a "
+                                     + "reference to it. The schema fingerprint is computed at codegen time from the syntax "
+                                     + "model and snapshots written for a different schema are rejected."))
+                                 .addAnnotation(Utils.generatedBy(SyntaxModelPlugin.ID))
+                                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+        builder.addField(FieldSyntax.builder()
+                                    .name("SCHEMA")
+                                    .type(int.class)
+                                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                    .initializer(CodeBlock.from("$L", String.format("0x%08X", schema(state, kinds))))
+                                    .build());
+        for (var idx = 0; idx < kinds.size(); idx++) {
+            builder.addField(FieldSyntax.builder()
+                                        .name(kindName(state, kinds.get(idx)))
+                                        .type(int.class)
+                                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                        .initializer(CodeBlock.from("$L", idx))
+                                        .build());
+        }
+        builder.addMethod(ConstructorMethodSyntax.builder()
+                                                 .addModifier(Modifier.PRIVATE)
+                                                 .body(b -> {
+                                                 })
+                                                 .build());
+        builder.addMethod(toBytes(syntaxNodeClass));
+        builder.addMethod(fromBytes(syntaxNodeClass));
+        builder.addMethod(readNode(state, kinds));
+        builder.addMethod(readNodeOfType());
+        builder.addMethod(requireMember());
+        for (var shape : kinds) {
+            builder.addMethod(readForShape(state, shape));
+        }
+        builder.addInnerType(writer(state, syntaxNodeClass, kinds));
+        return builder.build();
+    }
+
+    MethodSyntax toBytes(ClassName syntaxNodeClass) {
+        return MethodSyntax.builder("toBytes")
+                           .javadoc(JavadocExt.document("Returns the snapshot of the given node"))
+                           .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                           .returns(byte[].class)
+                           .addParameter(syntaxNodeClass, "node")
+                           .body(body -> {
+                               body.addStatement("Writer writer = new Writer()");
+                               body.addStatement("writer.writeNode(node)");
+                               body.addStatement("return writer.out.toByteArray()");
+                           })
+                           .build();
+    }
+
+    MethodSyntax fromBytes(ClassName syntaxNodeClass) {
+        return MethodSyntax.builder("fromBytes")
+                           .javadoc(JavadocExt.document("Returns the node read from the given snapshot. Throws "
+                                                        + "IllegalArgumentException if the snapshot is truncated or "
+                                                        + "corrupted"))
+                           .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                           .returns(syntaxNodeClass)
+                           .addParameter(byte[].class, "bytes")
+                           .body(body -> {
+                               body.addStatement("$T in = new $T(bytes, SCHEMA)", SnapshotReader.class,
+                                                 SnapshotReader.class);
+                               body.addStatement("$T result = readNode(in, $T.class)", syntaxNodeClass, syntaxNodeClass);
+                               body.ifStatement("!in.isAtEnd()", b -> {
+                                   b.addStatement("throw new $T($S)", IllegalArgumentException.class,
+                                                  "Unexpected bytes after the snapshot");
+                               });
+                               body.addStatement("return result");
+                           })
+                           .build();
+    }
+
+    MethodSyntax readNode(CodegenState state, List<Shape> kinds) {
+        var kindSwitch = SwitchStatement.builder().expression(CodeBlock.from("kind"));
+        kindSwitch.addCase(CaseClause.builder()
+                                     .addLabel(CodeBlock.from("$T.NULL_KIND", SnapshotReader.class))
+                                     .addStatement("return null")
+                                     .build());
+        kindSwitch.addCase(CaseClause.builder()
+                                     .addLabel(CodeBlock.from("$T.REFERENCE_KIND", SnapshotReader.class))
+                                     .addStatement("return in.readReference()")
+                                     .build());
+        for (var shape : kinds) {
+            kindSwitch.addCase(CaseClause.builder()
+                                         .addLabel(CodeBlock.from("$L", kindName(state, shape)))
+                                         .addStatement("return in.register(read$L(in))", shape.getId().getName())
+                                         .build());
+        }
+        kindSwitch.defaultCase(DefaultCaseClause.builder()
+                                                .addStatement("throw new $T($S + kind)", IllegalArgumentException.class,
+                                                              "Unknown node kind: ")
+                                                .build());
+        return MethodSyntax.builder("readNode")
+                           .addModifier(Modifier.STATIC)
+                           .returns(Object.class)
+                           .addParameter(SnapshotReader.class, "in")
+                           .body(body -> {
+                               body.addStatement("int kind = in.readKind()");
+                               body.addStatement(kindSwitch.build());
+                           })
+                           .build();
+    }
+
+    /**
+     * Reads a node checking that it is of the expected type, such that corrupted snapshots are rejected with
+     * {@link IllegalArgumentException} instead of failing when the node is cast.
+     */
+    MethodSyntax readNodeOfType() {
+        var typeVariable = TypeVariableTypeName.from("T");
+        return MethodSyntax.builder("readNode")
+                           .addModifier(Modifier.STATIC)
+                           .addTypeParam(typeVariable)
+                           .returns(typeVariable)
+                           .addParameter(SnapshotReader.class, "in")
+                           .addParameter(ParameterizedTypeName.from(ClassName.from(Class.class), typeVariable), "type")
+                           .body(body -> {
+                               body.addStatement("$T node = readNode(in)", Object.class);
+                               body.ifStatement("node != null && !type.isInstance(node)", b -> {
+                                   b.addStatement("throw new $T($S + type.getSimpleName() + $S + node.getClass())",
+                                                  IllegalArgumentException.class, "Expected ", " but got: ");
+                               });
+                               body.addStatement("return type.cast(node)");
+                           })
+                           .build();
+    }
+
+    /**
+     * Checks that a required member read from the snapshot is present, such that corrupted snapshots are rejected with
+     * {@link IllegalArgumentException} instead of failing when the node is built.
+     */
+    MethodSyntax requireMember() {
+        var typeVariable = TypeVariableTypeName.from("T");
+        return MethodSyntax.builder("requireMember")
+                           .addModifier(Modifier.STATIC)
+                           .addTypeParam(typeVariable)
+                           .returns(typeVariable)
+                           .addParameter(typeVariable, "value")
+                           .addParameter(String.class, "member")
+                           .body(body -> {
+                               body.ifStatement("value == null", b -> {
+                                   b.addStatement("throw new $T($S + member)", IllegalArgumentException.class,
+                                                  "Missing required member: ");
+                               });
+                               body.addStatement("return value");
+                           })
+                           .build();
+    }
+
+    MethodSyntax readForShape(CodegenState state, Shape shape) {
+        var type = ClassName.toClassName(Utils.toJavaTypeName(state, shape));
+        var builderType = ClassName.from(type.packageName(), type.name() + ".Builder");
+        return MethodSyntax.builder("read" + shape.getId().getName())
+                           .addModifier(Modifier.STATIC)
+                           .returns(type)
+                           .addParameter(SnapshotReader.class, "in")
+                           .body(body -> {
+                               body.addStatement("$T builder = $T.builder()", builderType, type);
+                               if (shape.isUnionShape()) {
+                                   readUnion(state, shape, body);
+                               } else {
+                                   for (var member : snapshotMembers(state, shape)) {
+                                       readMember(state, member, body);
+                                   }
+                               }
+                               body.addStatement("return builder.build()");
+                           })
+                           .build();
+    }
+
+    void readUnion(CodegenState state, Shape shape, AbstractBlockBuilder<BodyBuilder, Block> builder) {
+        var variantTagClass = variantTagClass(state, shape);
+        builder.addStatement("$T variantTag = in.readEnum($T.class)", variantTagClass, variantTagClass);
+        var isFirst = true;
+        for (var member : shape.members()) {
+            var variant = Utils.toSourceName(state, member, Name.Convention.SCREAM_CASE).toString();
+            if (isFirst) {
+                builder.beginIfStatement("variantTag == $T.$L", variantTagClass, variant);
+                isFirst = false;
+            } else {
+                builder.nextElseIfStatement("variantTag == $T.$L", variantTagClass, variant);
+            }
+            readMember(state, member, builder);
+        }
+        builder.nextElseStatement();
+        builder.addStatement("throw new $T($S + variantTag)", IllegalArgumentException.class, "Unknown variant: ");
+        builder.endIfStatement();
+    }
+
+    void readMember(CodegenState state, MemberShape member, AbstractBlockBuilder<BodyBuilder, Block> builder) {
+        var setter = Utils.toSetterName(state, member);
+        var type = Utils.aggregateType(state, member);
+        if (type == SymbolConstants.AggregateType.NONE) {
+            var target = target(state, member);
+            var value = readValue(state, target);
+            if (Utils.isRequired(state, member) && !target.isBooleanShape()) {
+                var memberId = member.getContainer().getName() + "." + member.getMemberName();
+                value = CodeBlock.from("requireMember($C, $S)", value, memberId);
+            }
+            builder.addStatement("builder.$L($C)", setter, value);
+            return;
+        }
+        var memberName = Utils.toJavaName(state, member);
+        var memberType = Utils.toJavaTypeName(state, member);
+        var concreteType = Utils.concreteClassFor(type);
+        builder.addStatement("int $LSize = in.readSize()", memberName);
+        if (type == SymbolConstants.AggregateType.LIST) {
+            builder.addStatement("$T $L = new $T<>($LSize)", memberType, memberName, concreteType, memberName);
+        } else {
+            builder.addStatement("$T $L = new $T<>()", memberType, memberName, concreteType);
+        }
+        var valueTypes = valueTypes(state, member);
+        builder.forStatement("int idx = 0; idx < $LSize; idx++", memberName, b -> {
+            if (type == SymbolConstants.AggregateType.MAP) {
+                b.addStatement("$L.put($C, $C)", memberName, readValue(state, valueTypes.get(0)),
+                               readValue(state, valueTypes.get(1)));
+            } else {
+                b.addStatement("$L.add($C)", memberName, readValue(state, valueTypes.get(0)));
+            }
+        });
+        builder.addStatement("builder.$L($L)", setter, memberName);
+    }
+
+    CodeBlock readValue(CodegenState state, Shape target) {
+        if (isEnum(state, target)) {
+            return CodeBlock.from("in.readEnum($T.class)", Utils.toJavaTypeName(state, target));
+        }
+        if (target.isStringShape()) {
+            return CodeBlock.from("in.readString()");
+        }
+        if (target.isBooleanShape()) {
+            return CodeBlock.from("in.readBoolean()");
+        }
+        if (target.isStructureShape() || target.isUnionShape()) {
+            return CodeBlock.from("readNode(in, $T.class)", Utils.toJavaTypeName(state, target));
+        }
+        throw new UnsupportedOperationException("Unsupported snapshot member type: " + target.getType());
+    }
+
+    ClassSyntax writer(CodegenState state, ClassName syntaxNodeClass, List<Shape> kinds) {
+        var visitorClass = ClassName.from(syntaxNodeClass.packageName(), syntaxNodeClass.name() + "Visitor");
+        var builder = ClassSyntax.builder("Writer")
+                                 .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                                 .addSuperInterface(ParameterizedTypeName.from(visitorClass, syntaxNodeClass));
+        builder.addField(FieldSyntax.builder()
+                                    .name("out")
+                                    .type(SnapshotWriter.class)
+                                    .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                                    .initializer(CodeBlock.from("new $T(SCHEMA)", SnapshotWriter.class))
+                                    .build());
+        builder.addMethod(MethodSyntax.builder("writeNode")
+                                      .returns(void.class)
+                                      .addParameter(syntaxNodeClass, "node")
+                                      .body(body -> {
+                                          body.ifStatement("!out.writeReference(node)", b -> {
+                                              b.addStatement("node.accept(this)");
+                                          });
+                                      })
+                                      .build());
+        for (var kvp : interfaces(state, kinds).entrySet()) {
+            builder.addMethod(writeForInterface(state, kvp.getValue()));
+        }
+        for (var shape : kinds) {
+            builder.addMethod(writeForShape(state, syntaxNodeClass, shape));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes a value of an interface type that is not a syntax node, and therefore cannot be visited, by checking its
+     * class against each of the concrete types that implement it.
+     */
+    MethodSyntax writeForInterface(CodegenState state, Shape shape) {
+        var name = shape.getId().getName();
+        var type = Utils.toJavaTypeName(state, shape);
+        return MethodSyntax.builder("write" + name)
+                           .returns(void.class)
+                           .addParameter(type, "node")
+                           .body(body -> {
+                               body.beginIfStatement("node == null");
+                               body.addStatement("out.writeReference(null)");
+                               for (var implementer : concreteTypes(state, shape)) {
+                                   var implementerType = Utils.toJavaTypeName(state, implementer);
+                                   body.nextElseIfStatement("node instanceof $T", implementerType);
+                                   body.addStatement("write$L(($T) node)", implementer.getId().getName(),
+                                                     implementerType);
+                               }
+                               body.nextElseStatement();
+                               body.addStatement("throw new $T($S + node.getClass())", IllegalArgumentException.class,
+                                                 "Unknown " + name + ": ");
+                               body.endIfStatement();
+                           })
+                           .build();
+    }
+
+    MethodSyntax writeForShape(CodegenState state, ClassName syntaxNodeClass, Shape shape) {
+        var name = shape.getId().getName();
+        var type = Utils.toJavaTypeName(state, shape);
+        var isSyntaxNode = SyntaxVisitorJavaProducer.shapeImplements(syntaxNode, state.model(), shape);
+        var builder = MethodSyntax.builder((isSyntaxNode ? "visit" : "write") + name)
+                                  .addParameter(type, "node");
+        if (isSyntaxNode) {
+            builder.addAnnotation(Override.class)
+                   .addModifier(Modifier.PUBLIC)
+                   .returns(syntaxNodeClass);
+        } else {
+            builder.returns(void.class);
+        }
+        builder.body(body -> {
+            if (!isSyntaxNode) {
+                body.ifStatement("out.writeReference(node)", b -> b.addStatement("return"));
+            }
+            body.addStatement("out.writeKind($L)", kindName(state, shape));
+            if (shape.isUnionShape()) {
+                writeUnion(state, shape, body);
+            } else {
+                for (var member : snapshotMembers(state, shape)) {
+                    writeMember(state, member, body);
+                }
+            }
+            body.addStatement("out.register(node)");
+            if (isSyntaxNode) {
+                body.addStatement("return node");
+            }
+        });
+        return builder.build();
+    }
+
+    void writeUnion(CodegenState state, Shape shape, AbstractBlockBuilder<BodyBuilder, Block> builder) {
+        var variantTagClass = variantTagClass(state, shape);
+        builder.addStatement("$T variantTag = node.variantTag()", variantTagClass);
+        builder.addStatement("out.writeEnum(variantTag)");
+        var isFirst = true;
+        for (var member : shape.members()) {
+            var variant = Utils.toSourceName(state, member, Name.Convention.SCREAM_CASE).toString();
+            if (isFirst) {
+                builder.beginIfStatement("variantTag == $T.$L", variantTagClass, variant);
+                isFirst = false;
+            } else {
+                builder.nextElseIfStatement("variantTag == $T.$L", variantTagClass, variant);
+            }
+            writeMember(state, member, builder);
+        }
+        builder.nextElseStatement();
+        builder.addStatement("throw new $T($S + variantTag)", IllegalArgumentException.class, "Unknown variant: ");
+        builder.endIfStatement();
+    }
+
+    void writeMember(CodegenState state, MemberShape member, AbstractBlockBuilder<BodyBuilder, Block> builder) {
+        var getter = Utils.toGetterName(state, member);
+        var type = Utils.aggregateType(state, member);
+        if (type == SymbolConstants.AggregateType.NONE) {
+            builder.addStatement("$C", writeValue(state, target(state, member), "node." + getter + "()"));
+            return;
+        }
+        var memberName = Utils.toJavaName(state, member);
+        var memberType = Utils.toJavaTypeName(state, member);
+        var valueTypes = valueTypes(state, member);
+        builder.addStatement("$T $L = node.$L()", memberType, memberName, getter);
+        builder.addStatement("out.writeSize($L.size())", memberName);
+        if (type == SymbolConstants.AggregateType.LIST) {
+            builder.forStatement("int idx = 0; idx < $L.size(); idx++", memberName, b -> {
+                b.addStatement("$C", writeValue(state, valueTypes.get(0), memberName + ".get(idx)"));
+            });
+        } else if (type == SymbolConstants.AggregateType.SET) {
+            var valueType = Utils.toJavaTypeName(state, valueTypes.get(0));
+            builder.forStatement("$T value : $L", valueType, memberName, b -> {
+                b.addStatement("$C", writeValue(state, valueTypes.get(0), "value"));
+            });
+        } else {
+            var entryType = ParameterizedTypeName.from(ClassName.from(Map.Entry.class),
+                                                       Utils.toJavaTypeName(state, valueTypes.get(0)),
+                                                       Utils.toJavaTypeName(state, valueTypes.get(1)));
+            builder.forStatement("$T entry : $L.entrySet()", entryType, memberName, b -> {
+                b.addStatement("$C", writeValue(state, valueTypes.get(0), "entry.getKey()"));
+                b.addStatement("$C", writeValue(state, valueTypes.get(1), "entry.getValue()"));
+            });
+        }
+    }
+
+    CodeBlock writeValue(CodegenState state, Shape target, String source) {
+        if (isEnum(state, target)) {
+            return CodeBlock.from("out.writeEnum($L)", source);
+        }
+        if (target.isStringShape()) {
+            return CodeBlock.from("out.writeString($L)", source);
+        }
+        if (target.isBooleanShape()) {
+            return CodeBlock.from("out.writeBoolean($L)", source);
+        }
+        if (SyntaxVisitorJavaProducer.shapeImplements(syntaxNode, state.model(), target)) {
+            return CodeBlock.from("writeNode($L)", source);
+        }
+        if (target.isStructureShape() || target.isUnionShape()) {
+            return CodeBlock.from("write$L($L)", target.getId().getName(), source);
+        }
+        throw new UnsupportedOperationException("Unsupported snapshot member type: " + target.getType());
+    }
+
+    /**
+     * Returns the kinds of values written to the snapshot, the concrete syntax nodes and the concrete structures and
+     * unions reachable from them, sorted by name. The ordinal of each in the returned list is its kind number.
+     */
+    List<Shape> snapshotKinds(CodegenState state) {
+        var syntaxNodeShape = state.model().expectShape(ShapeId.from(syntaxNode));
+        var result = new TreeMap<String, Shape>();
+        var pending = new ArrayDeque<>(concreteTypes(state, syntaxNodeShape));
+        while (!pending.isEmpty()) {
+            var shape = pending.pop();
+            if (result.putIfAbsent(shape.getId().getName(), shape) != null) {
+                continue;
+            }
+            for (var member : snapshotMembers(state, shape)) {
+                for (var valueType : valueTypes(state, member)) {
+                    if (valueType.isUnionShape() || (valueType.isStructureShape() && !isEnum(state, valueType))) {
+                        pending.addAll(concreteTypes(state, valueType));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * Returns the interfaces that are not syntax nodes used by the members of the given kinds, sorted by name.
+     */
+    Map<String, Shape> interfaces(CodegenState state, List<Shape> kinds) {
+        var result = new TreeMap<String, Shape>();
+        for (var shape : kinds) {
+            for (var member : snapshotMembers(state, shape)) {
+                for (var valueType : valueTypes(state, member)) {
+                    if (valueType.hasTrait(InterfaceTrait.class)
+                        && !SyntaxVisitorJavaProducer.shapeImplements(syntaxNode, state.model(), valueType)) {
+                        result.put(valueType.getId().getName(), valueType);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the fingerprint of the kinds, in order, and of the names of their members, in order, used to reject
+     * snapshots written by code generated from a different model.
+     */
+    int schema(CodegenState state, List<Shape> kinds) {
+        var buf = new StringBuilder();
+        for (var shape : kinds) {
+            buf.append(shape.getId().getName()).append(':');
+            var isFirst = true;
+            for (var member : snapshotMembers(state, shape)) {
+                if (!isFirst) {
+                    buf.append(',');
+                }
+                buf.append(member.getMemberName());
+                isFirst = false;
+            }
+            buf.append(';');
+        }
+        return buf.toString().hashCode();
+    }
+
+    List<MemberShape> snapshotMembers(CodegenState state, Shape shape) {
+        var result = new ArrayList<MemberShape>();
+        for (var member : shape.members()) {
+            if (!Utils.isConstant(state, member)) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the types of the values of the member, the target itself, the type of the elements for lists and sets, or
+     * the types of the key and the value for maps.
+     */
+    List<Shape> valueTypes(CodegenState state, MemberShape member) {
+        var model = state.model();
+        var target = target(state, member);
+        return switch (Utils.aggregateType(state, member)) {
+            case NONE -> List.of(target);
+            case LIST, SET -> List.of(model.expectShape(target.asListShape().orElseThrow().getMember().getTarget()));
+            case MAP -> {
+                var mapShape = target.asMapShape().orElseThrow();
+                yield List.of(model.expectShape(mapShape.getKey().getTarget()),
+                              model.expectShape(mapShape.getValue().getTarget()));
+            }
+        };
+    }
+
+    List<Shape> concreteTypes(CodegenState state, Shape shape) {
+        if (!shape.hasTrait(InterfaceTrait.class)) {
+            return List.of(shape);
+        }
+        var isaKnowledgeIndex = ImplementsKnowledgeIndex.of(state.model());
+        var result = new ArrayList<Shape>();
+        for (var implementer : isaKnowledgeIndex.recursiveImplementers(shape.asStructureShape().orElseThrow())) {
+            if (!implementer.hasTrait(InterfaceTrait.class)) {
+                result.add(implementer);
+            }
+        }
+        result.sort((left, right) -> left.getId().getName().compareTo(right.getId().getName()));
+        return result;
+    }
+
+    /**
+     * Returns true if the shape is an enum, either one defined in the model or a java enum referenced using the java
+     * trait, e.g., {@link Modifier}.
+     */
+    boolean isEnum(CodegenState state, Shape shape) {
+        if (shape.isEnumShape()) {
+            return true;
+        }
+        if (shape.hasTrait(JavaTrait.class)) {
+            var className = ClassName.toClassName(Utils.toJavaTypeName(state, shape));
+            try {
+                return Class.forName(className.packageName() + "." + className.name()).isEnum();
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException("Cannot find the actual java class for: " + className, e);
+            }
+        }
+        return false;
+    }
+
+    Shape target(CodegenState state, MemberShape member) {
+        return state.model().expectShape(member.getTarget());
+    }
+
+    TypeName variantTagClass(CodegenState state, Shape shape) {
+        var type = ClassName.toClassName(Utils.toJavaTypeName(state, shape));
+        return ClassName.from(type.packageName(), type.name() + ".VariantTag");
+    }
+
+    String kindName(CodegenState state, Shape shape) {
+        return "KIND_" + Utils.toJavaName(state, shape, Name.Convention.SCREAM_CASE);
+    }
+}
@@ -5,11 +5,13 @@ import mx.sugus.braid.core.ImplementsKnowledgeIndex;
 import mx.sugus.braid.core.plugin.CodegenState;
 import mx.sugus.braid.core.plugin.Identifier;
 import mx.sugus.braid.core.plugin.NonShapeProducerTask;
+import mx.sugus.braid.jsyntax.Block;
 import mx.sugus.braid.jsyntax.ClassName;
 import mx.sugus.braid.jsyntax.ClassSyntax;
 import mx.sugus.braid.jsyntax.CompilationUnit;
 import mx.sugus.braid.jsyntax.MethodSyntax;
 import mx.sugus.braid.jsyntax.ParameterizedTypeName;
+import mx.sugus.braid.jsyntax.block.AbstractBlockBuilder;
 import mx.sugus.braid.jsyntax.block.BodyBuilder;
 import mx.sugus.braid.plugins.data.TypeSyntaxResult;
 import mx.sugus.braid.plugins.data.producers.Utils;
@@ -111,7 +113,11 @@ public final class SyntaxWalkVisitorJavaProducer implements NonShapeProducerTask
         return builder;
     }
 
-    void addCollectionOfSyntaxNode(CodegenState state, MemberShape member, BodyBuilder builder) {
+    void addCollectionOfSyntaxNode(
+        CodegenState state,
+        MemberShape member,
+        AbstractBlockBuilder<BodyBuilder, Block> builder
+    ) {
         var memberName = Utils.toJavaName(state, member);
         var memberInnerTypeShape = memberInnerType(state, member);
         var memberInnerType = Utils.toJavaTypeName(state, memberInnerTypeShape);
@@ -154,7 +160,7 @@ public final class SyntaxWalkVisitorJavaProducer implements NonShapeProducerTask
         return false;
     }
 
-    void addSingleSyntaxNode(CodegenState state, MemberShape member, BodyBuilder builder) {
+    void addSingleSyntaxNode(CodegenState state, MemberShape member, AbstractBlockBuilder<BodyBuilder, Block> builder) {
         var memberName = Utils.toJavaName(state, member);
         var memberType = Utils.toJavaTypeName(state, member);
         if (Utils.isNullable(state, member)) {
@@ -15,9 +15,11 @@ import software.amazon.smithy.model.node.ToNode;
 @Generated( {"mx.sugus.braid.plugins.data#DataPlugin", "mx.sugus.braid.plugins.serde.node#NodeSerdePlugin"})
 public final class SyntaxModelPluginConfig implements ToNode {
     private final List<String> syntaxNodes;
+    private final Boolean structuralChangeDetection;
 
     private SyntaxModelPluginConfig(Builder builder) {
         this.syntaxNodes = Objects.requireNonNull(builder.syntaxNodes.asPersistent(), "syntaxNodes");
+        this.structuralChangeDetection = builder.structuralChangeDetection;
     }
 
     /**
@@ -28,6 +30,15 @@ public final class SyntaxModelPluginConfig implements ToNode {
         return this.syntaxNodes;
     }
 
+    /**
+     * <p>If true the rewrite visitors rebuild a node only if the rewritten
+     * children are not equal to the original ones. By default only the
+     * identity of the children is checked.</p>
+     */
+    public Boolean structuralChangeDetection() {
+        return this.structuralChangeDetection;
+    }
+
     /**
      * <p>Returns a new builder to modify a copy of this instance</p>
      */
@@ -44,20 +55,23 @@ public final class SyntaxModelPluginConfig implements ToNode {
             return false;
         }
         SyntaxModelPluginConfig that = (SyntaxModelPluginConfig) obj;
-        return this.syntaxNodes.equals(that.syntaxNodes);
+        return this.syntaxNodes.equals(that.syntaxNodes)
+               && Objects.equals(this.structuralChangeDetection, that.structuralChangeDetection);
     }
 
     @Override
     public int hashCode() {
         int hashCode = 17;
         hashCode = 31 * hashCode + syntaxNodes.hashCode();
+        hashCode = 31 * hashCode + (structuralChangeDetection != null ? structuralChangeDetection.hashCode() : 0);
         return hashCode;
     }
 
     @Override
     public String toString() {
         return "SyntaxModelPluginConfig{"
-               + "syntaxNodes: " + syntaxNodes + "}";
+               + "syntaxNodes: " + syntaxNodes
+               + ", structuralChangeDetection: " + structuralChangeDetection + "}";
     }
 
     /**
@@ -73,6 +87,9 @@ public final class SyntaxModelPluginConfig implements ToNode {
             }
             builder.withMember("syntaxNodes", syntaxNodesBuilder.build());
         }
+        if (this.structuralChangeDetection != null) {
+            builder.withMember("structuralChangeDetection", Node.from(this.structuralChangeDetection));
+        }
         return builder.build();
     }
 
@@ -94,18 +111,22 @@ public final class SyntaxModelPluginConfig implements ToNode {
                 builder.addSyntaxNode(item.expectStringNode().getValue());
             }
         });
+        obj.getBooleanMember("structuralChangeDetection", builder::structuralChangeDetection);
         return builder.build();
     }
 
     public static final class Builder {
         private final CollectionBuilderReference<List<String>> syntaxNodes;
+        private Boolean structuralChangeDetection;
 
         Builder() {
             this.syntaxNodes = CollectionBuilderReference.forList();
+            this.structuralChangeDetection = false;
         }
 
         Builder(SyntaxModelPluginConfig data) {
             this.syntaxNodes = CollectionBuilderReference.fromPersistentList(data.syntaxNodes);
+            this.structuralChangeDetection = data.structuralChangeDetection;
         }
 
         /**
@@ -127,6 +148,17 @@ public final class SyntaxModelPluginConfig implements ToNode {
             return this;
         }
 
+        /**
+         * <p>Sets the value for {@code structuralChangeDetection}</p>
+         * <p>If true the rewrite visitors rebuild a node only if the rewritten
+         * children are not equal to the original ones. By default only the
+         * identity of the children is checked.</p>
+         */
+        public Builder structuralChangeDetection(Boolean structuralChangeDetection) {
+            this.structuralChangeDetection = structuralChangeDetection;
+            return this;
+        }
+
         public SyntaxModelPluginConfig build() {
             return new SyntaxModelPluginConfig(this);
         }
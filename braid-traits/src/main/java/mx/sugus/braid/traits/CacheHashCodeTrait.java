@@ -0,0 +1,25 @@
+package mx.sugus.braid.traits;
+
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.AnnotationTrait;
+
+public final class CacheHashCodeTrait extends AnnotationTrait {
+
+    public static final ShapeId ID = ShapeId.from("mx.sugus.braid.traits#cacheHashCode");
+
+    public CacheHashCodeTrait(ObjectNode node) {
+        super(ID, node);
+    }
+
+    public CacheHashCodeTrait() {
+        this(Node.objectNode());
+    }
+
+    public static final class Provider extends AnnotationTrait.Provider<CacheHashCodeTrait> {
+        public Provider() {
+            super(ID, CacheHashCodeTrait::new);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package mx.sugus.braid.traits;
+
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.AnnotationTrait;
+
+public final class PersistentTrait extends AnnotationTrait {
+
+    public static final ShapeId ID = ShapeId.from("mx.sugus.braid.traits#persistent");
+
+    public PersistentTrait(ObjectNode node) {
+        super(ID, node);
+    }
+
+    public PersistentTrait() {
+        this(Node.objectNode());
+    }
+
+    public static final class Provider extends AnnotationTrait.Provider<PersistentTrait> {
+        public Provider() {
+            super(ID, PersistentTrait::new);
+        }
+    }
+}